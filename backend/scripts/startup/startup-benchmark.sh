@@ -0,0 +1,65 @@
+#!/bin/sh
+# =============================================================================
+# Measure startup time of the plain fat jar against the AOT + CDS build
+# =============================================================================
+# Starts each variant RUNS times and reports the time Spring Boot logs in
+# "Started EventHubApplication in X seconds" plus the wall-clock time until
+# /actuator/health/readiness answers UP (that includes the warm-up phase).
+#
+# Usage: scripts/startup/startup-benchmark.sh [runs]
+#   Build first:  mvn clean package -Pstartup -DskipTests
+#   Extra JVM/Spring options (database, profile) go in BENCH_OPTS, e.g.
+#   BENCH_OPTS="-Dspring.profiles.active=dev" scripts/startup/startup-benchmark.sh 5
+# =============================================================================
+
+set -e
+
+RUNS="${1:-5}"
+PORT="${BENCH_PORT:-18080}"
+TARGET="$(dirname "$0")/../../target"
+JAR="$(ls "$TARGET"/backend-*.jar | head -n 1)"
+ARGS="$TARGET/startup/app.args"
+LOG="$(mktemp)"
+
+if [ ! -f "$ARGS" ]; then
+    echo "$ARGS not found, build with: mvn clean package -Pstartup -DskipTests" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# run_once <label> <java args...>
+run_once() {
+    LABEL="$1"
+    shift
+    START=$(now_ms)
+    java $BENCH_OPTS -Dserver.port="$PORT" "$@" > "$LOG" 2>&1 &
+    PID=$!
+    READY=""
+    while kill -0 "$PID" 2>/dev/null; do
+        if curl -fs "http://localhost:$PORT/actuator/health/readiness" 2>/dev/null | grep -q UP; then
+            READY=$(( $(now_ms) - START ))
+            break
+        fi
+        sleep 0.1
+    done
+    STARTED=$(grep -o 'Started EventHubApplication in [0-9.]* seconds' "$LOG" | grep -o '[0-9.]*' | head -n 1)
+    kill "$PID" 2>/dev/null || true
+    wait "$PID" 2>/dev/null || true
+    if [ -z "$READY" ]; then
+        echo "$LABEL: did not become ready, log: $LOG" >&2
+        exit 1
+    fi
+    echo "$LABEL	started=${STARTED}s	ready=${READY}ms"
+}
+
+echo "variant	spring startup	ready (incl. warm-up)"
+i=1
+while [ "$i" -le "$RUNS" ]; do
+    run_once "fat-jar" -jar "$JAR"
+    run_once "aot+cds" @"$ARGS"
+    i=$((i + 1))
+done
+rm -f "$LOG"
@@ -0,0 +1,76 @@
+#!/bin/sh
+# =============================================================================
+# Explode the Spring Boot jar and train a CDS (class data sharing) archive for it
+# =============================================================================
+# CDS only covers classes loaded from plain jars on the classpath (no nested jars,
+# no class directories), so the app is started with -cp over the dependency jars
+# plus the un-repackaged application jar (<app.jar>.original, written by repackage).
+#
+# Usage: scripts/startup/train-cds.sh <app.jar> <output-dir>
+#
+# Output:
+#   <output-dir>/BOOT-INF/lib   dependency jars
+#   <output-dir>/app.jar        application classes and resources
+#   <output-dir>/app.args       JVM argument file (archive, AOT flag, classpath, main class)
+#   <output-dir>/app.jsa        CDS archive
+#
+# Start the app with:  java $JAVA_OPTS @<output-dir>/app.args
+#
+# The archive is only valid for the exact JVM build that trained it, so in Docker
+# this runs in the runtime image, not the build image.
+# =============================================================================
+
+set -e
+
+JAR="$1"
+OUT="$2"
+
+if [ -z "$JAR" ] || [ -z "$OUT" ]; then
+    echo "Usage: $0 <app.jar> <output-dir>" >&2
+    exit 1
+fi
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+OUT="$(cd "$OUT" && pwd)"
+
+if [ ! -f "$JAR.original" ]; then
+    echo "$JAR.original not found, run the spring-boot repackage goal first" >&2
+    exit 1
+fi
+cp "$JAR.original" "$OUT/app.jar"
+
+if command -v jar >/dev/null 2>&1; then
+    (cd "$OUT" && jar -xf "$JAR" BOOT-INF/lib BOOT-INF/classpath.idx)
+else
+    unzip -q "$JAR" 'BOOT-INF/lib/*' BOOT-INF/classpath.idx -d "$OUT"
+fi
+
+# BOOT-INF/classpath.idx lists the dependency jars in the order the launcher uses
+CLASSPATH="$OUT/app.jar"
+for LIB in $(sed -e 's/^- "//' -e 's/"$//' "$OUT/BOOT-INF/classpath.idx"); do
+    CLASSPATH="$CLASSPATH:$OUT/$LIB"
+done
+
+AOT_ENABLED=false
+if unzip -l "$OUT/app.jar" 2>/dev/null | grep -q EventHubApplication__ApplicationContextInitializer \
+        || jar -tf "$OUT/app.jar" 2>/dev/null | grep -q EventHubApplication__ApplicationContextInitializer; then
+    AOT_ENABLED=true
+fi
+
+# Training run: refresh the context with every bean created, then exit and dump the
+# classes that were loaded. No database connection is opened.
+java -Xlog:cds=error -XX:ArchiveClassesAtExit="$OUT/app.jsa" \
+    -Dspring.aot.enabled=$AOT_ENABLED \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.profiles.active=cds-training \
+    -cp "$CLASSPATH" com.eventhub.EventHubApplication
+
+cat > "$OUT/app.args" <<ARGS
+-XX:SharedArchiveFile=$OUT/app.jsa
+-Dspring.aot.enabled=$AOT_ENABLED
+-cp $CLASSPATH
+com.eventhub.EventHubApplication
+ARGS
+
+echo "CDS archive: $OUT/app.jsa ($(du -h "$OUT/app.jsa" | cut -f1)), AOT: $AOT_ENABLED"
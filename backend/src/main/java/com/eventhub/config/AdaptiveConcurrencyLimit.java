@@ -0,0 +1,129 @@
+package com.eventhub.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit sized from observed latency (the gradient algorithm of Netflix's
+ * concurrency-limits, Gradient2).
+ *
+ * Every completed call reports its latency. A slow moving average of latency is the
+ * baseline for the unloaded system; when recent latency climbs above it, queueing is
+ * happening downstream and the limit shrinks in proportion (gradient = baseline / sample,
+ * at most halving per step). Otherwise the limit grows by about sqrt(limit) per sample,
+ * but only while callers actually use at least half of it. Changes are smoothed and kept
+ * within [minLimit, maxLimit].
+ *
+ * Callers over the limit wait up to their timeout in FIFO order, then give up.
+ */
+public class AdaptiveConcurrencyLimit {
+    
+    // Latency may run this far above the baseline before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int BASELINE_WINDOW = 600;
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private double baselineNanos;
+    private int inFlight;
+    
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Need 1 <= minLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+    
+    /**
+     * Waits up to {@code timeoutNanos} for a slot; false if none became free
+     */
+    public boolean acquire(long timeoutNanos) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            long remaining = timeoutNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Frees the slot and feeds the call's latency into the limit
+     */
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            int used = inFlight;
+            inFlight--;
+            update(Math.max(1, latencyNanos), used);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void update(long sampleNanos, int used) {
+        if (baselineNanos == 0) {
+            baselineNanos = sampleNanos;
+        } else {
+            baselineNanos += (sampleNanos - baselineNanos) / BASELINE_WINDOW;
+            // Recover faster when load drops and the baseline is stale
+            if (baselineNanos > 2 * sampleNanos) {
+                baselineNanos *= 0.95;
+            }
+        }
+        
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineNanos / sampleNanos));
+        double target = limit * gradient;
+        if (gradient >= 1.0 && used * 2 >= limit) {
+            target += Math.sqrt(limit);
+        }
+        double next = limit * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+    
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+    
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public double getBaselineMillis() {
+        lock.lock();
+        try {
+            return baselineNanos / TimeUnit.MILLISECONDS.toNanos(1);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.eventhub.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs scheduled service methods as the BACKGROUND workload, so jobs share one bulkhead
+ * instead of competing with requests for the whole pool. Ordered first so the job lease
+ * (ClusterJobAspect) is taken inside it too.
+ * 
+ * Limited to services: config beans with @Scheduled methods include servlet filters, which
+ * can't be class-proxied (OncePerRequestFilter's final doFilter would run on the proxy).
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+public class BackgroundWorkloadAspect {
+    
+    @Around("@annotation(org.springframework.scheduling.annotation.Scheduled) && within(com.eventhub.service..*)")
+    public Object runAsBackground(ProceedingJoinPoint joinPoint) throws Throwable {
+        Workload previous = Workload.bind(Workload.BACKGROUND);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            Workload.bind(previous);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.eventhub.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps the application DataSource in BulkheadDataSource and exports each bulkhead's
+ * limit, in-flight connections and rejections as db.bulkhead.* metrics.
+ * 
+ * Limits are app.bulkhead.{workload}.initial-limit / min-limit / max-limit / max-wait-ms;
+ * the adaptive limit moves between min and max. Unset max-limits split what is left of
+ * hikari.maximum-pool-size after app.bulkhead.reserved-share by the weights below, with
+ * at least 2 each when that fits: a max-limit of 1 leaves the limit nothing to adapt, and
+ * a fan-out on that workload would run one query at a time.
+ * 
+ * Startup fails if the max-limits add up to more than that, so bulkheaded workloads
+ * together can never take the reserved share away from customer, checkout and auth
+ * requests (not bulkheaded). Nested REQUIRES_NEW connections bypass the limits, and
+ * unbulkheaded threads are not limited among themselves, so this is headroom, not a quota.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BulkheadConfig {
+    
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final double DEFAULT_RESERVED_SHARE = 0.25;
+    private static final int ADAPTIVE_FLOOR = 2;
+    
+    private static final Map<Workload, int[]> DEFAULTS = Map.of(
+            // share weight of the bulkheaded connections, max wait ms
+            Workload.PUBLIC, new int[]{3, 1000},
+            Workload.VENDOR, new int[]{2, 3000},
+            Workload.ADMIN, new int[]{1, 10000},
+            Workload.BACKGROUND, new int[]{1, 30000});
+    
+    @Bean
+    static BeanPostProcessor bulkheadDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof BulkheadDataSource
+                        || !environment.getProperty("app.bulkhead.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                return new BulkheadDataSource(dataSource, bulkheads(environment));
+            }
+        };
+    }
+    
+    static Map<Workload, BulkheadDataSource.Bulkhead> bulkheads(Environment environment) {
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class,
+                DEFAULT_POOL_SIZE);
+        double reservedShare = environment.getProperty("app.bulkhead.reserved-share", Double.class,
+                DEFAULT_RESERVED_SHARE);
+        int budget = poolSize - (int) Math.ceil(poolSize * reservedShare);
+        Map<Workload, Integer> defaultMax = defaultMaxLimits(budget);
+        
+        Map<Workload, BulkheadDataSource.Bulkhead> bulkheads = new EnumMap<>(Workload.class);
+        int maxTotal = 0;
+        for (Workload workload : Workload.values()) {
+            int[] defaults = DEFAULTS.get(workload);
+            String prefix = "app.bulkhead." + workload.key() + ".";
+            int max = environment.getProperty(prefix + "max-limit", Integer.class, defaultMax.get(workload));
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+                    environment.getProperty(prefix + "initial-limit", Integer.class, (max + 1) / 2),
+                    environment.getProperty(prefix + "min-limit", Integer.class, 1),
+                    max);
+            long maxWait = environment.getProperty(prefix + "max-wait-ms", Long.class, (long) defaults[1]);
+            bulkheads.put(workload, new BulkheadDataSource.Bulkhead(limit, TimeUnit.MILLISECONDS.toNanos(maxWait)));
+            maxTotal += max;
+        }
+        if (maxTotal > budget) {
+            throw new IllegalStateException("Bulkhead max-limits add up to " + maxTotal + " connections, but only "
+                    + budget + " of the " + poolSize + " pooled connections may be bulkheaded (app.bulkhead.reserved-share="
+                    + reservedShare + "). Lower the max-limits or the reserved share, or grow the pool.");
+        }
+        return bulkheads;
+    }
+    
+    /**
+     * Weighted share of the budget, raised to the floor; what the floor adds is taken back from
+     * the largest shares. The floor drops to 1 when the budget can't give every workload 2.
+     */
+    private static Map<Workload, Integer> defaultMaxLimits(int budget) {
+        int workloads = Workload.values().length;
+        int floor = budget >= ADAPTIVE_FLOOR * workloads ? ADAPTIVE_FLOOR : 1;
+        int totalWeight = DEFAULTS.values().stream().mapToInt(defaults -> defaults[0]).sum();
+        Map<Workload, Integer> limits = new EnumMap<>(Workload.class);
+        int total = 0;
+        for (Workload workload : Workload.values()) {
+            int limit = Math.max(floor, budget * DEFAULTS.get(workload)[0] / totalWeight);
+            limits.put(workload, limit);
+            total += limit;
+        }
+        while (total > budget) {
+            Workload largest = null;
+            for (Workload workload : Workload.values()) {
+                if (limits.get(workload) > floor && (largest == null || limits.get(workload) > limits.get(largest))) {
+                    largest = workload;
+                }
+            }
+            if (largest == null) {
+                break;
+            }
+            limits.merge(largest, -1, Integer::sum);
+            total--;
+        }
+        return limits;
+    }
+    
+    @Bean
+    public MeterBinder bulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            BulkheadDataSource bulkheads;
+            try {
+                if (!dataSource.isWrapperFor(BulkheadDataSource.class)) {
+                    return;
+                }
+                bulkheads = dataSource.unwrap(BulkheadDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            bulkheads.getBulkheads().forEach((workload, bulkhead) -> {
+                AdaptiveConcurrencyLimit limit = bulkhead.limit();
+                Gauge.builder("db.bulkhead.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                        .description("Current adaptive connection limit of the bulkhead")
+                        .tag("workload", workload.key())
+                        .register(registry);
+                Gauge.builder("db.bulkhead.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                        .description("Connections currently held through the bulkhead")
+                        .tag("workload", workload.key())
+                        .register(registry);
+                Gauge.builder("db.bulkhead.baseline", limit, AdaptiveConcurrencyLimit::getBaselineMillis)
+                        .description("Baseline connection hold time the limit is sized against")
+                        .baseUnit("milliseconds")
+                        .tag("workload", workload.key())
+                        .register(registry);
+                FunctionCounter.builder("db.bulkhead.rejected", bulkheads, ds -> ds.getRejected(workload))
+                        .description("Connection requests refused after waiting max-wait-ms")
+                        .tag("workload", workload.key())
+                        .register(registry);
+            });
+        };
+    }
+}
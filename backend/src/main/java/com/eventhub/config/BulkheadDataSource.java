@@ -0,0 +1,136 @@
+package com.eventhub.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkheads in front of the single Hikari pool: a connection for a thread bound to a
+ * {@link Workload} is only handed out while that workload is under its adaptive limit, and
+ * is counted until closed. A burst of slow admin reports therefore queues on the admin
+ * bulkhead instead of taking every pooled connection away from search and checkout.
+ *
+ * Waiting is bounded per workload (far below Hikari's connection timeout); past it the
+ * caller gets {@link BulkheadFullException}, which surfaces as a 503. A thread that already
+ * holds a connection isn't limited again for nested ones (REQUIRES_NEW), so it can't wait
+ * on itself. Anything that keeps a connection open around other work therefore exempts that
+ * work; JobLockService uses short lease statements instead of a held lock connection so a
+ * job's queries still count. Connection hold time is the latency sample that sizes each limit.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+    
+    private static final ThreadLocal<int[]> HELD = ThreadLocal.withInitial(() -> new int[1]);
+    
+    public record Bulkhead(AdaptiveConcurrencyLimit limit, long maxWaitNanos) {}
+    
+    private final Map<Workload, Bulkhead> bulkheads;
+    private final Map<Workload, LongAdder> rejected = new EnumMap<>(Workload.class);
+    
+    public BulkheadDataSource(DataSource target, Map<Workload, Bulkhead> bulkheads) {
+        super(target);
+        this.bulkheads = new EnumMap<>(bulkheads);
+        for (Workload workload : Workload.values()) {
+            rejected.put(workload, new LongAdder());
+        }
+    }
+    
+    public static class BulkheadFullException extends SQLTransientConnectionException {
+        public BulkheadFullException(Workload workload) {
+            super("No database capacity left for " + workload.key() + " requests");
+        }
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return limit(() -> super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return limit(() -> super.getConnection(username, password));
+    }
+    
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+    
+    private Connection limit(ConnectionSupplier supplier) throws SQLException {
+        Workload workload = Workload.current();
+        Bulkhead bulkhead = workload != null ? bulkheads.get(workload) : null;
+        int[] held = HELD.get();
+        if (bulkhead == null || held[0] > 0) {
+            return supplier.get();
+        }
+        
+        try {
+            if (!bulkhead.limit().acquire(bulkhead.maxWaitNanos())) {
+                rejected.get(workload).increment();
+                throw new BulkheadFullException(workload);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a " + workload.key() + " connection", e);
+        }
+        long start = System.nanoTime();
+        try {
+            return track(supplier.get(), held, bulkhead.limit(), start);
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.limit().release(System.nanoTime() - start);
+            throw e;
+        }
+    }
+    
+    private static Connection track(Connection connection, int[] held, AdaptiveConcurrencyLimit limit, long start) {
+        held[0]++;
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean closed;
+            
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                    if (!closed) {
+                        closed = true;
+                        held[0]--;
+                        try {
+                            connection.close();
+                        } finally {
+                            limit.release(System.nanoTime() - start);
+                        }
+                    }
+                    return null;
+                }
+                if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                    return proxy == args[0];
+                }
+                if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                    return System.identityHashCode(proxy);
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(BulkheadDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+    
+    public Map<Workload, Bulkhead> getBulkheads() {
+        return bulkheads;
+    }
+    
+    public long getRejected(Workload workload) {
+        return rejected.get(workload).sum();
+    }
+}
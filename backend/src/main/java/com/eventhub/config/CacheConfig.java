@@ -1,5 +1,7 @@
 package com.eventhub.config;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
@@ -8,28 +10,42 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
 @EnableCaching
+@RequiredArgsConstructor
 public class CacheConfig {
     
+    private final HttpCacheRegistry httpCacheRegistry;
+    
     @Bean
     public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+        // Caches count hits/misses so cache.gets is exported on /actuator/prometheus
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager() {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new MeteredConcurrentMapCache(name, isAllowNullValues());
+            }
+        };
+        // Set TTL to 5 minutes for platform stats (refresh every 5 min)
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of(
             "platformStats",           // Legacy - keep for backward compatibility
             "publicPlatformStats",     // Public stats cache
             "adminDashboardStats",     // Admin dashboard stats cache
             "vendorDetails"            // Vendor details cache
-        );
-        // Set TTL to 5 minutes for platform stats (refresh every 5 min)
-        cacheManager.setAllowNullValues(false);
+        ));
         return cacheManager;
     }
     
-    // Evict public platform stats cache every 5 minutes to keep data fresh
+    // Evict public platform stats cache every 5 minutes to keep data fresh.
+    // Caches are per instance, so these stay plain @Scheduled rather than ClusterJobs.
     @Scheduled(fixedRate = 300000) // 5 minutes
     @CacheEvict(value = "publicPlatformStats", allEntries = true)
     public void evictPublicPlatformStatsCache() {
-        // Cache eviction handled by annotation
+        // Stats may change now, so stop answering 304 from remembered ETags
+        httpCacheRegistry.invalidate(HttpCacheGroup.STATS);
     }
     
     // Evict admin dashboard stats cache every 5 minutes to keep data fresh
@@ -0,0 +1,34 @@
+package com.eventhub.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a @Scheduled method as a cluster-wide job: on each trigger only one instance runs it.
+ * 
+ * Executions go through ScheduledJobRunner, which takes a lease in job_locks named after
+ * the job, skips the trigger if another instance already ran it, records the run in
+ * scheduled_job_runs and times it as scheduler.job.execution. The schedule itself stays on
+ * the @Scheduled annotation.
+ * 
+ * Jobs that only touch instance-local state (e.g. in-memory cache eviction) should stay
+ * plain @Scheduled.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ClusterJob {
+    
+    /**
+     * Job name, used as the lease key, history key and metric tag
+     */
+    String value();
+    
+    /**
+     * Run once on startup if a cron trigger was missed while no instance was up
+     */
+    boolean catchUp() default true;
+}
@@ -0,0 +1,39 @@
+package com.eventhub.config;
+
+import com.eventhub.service.ScheduledJobRunner;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routes @ClusterJob methods through ScheduledJobRunner.
+ * 
+ * Ordered ahead of the transaction advisor so the lease is taken before any transaction
+ * (and its connection) is opened by the job.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@RequiredArgsConstructor
+public class ClusterJobAspect {
+    
+    private final ScheduledJobRunner jobRunner;
+    
+    @Around("@annotation(clusterJob)")
+    public Object runAsClusterJob(ProceedingJoinPoint joinPoint, ClusterJob clusterJob) {
+        jobRunner.run(clusterJob.value(), ScheduledJobRunner.Trigger.SCHEDULED, () -> {
+            try {
+                joinPoint.proceed();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return null;
+    }
+}
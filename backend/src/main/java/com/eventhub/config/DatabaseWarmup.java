@@ -1,37 +1,50 @@
 package com.eventhub.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.event.EventListener;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Warms up database connections on startup and keeps them alive.
  * This prevents slow cold starts with Supabase free tier.
+ * Runs before {@link StartupWarmup}, whose search queries then find open connections.
  */
 @Component
+@Order(0)
 @RequiredArgsConstructor
 @Slf4j
-public class DatabaseWarmup {
+public class DatabaseWarmup implements ApplicationRunner {
+
+    private static final int DEFAULT_WARMUP_CONNECTIONS = 3;
 
     private final DataSource dataSource;
 
     /**
-     * Warm up database connections when application starts.
+     * Warm up database connections before the instance reports ready.
+     * All connections are held open together; opening and closing them one at a time
+     * would just hand the same pooled connection back each time.
      */
-    @EventListener(ApplicationReadyEvent.class)
-    public void warmupOnStartup() {
-        log.info("Warming up database connections...");
+    @Override
+    public void run(ApplicationArguments args) {
+        int count = warmupConnectionCount();
+        log.info("Warming up {} database connections...", count);
+        List<Connection> connections = new ArrayList<>(count);
         try {
-            // Get multiple connections to populate the pool
-            for (int i = 0; i < 3; i++) {
-                try (Connection conn = dataSource.getConnection()) {
+            for (int i = 0; i < count; i++) {
+                try {
+                    Connection conn = dataSource.getConnection();
+                    connections.add(conn);
                     // Execute a simple query to ensure connection is fully established
                     conn.createStatement().execute("SELECT 1");
                     log.debug("Database connection {} established successfully", i + 1);
@@ -54,13 +67,37 @@ public class DatabaseWarmup {
                     e.getClass().getName(),
                     e.getMessage(),
                     e);
+        } finally {
+            for (Connection conn : connections) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    log.debug("Failed to return warmup connection to the pool", e);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Hikari's minimum-idle, i.e. the connections the pool keeps open anyway
+     */
+    private int warmupConnectionCount() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return Math.max(1, dataSource.unwrap(HikariDataSource.class).getMinimumIdle());
+            }
+        } catch (SQLException e) {
+            log.debug("Could not read pool size, using default", e);
         }
+        return DEFAULT_WARMUP_CONNECTIONS;
     }
 
     /**
      * Keep connections alive every 4 minutes to prevent Supabase spin-down.
+     * One ping per interval is enough for the whole cluster, so it runs as a ClusterJob.
      */
     @Scheduled(fixedRate = 240000) // Every 4 minutes
+    @ClusterJob(value = "database.keep-alive", catchUp = false)
     public void keepAlive() {
         try (Connection conn = dataSource.getConnection()) {
             conn.createStatement().execute("SELECT 1");
@@ -0,0 +1,51 @@
+package com.eventhub.config;
+
+import com.eventhub.dto.event.DomainEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops this instance's in-memory caches when domain events show their data changed.
+ * Runs on every instance (DomainEvent.Local, see EventOutbox); the periodic evictions in
+ * CacheConfig still bound anything a missed event leaves behind.
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainEventCacheEvictor {
+    
+    private final CacheManager cacheManager;
+    private final HttpCacheRegistry httpCacheRegistry;
+    
+    @EventListener
+    public void onDomainEvent(DomainEvent.Local local) {
+        switch (local.event()) {
+            case DomainEvent.ReviewCreated review -> {
+                // Rating and review count changed
+                evict("vendorDetails", review.vendorId());
+                httpCacheRegistry.invalidate(HttpCacheGroup.SEARCH);
+            }
+            case DomainEvent.OrderPlaced order -> clear("adminDashboardStats");
+            case DomainEvent.PaymentCompleted payment -> clear("adminDashboardStats");
+            default -> {
+                // Nothing cached depends on it
+            }
+        }
+    }
+    
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+    
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.eventhub.config;
+
+import com.eventhub.dto.ApiResponse;
+import com.eventhub.dto.PaginatedResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse fieldsets: {@code ?fields=id,name,price,images[0],vendor.name}.
+ * 
+ * Parsed into a tree and applied while Jackson writes the response, so unselected
+ * properties are never serialized. Paths are relative to the payload, i.e. to each item
+ * of {@code ApiResponse.data} / {@code PaginatedResponse.content}; the envelopes are
+ * always written in full.
+ * 
+ * - {@code a.b} selects b inside a; a bare {@code a} selects a with everything in it
+ * - {@code a[n]} keeps only the first n+1 elements of list/array property a
+ * - unknown names are ignored
+ */
+public final class FieldSelection {
+    
+    /** Filter id given to DTOs by JacksonConfig */
+    public static final String FILTER_ID = "fieldSelection";
+    
+    public static final int MAX_FIELDS = 50;
+    
+    private final Node root;
+    
+    private FieldSelection(Node root) {
+        this.root = root;
+    }
+    
+    /**
+     * Parse a fields parameter; null or blank means "everything"
+     */
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Node root = new Node();
+        int count = 0;
+        for (String raw : fields.split(",")) {
+            String path = raw.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            if (++count > MAX_FIELDS) {
+                throw new IllegalArgumentException("At most " + MAX_FIELDS + " fields can be selected");
+            }
+            Node node = root;
+            for (String segment : path.split("\\.")) {
+                Integer index = null;
+                int bracket = segment.indexOf('[');
+                if (bracket >= 0) {
+                    if (!segment.endsWith("]")) {
+                        throw new IllegalArgumentException("Invalid field: " + path);
+                    }
+                    try {
+                        index = Integer.parseInt(segment.substring(bracket + 1, segment.length() - 1));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid index in field: " + path);
+                    }
+                    if (index < 0) {
+                        throw new IllegalArgumentException("Invalid index in field: " + path);
+                    }
+                    segment = segment.substring(0, bracket);
+                }
+                if (segment.isEmpty()) {
+                    throw new IllegalArgumentException("Invalid field: " + path);
+                }
+                node = node.child(segment, index);
+            }
+            // A path that ends here selects the whole subtree, even if a longer path was given first
+            node.children = null;
+        }
+        return count == 0 ? null : new FieldSelection(root);
+    }
+    
+    /**
+     * Jackson filter applying this selection
+     */
+    public SimpleBeanPropertyFilter filter() {
+        return new Filter(this);
+    }
+    
+    /**
+     * Node for the object being written, or null if the whole object is selected
+     */
+    private Node nodeFor(JsonGenerator gen) {
+        List<String> path = new ArrayList<>();
+        JsonStreamContext context = gen.getOutputContext();
+        JsonStreamContext parent = context.getParent();
+        while (parent != null && !parent.inRoot()) {
+            if (parent.inObject()) {
+                if (isEnvelope(parent.getCurrentValue())) {
+                    break;
+                }
+                path.add(parent.getCurrentName());
+            }
+            parent = parent.getParent();
+        }
+        Node node = root;
+        for (int i = path.size() - 1; i >= 0; i--) {
+            if (node.children == null) {
+                return null;
+            }
+            node = node.children.get(path.get(i));
+            if (node == null) {
+                // Not reachable when the parent filter did its job
+                return null;
+            }
+        }
+        return node.children == null ? null : node;
+    }
+    
+    private static boolean isEnvelope(Object value) {
+        return value instanceof ApiResponse || value instanceof PaginatedResponse;
+    }
+    
+    private static final class Node {
+        private Map<String, Node> children = new HashMap<>();
+        private Integer index;
+        
+        private Node child(String name, Integer index) {
+            if (children == null) {
+                // Already selected as a whole
+                return new Node();
+            }
+            Node child = children.computeIfAbsent(name, key -> new Node());
+            if (index != null) {
+                child.index = child.index == null ? index : Math.max(child.index, index);
+            }
+            return child;
+        }
+    }
+    
+    private static final class Filter extends SimpleBeanPropertyFilter {
+        
+        private final FieldSelection selection;
+        
+        private Filter(FieldSelection selection) {
+            this.selection = selection;
+        }
+        
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (isEnvelope(pojo)) {
+                writer.serializeAsField(pojo, gen, provider);
+                return;
+            }
+            Node node = selection.nodeFor(gen);
+            if (node == null) {
+                writer.serializeAsField(pojo, gen, provider);
+                return;
+            }
+            Node selected = node.children.get(writer.getName());
+            if (selected == null) {
+                return;
+            }
+            if (selected.index != null && writer instanceof BeanPropertyWriter beanWriter) {
+                Object value = beanWriter.get(pojo);
+                if (value != null) {
+                    gen.writeFieldName(writer.getName());
+                    provider.defaultSerializeValue(truncate(value, selected.index + 1), gen);
+                    return;
+                }
+            }
+            writer.serializeAsField(pojo, gen, provider);
+        }
+        
+        private static Object truncate(Object value, int size) {
+            if (value instanceof List<?> list) {
+                return list.size() > size ? list.subList(0, size) : list;
+            }
+            if (value instanceof Collection<?> collection) {
+                List<Object> head = new ArrayList<>(size);
+                Iterator<?> iterator = collection.iterator();
+                while (iterator.hasNext() && head.size() < size) {
+                    head.add(iterator.next());
+                }
+                return head;
+            }
+            if (value.getClass().isArray() && Array.getLength(value) > size) {
+                Object head = Array.newInstance(value.getClass().getComponentType(), size);
+                System.arraycopy(value, 0, head, 0, size);
+                return head;
+            }
+            return value;
+        }
+    }
+}
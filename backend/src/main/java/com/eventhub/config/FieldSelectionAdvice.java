@@ -0,0 +1,50 @@
+package com.eventhub.config;
+
+import com.eventhub.dto.ApiResponse;
+import com.eventhub.dto.PaginatedResponse;
+import com.eventhub.exception.ValidationException;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies {@code ?fields=} (see {@link FieldSelection}) to successful ApiResponse and
+ * PaginatedResponse bodies. Error responses are never trimmed.
+ */
+@RestControllerAdvice
+public class FieldSelectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+    
+    public static final String FIELDS_PARAM = "fields";
+    
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAM);
+        Object body = bodyContainer.getValue();
+        if (fields == null || !(body instanceof ApiResponse<?> || body instanceof PaginatedResponse<?>)) {
+            return;
+        }
+        
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(e.getMessage());
+        }
+        if (selection != null) {
+            bodyContainer.setFilters(new SimpleFilterProvider()
+                    .addFilter(FieldSelection.FILTER_ID, selection.filter())
+                    .setFailOnUnknownId(false));
+        }
+    }
+}
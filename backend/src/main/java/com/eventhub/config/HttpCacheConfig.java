@@ -0,0 +1,23 @@
+package com.eventhub.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * HTTP caching for public endpoints: {@link HttpCacheable} on the controller method,
+ * {@link HttpCacheInterceptor} for Cache-Control and the 304 short cut,
+ * {@link HttpCacheFilter} for content ETags, {@link HttpCacheRegistry} for invalidation.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class HttpCacheConfig implements WebMvcConfigurer {
+    
+    private final HttpCacheInterceptor httpCacheInterceptor;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(httpCacheInterceptor).addPathPatterns("/api/public/**");
+    }
+}
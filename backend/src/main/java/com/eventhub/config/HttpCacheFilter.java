@@ -0,0 +1,68 @@
+package com.eventhub.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Buffers public GET responses so HttpCacheable ones get an ETag over their body
+ * (MD5, like Spring's ShallowEtagHeaderFilter) and 304 when If-None-Match matches.
+ * 
+ * The ETag is weak (W/"..."): Tomcat doesn't gzip responses with a strong ETag, since the
+ * compressed bytes differ from the ones it was computed over. If-None-Match is compared
+ * weakly (ServletWebRequest#checkNotModified), so both forms from older caches still match.
+ * 
+ * A plain servlet filter ahead of the dispatcher: which handler runs isn't known yet, so
+ * every /api/public GET is buffered, and responses without {@link HttpCacheable} are copied
+ * through unchanged.
+ */
+@Component
+@RequiredArgsConstructor
+public class HttpCacheFilter extends OncePerRequestFilter {
+    
+    private final HttpCacheRegistry registry;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || !request.getRequestURI().startsWith("/api/public/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            if (request.getAttribute(HttpCacheInterceptor.PENDING_ATTRIBUTE) instanceof HttpCacheInterceptor.Pending pending
+                    && wrapper.getStatus() == HttpServletResponse.SC_OK) {
+                String etag = "W/\"" + DigestUtils.md5DigestAsHex(wrapper.getContentAsByteArray()) + "\"";
+                HttpCacheRegistry.Entry entry = registry.remember(pending.key(), pending.version(), etag);
+                if (new ServletWebRequest(request, wrapper).checkNotModified(etag, entry.lastModified())) {
+                    registry.recordResult(pending.group(), "not_modified");
+                } else {
+                    registry.recordResult(pending.group(), "full");
+                    wrapper.copyBodyToResponse();
+                }
+            } else {
+                if (request.getAttribute(HttpCacheInterceptor.PENDING_ATTRIBUTE) != null) {
+                    // Errors must not be cached publicly under the success headers
+                    wrapper.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+                }
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+}
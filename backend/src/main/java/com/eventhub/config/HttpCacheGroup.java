@@ -0,0 +1,13 @@
+package com.eventhub.config;
+
+/**
+ * Groups of public responses that are invalidated together (see HttpCacheRegistry)
+ */
+public enum HttpCacheGroup {
+    /** Categories, cities, event types: edited by admins, practically static */
+    REFERENCE,
+    /** Public platform stats: recomputed every 5 minutes (CacheConfig) */
+    STATS,
+    /** Search and browse results: change with listing and vendor writes */
+    SEARCH
+}
@@ -0,0 +1,71 @@
+package com.eventhub.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link HttpCacheable}: sets Cache-Control, and answers a conditional request
+ * with 304 straight away when the remembered (weak) ETag is still current; If-None-Match
+ * is compared weakly, as RFC 9110 requires for it. Otherwise the controller runs and
+ * HttpCacheFilter computes the ETag from the body.
+ */
+@Component
+@RequiredArgsConstructor
+public class HttpCacheInterceptor implements HandlerInterceptor {
+    
+    /** Request attribute carrying the {@link Pending} state to HttpCacheFilter */
+    static final String PENDING_ATTRIBUTE = HttpCacheInterceptor.class.getName() + ".pending";
+    
+    private final HttpCacheRegistry registry;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))) {
+            return true;
+        }
+        HttpCacheable cacheable = handlerMethod.getMethodAnnotation(HttpCacheable.class);
+        if (cacheable == null) {
+            return true;
+        }
+        
+        // Set before the body is written; Spring Security leaves an existing Cache-Control alone
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(cacheable.maxAge(), TimeUnit.SECONDS)
+                .sMaxAge(cacheable.sharedMaxAge(), TimeUnit.SECONDS)
+                .staleWhileRevalidate(cacheable.staleWhileRevalidate(), TimeUnit.SECONDS)
+                .cachePublic()
+                .getHeaderValue());
+        
+        String key = keyOf(request);
+        HttpCacheGroup group = cacheable.value();
+        HttpCacheRegistry.Entry entry = registry.lookup(key, group, TimeUnit.SECONDS.toMillis(cacheable.sharedMaxAge()));
+        if (entry != null && new ServletWebRequest(request, response).checkNotModified(entry.etag(), entry.lastModified())) {
+            registry.recordResult(group, "not_modified_shortcut");
+            return false;
+        }
+        request.setAttribute(PENDING_ATTRIBUTE, new Pending(key, group, registry.version(group)));
+        return true;
+    }
+    
+    static String keyOf(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+    
+    /**
+     * Cacheable request whose controller is running; version is read before it runs, so a
+     * write racing with the controller leaves an entry that is already outdated
+     */
+    record Pending(String key, HttpCacheGroup group, long version) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.eventhub.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters and known ETags for HTTP-cacheable responses.
+ * 
+ * Each {@link HttpCacheGroup} has a version that write paths bump with {@link #invalidate}.
+ * The ETag last produced for a URL is remembered together with the group version; while
+ * the version is unchanged and the entry is younger than the endpoint's s-maxage, a
+ * matching If-None-Match is answered with 304 without running the controller at all.
+ * 
+ * ETags are content hashes, so they agree across instances and a CDN sees the same
+ * validator whichever instance answers.
+ * 
+ * Known bound: versions and remembered ETags live in this instance's memory only. An
+ * {@link #invalidate} reaches other instances only when it runs there too; domain events
+ * do that through the outbox tail (DomainEventCacheEvictor, within a few seconds), but
+ * direct calls (admin listing/vendor toggles, the admin invalidate endpoint) don't. Until
+ * then another instance may still answer 304 for the old content, for at most the
+ * endpoint's s-maxage, which is how long the entry is trusted. A restarted instance
+ * starts with no entries, so it always runs the controller first.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HttpCacheRegistry {
+    
+    // Bounds memory for search URLs with arbitrary query strings
+    static final int MAX_ENTRIES = 10_000;
+    
+    private final Map<HttpCacheGroup, AtomicLong> versions = new EnumMap<>(HttpCacheGroup.class);
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    
+    {
+        for (HttpCacheGroup group : HttpCacheGroup.values()) {
+            versions.put(group, new AtomicLong());
+        }
+    }
+    
+    public long version(HttpCacheGroup group) {
+        return versions.get(group).get();
+    }
+    
+    /**
+     * Call after a write that changes what the group's endpoints return
+     */
+    public void invalidate(HttpCacheGroup... groups) {
+        for (HttpCacheGroup group : groups) {
+            versions.get(group).incrementAndGet();
+            Counter.builder("http.cache.invalidations")
+                    .tag("group", group.name())
+                    .register(meterRegistry)
+                    .increment();
+            log.debug("HTTP cache group {} invalidated", group);
+        }
+    }
+    
+    /**
+     * Remembered entry for the URL if it is still current
+     */
+    public Entry lookup(String key, HttpCacheGroup group, long maxAgeMillis) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.version() != version(group) || System.currentTimeMillis() - entry.storedAt() > maxAgeMillis) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+    
+    /**
+     * Remember the ETag produced for the URL at the given group version
+     * 
+     * @return the entry; its lastModified is kept from the previous entry if the content is unchanged
+     */
+    public Entry remember(String key, long version, String etag) {
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        long now = System.currentTimeMillis();
+        return entries.compute(key, (k, previous) -> {
+            long lastModified = previous != null && previous.etag().equals(etag) ? previous.lastModified() : now;
+            return new Entry(version, etag, lastModified, now);
+        });
+    }
+    
+    public void recordResult(HttpCacheGroup group, String result) {
+        Counter.builder("http.cache.requests")
+                .tag("group", group.name())
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    /**
+     * @param lastModified when this content was first served (seconds precision is applied by the caller)
+     * @param storedAt when the entry was last confirmed by running the controller
+     */
+    public record Entry(long version, String etag, long lastModified, long storedAt) {
+    }
+}
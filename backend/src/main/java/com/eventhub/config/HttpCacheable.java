@@ -0,0 +1,29 @@
+package com.eventhub.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a public GET endpoint as HTTP-cacheable.
+ * 
+ * The response gets {@code Cache-Control: public} with the given lifetimes, a strong ETag
+ * over the body and a Last-Modified, and conditional requests are answered with 304.
+ * Only use it where the response is the same for every caller.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface HttpCacheable {
+    
+    HttpCacheGroup value();
+    
+    /** Browser lifetime (max-age) in seconds */
+    int maxAge();
+    
+    /** CDN lifetime (s-maxage) in seconds; also how long the ETag is trusted without re-running the handler */
+    int sharedMaxAge();
+    
+    /** How long caches may serve a stale copy while revalidating, in seconds */
+    int staleWhileRevalidate() default 60;
+}
@@ -0,0 +1,87 @@
+package com.eventhub.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConcurrentMapCache that counts hits and misses.
+ * 
+ * Spring Boot's built-in binder for ConcurrentMapCache only reports size, so cache hit
+ * ratios were invisible. {@link Metrics} exposes the counts under Boot's standard names
+ * (cache.gets{result=hit|miss}, cache.size) and is registered in MetricsConfig.
+ */
+public class MeteredConcurrentMapCache extends ConcurrentMapCache {
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    public MeteredConcurrentMapCache(String name, boolean allowNullValues) {
+        super(name, new ConcurrentHashMap<>(256), allowNullValues);
+    }
+    
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    /**
+     * Micrometer binder reading the counters above
+     */
+    public static class Metrics extends CacheMeterBinder<MeteredConcurrentMapCache> {
+        
+        public Metrics(MeteredConcurrentMapCache cache, Iterable<Tag> tags) {
+            super(cache, cache.getName(), tags);
+        }
+        
+        @Override
+        protected Long size() {
+            MeteredConcurrentMapCache cache = getCache();
+            return cache == null ? null : (long) cache.getNativeCache().size();
+        }
+        
+        @Override
+        protected long hitCount() {
+            MeteredConcurrentMapCache cache = getCache();
+            return cache == null ? 0 : cache.getHitCount();
+        }
+        
+        @Override
+        protected Long missCount() {
+            MeteredConcurrentMapCache cache = getCache();
+            return cache == null ? null : cache.getMissCount();
+        }
+        
+        @Override
+        protected Long evictionCount() {
+            return null;
+        }
+        
+        @Override
+        protected long putCount() {
+            return 0;
+        }
+        
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.eventhub.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Micrometer setup shared by all metrics exposed on /actuator/prometheus.
+ * 
+ * Auto-configured by Spring Boot (no code needed):
+ * - http.server.requests: every controller, tagged by uri/method/status
+ * - hikaricp.connections.*: pool usage, pending threads, acquire time, timeouts
+ * - hibernate.*: statement/entity/query statistics (hibernate.generate_statistics=true)
+ * - tasks.scheduled.execution: duration of every @Scheduled method
+ * - jvm.*, process.*, system.*
+ * 
+ * ScheduledJobRunner adds scheduler.job.execution / scheduler.job.skipped for ClusterJobs.
+ * 
+ * Added here: @Timed support for service methods (search, image upload) and cache
+ * hit/miss counts (cache.gets) for the ConcurrentMapCache caches in CacheConfig.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Value("${spring.application.name:event-hub-backend}")
+    private String applicationName;
+    
+    /**
+     * Tag every meter with the application name so dashboards can tell services apart
+     */
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> commonTags() {
+        return registry -> registry.config().commonTags("application", applicationName);
+    }
+    
+    /**
+     * Enables @Timed on Spring beans (requires spring-boot-starter-aop)
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+    
+    /**
+     * Binds MeteredConcurrentMapCache hit/miss counters. Ordered first so it wins over
+     * Boot's ConcurrentMapCache binder, which only reports size.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CacheMeterBinderProvider<MeteredConcurrentMapCache> meteredCacheMeterBinderProvider() {
+        return new CacheMeterBinderProvider<>() {
+            @Override
+            public MeterBinder getMeterBinder(MeteredConcurrentMapCache cache, Iterable<Tag> tags) {
+                return new MeteredConcurrentMapCache.Metrics(cache, tags);
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.eventhub.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.util.ClassUtils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * GraalVM native-image hints for what Spring AOT cannot see on its own (mvn -Pnative).
+ * 
+ * Spring already covers beans, controller signatures and JPA managed types; this adds
+ * the libraries that load classes by name or through JNI. The hints are only read at
+ * build time by process-aot, so they cost nothing on the JVM.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+public class NativeHintsConfig {
+    
+    static class Hints implements RuntimeHintsRegistrar {
+        
+        // jjwt-api creates its implementation reflectively (io.jsonwebtoken.lang.Classes)
+        private static final List<String> JJWT_IMPL_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        );
+        
+        // webp-imageio calls into libwebp over JNI, and the library reads these classes back
+        private static final List<String> WEBP_JNI_TYPES = List.of(
+            "com.luciad.imageio.webp.WebP",
+            "com.luciad.imageio.webp.WebPDecoderOptions",
+            "com.luciad.imageio.webp.WebPEncoderOptions",
+            "com.luciad.imageio.webp.VP8StatusCode",
+            "com.luciad.imageio.webp.WebPImageReaderSpi",
+            "com.luciad.imageio.webp.WebPImageWriterSpi"
+        );
+        
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+        
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Entities: Hibernate instantiates them and reads converters, embedded ids and enums
+            for (Class<?> type : typesIn("com.eventhub.model", classLoader)) {
+                hints.reflection().registerType(type, MemberCategory.values());
+            }
+            // DTOs: Jackson binding for request bodies, responses and cached values
+            for (Class<?> type : typesIn("com.eventhub.dto", classLoader)) {
+                bindingRegistrar.registerReflectionHints(hints.reflection(), type);
+            }
+            
+            for (String type : JJWT_IMPL_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.values());
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+            
+            // Thumbnailator goes through ImageIO service providers; webp needs its native library
+            hints.resources().registerPattern("META-INF/services/javax.imageio.spi.*");
+            hints.resources().registerPattern("native/linux/64/libwebp-imageio.so");
+            for (String type : WEBP_JNI_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.values());
+                hints.jni().registerType(TypeReference.of(type), MemberCategory.values());
+            }
+            
+            // AWS SDK: sdk-core, aws-core and apache-client ship their own native-image config;
+            // the region/endpoint metadata and interceptor lists are plain resources
+            hints.resources().registerPattern("software/amazon/awssdk/regions/internal/region/endpoints.json");
+            hints.resources().registerPattern("software/amazon/awssdk/awscore/internal/defaults/sdk-default-configuration.json");
+            hints.resources().registerPattern("software/amazon/awssdk/global/handlers/execution.interceptors");
+            hints.resources().registerPattern("software/amazon/awssdk/services/s3/execution.interceptors");
+        }
+        
+        private static Set<Class<?>> typesIn(String basePackage, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    // Every top-level or static nested type, including enums and interfaces
+                    return beanDefinition.getMetadata().isIndependent();
+                }
+            };
+            scanner.addIncludeFilter((reader, factory) -> true);
+            Set<Class<?>> types = new LinkedHashSet<>();
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                types.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+            return types;
+        }
+    }
+}
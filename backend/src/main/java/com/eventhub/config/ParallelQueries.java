@@ -0,0 +1,305 @@
+package com.eventhub.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read-only queries concurrently, each on its own connection.
+ * 
+ * Used by views that aggregate several unrelated lookups (admin vendor drill-down,
+ * dashboards), so their latency is the slowest query of each wave rather than the sum of all
+ * of them: at most max-concurrency tasks of a workload run at once, so a 23-query dashboard
+ * with the default of 4 runs in about 6 waves.
+ * 
+ * - Each task runs on a virtual thread inside its own read-only transaction; map entities to
+ *   DTOs inside the task, they are detached once it returns.
+ * - A semaphore per workload caps how many tasks hold a connection at once, so fan-out can
+ *   never take the entire Hikari pool away from plain requests, and a wide admin dashboard
+ *   queued on its bulkhead doesn't hold the slots a vendor page needs.
+ * - The caller must not hold a transaction while waiting, or it pins one more connection.
+ * - Statements are counted against the calling request's query budget, and connections
+ *   come from the caller's bulkhead (Workload). The caller's security context is carried
+ *   over too, so replica routing keeps the user's reads on the primary after their writes.
+ * 
+ * For dashboards where a missing number is better than a failed page, use {@link #fanOut}:
+ * each branch has a timeout and a fallback value. The timeout counts from when the branch
+ * has its connection, not from fork, so branches queued behind the semaphore or the bulkhead
+ * don't expire unrun; the queueing itself is bounded by the same timeout, so a branch
+ * resolves within twice its timeout at most.
+ * Running queries are never interrupted (that would break the pooled connection's socket);
+ * a timed out branch is abandoned and its statement ends at the transaction timeout.
+ */
+@Component
+@Slf4j
+public class ParallelQueries {
+    
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final PlatformTransactionManager transactionManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Workload, Semaphore> workloadPermits = new EnumMap<>(Workload.class);
+    // Tasks forked from threads without a workload (e.g. startup code)
+    private final Semaphore unboundPermits;
+    private final MeterRegistry meterRegistry;
+    
+    public ParallelQueries(PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.parallel-queries.max-concurrency:4}") int maxConcurrency) {
+        this.transactionManager = transactionManager;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = readOnlyTransaction(transactionManager, null);
+        for (Workload workload : Workload.values()) {
+            workloadPermits.put(workload, new Semaphore(Math.max(1, maxConcurrency), true));
+        }
+        this.unboundPermits = new Semaphore(Math.max(1, maxConcurrency), true);
+    }
+    
+    /**
+     * Start {@code query} in its own read-only transaction
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        RequestQueryStats requestStats = RequestQueryStats.current();
+        Workload workload = Workload.current();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        return CompletableFuture.supplyAsync(
+                () -> runQuery(readOnlyTransaction, requestStats, workload, securityContext, query, null), executor);
+    }
+    
+    /**
+     * Wait for a submitted query, rethrowing its exception unwrapped
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Open a fan-out whose branches fall back to a default value on error or timeout.
+     * Use with try-with-resources; closing cancels branches that are still running.
+     * 
+     * @param name used in logs and the parallel.queries.fallbacks metric
+     * @param branchTimeout default time each branch may take, measured from when it has its connection
+     */
+    public FanOut fanOut(String name, Duration branchTimeout) {
+        return new FanOut(name, branchTimeout);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    private <T> T runQuery(TransactionTemplate transaction, RequestQueryStats requestStats, Workload workload,
+                           SecurityContext securityContext, Supplier<T> query, Branch<?> branch) {
+        Semaphore permits = workload != null ? workloadPermits.get(workload) : unboundPermits;
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (branch != null) {
+                branch.markStarted();
+            }
+            throw new IllegalStateException("Interrupted waiting for a query slot", e);
+        }
+        RequestQueryStats.bind(requestStats);
+        Workload.bind(workload);
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            return transaction.execute(status -> {
+                // The transaction has its connection now, so the branch timeout starts here
+                if (branch != null) {
+                    branch.markStarted();
+                    if (branch.abandoned) {
+                        // The fan-out gave up on this branch while it was queued
+                        return null;
+                    }
+                }
+                return query.get();
+            });
+        } finally {
+            if (branch != null) {
+                // Getting the connection failed (e.g. bulkhead full); let await() see the error
+                branch.markStarted();
+            }
+            RequestQueryStats.bind(null);
+            Workload.bind(null);
+            SecurityContextHolder.clearContext();
+            permits.release();
+        }
+    }
+    
+    private static TransactionTemplate readOnlyTransaction(PlatformTransactionManager transactionManager, Duration timeout) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        if (timeout != null) {
+            // Applied as the JDBC statement timeout, so the database also abandons the query
+            transaction.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+        }
+        return transaction;
+    }
+    
+    /**
+     * A group of queries forked together and joined together (structured concurrency in the
+     * style of StructuredTaskScope, which is still a preview API on Java 21).
+     * Branch results are read with {@link Branch#get()} after {@link #join()}.
+     */
+    public final class FanOut implements AutoCloseable {
+        
+        private final String name;
+        private final Duration defaultTimeout;
+        private final RequestQueryStats requestStats = RequestQueryStats.current();
+        private final Workload workload = Workload.current();
+        private final SecurityContext securityContext = SecurityContextHolder.getContext();
+        private final List<Branch<?>> branches = new ArrayList<>();
+        private boolean joined;
+        
+        private FanOut(String name, Duration defaultTimeout) {
+            this.name = name;
+            this.defaultTimeout = defaultTimeout;
+        }
+        
+        public <T> Branch<T> fork(String branch, Supplier<T> query, T fallback) {
+            return fork(branch, query, fallback, defaultTimeout);
+        }
+        
+        public <T> Branch<T> fork(String branch, Supplier<T> query, T fallback, Duration timeout) {
+            if (joined) {
+                throw new IllegalStateException("Fan-out " + name + " already joined");
+            }
+            TransactionTemplate transaction = readOnlyTransaction(transactionManager, timeout);
+            Branch<T> result = new Branch<>(branch, fallback, timeout.toNanos());
+            result.future = executor.submit(() -> runQuery(transaction, requestStats, workload, securityContext, query, result));
+            branches.add(result);
+            return result;
+        }
+        
+        /**
+         * Wait for every branch to finish or reach its timeout (counted from when it got its
+         * connection, after at most the same time queued). Never throws: failed and timed out branches resolve to their fallback.
+         */
+        public void join() {
+            joined = true;
+            for (Branch<?> branch : branches) {
+                branch.await(name);
+            }
+        }
+        
+        /**
+         * True if any branch resolved to its fallback, i.e. the result is incomplete
+         */
+        public boolean hasFallbacks() {
+            return branches.stream().anyMatch(branch -> branch.fellBack);
+        }
+        
+        /**
+         * Branches still queued are skipped; running ones finish and their results are dropped
+         */
+        @Override
+        public void close() {
+            for (Branch<?> branch : branches) {
+                branch.abandoned = true;
+            }
+        }
+    }
+    
+    public final class Branch<T> {
+        
+        private final String name;
+        private final T fallback;
+        private final long timeoutNanos;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private Future<T> future;
+        private volatile long startedNanos;
+        private volatile boolean abandoned;
+        private T value;
+        private boolean done;
+        private boolean fellBack;
+        
+        private Branch(String name, T fallback, long timeoutNanos) {
+            this.name = name;
+            this.fallback = fallback;
+            this.timeoutNanos = timeoutNanos;
+        }
+        
+        private void markStarted() {
+            if (started.getCount() > 0) {
+                startedNanos = System.nanoTime();
+                started.countDown();
+            }
+        }
+        
+        /**
+         * Branch result, or its fallback if it failed or timed out
+         */
+        public T get() {
+            if (!done) {
+                throw new IllegalStateException("Branch " + name + " read before join()");
+            }
+            return value;
+        }
+        
+        private void await(String fanOut) {
+            String failure = null;
+            try {
+                // Queue time doesn't count against the run timeout, but is bounded by it too
+                if (!started.await(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException();
+                }
+                long remaining = startedNanos + timeoutNanos - System.nanoTime();
+                value = future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                abandoned = true;
+                failure = "timeout";
+                log.warn("{}: {} timed out, using fallback", fanOut, name);
+            } catch (ExecutionException e) {
+                failure = "error";
+                log.warn("{}: {} failed, using fallback: {}", fanOut, name, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abandoned = true;
+                failure = "interrupted";
+            }
+            if (failure != null) {
+                value = fallback;
+                fellBack = true;
+                Counter.builder("parallel.queries.fallbacks")
+                        .tag("fanout", fanOut)
+                        .tag("branch", name)
+                        .tag("reason", failure)
+                        .register(meterRegistry)
+                        .increment();
+            }
+            done = true;
+        }
+    }
+}
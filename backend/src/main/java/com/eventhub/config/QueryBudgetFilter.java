@@ -0,0 +1,126 @@
+package com.eventhub.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request SQL budget: counts and times every statement executed while handling a
+ * request (see RequestQueryStats) and
+ * - exports http.server.requests.queries / .query.time per endpoint
+ * - flags shapes executed n-plus-one-threshold times or more as N+1
+ *   (http.server.requests.n_plus_one, with the offending SQL in the log)
+ * - logs requests that exceed max-statements or max-time-ms
+ * 
+ * Runs before Spring Security so the JWT filter's queries are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${app.query-budget.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.query-budget.max-statements:25}")
+    private int maxStatements;
+    
+    @Value("${app.query-budget.max-time-ms:1000}")
+    private long maxTimeMs;
+    
+    @Value("${app.query-budget.slow-query-ms:300}")
+    private long slowQueryMs;
+    
+    @Value("${app.query-budget.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin(TimeUnit.MILLISECONDS.toNanos(slowQueryMs));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            report(request, stats);
+        }
+    }
+    
+    private void report(HttpServletRequest request, RequestQueryStats stats) {
+        if (stats.getStatements() == 0) {
+            return;
+        }
+        
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements executed per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.query.time")
+                .description("Time spent executing SQL per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getTotalNanos(), TimeUnit.NANOSECONDS);
+        
+        List<RequestQueryStats.Shape> repeated = stats.repeatedShapes(nPlusOneThreshold);
+        for (RequestQueryStats.Shape shape : repeated) {
+            log.warn("Possible N+1 on {} {}: {} executions ({} ms) of: {}",
+                    method, uri, shape.getCount(), TimeUnit.NANOSECONDS.toMillis(shape.getNanos()),
+                    QueryTimingSessionListener.abbreviate(shape.getSql()));
+        }
+        if (!repeated.isEmpty()) {
+            Counter.builder("http.server.requests.n_plus_one")
+                    .description("Requests with a query shape repeated n-plus-one-threshold times or more")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        
+        long queryMs = TimeUnit.NANOSECONDS.toMillis(stats.getTotalNanos());
+        if (stats.getStatements() > maxStatements || queryMs > maxTimeMs) {
+            log.warn("Query budget exceeded on {} {}: {} statements (budget {}), {} ms in SQL (budget {} ms)",
+                    method, uri, stats.getStatements(), maxStatements, queryMs, maxTimeMs);
+            Counter.builder("http.server.requests.over_budget")
+                    .description("Requests exceeding the per-request query budget")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.eventhub.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records every SQL statement Hibernate prepares into the current request's
+ * RequestQueryStats. The SQL is returned unchanged.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+    
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.onStatement(sql);
+        }
+        return sql;
+    }
+}
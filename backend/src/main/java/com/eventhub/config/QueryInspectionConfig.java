@@ -0,0 +1,22 @@
+package com.eventhub.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the Hibernate hooks behind the per-request query budget (QueryBudgetFilter).
+ */
+@Configuration
+public class QueryInspectionConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer queryInspectionCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+            // Instantiated by Hibernate once per session
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryTimingSessionListener.class.getName());
+        };
+    }
+}
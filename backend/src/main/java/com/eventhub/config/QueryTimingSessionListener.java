@@ -0,0 +1,52 @@
+package com.eventhub.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times JDBC executions for the current request's RequestQueryStats and logs single
+ * statements slower than app.query-budget.slow-query-ms.
+ * 
+ * Hibernate creates one instance per session (hibernate.session.events.auto), so the
+ * start timestamps are not shared between threads.
+ */
+@Slf4j
+public class QueryTimingSessionListener implements SessionEventListener {
+    
+    private long executeStart;
+    private long batchStart;
+    
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+    
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(System.nanoTime() - executeStart);
+    }
+    
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+    
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(System.nanoTime() - batchStart);
+    }
+    
+    private void record(long nanos) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null && stats.onExecuted(nanos)) {
+            log.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), abbreviate(stats.lastSql()));
+        }
+    }
+    
+    static String abbreviate(String sql) {
+        if (sql == null) return null;
+        return sql.length() > 500 ? sql.substring(0, 500) + "..." : sql;
+    }
+}
@@ -0,0 +1,206 @@
+package com.eventhub.config;
+
+import com.eventhub.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Per-route token bucket rate limits plus load shedding on a saturated connection pool.
+ *
+ * Each request is matched to the first policy below and takes a token from its bucket,
+ * keyed by the authenticated user, or by client IP for anonymous callers (auth endpoints
+ * are always keyed by IP). Over the limit: 429 with Retry-After. Past app.rate-limit.max-keys
+ * tracked clients, new ones are let through, except on auth endpoints, which refuse them.
+ *
+ * The client IP is getRemoteAddr(), never a raw X-Forwarded-For value a client could vary
+ * to get a fresh bucket per request. Behind a proxy, server.forward-headers-strategy=native
+ * makes Tomcat's RemoteIpValve resolve it from X-Forwarded-For, trusting only hops from
+ * server.tomcat.remoteip.internal-proxies.
+ *
+ * Public read endpoints are also shed with 503 while more than
+ * app.load-shedding.max-awaiting-connection threads are queued on the Hikari pool, so
+ * anonymous search traffic can't starve logged-in users and checkouts of connections.
+ *
+ * Rates are app.rate-limit.{policy}.per-second / .burst. Runs right after Spring Security
+ * so the user is known.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    record Policy(String name, Predicate<HttpServletRequest> matcher, boolean byIpOnly, boolean sheddable,
+                  TokenBucketLimiter limiter) {}
+    
+    private final List<Policy> policies;
+    private final ObjectProvider<DataSource> dataSource;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxAwaitingConnection;
+    private volatile HikariPoolMXBean pool;
+    
+    public RateLimitFilter(Environment environment,
+                           ObjectProvider<DataSource> dataSource,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = environment.getProperty("app.rate-limit.enabled", Boolean.class, true);
+        this.maxAwaitingConnection = environment.getProperty("app.load-shedding.max-awaiting-connection", Integer.class, 10);
+        int maxKeys = environment.getProperty("app.rate-limit.max-keys", Integer.class, 100_000);
+        
+        // First match wins
+        this.policies = List.of(
+                policy(environment, maxKeys, "auth", 0.5, 10, true, false, true,
+                        request -> HttpMethod.POST.matches(request.getMethod())
+                                && (request.getRequestURI().startsWith("/api/auth/")
+                                || request.getRequestURI().equals("/api/admin/login"))),
+                // Cache misses are proxied to Nominatim/Photon
+                policy(environment, maxKeys, "geocoding", 10, 20, false, true, false,
+                        request -> request.getRequestURI().startsWith("/api/public/geocoding/")),
+                policy(environment, maxKeys, "search", 10, 30, false, true, false,
+                        request -> request.getRequestURI().startsWith("/api/public/search/")),
+                policy(environment, maxKeys, "public", 20, 60, false, true, false,
+                        request -> request.getRequestURI().startsWith("/api/public/")),
+                policy(environment, maxKeys, "api", 20, 60, false, false, false,
+                        request -> request.getRequestURI().startsWith("/api/")));
+        
+        for (Policy policy : policies) {
+            Gauge.builder("rate_limit.buckets", policy.limiter(), TokenBucketLimiter::size)
+                    .description("Clients currently tracked by the rate limiter")
+                    .tag("policy", policy.name())
+                    .register(meterRegistry);
+        }
+    }
+    
+    private static Policy policy(Environment environment, int maxKeys, String name, double perSecond, int burst,
+                                 boolean byIpOnly, boolean sheddable, boolean failClosed,
+                                 Predicate<HttpServletRequest> matcher) {
+        double rate = environment.getProperty("app.rate-limit." + name + ".per-second", Double.class, perSecond);
+        int size = environment.getProperty("app.rate-limit." + name + ".burst", Integer.class, burst);
+        return new Policy(name, matcher, byIpOnly, sheddable, new TokenBucketLimiter(rate, size, maxKeys, failClosed));
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                // Provider callbacks come from a few fixed IPs and must never be dropped
+                || request.getRequestURI().equals("/api/payments/token/webhook");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Policy policy = match(request);
+        if (policy == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        long waitNanos = policy.limiter().tryAcquire(clientKey(request, policy));
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            reject(response, policy, "rate_limited", HttpStatus.TOO_MANY_REQUESTS, retryAfter,
+                    "Rate limit exceeded. Please try again later.");
+            return;
+        }
+        if (policy.sheddable() && poolSaturated()) {
+            reject(response, policy, "shed", HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Service is busy. Please try again shortly.");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+    
+    Policy match(HttpServletRequest request) {
+        for (Policy policy : policies) {
+            if (policy.matcher().test(request)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+    
+    private static String clientKey(HttpServletRequest request, Policy policy) {
+        if (!policy.byIpOnly()) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "u:" + authentication.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+    
+    private boolean poolSaturated() {
+        HikariPoolMXBean mxBean = pool;
+        if (mxBean == null) {
+            mxBean = resolvePool();
+            if (mxBean == null) {
+                return false;
+            }
+        }
+        return mxBean.getThreadsAwaitingConnection() > maxAwaitingConnection;
+    }
+    
+    private HikariPoolMXBean resolvePool() {
+        DataSource source = dataSource.getIfAvailable();
+        try {
+            if (source != null && source.isWrapperFor(HikariDataSource.class)) {
+                // Null until the pool has started
+                pool = source.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            }
+        } catch (SQLException e) {
+            log.debug("Cannot read Hikari pool state: {}", e.getMessage());
+        }
+        return pool;
+    }
+    
+    private void reject(HttpServletResponse response, Policy policy, String reason, HttpStatus status, long retryAfterSeconds,
+                        String message) throws IOException {
+        meterRegistry.counter("http.server.requests.rejected", "policy", policy.name(), "reason", reason).increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+    
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleBuckets() {
+        for (Policy policy : policies) {
+            policy.limiter().evictIdle();
+        }
+    }
+}
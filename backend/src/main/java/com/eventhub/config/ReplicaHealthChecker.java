@@ -0,0 +1,128 @@
+package com.eventhub.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Measures each replica's replay lag and takes it out of rotation while the lag is over
+ * app.datasource.replica.max-lag-ms or the replica can't be reached; reads then go to the
+ * other replicas, or to the primary when none is left. Replicas start out of rotation until
+ * the first check, which runs as soon as scheduling starts. Does nothing without replicas.
+ * 
+ * A replica whose WAL receiver isn't streaming from the primary is out of rotation too:
+ * with the receiver down, nothing new arrives, so "everything received is replayed" would
+ * otherwise read as zero lag however far behind it falls.
+ * 
+ * Exported as db.replica.lag (-1 while unreachable or not streaming), db.replica.healthy
+ * and db.replica.sticky_users.
+ */
+@Component
+@Slf4j
+public class ReplicaHealthChecker {
+    
+    // Null while the WAL receiver isn't streaming. Otherwise, caught up (nothing received that
+    // isn't replayed yet) counts as no lag, even if the primary has been idle since the last
+    // replayed transaction. A server that isn't in recovery (promoted) has no lag.
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END
+            """;
+    
+    private final ReplicaRoutingDataSource routing;
+    private final long maxLagMs;
+    
+    public ReplicaHealthChecker(DataSource dataSource,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.datasource.replica.max-lag-ms:5000}") long maxLagMs) {
+        this.routing = unwrap(dataSource);
+        this.maxLagMs = maxLagMs;
+        if (routing == null) {
+            return;
+        }
+        for (ReplicaRoutingDataSource.Replica replica : routing.getReplicas()) {
+            Gauge.builder("db.replica.lag", replica, ReplicaRoutingDataSource.Replica::getLagMillis)
+                    .description("Replay lag of the replica behind the primary")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .description("Whether the replica currently receives read-only transactions")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("db.replica.sticky_users", routing, ReplicaRoutingDataSource::getStickyUsers)
+                .description("Users whose reads stay on the primary after a recent write")
+                .register(meterRegistry);
+    }
+    
+    private static ReplicaRoutingDataSource unwrap(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+                return dataSource.unwrap(ReplicaRoutingDataSource.class);
+            }
+        } catch (SQLException e) {
+            log.debug("Cannot inspect DataSource for replicas: {}", e.getMessage());
+        }
+        return null;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-ms:5000}")
+    public void checkReplicas() {
+        if (routing == null) {
+            return;
+        }
+        for (ReplicaRoutingDataSource.Replica replica : routing.getReplicas()) {
+            check(replica);
+        }
+        routing.evictExpired();
+    }
+    
+    private void check(ReplicaRoutingDataSource.Replica replica) {
+        boolean wasHealthy = replica.isHealthy();
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                long lagMs = Math.round(rs.getDouble(1));
+                if (rs.wasNull()) {
+                    replica.update(false, -1);
+                    if (wasHealthy) {
+                        log.warn("Replica {} out of rotation, not streaming from the primary", replica.getName());
+                    }
+                    return;
+                }
+                boolean healthy = lagMs <= maxLagMs;
+                replica.update(healthy, lagMs);
+                if (healthy != wasHealthy) {
+                    if (healthy) {
+                        log.info("Replica {} back in rotation, lag {} ms", replica.getName(), lagMs);
+                    } else {
+                        log.warn("Replica {} out of rotation, lag {} ms over {} ms", replica.getName(), lagMs, maxLagMs);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            replica.update(false, -1);
+            if (wasHealthy) {
+                log.warn("Replica {} out of rotation, unreachable: {}", replica.getName(), e.getMessage());
+            } else {
+                log.debug("Replica {} still unreachable: {}", replica.getName(), e.getMessage());
+            }
+        }
+    }
+}
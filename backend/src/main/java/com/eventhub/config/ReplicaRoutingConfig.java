@@ -0,0 +1,106 @@
+package com.eventhub.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts ReplicaRoutingDataSource in front of the primary pool when
+ * app.datasource.replica.urls lists one or more replicas (comma separated JDBC URLs).
+ * 
+ * Each replica gets its own small Hikari pool, copied from the primary's settings (same
+ * credentials unless app.datasource.replica.username / password are set) and read-only.
+ * A replica that is down at startup doesn't block it; the health check keeps it out of
+ * rotation until it answers. The replica pools aren't beans, so the post processor closes
+ * them itself on shutdown, after the beans using them are gone. Runs before BulkheadConfig, so the bulkhead stays outermost
+ * and limits connections to whichever server a transaction is routed to.
+ */
+@Configuration(proxyBeanMethods = false)
+@Slf4j
+public class ReplicaRoutingConfig {
+    
+    @Bean
+    static BeanPostProcessor replicaRoutingDataSourcePostProcessor(Environment environment) {
+        return new ReplicaRoutingPostProcessor(environment);
+    }
+    
+    private static final class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered, DisposableBean {
+        
+        private final Environment environment;
+        private final List<HikariDataSource> replicaPools = new ArrayList<>();
+        
+        private ReplicaRoutingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+        
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            String urls = environment.getProperty("app.datasource.replica.urls", "");
+            if (!"dataSource".equals(beanName) || !(bean instanceof HikariDataSource primary) || urls.isBlank()) {
+                return bean;
+            }
+            List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+            List<String> jdbcUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+            for (int i = 0; i < jdbcUrls.size(); i++) {
+                String name = "replica-" + (i + 1);
+                replicas.add(new ReplicaRoutingDataSource.Replica(name, replicaPool(primary, name, jdbcUrls.get(i))));
+            }
+            long maxLagMs = environment.getProperty("app.datasource.replica.max-lag-ms", Long.class, 5000L);
+            // Shorter than the allowed lag would send a user's reads to a replica that hasn't caught up yet
+            long stickyMs = Math.max(maxLagMs,
+                    TimeUnit.SECONDS.toMillis(environment.getProperty("app.datasource.replica.sticky-seconds", Long.class, 10L)));
+            log.info("Routing read-only transactions to {} replica(s)", replicas.size());
+            
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(
+                    new ReplicaRoutingDataSource(primary, replicas, TimeUnit.MILLISECONDS.toNanos(stickyMs)));
+            // Hikari's defaults, so the proxy never has to open a connection just to read them
+            proxy.setDefaultAutoCommit(primary.isAutoCommit());
+            proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            return proxy;
+        }
+        
+        private HikariDataSource replicaPool(HikariDataSource primary, String name, String jdbcUrl) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setPoolName(name);
+            config.setJdbcUrl(jdbcUrl);
+            config.setUsername(environment.getProperty("app.datasource.replica.username", primary.getUsername()));
+            config.setPassword(environment.getProperty("app.datasource.replica.password", primary.getPassword()));
+            int poolSize = environment.getProperty("app.datasource.replica.pool-size", Integer.class, primary.getMaximumPoolSize());
+            config.setMaximumPoolSize(poolSize);
+            config.setMinimumIdle(Math.min(primary.getMinimumIdle(), poolSize));
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            // A dead replica should fail the health check quickly, not hold it for the primary's timeout
+            config.setConnectionTimeout(Math.min(primary.getConnectionTimeout(), 5000));
+            HikariDataSource pool = new HikariDataSource(config);
+            replicaPools.add(pool);
+            return pool;
+        }
+        
+        @Override
+        public void destroy() {
+            for (HikariDataSource pool : replicaPools) {
+                pool.close();
+            }
+        }
+        
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
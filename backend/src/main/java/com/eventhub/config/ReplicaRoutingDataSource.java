@@ -0,0 +1,161 @@
+package com.eventhub.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ *
+ * - Read-only means @Transactional(readOnly = true), including Spring Data's own read
+ *   methods. Must sit behind a LazyConnectionDataSourceProxy, so the route is picked at
+ *   the first statement, once the transaction's read-only flag is known.
+ * - A replica is used only while ReplicaHealthChecker sees its replay lag under max-lag.
+ * - Read-your-writes: after a user's read-write transaction commits, that user's reads stay
+ *   on the primary for the sticky window, so they never see a replica from before their
+ *   own write. The window is per instance.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    static final String PRIMARY = "primary";
+    private static final Object WRITE_MARK = new Object();
+    
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis = -1;
+        
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+        
+        public boolean isHealthy() {
+            return healthy;
+        }
+        
+        public long getLagMillis() {
+            return lagMillis;
+        }
+        
+        void update(boolean healthy, long lagMillis) {
+            this.healthy = healthy;
+            this.lagMillis = lagMillis;
+        }
+    }
+    
+    private final List<Replica> replicas;
+    private final long stickyNanos;
+    private final LongSupplier clock;
+    private final AtomicInteger next = new AtomicInteger();
+    // User id -> nanoTime until which their reads go to the primary
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, long stickyNanos) {
+        this(primary, replicas, stickyNanos, System::nanoTime);
+    }
+    
+    ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, long stickyNanos, LongSupplier clock) {
+        this.replicas = List.copyOf(replicas);
+        this.stickyNanos = stickyNanos;
+        this.clock = clock;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite(user);
+            return PRIMARY;
+        }
+        if (user != null && isSticky(user)) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                return replica.getName();
+            }
+        }
+        return PRIMARY;
+    }
+    
+    private boolean isSticky(String user) {
+        Long until = primaryUntil.get(user);
+        return until != null && until - clock.getAsLong() > 0;
+    }
+    
+    // Once per read-write transaction: start the user's sticky window when it commits
+    private void rememberWrite(String user) {
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_MARK)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_MARK, user);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_MARK);
+                if (status == STATUS_COMMITTED) {
+                    primaryUntil.put(user, clock.getAsLong() + stickyNanos);
+                }
+            }
+        });
+    }
+    
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+    
+    /**
+     * Drops expired sticky windows
+     */
+    public void evictExpired() {
+        long now = clock.getAsLong();
+        primaryUntil.values().removeIf(until -> until - now <= 0);
+    }
+    
+    public int getStickyUsers() {
+        return primaryUntil.size();
+    }
+    
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+}
@@ -0,0 +1,148 @@
+package com.eventhub.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements executed while handling the current HTTP request.
+ * 
+ * Bound to the request thread by QueryBudgetFilter and fed by the Hibernate hooks
+ * (QueryCountingStatementInspector for the SQL text, QueryTimingSessionListener for
+ * execution time). Statements are grouped by shape - the SQL with literals and IN-lists
+ * normalized - so the same query repeated once per row shows up as an N+1.
+ * 
+ * Outside a request (scheduled jobs, startup) there is no current instance and the hooks
+ * do nothing. ParallelQueries and AdminExportService bind the request's instance to their
+ * worker threads, so updates are synchronized; with parallel statements the time attributed
+ * to each shape is approximate, counts and totals stay exact.
+ */
+public final class RequestQueryStats {
+    
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+    
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private final long slowQueryNanos;
+    private final Map<String, Shape> shapes = new HashMap<>();
+    private Shape lastShape;
+    private int statements;
+    private long totalNanos;
+    
+    private RequestQueryStats(long slowQueryNanos) {
+        this.slowQueryNanos = slowQueryNanos;
+    }
+    
+    /**
+     * Start collecting for the current thread
+     */
+    public static RequestQueryStats begin(long slowQueryNanos) {
+        RequestQueryStats stats = new RequestQueryStats(slowQueryNanos);
+        CURRENT.set(stats);
+        return stats;
+    }
+    
+    /**
+     * Stats of the current request, or null outside a request
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+    
+    public static void end() {
+        CURRENT.remove();
+    }
+    
+    /**
+     * Attribute statements on the current (worker) thread to another thread's request.
+     * Pass null to unbind.
+     */
+    public static void bind(RequestQueryStats stats) {
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+    }
+    
+    /**
+     * Collapse literals, IN-lists and whitespace so repeated queries share one shape
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+    
+    synchronized void onStatement(String sql) {
+        statements++;
+        lastShape = shapes.computeIfAbsent(shapeOf(sql), Shape::new);
+        lastShape.count++;
+    }
+    
+    /**
+     * @return true when this single execution exceeded the slow-query threshold
+     */
+    synchronized boolean onExecuted(long nanos) {
+        totalNanos += nanos;
+        if (lastShape != null) {
+            lastShape.nanos += nanos;
+        }
+        return slowQueryNanos > 0 && nanos > slowQueryNanos;
+    }
+    
+    synchronized String lastSql() {
+        return lastShape != null ? lastShape.sql : null;
+    }
+    
+    public synchronized int getStatements() {
+        return statements;
+    }
+    
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+    
+    /**
+     * Shapes executed at least {@code threshold} times, most frequent first
+     */
+    public synchronized List<Shape> repeatedShapes(int threshold) {
+        List<Shape> repeated = new ArrayList<>();
+        for (Shape shape : shapes.values()) {
+            if (shape.count >= threshold) {
+                repeated.add(shape);
+            }
+        }
+        repeated.sort(Comparator.comparingInt(Shape::getCount).reversed());
+        return repeated;
+    }
+    
+    public static final class Shape {
+        private final String sql;
+        private int count;
+        private long nanos;
+        
+        private Shape(String sql) {
+            this.sql = sql;
+        }
+        
+        public String getSql() {
+            return sql;
+        }
+        
+        public int getCount() {
+            return count;
+        }
+        
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.eventhub.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+
+/**
+ * With spring.main.lazy-initialization a bean is only created when something asks for it,
+ * and @Scheduled methods are only registered once their bean exists. Beans with scheduled
+ * methods are therefore created at startup, so background work (outbox dispatch, webhook
+ * workers, cache refreshes) runs without waiting for a request to touch the bean.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SchedulingConfig {
+    
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                                || AnnotatedElementUtils.hasAnnotation(method, Schedules.class) ? Boolean.TRUE : null)
+                .isEmpty();
+    }
+}
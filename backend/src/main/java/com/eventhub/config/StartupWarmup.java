@@ -0,0 +1,132 @@
+package com.eventhub.config;
+
+import com.eventhub.dto.ApiResponse;
+import com.eventhub.model.Listing;
+import com.eventhub.model.Vendor;
+import com.eventhub.service.DistanceService;
+import com.eventhub.service.SearchService;
+import com.eventhub.util.JwtUtil;
+import com.eventhub.util.ListingMapper;
+import com.eventhub.util.VendorMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Exercises the hot request paths (auth, search, DTO mapping, JSON) before the instance
+ * reports ready, so the first real users don't pay for lazy bean creation, class loading
+ * and interpreted code.
+ * 
+ * Runs as an ApplicationRunner: readiness only switches to ACCEPTING_TRAFFIC after all
+ * runners finish (see /actuator/health/readiness). Only reads; bounded by max-duration-ms.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+@Slf4j
+public class StartupWarmup implements ApplicationRunner {
+    
+    private static final String[] SORTS = {"relevance", "price_low", "price_high", "newest"};
+    
+    private final SearchService searchService;
+    private final ListingMapper listingMapper;
+    private final VendorMapper vendorMapper;
+    private final DistanceService distanceService;
+    private final JwtUtil jwtUtil;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${app.startup.warmup.enabled:false}")
+    private boolean enabled;
+    
+    // Iterations of the in-memory paths (JWT, mapping, serialization)
+    @Value("${app.startup.warmup.iterations:2000}")
+    private int iterations;
+    
+    @Value("${app.startup.warmup.max-duration-ms:20000}")
+    private long maxDurationMs;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long deadline = start + maxDurationMs;
+        log.info("Warming up request paths...");
+        
+        List<Listing> listings = new ArrayList<>();
+        List<Vendor> vendors = new ArrayList<>();
+        runPhase("search", () -> search(listings, vendors, deadline));
+        runPhase("auth", () -> auth(deadline));
+        runPhase("mapping", () -> mapping(listings, vendors, deadline));
+        
+        log.info("Warm-up finished in {} ms", System.currentTimeMillis() - start);
+    }
+    
+    private void search(List<Listing> listings, List<Vendor> vendors, long deadline) {
+        // One pass over each sort order loads the query plans, entity metadata and fetch graphs
+        for (String sort : SORTS) {
+            if (System.currentTimeMillis() > deadline) {
+                return;
+            }
+            listings.addAll(searchService.searchListings(
+                    null, null, null, null, null, null, null, null, sort, 12, 0));
+            vendors.addAll(searchService.searchVendors(
+                    null, null, null, null, null, null, null, sort, 12, 0));
+        }
+    }
+    
+    private void auth(long deadline) {
+        // BCrypt is slow by design; a couple of rounds are enough to compile it
+        String hash = passwordEncoder.encode("warmup-password");
+        for (int i = 0; i < 3; i++) {
+            passwordEncoder.matches("warmup-password", hash);
+        }
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < iterations && System.currentTimeMillis() < deadline; i++) {
+            String token = jwtUtil.generateToken(userId, "warmup@example.com", "CUSTOMER");
+            jwtUtil.validateToken(token);
+            jwtUtil.getUserIdFromToken(token);
+            jwtUtil.getRoleFromToken(token);
+        }
+    }
+    
+    private void mapping(List<Listing> listings, List<Vendor> vendors, long deadline) throws Exception {
+        if (listings.isEmpty() && vendors.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < iterations && System.currentTimeMillis() < deadline; i++) {
+            objectMapper.writeValueAsBytes(ApiResponse.success(
+                    listingMapper.toDTOListWithDistance(listings, null, null, distanceService)));
+            objectMapper.writeValueAsBytes(ApiResponse.success(
+                    vendorMapper.toDTOListWithDistance(vendors, null, null, distanceService)));
+        }
+    }
+    
+    private void runPhase(String name, WarmupPhase phase) {
+        long start = System.currentTimeMillis();
+        try {
+            phase.run();
+            log.debug("Warm-up phase {} took {} ms", name, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // A failed warm-up only costs speed, never availability
+            log.warn("Warm-up phase {} failed: {}", name, e.getMessage());
+        }
+    }
+    
+    @FunctionalInterface
+    private interface WarmupPhase {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,93 @@
+package com.eventhub.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets, one per key (client IP, user id).
+ *
+ * Each bucket is a single AtomicLong holding the time at which it will be full again
+ * (the GCRA form of a token bucket): a request takes a token by pushing that time one
+ * interval forward with a CAS, and is rejected if that would put it more than
+ * {@code burst} intervals ahead of now. No locks and no refill thread; the map itself is
+ * a ConcurrentHashMap, so keys spread over its internal stripes.
+ *
+ * Full buckets carry no state and are dropped by {@link #evictIdle}. Past {@code maxKeys}
+ * new keys are let through untracked until eviction makes room: a flood of distinct IPs
+ * can't grow the map, and can't get unrelated clients rejected through a shared bucket.
+ * A fail-closed limiter (login, OTP) rejects them instead, so a credential-stuffing run
+ * spread over many IPs can't fill the map and then guess unlimited.
+ */
+public class TokenBucketLimiter {
+    
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxKeys;
+    private final boolean failClosed;
+    private final LongSupplier clock;
+    
+    public TokenBucketLimiter(double permitsPerSecond, int burst, int maxKeys, boolean failClosed) {
+        this(permitsPerSecond, burst, maxKeys, failClosed, System::nanoTime);
+    }
+    
+    TokenBucketLimiter(double permitsPerSecond, int burst, int maxKeys, boolean failClosed, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.maxKeys = maxKeys;
+        this.failClosed = failClosed;
+        this.clock = clock;
+    }
+    
+    /**
+     * Takes a token for {@code key}; returns 0 if allowed, otherwise nanoseconds until one is available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = bucket(key);
+        if (bucket == null) {
+            // Untracked: wait one interval, by which eviction may have made room
+            return failClosed ? intervalNanos : 0;
+        }
+        while (true) {
+            long now = clock.getAsLong();
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    // Null when the map is full and the key isn't tracked yet
+    private AtomicLong bucket(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null || buckets.size() >= maxKeys) {
+            return bucket;
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(clock.getAsLong()));
+    }
+    
+    /**
+     * Drops buckets that have refilled completely; returns how many were removed.
+     * A request racing with the removal can get one extra token, which is harmless.
+     */
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+        return before - buckets.size();
+    }
+    
+    public int size() {
+        return buckets.size();
+    }
+}
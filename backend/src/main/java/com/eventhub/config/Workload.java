@@ -0,0 +1,56 @@
+package com.eventhub.config;
+
+/**
+ * Workload class of the current thread, used by BulkheadDataSource to pick the bulkhead
+ * a connection is taken from.
+ *
+ * Bound per request by WorkloadFilter (from the URL), per run for scheduled service methods
+ * by BackgroundWorkloadAspect, and carried over to ParallelQueries tasks. Threads without a
+ * workload (customer and auth requests, health probes, startup, dedicated worker pools
+ * such as the webhook inbox) are not limited by any bulkhead.
+ */
+public enum Workload {
+    
+    PUBLIC,
+    VENDOR,
+    ADMIN,
+    BACKGROUND;
+    
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+    
+    public static Workload current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Binds {@code workload} (null to clear) and returns the previous one for restoring
+     */
+    public static Workload bind(Workload workload) {
+        Workload previous = CURRENT.get();
+        if (workload == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(workload);
+        }
+        return previous;
+    }
+    
+    public static Workload forPath(String uri) {
+        if (uri.startsWith("/api/public/")) {
+            return PUBLIC;
+        }
+        if (uri.startsWith("/api/vendors/")) {
+            return VENDOR;
+        }
+        // Health probes must answer while admin reports are queued
+        if (uri.startsWith("/api/admin/")
+                || (uri.startsWith("/actuator/") && !uri.startsWith("/actuator/health"))) {
+            return ADMIN;
+        }
+        return null;
+    }
+    
+    public String key() {
+        return name().toLowerCase();
+    }
+}
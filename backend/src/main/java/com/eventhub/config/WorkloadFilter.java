@@ -0,0 +1,32 @@
+package com.eventhub.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the request's Workload from its URL, so its connections come from that bulkhead.
+ * Runs before Spring Security so the JWT filter's lookups are counted in the same class.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class WorkloadFilter extends OncePerRequestFilter {
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Workload previous = Workload.bind(Workload.forPath(request.getRequestURI()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Workload.bind(previous);
+        }
+    }
+}
@@ -3,11 +3,17 @@ package com.eventhub.controller;
 import com.eventhub.dto.ApiResponse;
 import com.eventhub.dto.request.AdminLoginRequest;
 import com.eventhub.dto.response.AdminDashboardStatsDTO;
+import com.eventhub.model.AnalyticsEvent;
+import com.eventhub.service.AdminExportService;
 import com.eventhub.service.AdminService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -15,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
     
     private final AdminService adminService;
+    private final AdminExportService adminExportService;
     
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<AdminService.AuthResponse>> login(@Valid @RequestBody AdminLoginRequest request) {
@@ -27,6 +34,22 @@ public class AdminController {
         AdminDashboardStatsDTO stats = adminService.getDashboardStats();
         return ResponseEntity.ok(ApiResponse.success("Dashboard stats retrieved", stats));
     }
+    
+    /**
+     * Analytics events from {@code from} through {@code to} (default: the last 30 days) as a
+     * CSV or NDJSON download, streamed from the database row by row
+     */
+    @GetMapping("/analytics/export")
+    public ResponseEntity<StreamingResponseBody> exportAnalyticsEvents(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) AnalyticsEvent.EventType eventType) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(30);
+        return adminExportService.exportAnalyticsEvents(AdminExportService.Format.parse(format), start, end, eventType)
+                .toResponse();
+    }
 }
 
 
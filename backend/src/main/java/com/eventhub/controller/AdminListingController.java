@@ -1,5 +1,7 @@
 package com.eventhub.controller;
 
+import com.eventhub.config.HttpCacheGroup;
+import com.eventhub.config.HttpCacheRegistry;
 import com.eventhub.dto.ApiResponse;
 import com.eventhub.model.Listing;
 import com.eventhub.repository.ListingRepository;
@@ -18,6 +20,7 @@ import java.util.stream.Collectors;
 public class AdminListingController {
     
     private final ListingRepository listingRepository;
+    private final HttpCacheRegistry httpCacheRegistry;
     
     @GetMapping
     public ResponseEntity<ApiResponse<Page<Listing>>> getAllListings(
@@ -97,6 +100,7 @@ public class AdminListingController {
                 .orElseThrow(() -> new com.eventhub.exception.NotFoundException("Listing not found"));
         listing.setIsActive(Boolean.parseBoolean(request.getStatus()));
         listing = listingRepository.save(listing);
+        httpCacheRegistry.invalidate(HttpCacheGroup.SEARCH);
         return ResponseEntity.ok(ApiResponse.success("Listing status updated", listing));
     }
     
@@ -108,6 +112,7 @@ public class AdminListingController {
                 .orElseThrow(() -> new com.eventhub.exception.NotFoundException("Listing not found"));
         listing.setIsPopular(Boolean.parseBoolean(request.getValue()));
         listing = listingRepository.save(listing);
+        httpCacheRegistry.invalidate(HttpCacheGroup.SEARCH);
         return ResponseEntity.ok(ApiResponse.success("Listing popularity updated", listing));
     }
     
@@ -119,6 +124,7 @@ public class AdminListingController {
                 .orElseThrow(() -> new com.eventhub.exception.NotFoundException("Listing not found"));
         listing.setIsTrending(Boolean.parseBoolean(request.getValue()));
         listing = listingRepository.save(listing);
+        httpCacheRegistry.invalidate(HttpCacheGroup.SEARCH);
         return ResponseEntity.ok(ApiResponse.success("Listing trending status updated", listing));
     }
     
@@ -128,6 +134,7 @@ public class AdminListingController {
             throw new com.eventhub.exception.NotFoundException("Listing not found");
         }
         listingRepository.deleteById(listingId);
+        httpCacheRegistry.invalidate(HttpCacheGroup.SEARCH);
         return ResponseEntity.ok(ApiResponse.success("Listing deleted", null));
     }
     
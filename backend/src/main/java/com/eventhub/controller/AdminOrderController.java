@@ -3,13 +3,17 @@ package com.eventhub.controller;
 import com.eventhub.dto.ApiResponse;
 import com.eventhub.model.Order;
 import com.eventhub.repository.OrderRepository;
+import com.eventhub.service.AdminExportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 @RestController
@@ -18,6 +22,7 @@ import java.util.UUID;
 public class AdminOrderController {
     
     private final OrderRepository orderRepository;
+    private final AdminExportService adminExportService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<Page<Order>>> getAllOrders(
@@ -28,6 +33,21 @@ public class AdminOrderController {
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
     
+    /**
+     * Orders created from {@code from} through {@code to} (default: the last 30 days) as a
+     * CSV or NDJSON download, streamed from the database row by row
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Order.OrderStatus status) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(30);
+        return adminExportService.exportOrders(AdminExportService.Format.parse(format), start, end, status).toResponse();
+    }
+    
     @GetMapping("/{orderId}")
     public ResponseEntity<ApiResponse<Order>> getOrder(@PathVariable UUID orderId) {
         Order order = orderRepository.findById(orderId)
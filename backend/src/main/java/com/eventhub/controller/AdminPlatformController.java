@@ -1,33 +1,62 @@
 package com.eventhub.controller;
 
+import com.eventhub.config.HttpCacheGroup;
+import com.eventhub.config.HttpCacheRegistry;
 import com.eventhub.dto.ApiResponse;
+import com.eventhub.dto.response.ScheduledJobRunDTO;
 import com.eventhub.dto.response.StatsDTO;
+import com.eventhub.service.ReferenceData;
+import com.eventhub.service.ReferenceDataService;
+import com.eventhub.service.ScheduledJobRunner;
 import com.eventhub.service.StatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/admin/platform")
 @RequiredArgsConstructor
 public class AdminPlatformController {
     
     private final StatsService statsService;
+    private final ScheduledJobRunner jobRunner;
+    private final HttpCacheRegistry httpCacheRegistry;
+    private final ReferenceDataService referenceDataService;
     
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<StatsDTO>> getPlatformStats() {
         StatsDTO stats = statsService.getPlatformStats();
         return ResponseEntity.ok(ApiResponse.success(stats));
     }
+    
+    @GetMapping("/jobs/{jobName}/runs")
+    public ResponseEntity<ApiResponse<List<ScheduledJobRunDTO>>> getJobRuns(
+            @PathVariable String jobName,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<ScheduledJobRunDTO> runs = jobRunner.getRecentRuns(jobName, Math.max(1, Math.min(limit, 100)));
+        return ResponseEntity.ok(ApiResponse.success(runs));
+    }
+    
+    // Picks up categories, cities and event types edited directly in the database
+    // without waiting for the periodic refresh
+    @PostMapping("/reference-data/reload")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> reloadReferenceData() {
+        ReferenceData data = referenceDataService.reload();
+        Map<String, Integer> counts = Map.of(
+                "categories", data.categories().size(),
+                "cities", data.cities().size(),
+                "eventTypes", data.eventTypes().size(),
+                "eventTypeCategories", data.eventTypeCategories().size());
+        return ResponseEntity.ok(ApiResponse.success("Reference data reloaded", counts));
+    }
+    
+    // For data edited directly in the database; CDN copies still live out their s-maxage
+    @PostMapping("/http-cache/{group}/invalidate")
+    public ResponseEntity<ApiResponse<Void>> invalidateHttpCache(@PathVariable HttpCacheGroup group) {
+        httpCacheRegistry.invalidate(group);
+        return ResponseEntity.ok(ApiResponse.success("HTTP cache invalidated", null));
+    }
 }
-
-
-
-
-
-
-
-
-
-
-
@@ -1,9 +1,12 @@
 package com.eventhub.controller;
 
+import com.eventhub.config.HttpCacheGroup;
+import com.eventhub.config.HttpCacheRegistry;
 import com.eventhub.dto.ApiResponse;
 import com.eventhub.dto.response.VendorDetailDTO;
 import com.eventhub.model.Vendor;
 import com.eventhub.repository.VendorRepository;
+import com.eventhub.service.AdminExportService;
 import com.eventhub.service.AdminVendorService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -11,6 +14,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.UUID;
 
@@ -21,6 +25,8 @@ public class AdminVendorController {
     
     private final VendorRepository vendorRepository;
     private final AdminVendorService adminVendorService;
+    private final HttpCacheRegistry httpCacheRegistry;
+    private final AdminExportService adminExportService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<Page<Vendor>>> getAllVendors(
@@ -40,6 +46,17 @@ public class AdminVendorController {
         return ResponseEntity.ok(ApiResponse.success(vendors));
     }
     
+    /**
+     * All vendors (optionally filtered) as a CSV or NDJSON download, streamed row by row
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportVendors(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Boolean isVerified,
+            @RequestParam(required = false) Boolean isActive) {
+        return adminExportService.exportVendors(AdminExportService.Format.parse(format), isVerified, isActive).toResponse();
+    }
+    
     @GetMapping("/{vendorId}")
     public ResponseEntity<ApiResponse<Vendor>> getVendor(@PathVariable UUID vendorId) {
         Vendor vendor = vendorRepository.findById(vendorId)
@@ -60,6 +77,7 @@ public class AdminVendorController {
         vendor.setIsVerified(true);
         vendor = vendorRepository.save(vendor);
         adminVendorService.evictVendorCache(vendorId);
+        httpCacheRegistry.invalidate(HttpCacheGroup.SEARCH);
         return ResponseEntity.ok(ApiResponse.success("Vendor verified", vendor));
     }
     
@@ -72,6 +90,7 @@ public class AdminVendorController {
         vendor.setIsActive(Boolean.parseBoolean(request.getStatus()));
         vendor = vendorRepository.save(vendor);
         adminVendorService.evictVendorCache(vendorId);
+        httpCacheRegistry.invalidate(HttpCacheGroup.SEARCH);
         return ResponseEntity.ok(ApiResponse.success("Vendor status updated", vendor));
     }
     
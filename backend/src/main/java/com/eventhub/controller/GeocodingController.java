@@ -12,13 +12,11 @@ import org.springframework.web.bind.annotation.*;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Public controller for geocoding operations.
  * Provides autocomplete and geocode endpoints for location search.
+ * Rate limited per client by RateLimitFilter (geocoding policy).
  */
 @RestController
 @RequestMapping("/api/public/geocoding")
@@ -28,15 +26,6 @@ public class GeocodingController {
     
     private final GeocodingService geocodingService;
     
-    // Simple rate limiting per IP using sliding window
-    private final Map<String, RateLimitEntry> rateLimitMap = new ConcurrentHashMap<>();
-    private static final int MAX_REQUESTS_PER_SECOND = 10;
-    
-    private static class RateLimitEntry {
-        AtomicInteger count = new AtomicInteger(0);
-        AtomicLong windowStart = new AtomicLong(System.currentTimeMillis());
-    }
-    
     /**
      * Autocomplete endpoint for location search.
      * Returns a list of location suggestions based on the query.
@@ -48,19 +37,7 @@ public class GeocodingController {
     @GetMapping("/autocomplete")
     public ResponseEntity<?> autocomplete(
             @RequestParam("q") String query,
-            @RequestParam(value = "limit", defaultValue = "5") int limit,
-            @RequestHeader(value = "X-Forwarded-For", required = false) String forwardedFor,
-            @RequestHeader(value = "X-Real-IP", required = false) String realIp) {
-        
-        // Rate limiting
-        String clientIp = getClientIp(forwardedFor, realIp);
-        if (!tryConsume(clientIp)) {
-            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                    .body(Map.of(
-                            "success", false,
-                            "error", "Rate limit exceeded. Please try again later."
-                    ));
-        }
+            @RequestParam(value = "limit", defaultValue = "5") int limit) {
         
         // Validate query
         if (query == null || query.trim().length() < 2) {
@@ -95,19 +72,7 @@ public class GeocodingController {
      */
     @GetMapping("/geocode")
     public ResponseEntity<?> geocode(
-            @RequestParam("q") String query,
-            @RequestHeader(value = "X-Forwarded-For", required = false) String forwardedFor,
-            @RequestHeader(value = "X-Real-IP", required = false) String realIp) {
-        
-        // Rate limiting
-        String clientIp = getClientIp(forwardedFor, realIp);
-        if (!tryConsume(clientIp)) {
-            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                    .body(Map.of(
-                            "success", false,
-                            "error", "Rate limit exceeded. Please try again later."
-                    ));
-        }
+            @RequestParam("q") String query) {
         
         // Validate query
         if (query == null || query.trim().isEmpty()) {
@@ -153,19 +118,7 @@ public class GeocodingController {
     @GetMapping("/reverse")
     public ResponseEntity<?> reverseGeocode(
             @RequestParam("lat") double lat,
-            @RequestParam("lng") double lng,
-            @RequestHeader(value = "X-Forwarded-For", required = false) String forwardedFor,
-            @RequestHeader(value = "X-Real-IP", required = false) String realIp) {
-        
-        // Rate limiting
-        String clientIp = getClientIp(forwardedFor, realIp);
-        if (!tryConsume(clientIp)) {
-            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                    .body(Map.of(
-                            "success", false,
-                            "error", "Rate limit exceeded. Please try again later."
-                    ));
-        }
+            @RequestParam("lng") double lng) {
         
         // Validate coordinates
         if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
@@ -200,39 +153,4 @@ public class GeocodingController {
                     ));
         }
     }
-    
-    /**
-     * Get client IP address from headers or default.
-     */
-    private String getClientIp(String forwardedFor, String realIp) {
-        if (forwardedFor != null && !forwardedFor.isEmpty()) {
-            return forwardedFor.split(",")[0].trim();
-        }
-        if (realIp != null && !realIp.isEmpty()) {
-            return realIp;
-        }
-        return "unknown";
-    }
-    
-    /**
-     * Try to consume a token from the rate limit.
-     * Simple sliding window rate limiting.
-     */
-    private boolean tryConsume(String clientIp) {
-        RateLimitEntry entry = rateLimitMap.computeIfAbsent(clientIp, k -> new RateLimitEntry());
-        
-        long now = System.currentTimeMillis();
-        long windowStart = entry.windowStart.get();
-        
-        // Reset window if more than 1 second has passed
-        if (now - windowStart > 1000) {
-            entry.windowStart.set(now);
-            entry.count.set(1);
-            return true;
-        }
-        
-        // Check if under limit
-        int currentCount = entry.count.incrementAndGet();
-        return currentCount <= MAX_REQUESTS_PER_SECOND;
-    }
 }
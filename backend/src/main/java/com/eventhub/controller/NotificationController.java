@@ -0,0 +1,65 @@
+package com.eventhub.controller;
+
+import com.eventhub.dto.ApiResponse;
+import com.eventhub.dto.response.NotificationPageDTO;
+import com.eventhub.model.Notification;
+import com.eventhub.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * In-app notifications for customers. Live updates arrive on /topic/notifications/{userId}.
+ */
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+    
+    private final NotificationService notificationService;
+    
+    // Keyset paginated: pass the previous page's nextCursor as before
+    @GetMapping
+    public ResponseEntity<ApiResponse<NotificationPageDTO>> getNotifications(
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int size) {
+        UUID userId = currentUserId();
+        NotificationPageDTO page = notificationService.getNotifications(Notification.RecipientType.USER, userId, before, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+    
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse<Long>> getUnreadCount() {
+        UUID userId = currentUserId();
+        long count = notificationService.getUnreadCount(Notification.RecipientType.USER, userId);
+        return ResponseEntity.ok(ApiResponse.success(count));
+    }
+    
+    @PostMapping("/{id}/read")
+    public ResponseEntity<ApiResponse<Integer>> markRead(
+            @PathVariable Long id) {
+        UUID userId = currentUserId();
+        int updated = notificationService.markRead(Notification.RecipientType.USER, userId, id);
+        return ResponseEntity.ok(ApiResponse.success(updated));
+    }
+    
+    @PostMapping("/read-all")
+    public ResponseEntity<ApiResponse<Integer>> markAllRead() {
+        UUID userId = currentUserId();
+        int updated = notificationService.markRead(Notification.RecipientType.USER, userId, null);
+        return ResponseEntity.ok(ApiResponse.success(updated));
+    }
+    
+    // The authenticated user (JWT subject); never taken from a header, so users only see their own
+    private static UUID currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            throw new IllegalStateException("User not authenticated");
+        }
+        return UUID.fromString(auth.getName());
+    }
+}
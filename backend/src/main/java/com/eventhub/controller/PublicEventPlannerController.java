@@ -2,6 +2,7 @@ package com.eventhub.controller;
 
 import com.eventhub.dto.ApiResponse;
 import com.eventhub.dto.request.EventPlannerRequest;
+import com.eventhub.dto.response.EventBundleDTO;
 import com.eventhub.dto.response.EventRecommendationDTO;
 import com.eventhub.service.EventPlannerService;
 import jakarta.validation.Valid;
@@ -30,6 +31,20 @@ public class PublicEventPlannerController {
         
         return ResponseEntity.ok(ApiResponse.success(recommendations));
     }
+    
+    @PostMapping("/bundles")
+    public ResponseEntity<ApiResponse<List<EventBundleDTO>>> getBundles(
+            @Valid @RequestBody EventPlannerRequest request) {
+        
+        List<EventBundleDTO> bundles = eventPlannerService.generateBundles(
+                request.getBudget(),
+                request.getEventType(),
+                request.getGuestCount(),
+                request.getBundleCount()
+        );
+        
+        return ResponseEntity.ok(ApiResponse.success(bundles));
+    }
 }
 
 
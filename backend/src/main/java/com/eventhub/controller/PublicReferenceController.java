@@ -1,14 +1,13 @@
 package com.eventhub.controller;
 
+import com.eventhub.config.HttpCacheGroup;
+import com.eventhub.config.HttpCacheable;
 import com.eventhub.dto.ApiResponse;
 import com.eventhub.model.Category;
 import com.eventhub.model.City;
 import com.eventhub.model.EventType;
 import com.eventhub.model.EventTypeCategory;
-import com.eventhub.repository.CategoryRepository;
-import com.eventhub.repository.CityRepository;
-import com.eventhub.repository.EventTypeRepository;
-import com.eventhub.repository.EventTypeCategoryRepository;
+import com.eventhub.service.ReferenceDataService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,32 +19,34 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PublicReferenceController {
     
-    private final EventTypeRepository eventTypeRepository;
-    private final CategoryRepository categoryRepository;
-    private final CityRepository cityRepository;
-    private final EventTypeCategoryRepository eventTypeCategoryRepository;
+    private final ReferenceDataService referenceDataService;
     
+    // Reference data changes only through admin edits; CDNs keep it for an hour
+    @HttpCacheable(value = HttpCacheGroup.REFERENCE, maxAge = 300, sharedMaxAge = 3600)
     @GetMapping("/event-types")
     public ResponseEntity<ApiResponse<List<EventType>>> getEventTypes() {
-        List<EventType> eventTypes = eventTypeRepository.findAll();
+        List<EventType> eventTypes = referenceDataService.current().eventTypes();
         return ResponseEntity.ok(ApiResponse.success(eventTypes));
     }
     
+    @HttpCacheable(value = HttpCacheGroup.REFERENCE, maxAge = 300, sharedMaxAge = 3600)
     @GetMapping("/categories")
     public ResponseEntity<ApiResponse<List<Category>>> getCategories() {
-        List<Category> categories = categoryRepository.findAll();
+        List<Category> categories = referenceDataService.current().categories();
         return ResponseEntity.ok(ApiResponse.success(categories));
     }
     
+    @HttpCacheable(value = HttpCacheGroup.REFERENCE, maxAge = 300, sharedMaxAge = 3600)
     @GetMapping("/cities")
     public ResponseEntity<ApiResponse<List<City>>> getCities() {
-        List<City> cities = cityRepository.findAll();
+        List<City> cities = referenceDataService.current().cities();
         return ResponseEntity.ok(ApiResponse.success(cities));
     }
     
+    @HttpCacheable(value = HttpCacheGroup.REFERENCE, maxAge = 300, sharedMaxAge = 3600)
     @GetMapping("/event-type-categories")
     public ResponseEntity<ApiResponse<List<EventTypeCategory>>> getEventTypeCategories() {
-        List<EventTypeCategory> mappings = eventTypeCategoryRepository.findAll();
+        List<EventTypeCategory> mappings = referenceDataService.current().eventTypeCategories();
         return ResponseEntity.ok(ApiResponse.success(mappings));
     }
 }
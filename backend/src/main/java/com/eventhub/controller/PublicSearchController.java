@@ -1,5 +1,7 @@
 package com.eventhub.controller;
 
+import com.eventhub.config.HttpCacheGroup;
+import com.eventhub.config.HttpCacheable;
 import com.eventhub.dto.ApiResponse;
 import com.eventhub.dto.ListingDTO;
 import com.eventhub.dto.VendorDTO;
@@ -26,6 +28,8 @@ public class PublicSearchController {
     private final VendorMapper vendorMapper;
     private final DistanceService distanceService;
     
+    // Short lifetimes: results move with listing and vendor edits
+    @HttpCacheable(value = HttpCacheGroup.SEARCH, maxAge = 30, sharedMaxAge = 60)
     @GetMapping("/listings")
     public ResponseEntity<ApiResponse<List<ListingDTO>>> searchListings(
             @RequestParam(required = false) Integer eventType,
@@ -66,6 +70,7 @@ public class PublicSearchController {
         return ResponseEntity.ok(ApiResponse.success(listingDTOs));
     }
     
+    @HttpCacheable(value = HttpCacheGroup.SEARCH, maxAge = 30, sharedMaxAge = 60)
     @GetMapping("/vendors")
     public ResponseEntity<ApiResponse<List<VendorDTO>>> searchVendors(
             @RequestParam(required = false) String category,
@@ -1,5 +1,7 @@
 package com.eventhub.controller;
 
+import com.eventhub.config.HttpCacheGroup;
+import com.eventhub.config.HttpCacheable;
 import com.eventhub.dto.ApiResponse;
 import com.eventhub.dto.response.StatsDTO;
 import com.eventhub.service.StatsService;
@@ -16,6 +18,8 @@ public class PublicStatsController {
     
     private final StatsService statsService;
     
+    // Matches the 5 minute server-side cache in CacheConfig
+    @HttpCacheable(value = HttpCacheGroup.STATS, maxAge = 60, sharedMaxAge = 300)
     @GetMapping
     public ResponseEntity<ApiResponse<StatsDTO>> getStats() {
         StatsDTO stats = statsService.getPlatformStats();
@@ -4,6 +4,7 @@ import com.eventhub.dto.request.TokenPaymentRequest;
 import com.eventhub.dto.request.PaymentWebhookRequest;
 import com.eventhub.dto.response.PaymentInitiationResponse;
 import com.eventhub.dto.response.PaymentStatusResponse;
+import com.eventhub.service.PaymentWebhookInbox;
 import com.eventhub.service.TokenPaymentService;
 import com.eventhub.exception.PaymentException;
 import com.eventhub.exception.ResourceNotFoundException;
@@ -29,6 +30,9 @@ public class TokenPaymentController {
     @Autowired
     private TokenPaymentService tokenPaymentService;
     
+    @Autowired
+    private PaymentWebhookInbox paymentWebhookInbox;
+    
     /**
      * Initiate token payment for an order
      */
@@ -93,6 +97,9 @@ public class TokenPaymentController {
     
     /**
      * Handle payment webhook from gateway
+     * 
+     * Only validates and stores the event (PaymentWebhookInbox); it is applied asynchronously.
+     * Redeliveries of the same transaction status are acknowledged without being stored again.
      */
     @PostMapping("/webhook")
     public ResponseEntity<?> handlePaymentWebhook(
@@ -111,8 +118,14 @@ public class TokenPaymentController {
                 ));
             }
             
-            // Process webhook
-            tokenPaymentService.handlePaymentWebhook(
+            if (request.getTransactionId() == null || request.getTransactionId().isBlank()) {
+                return ResponseEntity.badRequest().body(Map.of(
+                    "error", "transaction_id is required",
+                    "code", "INVALID_WEBHOOK"
+                ));
+            }
+            
+            boolean accepted = paymentWebhookInbox.accept(
                 request.getTransactionId(),
                 request.getStatus(),
                 request.getRawPayload()
@@ -120,15 +133,9 @@ public class TokenPaymentController {
             
             return ResponseEntity.ok(Map.of(
                 "status", "success",
-                "message", "Webhook processed successfully"
+                "message", accepted ? "Webhook accepted" : "Duplicate webhook ignored"
             ));
             
-        } catch (ResourceNotFoundException e) {
-            logger.error("Payment not found for webhook: {}", request.getTransactionId());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
-                "error", e.getMessage(),
-                "code", "PAYMENT_NOT_FOUND"
-            ));
         } catch (Exception e) {
             logger.error("Error processing webhook: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
@@ -0,0 +1,60 @@
+package com.eventhub.controller;
+
+import com.eventhub.dto.ApiResponse;
+import com.eventhub.dto.response.NotificationPageDTO;
+import com.eventhub.model.Notification;
+import com.eventhub.service.NotificationService;
+import com.eventhub.util.VendorIdResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * In-app notifications for vendors. Live updates arrive on /topic/notifications/{vendorId}.
+ */
+@RestController
+@RequestMapping("/api/vendors/notifications")
+@RequiredArgsConstructor
+public class VendorNotificationController {
+    
+    private final NotificationService notificationService;
+    private final VendorIdResolver vendorIdResolver;
+    
+    // Keyset paginated: pass the previous page's nextCursor as before
+    @GetMapping
+    public ResponseEntity<ApiResponse<NotificationPageDTO>> getNotifications(
+            @RequestHeader(value = "X-Vendor-Id", required = false) UUID headerVendorId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int size) {
+        UUID vendorId = vendorIdResolver.resolveVendorId(headerVendorId);
+        NotificationPageDTO page = notificationService.getNotifications(Notification.RecipientType.VENDOR, vendorId, before, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+    
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse<Long>> getUnreadCount(
+            @RequestHeader(value = "X-Vendor-Id", required = false) UUID headerVendorId) {
+        UUID vendorId = vendorIdResolver.resolveVendorId(headerVendorId);
+        long count = notificationService.getUnreadCount(Notification.RecipientType.VENDOR, vendorId);
+        return ResponseEntity.ok(ApiResponse.success(count));
+    }
+    
+    @PostMapping("/{id}/read")
+    public ResponseEntity<ApiResponse<Integer>> markRead(
+            @RequestHeader(value = "X-Vendor-Id", required = false) UUID headerVendorId,
+            @PathVariable Long id) {
+        UUID vendorId = vendorIdResolver.resolveVendorId(headerVendorId);
+        int updated = notificationService.markRead(Notification.RecipientType.VENDOR, vendorId, id);
+        return ResponseEntity.ok(ApiResponse.success(updated));
+    }
+    
+    @PostMapping("/read-all")
+    public ResponseEntity<ApiResponse<Integer>> markAllRead(
+            @RequestHeader(value = "X-Vendor-Id", required = false) UUID headerVendorId) {
+        UUID vendorId = vendorIdResolver.resolveVendorId(headerVendorId);
+        int updated = notificationService.markRead(Notification.RecipientType.VENDOR, vendorId, null);
+        return ResponseEntity.ok(ApiResponse.success(updated));
+    }
+}
@@ -1,9 +1,9 @@
 package com.eventhub.controller;
 
 import com.eventhub.dto.ApiResponse;
+import com.eventhub.dto.response.WalletTransactionPageDTO;
 import com.eventhub.model.Payout;
 import com.eventhub.model.VendorWallet;
-import com.eventhub.model.WalletTransaction;
 import com.eventhub.service.VendorWalletService;
 import com.eventhub.util.VendorIdResolver;
 import lombok.RequiredArgsConstructor;
@@ -31,14 +31,14 @@ public class VendorWalletController {
         return ResponseEntity.ok(ApiResponse.success(wallet));
     }
     
+    // Keyset paginated: pass the previous page's nextCursor as before
     @GetMapping("/transactions")
-    public ResponseEntity<ApiResponse<Page<WalletTransaction>>> getTransactions(
+    public ResponseEntity<ApiResponse<WalletTransactionPageDTO>> getTransactions(
             @RequestHeader(value = "X-Vendor-Id", required = false) UUID headerVendorId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Long before,
             @RequestParam(defaultValue = "10") int size) {
         UUID vendorId = vendorIdResolver.resolveVendorId(headerVendorId);
-        Pageable pageable = PageRequest.of(page, size);
-        Page<WalletTransaction> transactions = walletService.getWalletTransactions(vendorId, pageable);
+        WalletTransactionPageDTO transactions = walletService.getWalletTransactions(vendorId, before, size);
         return ResponseEntity.ok(ApiResponse.success(transactions));
     }
     
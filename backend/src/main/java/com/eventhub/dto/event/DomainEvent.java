@@ -0,0 +1,32 @@
+package com.eventhub.dto.event;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Domain events written to the outbox (see EventOutbox) and delivered to @EventListener handlers.
+ * 
+ * Events carry ids, not entities: handlers run after the publishing transaction has
+ * committed and load whatever they need. The simple class name is the stored event type,
+ * so renaming a record needs a migration of pending rows.
+ */
+public sealed interface DomainEvent {
+    
+    record OrderPlaced(UUID orderId, UUID vendorId, UUID userId, BigDecimal totalAmount) implements DomainEvent {}
+    
+    record LeadCreated(UUID leadId, UUID paymentId) implements DomainEvent {}
+    
+    record LeadAccepted(UUID leadId, UUID orderId) implements DomainEvent {}
+    
+    record LeadRejected(UUID leadId, BigDecimal refundAmount) implements DomainEvent {}
+    
+    record PaymentCompleted(UUID paymentId, UUID orderId) implements DomainEvent {}
+    
+    record ReviewCreated(UUID reviewId, UUID vendorId) implements DomainEvent {}
+    
+    /**
+     * Wrapper delivered on every instance, for handlers that only touch local state
+     * (in-memory caches). Delivery is best effort; such state must also expire on its own.
+     */
+    record Local(DomainEvent event) {}
+}
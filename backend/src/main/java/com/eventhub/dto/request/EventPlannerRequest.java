@@ -1,5 +1,6 @@
 package com.eventhub.dto.request;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -17,5 +18,9 @@ public class EventPlannerRequest {
     @NotNull(message = "Guest count is required")
     @Positive(message = "Guest count must be positive")
     private Integer guestCount;
+    
+    // Number of whole-event bundles to return (bundles endpoint only)
+    @Positive(message = "Bundle count must be positive")
+    @Max(value = 10, message = "Bundle count cannot exceed 10")
+    private Integer bundleCount;
 }
-
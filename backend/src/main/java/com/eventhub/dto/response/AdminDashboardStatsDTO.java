@@ -44,6 +44,9 @@ public class AdminDashboardStatsDTO {
     private Long totalSignups;
     private Long uniqueVisitors30Days;
     private Long signups30Days;
+    
+    // True when some numbers timed out and show their fallback instead
+    private Boolean partial;
 }
 
 
@@ -0,0 +1,23 @@
+package com.eventhub.dto.response;
+
+import com.eventhub.model.AnalyticsEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One analytics event in the admin export (AdminExportService); column order of the CSV.
+ * IP address and user agent are left out of exports.
+ */
+public record AnalyticsEventExportRow(
+        UUID id,
+        AnalyticsEvent.EventType eventType,
+        UUID userId,
+        String sessionId,
+        String pagePath,
+        String referrer,
+        String country,
+        String city,
+        String deviceType,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,21 @@
+package com.eventhub.dto.response;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class EventBundleDTO {
+    private Integer rank;
+    private BigDecimal totalPrice;
+    private BigDecimal remainingBudget;
+    private BigDecimal totalScore; // Sum of the value scores of all items
+    private List<BundleItem> items; // At most one package per category
+    
+    @Data
+    public static class BundleItem {
+        private String category;
+        private String categoryName;
+        private EventRecommendationDTO.ListingOption option;
+    }
+}
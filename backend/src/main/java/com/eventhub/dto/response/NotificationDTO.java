@@ -0,0 +1,14 @@
+package com.eventhub.dto.response;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class NotificationDTO {
+    private Long id;
+    private String kind;
+    private String title;
+    private String body;
+    private boolean read;
+    private LocalDateTime createdAt;
+}
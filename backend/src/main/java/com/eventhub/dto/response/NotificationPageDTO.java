@@ -0,0 +1,19 @@
+package com.eventhub.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Keyset page of notifications, newest first. Pass nextCursor back as ?before= for the next page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageDTO {
+    private List<NotificationDTO> content;
+    private Long nextCursor;
+    private boolean hasMore;
+    private long unreadCount;
+}
@@ -0,0 +1,37 @@
+package com.eventhub.dto.response;
+
+import com.eventhub.model.Listing;
+import com.eventhub.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One order in the admin export (AdminExportService); column order of the CSV
+ */
+public record OrderExportRow(
+        UUID id,
+        String orderNumber,
+        UUID userId,
+        UUID vendorId,
+        UUID listingId,
+        Listing.ListingType itemType,
+        String eventType,
+        LocalDate eventDate,
+        Integer guestCount,
+        BigDecimal baseAmount,
+        BigDecimal addOnsAmount,
+        BigDecimal discountAmount,
+        BigDecimal taxAmount,
+        BigDecimal totalAmount,
+        BigDecimal tokenPaid,
+        BigDecimal balanceAmount,
+        Order.PaymentStatus paymentStatus,
+        Order.OrderStatus status,
+        String customerName,
+        String customerEmail,
+        String customerPhone,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,16 @@
+package com.eventhub.dto.response;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class ScheduledJobRunDTO {
+    private String jobName;
+    private String instanceId;
+    private String triggerType;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long durationMs;
+    private String error;
+}
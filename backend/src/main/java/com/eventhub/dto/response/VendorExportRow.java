@@ -0,0 +1,26 @@
+package com.eventhub.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One vendor in the admin export (AdminExportService); column order of the CSV
+ */
+public record VendorExportRow(
+        UUID id,
+        UUID userId,
+        String businessName,
+        String categoryId,
+        String categoryName,
+        String customCategoryName,
+        String cityName,
+        BigDecimal rating,
+        Integer reviewCount,
+        BigDecimal startingPrice,
+        String phone,
+        String email,
+        Boolean isVerified,
+        Boolean isActive,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,19 @@
+package com.eventhub.dto.response;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class WalletTransactionDTO {
+    private Long id;
+    private String type; // CREDIT or DEBIT
+    private String entryType;
+    private BigDecimal amount;
+    private BigDecimal balanceAfter;
+    private String description;
+    private UUID orderId;
+    private UUID payoutId;
+    private LocalDateTime createdAt;
+}
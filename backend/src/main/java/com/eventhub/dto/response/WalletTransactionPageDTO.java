@@ -0,0 +1,18 @@
+package com.eventhub.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Keyset page of wallet history. Pass nextCursor back as ?before= for the next (older) page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletTransactionPageDTO {
+    private List<WalletTransactionDTO> content;
+    private Long nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,17 @@
+package com.eventhub.exception;
+
+/**
+ * A capacity limit refused the request; answered with 503 and Retry-After so clients back off
+ */
+public class ServiceBusyException extends BaseException {
+    private final long retryAfterSeconds;
+    
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super("SERVICE_BUSY", message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,5 +1,6 @@
 package com.eventhub.model;
 
+import com.eventhub.util.DisplayPriceCalculator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
@@ -47,6 +48,11 @@ public class Listing {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
     
+    // Price shown to customers (category-specific headline price, else price).
+    // Derived on every write, see DisplayPriceCalculator.
+    @Column(name = "display_price", precision = 10, scale = 2)
+    private BigDecimal displayPrice;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "listing_category_id", nullable = false)
     @com.fasterxml.jackson.annotation.JsonIgnore
@@ -170,11 +176,17 @@ public class Listing {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        refreshDisplayPrice();
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        refreshDisplayPrice();
+    }
+    
+    private void refreshDisplayPrice() {
+        displayPrice = DisplayPriceCalculator.calculate(getCategoryId(), price, categorySpecificData);
     }
     
     public enum ListingType {
@@ -0,0 +1,74 @@
+package com.eventhub.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An in-app notification; delivered by email/WebSocket through NotificationDispatcher
+ */
+@Entity
+@Table(name = "notifications")
+@Data
+@NoArgsConstructor
+public class Notification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recipient_type", nullable = false, length = 10)
+    private RecipientType recipientType;
+    
+    @Column(name = "recipient_id", nullable = false)
+    private UUID recipientId;
+    
+    @Column(length = 255)
+    private String email;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private Kind kind;
+    
+    @Column(nullable = false, length = 255)
+    private String title;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "delivery_state", nullable = false, length = 10)
+    private DeliveryState deliveryState = DeliveryState.PENDING;
+    
+    @Column(name = "deliver_after", nullable = false)
+    private LocalDateTime deliverAfter;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    public enum RecipientType {
+        USER, VENDOR
+    }
+    
+    public enum Kind {
+        VENDOR_NEW_LEAD,
+        VENDOR_UPCOMING_EVENT,
+        VENDOR_COMPLETE_EVENT,
+        USER_LEAD_ACCEPTED,
+        USER_LEAD_REJECTED,
+        USER_UPCOMING_EVENT,
+        USER_PAYMENT_SUCCESS
+    }
+    
+    public enum DeliveryState {
+        PENDING, SENT
+    }
+}
@@ -0,0 +1,61 @@
+package com.eventhub.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A payment gateway webhook waiting in (or processed from) the inbox (see PaymentWebhookInbox)
+ */
+@Entity
+@Table(name = "payment_webhook_events")
+@Data
+@NoArgsConstructor
+public class PaymentWebhookEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false, unique = true, length = 150)
+    private String eventId;
+    
+    @Column(name = "transaction_id", nullable = false, length = 100)
+    private String transactionId;
+    
+    @Column(name = "order_id")
+    private UUID orderId;
+    
+    @Column(length = 50)
+    private String status;
+    
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private State state = State.RECEIVED;
+    
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+    
+    public enum State {
+        RECEIVED,  // waiting for a worker
+        PROCESSED, // applied
+        SKIPPED,   // nothing to apply (unknown payment)
+        FAILED     // gave up after max attempts
+    }
+}
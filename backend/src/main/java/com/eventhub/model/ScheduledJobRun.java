@@ -0,0 +1,46 @@
+package com.eventhub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One execution of a cluster-wide scheduled job (see ScheduledJobRunner)
+ */
+@Entity
+@Table(name = "scheduled_job_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledJobRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+    
+    @Column(name = "instance_id", nullable = false, length = 100)
+    private String instanceId;
+    
+    @Column(name = "trigger_type", nullable = false, length = 20)
+    private String triggerType; // SCHEDULED, CATCH_UP, MANUAL
+    
+    @Column(nullable = false, length = 20)
+    private String status; // RUNNING, SUCCEEDED, FAILED
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    @Column(name = "duration_ms")
+    private Long durationMs;
+    
+    @Column(columnDefinition = "TEXT")
+    private String error;
+}
@@ -47,12 +47,19 @@ public class Vendor {
     @Column(columnDefinition = "TEXT")
     private String bio;
     
-    @Column(precision = 3, scale = 2)
+    // Rating columns are only written by VendorRepository.addReviewRating / reconcileRating,
+    // so saving a vendor loaded earlier can't overwrite a concurrent review's update
+    @Column(precision = 3, scale = 2, updatable = false)
     private BigDecimal rating = BigDecimal.ZERO;
     
-    @Column(name = "review_count")
+    @Column(name = "review_count", updatable = false)
     private Integer reviewCount = 0;
     
+    // Sum of visible review ratings; rating = rating_sum / review_count
+    @Column(name = "rating_sum", precision = 12, scale = 2, insertable = false, updatable = false)
+    @JsonIgnore
+    private BigDecimal ratingSum;
+    
     @Column(name = "starting_price", precision = 10, scale = 2)
     private BigDecimal startingPrice = BigDecimal.ZERO;
     
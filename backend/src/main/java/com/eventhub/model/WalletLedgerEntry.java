@@ -0,0 +1,73 @@
+package com.eventhub.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One leg of a wallet ledger transaction. Rows are insert-only (a DB trigger rejects
+ * UPDATE and DELETE); the legs of a transaction share transactionId and sum to zero.
+ */
+@Entity
+@Table(name = "wallet_ledger_entries")
+@Immutable
+@Data
+@NoArgsConstructor
+public class WalletLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "transaction_id", nullable = false)
+    private UUID transactionId;
+    
+    @Column(name = "vendor_id", nullable = false)
+    private UUID vendorId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Account account;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EntryType type;
+    
+    // Signed: credit > 0, debit < 0
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+    
+    // Running balance of the vendor account after this leg; null on PLATFORM legs
+    @Column(name = "balance_after", precision = 12, scale = 2)
+    private BigDecimal balanceAfter;
+    
+    @Column(name = "order_id")
+    private UUID orderId;
+    
+    @Column(name = "payout_id")
+    private UUID payoutId;
+    
+    @Column(length = 255)
+    private String description;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    public enum Account {
+        AVAILABLE,      // vendor_wallets.balance
+        PENDING_PAYOUT, // vendor_wallets.pending_payouts
+        PLATFORM        // contra account for money entering or leaving the marketplace
+    }
+    
+    public enum EntryType {
+        OPENING_BALANCE, EARNING, WITHDRAWAL, PAYOUT, REFUND, ADJUSTMENT
+    }
+}
@@ -1,13 +1,19 @@
 package com.eventhub.repository;
 
+import com.eventhub.dto.response.AnalyticsEventExportRow;
 import com.eventhub.model.AnalyticsEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface AnalyticsEventRepository extends JpaRepository<AnalyticsEvent, UUID> {
@@ -24,6 +30,19 @@ public interface AnalyticsEventRepository extends JpaRepository<AnalyticsEvent,
     
     @Query("SELECT COUNT(DISTINCT a.userId) FROM AnalyticsEvent a WHERE a.eventType IN ('SIGNUP', 'VENDOR_SIGNUP', 'CUSTOMER_SIGNUP') AND a.createdAt >= :startDate AND a.userId IS NOT NULL")
     long countUniqueSignupsSince(@Param("startDate") LocalDateTime startDate);
+    
+    /**
+     * Events in [from, to) for export, oldest first, read through a cursor
+     * (needs an open transaction; close the stream)
+     */
+    @Query("SELECT new com.eventhub.dto.response.AnalyticsEventExportRow(a.id, a.eventType, a.userId, a.sessionId, " +
+           "a.pagePath, a.referrer, a.country, a.city, a.deviceType, a.createdAt) " +
+           "FROM AnalyticsEvent a WHERE a.createdAt >= :from AND a.createdAt < :to AND a.eventType IN :types " +
+           "ORDER BY a.createdAt, a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<AnalyticsEventExportRow> streamForExport(@Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to,
+                                                    @Param("types") Collection<AnalyticsEvent.EventType> types);
 }
 
 
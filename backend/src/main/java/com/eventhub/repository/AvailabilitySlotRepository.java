@@ -2,6 +2,7 @@ package com.eventhub.repository;
 
 import com.eventhub.model.AvailabilitySlot;
 import com.eventhub.model.Vendor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -31,6 +32,13 @@ public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySl
     );
     
     List<AvailabilitySlot> findByVendorAndDateAndStatus(Vendor vendor, LocalDate date, AvailabilitySlot.SlotStatus status);
+    
+    @Query("SELECT s FROM AvailabilitySlot s JOIN FETCH s.vendor " +
+           "WHERE s.vendor.id = :vendorId AND s.date BETWEEN :startDate AND :endDate ORDER BY s.date ASC")
+    List<AvailabilitySlot> findByVendorIdAndDateBetween(@Param("vendorId") UUID vendorId,
+                                                       @Param("startDate") LocalDate startDate,
+                                                       @Param("endDate") LocalDate endDate,
+                                                       Pageable pageable);
 }
 
 
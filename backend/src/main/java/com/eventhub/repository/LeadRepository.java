@@ -65,6 +65,10 @@ public interface LeadRepository extends JpaRepository<Lead, UUID> {
         @Param("status") Lead.LeadStatus status, 
         Pageable pageable
     );
+    
+    // Newest leads of a vendor, without a count query
+    @Query("SELECT l FROM Lead l WHERE l.vendor.id = :vendorId ORDER BY l.createdAt DESC")
+    List<Lead> findRecentByVendorId(@Param("vendorId") UUID vendorId, Pageable pageable);
 }
 
 
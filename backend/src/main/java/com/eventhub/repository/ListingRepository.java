@@ -1,7 +1,9 @@
 package com.eventhub.repository;
 
 import com.eventhub.model.Listing;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,8 +14,16 @@ import java.util.UUID;
 @Repository
 public interface ListingRepository extends JpaRepository<Listing, UUID> {
     
+    // Orderings for searchDocs (passed through the Pageable; native, so column names)
+    // listing_id last keeps pages stable when the other keys tie
+    Sort RELEVANCE_SORT = Sort.by(Sort.Order.desc("is_popular"), Sort.Order.desc("is_trending"), Sort.Order.desc("created_at"), Sort.Order.asc("listing_id"));
+    Sort PRICE_LOW_SORT = Sort.by(Sort.Order.asc("display_price"), Sort.Order.desc("created_at"), Sort.Order.asc("listing_id"));
+    Sort PRICE_HIGH_SORT = Sort.by(Sort.Order.desc("display_price"), Sort.Order.desc("created_at"), Sort.Order.asc("listing_id"));
+    Sort RATING_SORT = Sort.by(Sort.Order.desc("vendor_rating"), Sort.Order.desc("created_at"), Sort.Order.asc("listing_id"));
+    Sort NEWEST_SORT = Sort.by(Sort.Order.desc("created_at"), Sort.Order.asc("listing_id"));
+    
     // Note: These methods are for admin/internal use - they don't filter drafts
-    // For customer-facing queries, use findActiveListingsSimple or findByEventTypeWithFilters
+    // For customer-facing queries, use searchDocs
     List<Listing> findByIsActiveTrue();
     
     List<Listing> findByListingCategoryIdAndIsActiveTrue(String categoryId);
@@ -27,62 +37,53 @@ public interface ListingRepository extends JpaRepository<Listing, UUID> {
            "AND et.id = :eventTypeId")
     List<Listing> findByEventTypeId(@Param("eventTypeId") Integer eventTypeId);
     
-    // Simple query without eventType - uses JPQL with fetch joins for performance
-    // Excludes drafts: isActive must be true, price > 0.01 (draft marker)
-    // Note: Image filtering is done in Java code since SIZE() doesn't work on PostgreSQL arrays
-    @Query("SELECT DISTINCT l FROM Listing l " +
-           "LEFT JOIN FETCH l.vendor v " +
-           "LEFT JOIN FETCH v.city " +
-           "LEFT JOIN FETCH l.listingCategory c " +
-           "WHERE l.isActive = true " +
-           "AND l.price > 0.01 " +
-           "AND (:categoryId IS NULL OR c.id = :categoryId) " +
-           "AND (:type IS NULL OR l.type = :type) " +
-           "AND (:minPrice IS NULL OR l.price >= :minPrice) " +
-           "AND (:maxPrice IS NULL OR l.price <= :maxPrice) " +
-           "ORDER BY l.isPopular DESC, l.isTrending DESC, l.createdAt DESC")
-    List<Listing> findActiveListingsSimple(
-        @Param("categoryId") String categoryId,
-        @Param("type") Listing.ListingType type,
-        @Param("minPrice") BigDecimal minPrice,
-        @Param("maxPrice") BigDecimal maxPrice,
-        org.springframework.data.domain.Pageable pageable
-    );
-    
-    // Query with eventType - uses JPQL with fetch joins for performance
-    // Excludes drafts: isActive must be true, price > 0.01 (draft marker)
-    // Note: Image filtering is done in Java code since SIZE() doesn't work on PostgreSQL arrays
-    @Query("SELECT DISTINCT l FROM Listing l " +
-           "LEFT JOIN FETCH l.vendor v " +
-           "LEFT JOIN FETCH v.city " +
-           "LEFT JOIN FETCH l.listingCategory c " +
-           "JOIN l.eventTypes et " +
-           "WHERE l.isActive = true " +
-           "AND l.price > 0.01 " +
-           "AND et.id = :eventTypeId " +
-           "AND (:categoryId IS NULL OR c.id = :categoryId) " +
-           "AND (:type IS NULL OR l.type = :type) " +
-           "AND (:minPrice IS NULL OR l.price >= :minPrice) " +
-           "AND (:maxPrice IS NULL OR l.price <= :maxPrice) " +
-           "ORDER BY l.isPopular DESC, l.isTrending DESC, l.createdAt DESC")
-    List<Listing> findByEventTypeWithFilters(
+    // Customer search on the listing_search_docs read model (V007, kept current by triggers).
+    // Drafts never have a row; listings without images are skipped via has_images.
+    // Returns [listing_id, location_lat, location_lng, service_radius_km] rows in page order;
+    // the listings themselves are then loaded with findForSearchByIdIn.
+    // searchText is matched literally: callers escape \, % and _ with a backslash.
+    // The text filter uses the pg_trgm GIN index on search_text (V014) for 3+ characters.
+    @Query(value = "SELECT d.listing_id, d.location_lat, d.location_lng, d.service_radius_km " +
+                   "FROM listing_search_docs d " +
+                   "WHERE d.has_images = true " +
+                   "AND (CAST(:eventTypeId AS INTEGER) IS NULL OR d.event_type_ids @> ARRAY[CAST(:eventTypeId AS INTEGER)]) " +
+                   "AND (CAST(:categoryId AS VARCHAR) IS NULL OR d.category_id = :categoryId) " +
+                   "AND (CAST(:type AS VARCHAR) IS NULL OR d.listing_type = :type) " +
+                   "AND (CAST(:cityName AS VARCHAR) IS NULL OR LOWER(d.city_name) = LOWER(:cityName)) " +
+                   "AND (CAST(:minPrice AS NUMERIC) IS NULL OR d.display_price >= :minPrice) " +
+                   "AND (CAST(:maxPrice AS NUMERIC) IS NULL OR d.display_price <= :maxPrice) " +
+                   "AND (CAST(:searchText AS VARCHAR) IS NULL OR d.search_text LIKE CONCAT('%', :searchText, '%') ESCAPE '\\')",
+           nativeQuery = true)
+    List<Object[]> searchDocs(
         @Param("eventTypeId") Integer eventTypeId,
         @Param("categoryId") String categoryId,
-        @Param("type") Listing.ListingType type,
+        @Param("type") String type,
+        @Param("cityName") String cityName,
         @Param("minPrice") BigDecimal minPrice,
         @Param("maxPrice") BigDecimal maxPrice,
+        @Param("searchText") String searchText,
         org.springframework.data.domain.Pageable pageable
     );
     
-    // Fetch eventTypes for a list of listings (batch load to avoid N+1)
-    // Also re-fetches vendor and city to ensure they're available after this call
+    // Listings for a page of search hits with what ListingMapper needs (order is not kept);
+    // city and category names are resolved from the reference data snapshot
     @Query("SELECT DISTINCT l FROM Listing l " +
            "LEFT JOIN FETCH l.vendor v " +
-           "LEFT JOIN FETCH v.city " +
-           "LEFT JOIN FETCH l.listingCategory " +
            "LEFT JOIN FETCH l.eventTypes " +
-           "WHERE l IN :listings")
-    List<Listing> fetchEventTypes(@Param("listings") List<Listing> listings);
+           "WHERE l.id IN :ids")
+    List<Listing> findForSearchByIdIn(@Param("ids") List<UUID> ids);
+    
+    // Display price backfill: rows written before display_price existed, walked by id
+    @Query(value = "SELECT l.id, l.listing_category_id, l.price, CAST(l.category_specific_data AS TEXT) " +
+                   "FROM listings l WHERE l.display_price IS NULL AND l.id > :afterId " +
+                   "ORDER BY l.id LIMIT :chunk",
+           nativeQuery = true)
+    List<Object[]> findMissingDisplayPrice(@Param("afterId") UUID afterId, @Param("chunk") int chunk);
+    
+    // Sets only the derived column; bypasses @PreUpdate so updated_at is left alone
+    @Modifying
+    @Query("UPDATE Listing l SET l.displayPrice = :displayPrice WHERE l.id = :id")
+    int updateDisplayPrice(@Param("id") UUID id, @Param("displayPrice") BigDecimal displayPrice);
     
     @Query("SELECT l FROM Listing l WHERE l.vendor.id = :vendorId AND l.isActive = true")
     List<Listing> findByVendorIdAndIsActiveTrue(@Param("vendorId") UUID vendorId);
@@ -123,6 +124,25 @@ public interface ListingRepository extends JpaRepository<Listing, UUID> {
     @Query("SELECT l FROM Listing l WHERE l.vendor.id = :vendorId AND l.type = :type AND l.isActive = true")
     List<Listing> findByVendorIdAndTypeAndIsActiveTrue(@Param("vendorId") UUID vendorId, @Param("type") Listing.ListingType type);
     
+    // Candidate packages for the event planner: one query per category instead of one per vendor
+    // Excludes drafts (price > 0.01) and inactive vendors; eventTypeId is optional
+    @Query("SELECT l FROM Listing l " +
+           "JOIN FETCH l.vendor v " +
+           "WHERE v.vendorCategory.id = :categoryId " +
+           "AND v.isActive = true " +
+           "AND l.type = :type " +
+           "AND l.isActive = true " +
+           "AND l.price > 0.01 " +
+           "AND l.price <= :maxPrice " +
+           "AND (:eventTypeId IS NULL OR EXISTS (" +
+           "  SELECT 1 FROM Listing l2 JOIN l2.eventTypes et WHERE l2 = l AND et.id = :eventTypeId))")
+    List<Listing> findPlannerCandidates(
+        @Param("categoryId") String categoryId,
+        @Param("type") Listing.ListingType type,
+        @Param("eventTypeId") Integer eventTypeId,
+        @Param("maxPrice") BigDecimal maxPrice
+    );
+    
     // Batch fetch listings by IDs with relations eagerly loaded
     @Query("SELECT DISTINCT l FROM Listing l " +
            "LEFT JOIN FETCH l.vendor v " +
@@ -182,5 +202,9 @@ public interface ListingRepository extends JpaRepository<Listing, UUID> {
     // Check if listing has any orders (for delete validation)
     @Query("SELECT CASE WHEN COUNT(o) > 0 THEN true ELSE false END FROM Order o WHERE o.listing.id = :listingId")
     boolean hasAnyOrders(@Param("listingId") UUID listingId);
+    
+    // Newest listings of a vendor, for the admin vendor view
+    @Query("SELECT l FROM Listing l WHERE l.vendor.id = :vendorId ORDER BY l.createdAt DESC")
+    List<Listing> findRecentByVendorId(@Param("vendorId") UUID vendorId, org.springframework.data.domain.Pageable pageable);
 }
 
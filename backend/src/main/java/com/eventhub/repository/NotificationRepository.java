@@ -0,0 +1,61 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.Notification;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    
+    // In-app list, newest first, keyset by id
+    List<Notification> findByRecipientIdAndRecipientTypeAndIdLessThanOrderByIdDesc(
+            UUID recipientId, Notification.RecipientType recipientType, Long beforeId, Limit limit);
+    
+    long countByRecipientIdAndRecipientTypeAndReadAtIsNull(UUID recipientId, Notification.RecipientType recipientType);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.readAt = :now " +
+           "WHERE n.recipientId = :recipientId AND n.recipientType = :recipientType AND n.readAt IS NULL " +
+           "AND (:id IS NULL OR n.id = :id)")
+    int markRead(@Param("recipientId") UUID recipientId,
+                 @Param("recipientType") Notification.RecipientType recipientType,
+                 @Param("id") Long id,
+                 @Param("now") LocalDateTime now);
+    
+    /**
+     * Recipients with due notifications who haven't been sent anything since {@code sentSince}.
+     * Returns [recipient_type, recipient_id].
+     */
+    @Query(value = "SELECT n.recipient_type, n.recipient_id FROM notifications n " +
+                   "WHERE n.delivery_state = 'PENDING' AND n.deliver_after <= NOW() " +
+                   "AND NOT EXISTS (SELECT 1 FROM notifications s " +
+                   "  WHERE s.recipient_id = n.recipient_id AND s.recipient_type = n.recipient_type " +
+                   "  AND s.sent_at > :sentSince) " +
+                   "GROUP BY n.recipient_type, n.recipient_id " +
+                   "ORDER BY MIN(n.deliver_after) LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findDueRecipients(@Param("sentSince") LocalDateTime sentSince, @Param("limit") int limit);
+    
+    // Locks all of the recipient's due rows, so they go out in one digest; rows another
+    // instance is delivering are skipped
+    @Query(value = "SELECT * FROM notifications " +
+                   "WHERE recipient_type = :recipientType AND recipient_id = :recipientId " +
+                   "AND delivery_state = 'PENDING' AND deliver_after <= NOW() " +
+                   "ORDER BY id FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Notification> claimDue(@Param("recipientType") String recipientType,
+                                @Param("recipientId") UUID recipientId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE created_at < :cutoff AND delivery_state = 'SENT'",
+           nativeQuery = true)
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -16,6 +16,27 @@ import java.util.UUID;
 @Repository
 public interface OfferRepository extends JpaRepository<Offer, UUID> {
     
+    // Loads everything OfferDTO.fromEntity reads in the same query (thread, its user and
+    // vendor, listing, vendor) instead of one eager select per distinct association
+    String WITH_DTO_DETAILS = "SELECT o FROM Offer o " +
+            "JOIN FETCH o.thread t " +
+            "LEFT JOIN FETCH t.user " +
+            "JOIN FETCH t.vendor " +
+            "JOIN FETCH o.listing " +
+            "JOIN FETCH o.vendor ";
+    
+    @Query(WITH_DTO_DETAILS + "WHERE t.id = :threadId ORDER BY o.createdAt DESC")
+    List<Offer> findByThreadIdWithDetails(@Param("threadId") UUID threadId);
+    
+    @Query(WITH_DTO_DETAILS + "WHERE o.vendor.id = :vendorId ORDER BY o.createdAt DESC")
+    List<Offer> findByVendorIdWithDetails(@Param("vendorId") UUID vendorId);
+    
+    @Query(WITH_DTO_DETAILS + "WHERE o.userId = :userId ORDER BY o.createdAt DESC")
+    List<Offer> findByUserIdWithDetails(@Param("userId") UUID userId);
+    
+    @Query(WITH_DTO_DETAILS + "WHERE o.leadId = :leadId ORDER BY o.createdAt DESC")
+    List<Offer> findByLeadIdWithDetails(@Param("leadId") UUID leadId);
+    
     List<Offer> findByThreadOrderByCreatedAtDesc(ChatThread thread);
     
     List<Offer> findByListingOrderByCreatedAtDesc(Listing listing);
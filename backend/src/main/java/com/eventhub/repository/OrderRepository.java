@@ -1,20 +1,42 @@
 package com.eventhub.repository;
 
+import com.eventhub.dto.response.OrderExportRow;
 import com.eventhub.model.Order;
 import com.eventhub.model.Vendor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
+    
+    /**
+     * Token payment fields of an order, for listing offers without loading whole orders
+     */
+    interface TokenStatus {
+        UUID getId();
+        java.math.BigDecimal getTokenAmount();
+        java.math.BigDecimal getTokenPaid();
+        Order.PaymentStatus getPaymentStatus();
+    }
+    
+    @Query("SELECT o.id AS id, o.tokenAmount AS tokenAmount, o.tokenPaid AS tokenPaid, o.paymentStatus AS paymentStatus " +
+           "FROM Order o WHERE o.id IN :ids")
+    List<TokenStatus> findTokenStatusByIdIn(@Param("ids") java.util.Collection<UUID> ids);
+    
     Page<Order> findByUserId(UUID userId, Pageable pageable);
     Page<Order> findByVendor(Vendor vendor, Pageable pageable);
     
@@ -86,6 +108,51 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     List<Order> findConfirmedOrdersBetweenDates(@Param("startDate") java.time.LocalDate startDate, 
                                                  @Param("endDate") java.time.LocalDate endDate);
     
+    // Keyset-paged lifecycle reminder batches; vendor is fetched so notifications don't lazy load
+    @Query("SELECT o FROM Order o JOIN FETCH o.vendor " +
+           "WHERE o.status = :status AND o.eventDate = :eventDate AND o.id > :afterId " +
+           "ORDER BY o.id")
+    List<Order> findBatchByStatusAndEventDate(@Param("status") Order.OrderStatus status,
+                                              @Param("eventDate") LocalDate eventDate,
+                                              @Param("afterId") UUID afterId,
+                                              Pageable pageable);
+    
+    @Query("SELECT o FROM Order o JOIN FETCH o.vendor " +
+           "WHERE o.status = :status AND o.eventDate < :cutoffDate AND o.id > :afterId " +
+           "ORDER BY o.id")
+    List<Order> findBatchByStatusAndEventDateBefore(@Param("status") Order.OrderStatus status,
+                                                    @Param("cutoffDate") LocalDate cutoffDate,
+                                                    @Param("afterId") UUID afterId,
+                                                    Pageable pageable);
+    
+    // Set-based lifecycle transitions. Each call updates at most :chunk rows and returns their ids;
+    // SKIP LOCKED keeps the batch from waiting on rows a user request is currently editing.
+    // Status values are the database representation written by OrderStatusConverter.
+    @Query(value = "WITH batch AS (" +
+                   "  SELECT id FROM orders WHERE status = 'confirmed' AND event_date = :today " +
+                   "  ORDER BY id LIMIT :chunk FOR UPDATE SKIP LOCKED) " +
+                   "UPDATE orders o SET status = 'in-progress', updated_at = NOW() " +
+                   "FROM batch WHERE o.id = batch.id RETURNING o.id",
+           nativeQuery = true)
+    List<UUID> startConfirmedOrdersBatch(@Param("today") LocalDate today, @Param("chunk") int chunk);
+    
+    @Query(value = "WITH batch AS (" +
+                   "  SELECT id FROM orders WHERE status = 'in-progress' AND event_date < :cutoffDate " +
+                   "  ORDER BY id LIMIT :chunk FOR UPDATE SKIP LOCKED) " +
+                   "UPDATE orders o SET status = 'completed', updated_at = NOW() " +
+                   "FROM batch WHERE o.id = batch.id RETURNING o.id",
+           nativeQuery = true)
+    List<UUID> completeOverdueOrdersBatch(@Param("cutoffDate") LocalDate cutoffDate, @Param("chunk") int chunk);
+    
+    @Query(value = "WITH batch AS (" +
+                   "  SELECT id FROM orders WHERE awaiting_token_payment = true AND created_at < :cutoffTime " +
+                   "  ORDER BY id LIMIT :chunk FOR UPDATE SKIP LOCKED) " +
+                   "UPDATE orders o SET status = 'cancelled', awaiting_token_payment = false, updated_at = NOW() " +
+                   "FROM batch WHERE o.id = batch.id RETURNING o.id",
+           nativeQuery = true)
+    List<UUID> cancelExpiredTokenPaymentsBatch(@Param("cutoffTime") java.time.LocalDateTime cutoffTime,
+                                               @Param("chunk") int chunk);
+    
     // Find bookings by vendor and status list (for filtering confirmed bookings only)
     Page<Order> findByVendorAndStatusIn(Vendor vendor, List<Order.OrderStatus> statuses, Pageable pageable);
     
@@ -127,6 +194,25 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     // Get active orders for a listing
     @Query("SELECT o FROM Order o WHERE o.listing.id = :listingId AND o.status NOT IN ('COMPLETED', 'CANCELLED', 'REFUNDED')")
     List<Order> findActiveOrdersByListing(@Param("listingId") UUID listingId);
+    
+    // Newest orders of a vendor, without a count query
+    @Query("SELECT o FROM Order o WHERE o.vendorId = :vendorId ORDER BY o.createdAt DESC")
+    List<Order> findRecentByVendorId(@Param("vendorId") UUID vendorId, Pageable pageable);
+    
+    /**
+     * Orders created in [from, to) for export, oldest first, read through a cursor
+     * (needs an open transaction; close the stream)
+     */
+    @Query("SELECT new com.eventhub.dto.response.OrderExportRow(o.id, o.orderNumber, o.userId, o.vendorId, o.listingId, " +
+           "o.itemType, o.eventType, o.eventDate, o.guestCount, o.baseAmount, o.addOnsAmount, o.discountAmount, " +
+           "o.taxAmount, o.totalAmount, o.tokenPaid, o.balanceAmount, o.paymentStatus, o.status, " +
+           "o.customerName, o.customerEmail, o.customerPhone, o.createdAt) " +
+           "FROM Order o WHERE o.createdAt >= :from AND o.createdAt < :to AND o.status IN :statuses " +
+           "ORDER BY o.createdAt, o.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<OrderExportRow> streamForExport(@Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("statuses") Collection<Order.OrderStatus> statuses);
 }
 
 
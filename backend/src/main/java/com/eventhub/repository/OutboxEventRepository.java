@@ -0,0 +1,50 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    @Query(value = "SELECT id FROM outbox_events WHERE state = 'PENDING' AND next_attempt_at <= NOW() " +
+                   "ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findDueIds(@Param("limit") int limit);
+    
+    // Locks the event for this transaction; empty if already published or another instance holds it
+    @Query(value = "SELECT * FROM outbox_events WHERE id = :id AND state = 'PENDING' FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<OutboxEvent> claim(@Param("id") Long id);
+    
+    // Tail for instance-local delivery, regardless of state: everything past the cursor plus
+    // everything created within the lookback, paged by id from pageAfterId
+    @Query(value = "SELECT * FROM outbox_events WHERE id > :pageAfterId " +
+                   "AND (id > :cursor OR created_at >= NOW() - make_interval(secs => :lookbackSeconds)) " +
+                   "ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<OutboxEvent> findForLocalTail(@Param("cursor") long cursor,
+                                       @Param("lookbackSeconds") long lookbackSeconds,
+                                       @Param("pageAfterId") long pageAfterId,
+                                       @Param("limit") int limit);
+    
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OutboxEvent e")
+    long findMaxId();
+    
+    // [pending count, oldest created_at]
+    @Query(value = "SELECT COUNT(*), MIN(created_at) FROM outbox_events WHERE state = 'PENDING'",
+           nativeQuery = true)
+    List<Object[]> findBacklog();
+    
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE state <> 'PENDING' AND created_at < :cutoff",
+           nativeQuery = true)
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,6 +2,9 @@ package com.eventhub.repository;
 
 import com.eventhub.model.PasswordResetToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -14,4 +17,8 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     Optional<PasswordResetToken> findByToken(String token);
     
     Optional<PasswordResetToken> findByUserIdAndUsedFalseAndExpiresAtAfter(UUID userId, LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.expiresAt < :now")
+    int deleteExpiredTokens(@Param("now") LocalDateTime now);
 }
@@ -0,0 +1,61 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.PaymentWebhookEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+    
+    /**
+     * Stores the event unless one with the same event_id exists. Returns 0 for a duplicate.
+     * The order id is resolved here so workers can order by it without another lookup.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payment_webhook_events (event_id, transaction_id, order_id, status, payload) " +
+                   "VALUES (:eventId, :transactionId, " +
+                   "(SELECT p.order_id FROM payments p WHERE p.transaction_id = :transactionId LIMIT 1), " +
+                   ":status, :payload) " +
+                   "ON CONFLICT (event_id) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId,
+                       @Param("transactionId") String transactionId,
+                       @Param("status") String status,
+                       @Param("payload") String payload);
+    
+    /**
+     * Ids of pending events that are due and first in line for their order:
+     * a later event for an order is not returned while an earlier one is still pending.
+     */
+    @Query(value = "SELECT e.id FROM payment_webhook_events e " +
+                   "WHERE e.state = 'RECEIVED' AND e.next_attempt_at <= NOW() " +
+                   "AND (e.order_id IS NULL OR NOT EXISTS (" +
+                   "  SELECT 1 FROM payment_webhook_events p " +
+                   "  WHERE p.order_id = e.order_id AND p.state = 'RECEIVED' AND p.id < e.id)) " +
+                   "ORDER BY e.id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findReadyIds(@Param("limit") int limit);
+    
+    // Locks the event for this transaction; empty if already handled or another instance holds it
+    @Query(value = "SELECT * FROM payment_webhook_events WHERE id = :id AND state = 'RECEIVED' " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<PaymentWebhookEvent> claim(@Param("id") Long id);
+    
+    // [pending count, oldest received_at]
+    @Query(value = "SELECT COUNT(*), MIN(received_at) FROM payment_webhook_events WHERE state = 'RECEIVED'",
+           nativeQuery = true)
+    List<Object[]> findBacklog();
+    
+    @Modifying
+    @Query(value = "DELETE FROM payment_webhook_events WHERE state <> 'RECEIVED' AND received_at < :cutoff",
+           nativeQuery = true)
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
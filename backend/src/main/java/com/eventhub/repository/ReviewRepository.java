@@ -35,6 +35,11 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
     
     @Query("SELECT COUNT(r) FROM Review r WHERE r.vendor.id = :vendorId")
     long countByVendorId(@Param("vendorId") UUID vendorId);
+    
+    // Visible reviews of a vendor, newest first, without a count query
+    @Query("SELECT r FROM Review r JOIN FETCH r.vendor WHERE r.vendor.id = :vendorId AND r.isVisible = true " +
+           "ORDER BY r.createdAt DESC")
+    List<Review> findRecentVisibleByVendorId(@Param("vendorId") UUID vendorId, Pageable pageable);
 }
 
 
@@ -0,0 +1,44 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.ScheduledJobRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, UUID> {
+    
+    /**
+     * Whether the job already ran (or is running) since the given time on any instance
+     */
+    @Query("SELECT COUNT(r) > 0 FROM ScheduledJobRun r " +
+           "WHERE r.jobName = :jobName AND r.status IN ('RUNNING', 'SUCCEEDED') AND r.startedAt > :since")
+    boolean existsRunSince(@Param("jobName") String jobName, @Param("since") LocalDateTime since);
+    
+    /**
+     * Start time of the latest successful run of the job, or null if it never succeeded
+     */
+    @Query("SELECT MAX(r.startedAt) FROM ScheduledJobRun r WHERE r.jobName = :jobName AND r.status = 'SUCCEEDED'")
+    LocalDateTime findLastSuccessfulStart(@Param("jobName") String jobName);
+    
+    /**
+     * Recent runs of a job, newest first
+     */
+    List<ScheduledJobRun> findByJobNameOrderByStartedAtDesc(String jobName, Pageable pageable);
+    
+    /**
+     * Delete history older than the retention window
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScheduledJobRun r WHERE r.startedAt < :before")
+    int deleteRunsStartedBefore(@Param("before") LocalDateTime before);
+}
@@ -2,7 +2,10 @@ package com.eventhub.repository;
 
 import com.eventhub.model.VendorFAQ;
 import com.eventhub.model.Vendor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.UUID;
@@ -11,6 +14,9 @@ import java.util.UUID;
 public interface VendorFAQRepository extends JpaRepository<VendorFAQ, UUID> {
     List<VendorFAQ> findByVendorOrderByDisplayOrderAsc(Vendor vendor);
     List<VendorFAQ> findByVendor(Vendor vendor);
+    
+    @Query("SELECT f FROM VendorFAQ f WHERE f.vendor.id = :vendorId ORDER BY f.displayOrder ASC")
+    List<VendorFAQ> findByVendorIdOrdered(@Param("vendorId") UUID vendorId, Pageable pageable);
 }
 
 
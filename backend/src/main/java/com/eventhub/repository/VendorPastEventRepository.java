@@ -2,7 +2,10 @@ package com.eventhub.repository;
 
 import com.eventhub.model.VendorPastEvent;
 import com.eventhub.model.Vendor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.UUID;
@@ -11,6 +14,11 @@ import java.util.UUID;
 public interface VendorPastEventRepository extends JpaRepository<VendorPastEvent, UUID> {
     List<VendorPastEvent> findByVendorOrderByEventDateDesc(Vendor vendor);
     List<VendorPastEvent> findByVendor(Vendor vendor);
+    
+    // Vendor and order are eager associations; fetch them here instead of one select per row
+    @Query("SELECT e FROM VendorPastEvent e JOIN FETCH e.vendor LEFT JOIN FETCH e.order " +
+           "WHERE e.vendor.id = :vendorId ORDER BY e.eventDate DESC")
+    List<VendorPastEvent> findRecentByVendorId(@Param("vendorId") UUID vendorId, Pageable pageable);
 }
 
 
@@ -1,13 +1,22 @@
 package com.eventhub.repository;
 
+import com.eventhub.dto.response.VendorExportRow;
 import com.eventhub.model.Vendor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface VendorRepository extends JpaRepository<Vendor, UUID> {
@@ -120,5 +129,104 @@ public interface VendorRepository extends JpaRepository<Vendor, UUID> {
         @Param("isActive") Boolean isActive,
         org.springframework.data.domain.Pageable pageable
     );
+    
+    /**
+     * Counters and revenue for the admin vendor drill-down, plus the owner's contact details
+     */
+    interface AdminDetailStats {
+        String getUserEmail();
+        String getUserFullName();
+        String getUserPhone();
+        long getTotalListings();
+        long getActiveListings();
+        long getTotalOrders();
+        long getCompletedOrders();
+        long getPendingOrders();
+        BigDecimal getTotalRevenue();
+        BigDecimal getMonthlyRevenue();
+        long getTotalLeads();
+        long getNewLeads();
+        long getTotalReviews();
+    }
+    
+    // One round trip for every counter on the admin vendor view; each CTE scans a single
+    // table by vendor_id. Status values are the database representation (OrderStatusConverter).
+    @Query(value = "WITH listing_stats AS (" +
+                   "  SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE is_active) AS active " +
+                   "  FROM listings WHERE vendor_id = :vendorId), " +
+                   "order_stats AS (" +
+                   "  SELECT COUNT(*) AS total, " +
+                   "         COUNT(*) FILTER (WHERE status = 'completed') AS completed, " +
+                   "         COUNT(*) FILTER (WHERE status = 'pending') AS pending, " +
+                   "         COALESCE(SUM(total_amount) FILTER (WHERE status = 'completed'), 0) AS revenue, " +
+                   "         COALESCE(SUM(total_amount) FILTER (WHERE status = 'completed' AND created_at >= :since), 0) AS monthly_revenue " +
+                   "  FROM orders WHERE vendor_id = :vendorId), " +
+                   "lead_stats AS (" +
+                   "  SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE created_at >= :since) AS recent " +
+                   "  FROM leads WHERE vendor_id = :vendorId), " +
+                   "review_stats AS (" +
+                   "  SELECT COUNT(*) AS total FROM reviews WHERE vendor_id = :vendorId) " +
+                   "SELECT u.email AS userEmail, u.full_name AS userFullName, u.phone AS userPhone, " +
+                   "       ls.total AS totalListings, ls.active AS activeListings, " +
+                   "       os.total AS totalOrders, os.completed AS completedOrders, os.pending AS pendingOrders, " +
+                   "       os.revenue AS totalRevenue, os.monthly_revenue AS monthlyRevenue, " +
+                   "       lds.total AS totalLeads, lds.recent AS newLeads, rs.total AS totalReviews " +
+                   "FROM listing_stats ls CROSS JOIN order_stats os CROSS JOIN lead_stats lds CROSS JOIN review_stats rs " +
+                   "LEFT JOIN vendors v ON v.id = :vendorId " +
+                   "LEFT JOIN user_profiles u ON u.id = v.user_id",
+           nativeQuery = true)
+    AdminDetailStats getAdminDetailStats(@Param("vendorId") UUID vendorId, @Param("since") LocalDateTime since);
+    
+    // Add one review to the running totals. A single UPDATE: concurrent reviews of the same
+    // vendor queue on the row lock, each adding to the latest committed totals.
+    // Right-hand sides see the old row, so rating is computed from the new totals explicitly.
+    @Modifying
+    @Query(value = "UPDATE vendors SET " +
+                   "rating_sum = rating_sum + :rating, " +
+                   "review_count = review_count + 1, " +
+                   "rating = ROUND((rating_sum + :rating) / (review_count + 1), 2) " +
+                   "WHERE id = :vendorId",
+           nativeQuery = true)
+    int addReviewRating(@Param("vendorId") UUID vendorId, @Param("rating") BigDecimal rating);
+    
+    // Vendors whose running totals differ from their visible reviews, walked by id
+    @Query(value = "SELECT v.id FROM vendors v " +
+                   "LEFT JOIN (SELECT vendor_id, SUM(rating) AS rating_sum, COUNT(*) AS review_count " +
+                   "           FROM reviews WHERE is_visible = true GROUP BY vendor_id) s ON s.vendor_id = v.id " +
+                   "WHERE v.id > :afterId " +
+                   "AND (v.rating_sum <> COALESCE(s.rating_sum, 0) OR COALESCE(v.review_count, 0) <> COALESCE(s.review_count, 0)) " +
+                   "ORDER BY v.id LIMIT :chunk",
+           nativeQuery = true)
+    List<UUID> findRatingDrift(@Param("afterId") UUID afterId, @Param("chunk") int chunk);
+    
+    // Row lock taken before reconcileRating, so the recount can't miss a review whose
+    // addReviewRating is waiting on this lock (see VendorRatingReconciler)
+    @Query(value = "SELECT id FROM vendors WHERE id = :vendorId FOR UPDATE", nativeQuery = true)
+    UUID lockForRatingUpdate(@Param("vendorId") UUID vendorId);
+    
+    // Recompute the running totals from the visible reviews
+    @Modifying
+    @Query(value = "UPDATE vendors SET " +
+                   "rating_sum = s.rating_sum, " +
+                   "review_count = s.review_count, " +
+                   "rating = CASE WHEN s.review_count > 0 THEN ROUND(s.rating_sum / s.review_count, 2) ELSE 0 END " +
+                   "FROM (SELECT COALESCE(SUM(rating), 0) AS rating_sum, COUNT(*) AS review_count " +
+                   "      FROM reviews WHERE vendor_id = :vendorId AND is_visible = true) s " +
+                   "WHERE id = :vendorId",
+           nativeQuery = true)
+    int reconcileRating(@Param("vendorId") UUID vendorId);
+    
+    /**
+     * Vendors for export, oldest first, read through a cursor (needs an open transaction; close the stream)
+     */
+    @Query("SELECT new com.eventhub.dto.response.VendorExportRow(v.id, v.userId, v.businessName, c.id, c.name, " +
+           "v.customCategoryName, v.cityName, v.rating, v.reviewCount, v.startingPrice, v.phone, v.email, " +
+           "v.isVerified, v.isActive, v.createdAt) " +
+           "FROM Vendor v LEFT JOIN v.vendorCategory c " +
+           "WHERE v.isVerified IN :verified AND v.isActive IN :active " +
+           "ORDER BY v.createdAt, v.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<VendorExportRow> streamForExport(@Param("verified") Collection<Boolean> verified,
+                                            @Param("active") Collection<Boolean> active);
 }
 
@@ -3,7 +3,12 @@ package com.eventhub.repository;
 import com.eventhub.model.VendorWallet;
 import com.eventhub.model.Vendor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,7 +16,30 @@ import java.util.UUID;
 public interface VendorWalletRepository extends JpaRepository<VendorWallet, UUID> {
     Optional<VendorWallet> findByVendor(Vendor vendor);
     
-    @org.springframework.data.jpa.repository.Query("SELECT w FROM VendorWallet w WHERE w.vendor.id = :vendorId")
-    Optional<VendorWallet> findByVendorId(@org.springframework.data.repository.query.Param("vendorId") UUID vendorId);
+    @Query("SELECT w FROM VendorWallet w WHERE w.vendor.id = :vendorId")
+    Optional<VendorWallet> findByVendorId(@Param("vendorId") UUID vendorId);
+    
+    // Safe under concurrent first access: the loser of the race inserts nothing
+    @Modifying
+    @Query(value = "INSERT INTO vendor_wallets (vendor_id, balance, pending_payouts, total_earnings, updated_at) " +
+                   "VALUES (:vendorId, 0, 0, 0, NOW()) ON CONFLICT (vendor_id) DO NOTHING",
+           nativeQuery = true)
+    int createIfMissing(@Param("vendorId") UUID vendorId);
+    
+    /**
+     * Moves amount from balance to pending_payouts in one statement. Returns 0 when the
+     * balance doesn't cover it, so concurrent withdrawals can never overdraw; on success
+     * the row stays locked until the caller's transaction ends.
+     */
+    @Modifying
+    @Query(value = "UPDATE vendor_wallets SET balance = balance - :amount, " +
+                   "pending_payouts = COALESCE(pending_payouts, 0) + :amount, updated_at = NOW() " +
+                   "WHERE vendor_id = :vendorId AND balance >= :amount",
+           nativeQuery = true)
+    int reserveWithdrawal(@Param("vendorId") UUID vendorId, @Param("amount") BigDecimal amount);
+    
+    // [balance, pending_payouts]; read after one of the updates above, inside the same transaction
+    @Query(value = "SELECT balance, COALESCE(pending_payouts, 0) FROM vendor_wallets WHERE vendor_id = :vendorId",
+           nativeQuery = true)
+    List<Object[]> findBalances(@Param("vendorId") UUID vendorId);
 }
-
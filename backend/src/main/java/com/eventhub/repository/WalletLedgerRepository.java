@@ -0,0 +1,65 @@
+package com.eventhub.repository;
+
+import com.eventhub.model.WalletLedgerEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WalletLedgerRepository extends JpaRepository<WalletLedgerEntry, Long> {
+    
+    // Keyset page of one account's history, newest first; cost is independent of how deep the page is
+    List<WalletLedgerEntry> findByVendorIdAndAccountAndIdLessThanOrderByIdDesc(
+            UUID vendorId, WalletLedgerEntry.Account account, Long beforeId, Limit limit);
+    
+    /**
+     * Rolls entries created before the cutoff into wallet_balance_snapshots.
+     * Only (vendor, account) pairs with new entries are touched. The cutoff keeps
+     * in-flight transactions (whose ids may commit out of order) out of the snapshot.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO wallet_balance_snapshots (vendor_id, account, balance, last_entry_id, taken_at) " +
+                   "SELECT e.vendor_id, e.account, COALESCE(MAX(s.balance), 0) + SUM(e.amount), MAX(e.id), NOW() " +
+                   "FROM wallet_ledger_entries e " +
+                   "LEFT JOIN wallet_balance_snapshots s ON s.vendor_id = e.vendor_id AND s.account = e.account " +
+                   "WHERE e.id > COALESCE(s.last_entry_id, 0) " +
+                   "AND e.created_at < :cutoff " +
+                   "AND e.account <> 'PLATFORM' " +
+                   "GROUP BY e.vendor_id, e.account " +
+                   "ON CONFLICT (vendor_id, account) DO UPDATE SET " +
+                   "balance = EXCLUDED.balance, last_entry_id = EXCLUDED.last_entry_id, taken_at = EXCLUDED.taken_at",
+           nativeQuery = true)
+    int rollUpSnapshots(@Param("cutoff") LocalDateTime cutoff);
+    
+    /**
+     * Wallets whose stored balances differ from the ledger (snapshot + later entries).
+     * Returns [vendor_id, balance, ledger_available, pending_payouts, ledger_pending], keyset by vendor_id.
+     */
+    @Query(value = "SELECT w.vendor_id, w.balance, l.available, w.pending_payouts, l.pending FROM vendor_wallets w " +
+                   "CROSS JOIN LATERAL (SELECT " +
+                   "  COALESCE((SELECT s.balance FROM wallet_balance_snapshots s " +
+                   "            WHERE s.vendor_id = w.vendor_id AND s.account = 'AVAILABLE'), 0) + " +
+                   "  COALESCE((SELECT SUM(e.amount) FROM wallet_ledger_entries e " +
+                   "            WHERE e.vendor_id = w.vendor_id AND e.account = 'AVAILABLE' AND e.id > " +
+                   "              COALESCE((SELECT s.last_entry_id FROM wallet_balance_snapshots s " +
+                   "                        WHERE s.vendor_id = w.vendor_id AND s.account = 'AVAILABLE'), 0)), 0) AS available, " +
+                   "  COALESCE((SELECT s.balance FROM wallet_balance_snapshots s " +
+                   "            WHERE s.vendor_id = w.vendor_id AND s.account = 'PENDING_PAYOUT'), 0) + " +
+                   "  COALESCE((SELECT SUM(e.amount) FROM wallet_ledger_entries e " +
+                   "            WHERE e.vendor_id = w.vendor_id AND e.account = 'PENDING_PAYOUT' AND e.id > " +
+                   "              COALESCE((SELECT s.last_entry_id FROM wallet_balance_snapshots s " +
+                   "                        WHERE s.vendor_id = w.vendor_id AND s.account = 'PENDING_PAYOUT'), 0)), 0) AS pending" +
+                   ") l " +
+                   "WHERE w.vendor_id > :afterId " +
+                   "AND (COALESCE(w.balance, 0) <> l.available OR COALESCE(w.pending_payouts, 0) <> l.pending) " +
+                   "ORDER BY w.vendor_id LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findBalanceMismatches(@Param("afterId") UUID afterId, @Param("limit") int limit);
+}
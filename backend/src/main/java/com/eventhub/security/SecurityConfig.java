@@ -42,6 +42,10 @@ public class SecurityConfig {
                 .requestMatchers("/api/customer-waitlist/**").permitAll()
                 // Admin login - public
                 .requestMatchers("/api/admin/login").permitAll()
+                // Health probes - public (no details)
+                .requestMatchers("/actuator/health/**").permitAll()
+                // Other actuator endpoints, including the Prometheus scrape target - admin only
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 // Image upload - require authentication (any authenticated user can upload)
                 .requestMatchers("/api/upload/**").authenticated()
                 // Allow authenticated users to check if they have a vendor profile (must come before /api/vendors/**)
@@ -0,0 +1,249 @@
+package com.eventhub.service;
+
+import com.eventhub.config.RequestQueryStats;
+import com.eventhub.config.Workload;
+import com.eventhub.dto.response.AnalyticsEventExportRow;
+import com.eventhub.dto.response.OrderExportRow;
+import com.eventhub.dto.response.VendorExportRow;
+import com.eventhub.exception.ServiceBusyException;
+import com.eventhub.exception.ValidationException;
+import com.eventhub.model.AnalyticsEvent;
+import com.eventhub.model.Order;
+import com.eventhub.repository.AnalyticsEventRepository;
+import com.eventhub.repository.OrderRepository;
+import com.eventhub.repository.VendorRepository;
+import com.eventhub.util.CsvWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streaming CSV / NDJSON exports of orders, vendors and analytics events for admins.
+ *
+ * Rows are read through a database cursor (Stream query with a fetch size, DTO projection so
+ * nothing accumulates in the persistence context) and written straight to the response as
+ * they arrive, so memory stays flat however many months are exported. The query runs in a
+ * read-only transaction on the async response thread, which gets the request's workload
+ * (so the connection comes from the ADMIN bulkhead) and query stats bound like a
+ * ParallelQueries task; gzip is left to server.compression.
+ *
+ * Each running export holds one connection for its whole duration, so at most
+ * app.export.max-concurrent run at once per instance. The permit is taken and released
+ * inside the response body, so an export whose body never runs (request failed or was
+ * dropped before streaming) holds nothing. Requests are refused up front with a 503 and
+ * Retry-After while all permits are in use; one that slips past that check waits for a
+ * permit instead.
+ */
+@Service
+@Slf4j
+public class AdminExportService {
+    
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8), "ndjson");
+        
+        private final MediaType mediaType;
+        private final String extension;
+        
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+        
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+        
+        public static Format parse(String value) {
+            return Arrays.stream(values())
+                    .filter(format -> format.extension.equalsIgnoreCase(value))
+                    .findFirst()
+                    .orElseThrow(() -> new ValidationException("Unsupported export format '" + value + "', use csv or ndjson"));
+        }
+    }
+    
+    /**
+     * An export ready to be returned: the body runs the query when the response is written
+     */
+    public record Export(Format format, String filename, StreamingResponseBody body) {
+        
+        public ResponseEntity<StreamingResponseBody> toResponse() {
+            return ResponseEntity.ok()
+                    .contentType(format.getMediaType())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                    .body(body);
+        }
+    }
+    
+    // How long a body that got past the up-front check waits for a running export to finish
+    private static final long PERMIT_WAIT_SECONDS = 60;
+    private static final long RETRY_AFTER_SECONDS = 60;
+    
+    private final OrderRepository orderRepository;
+    private final VendorRepository vendorRepository;
+    private final AnalyticsEventRepository analyticsEventRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter jsonWriter;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore permits;
+    
+    public AdminExportService(OrderRepository orderRepository,
+                              VendorRepository vendorRepository,
+                              AnalyticsEventRepository analyticsEventRepository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.export.max-concurrent:2}") int maxConcurrent) {
+        this.orderRepository = orderRepository;
+        this.vendorRepository = vendorRepository;
+        this.analyticsEventRepository = analyticsEventRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // One row per line; the response writer is flushed by the buffer, not after every row
+        this.jsonWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(SerializationFeature.INDENT_OUTPUT);
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+    }
+    
+    /**
+     * Orders created from {@code from} through {@code to} (dates inclusive), optionally of one status
+     */
+    public Export exportOrders(Format format, LocalDate from, LocalDate to, Order.OrderStatus status) {
+        List<Order.OrderStatus> statuses = status != null ? List.of(status) : List.of(Order.OrderStatus.values());
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        return export("orders", format, OrderExportRow.class,
+                () -> orderRepository.streamForExport(start, end, statuses));
+    }
+    
+    public Export exportVendors(Format format, Boolean isVerified, Boolean isActive) {
+        List<Boolean> verified = isVerified != null ? List.of(isVerified) : List.of(true, false);
+        List<Boolean> active = isActive != null ? List.of(isActive) : List.of(true, false);
+        return export("vendors", format, VendorExportRow.class,
+                () -> vendorRepository.streamForExport(verified, active));
+    }
+    
+    /**
+     * Analytics events from {@code from} through {@code to} (dates inclusive), optionally of one type
+     */
+    public Export exportAnalyticsEvents(Format format, LocalDate from, LocalDate to, AnalyticsEvent.EventType type) {
+        List<AnalyticsEvent.EventType> types = type != null ? List.of(type) : List.of(AnalyticsEvent.EventType.values());
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        return export("analytics-events", format, AnalyticsEventExportRow.class,
+                () -> analyticsEventRepository.streamForExport(start, end, types));
+    }
+    
+    private <T extends Record> Export export(String dataset, Format format, Class<T> type, Supplier<Stream<T>> query) {
+        // Only a check: the permit itself is taken by the body, which may never run
+        if (permits.availablePermits() == 0) {
+            throw new ServiceBusyException("Too many exports are running. Please try again in a minute.",
+                    RETRY_AFTER_SECONDS);
+        }
+        String filename = dataset + "-" + LocalDate.now() + "." + format.extension;
+        // The body runs on the async response thread, which has neither bound
+        Workload workload = Workload.current();
+        RequestQueryStats requestStats = RequestQueryStats.current();
+        StreamingResponseBody body = out -> {
+            Workload previousWorkload = Workload.bind(workload);
+            RequestQueryStats.bind(requestStats);
+            try {
+                write(dataset, format, type, query, out);
+            } finally {
+                Workload.bind(previousWorkload);
+                RequestQueryStats.bind(null);
+            }
+        };
+        return new Export(format, filename, body);
+    }
+    
+    private <T extends Record> void write(String dataset, Format format, Class<T> type, Supplier<Stream<T>> query,
+                                          OutputStream out) throws IOException {
+        try {
+            if (!permits.tryAcquire(PERMIT_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                meterRegistry.counter("admin.exports", "dataset", dataset, "format", format.extension, "outcome", "refused")
+                        .increment();
+                throw new IOException("No export capacity after " + PERMIT_WAIT_SECONDS + " s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for export capacity", e);
+        }
+        long started = System.nanoTime();
+        long[] rows = {0};
+        String outcome = "error";
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<T> stream = query.get()) {
+                    Consumer<T> sink = sink(format, type, writer);
+                    stream.forEach(row -> {
+                        sink.accept(row);
+                        rows[0]++;
+                    });
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outcome = "ok";
+        } catch (UncheckedIOException e) {
+            // Client went away; the transaction is rolled back and the cursor closed
+            outcome = "aborted";
+            throw e.getCause();
+        } finally {
+            permits.release();
+            meterRegistry.counter("admin.exports", "dataset", dataset, "format", format.extension, "outcome", outcome)
+                    .increment();
+            log.info("Export {} ({}) {} after {} rows in {} ms", dataset, format.extension, outcome, rows[0],
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+    
+    private <T extends Record> Consumer<T> sink(Format format, Class<T> type, Writer writer) {
+        if (format == Format.CSV) {
+            CsvWriter<T> csv = new CsvWriter<>(type, writer);
+            return csv::write;
+        }
+        return row -> {
+            try {
+                jsonWriter.writeValue(writer, row);
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
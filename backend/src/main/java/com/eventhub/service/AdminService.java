@@ -1,5 +1,6 @@
 package com.eventhub.service;
 
+import com.eventhub.config.ParallelQueries;
 import com.eventhub.dto.request.AdminLoginRequest;
 import com.eventhub.dto.response.AdminDashboardStatsDTO;
 import com.eventhub.exception.ValidationException;
@@ -14,9 +15,11 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -46,6 +49,10 @@ public class AdminService {
     private final ReviewRepository reviewRepository;
     private final LeadRepository leadRepository;
     private final AnalyticsService analyticsService;
+    private final ParallelQueries parallelQueries;
+    
+    @Value("${app.parallel-queries.dashboard-branch-timeout-ms:2000}")
+    private long branchTimeoutMs;
     
     public AuthResponse adminLogin(AdminLoginRequest request) {
         // Simple hardcoded admin credentials (can be moved to env vars)
@@ -75,96 +82,113 @@ public class AdminService {
         return new AuthResponse(token, admin.getId(), admin.getEmail(), admin.getRole().name());
     }
     
-    @Cacheable(value = "adminDashboardStats", unless = "#result == null")
+    /**
+     * All counts are independent, so they run in parallel (bounded by ParallelQueries).
+     * A count that fails or times out shows as zero and the result is marked partial;
+     * partial results are not cached so the next request tries again.
+     */
+    @Cacheable(value = "adminDashboardStats", unless = "#result == null || #result.partial")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AdminDashboardStatsDTO getDashboardStats() {
         AdminDashboardStatsDTO stats = new AdminDashboardStatsDTO();
         
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
         
-        // User Stats - optimized with direct queries
-        long totalUsers = userProfileRepository.count();
-        long totalCustomers = userProfileRepository.countByRole(UserProfile.Role.CUSTOMER);
-        long totalVendors = vendorRepository.count();
-        
-        // New signups (last 30 days) - optimized
-        long newUsersLast30Days = userProfileRepository.countByCreatedAtAfter(thirtyDaysAgo);
-        long newVendorsLast30Days = vendorRepository.countByCreatedAtAfter(thirtyDaysAgo);
-        
-        // Listing Stats - optimized
-        long totalListings = listingRepository.count();
-        long activeListings = listingRepository.countByIsActiveTrue();
-        long newListingsLast30Days = listingRepository.countByCreatedAtAfter(thirtyDaysAgo);
-        
-        // Order Stats - optimized
-        long totalOrders = orderRepository.count();
-        long completedOrders = orderRepository.countByStatus(com.eventhub.model.Order.OrderStatus.COMPLETED);
-        long pendingOrders = orderRepository.countByStatus(com.eventhub.model.Order.OrderStatus.PENDING);
-        
-        // Revenue Stats - optimized with query
-        BigDecimal totalRevenue = orderRepository.calculateTotalRevenue();
-        BigDecimal monthlyRevenue = orderRepository.calculateRevenueSince(thirtyDaysAgo);
-        
-        // Review Stats - optimized
-        long totalReviews = reviewRepository.count();
-        Double avgRating = reviewRepository.getAverageRating();
-        double averageRating = avgRating != null ? avgRating : 0.0;
-        
-        // Lead Stats - optimized
-        long totalLeads = leadRepository.count();
-        long newLeadsLast30Days = leadRepository.countByCreatedAtAfter(thirtyDaysAgo);
-        
-        // Category Distribution - native SQL aggregation (much faster)
-        Map<String, Long> listingsByCategory = new HashMap<>();
-        List<Object[]> categoryResults = listingRepository.getListingsByCategoryNative();
-        for (Object[] result : categoryResults) {
-            String category = (String) result[0];
-            Long count = ((Number) result[1]).longValue();
-            listingsByCategory.put(category, count);
+        try (ParallelQueries.FanOut fanOut = parallelQueries.fanOut("adminDashboard", Duration.ofMillis(branchTimeoutMs))) {
+            // User Stats
+            ParallelQueries.Branch<Long> totalUsers = fanOut.fork("totalUsers", userProfileRepository::count, 0L);
+            ParallelQueries.Branch<Long> totalCustomers = fanOut.fork("totalCustomers",
+                    () -> userProfileRepository.countByRole(UserProfile.Role.CUSTOMER), 0L);
+            ParallelQueries.Branch<Long> totalVendors = fanOut.fork("totalVendors", vendorRepository::count, 0L);
+            
+            // New signups (last 30 days)
+            ParallelQueries.Branch<Long> newUsersLast30Days = fanOut.fork("newUsers",
+                    () -> userProfileRepository.countByCreatedAtAfter(thirtyDaysAgo), 0L);
+            ParallelQueries.Branch<Long> newVendorsLast30Days = fanOut.fork("newVendors",
+                    () -> vendorRepository.countByCreatedAtAfter(thirtyDaysAgo), 0L);
+            
+            // Listing Stats
+            ParallelQueries.Branch<Long> totalListings = fanOut.fork("totalListings", listingRepository::count, 0L);
+            ParallelQueries.Branch<Long> activeListings = fanOut.fork("activeListings", listingRepository::countByIsActiveTrue, 0L);
+            ParallelQueries.Branch<Long> newListingsLast30Days = fanOut.fork("newListings",
+                    () -> listingRepository.countByCreatedAtAfter(thirtyDaysAgo), 0L);
+            
+            // Order Stats
+            ParallelQueries.Branch<Long> totalOrders = fanOut.fork("totalOrders", orderRepository::count, 0L);
+            ParallelQueries.Branch<Long> completedOrders = fanOut.fork("completedOrders",
+                    () -> orderRepository.countByStatus(com.eventhub.model.Order.OrderStatus.COMPLETED), 0L);
+            ParallelQueries.Branch<Long> pendingOrders = fanOut.fork("pendingOrders",
+                    () -> orderRepository.countByStatus(com.eventhub.model.Order.OrderStatus.PENDING), 0L);
+            
+            // Revenue Stats
+            ParallelQueries.Branch<BigDecimal> totalRevenue = fanOut.fork("totalRevenue",
+                    orderRepository::calculateTotalRevenue, BigDecimal.ZERO);
+            ParallelQueries.Branch<BigDecimal> monthlyRevenue = fanOut.fork("monthlyRevenue",
+                    () -> orderRepository.calculateRevenueSince(thirtyDaysAgo), BigDecimal.ZERO);
+            
+            // Review Stats
+            ParallelQueries.Branch<Long> totalReviews = fanOut.fork("totalReviews", reviewRepository::count, 0L);
+            ParallelQueries.Branch<Double> avgRating = fanOut.fork("averageRating", reviewRepository::getAverageRating, 0.0);
+            
+            // Lead Stats
+            ParallelQueries.Branch<Long> totalLeads = fanOut.fork("totalLeads", leadRepository::count, 0L);
+            ParallelQueries.Branch<Long> newLeadsLast30Days = fanOut.fork("newLeads",
+                    () -> leadRepository.countByCreatedAtAfter(thirtyDaysAgo), 0L);
+            
+            // Category and City Distribution - native SQL aggregation
+            ParallelQueries.Branch<Map<String, Long>> listingsByCategory = fanOut.fork("listingsByCategory",
+                    () -> toCountMap(listingRepository.getListingsByCategoryNative()), Map.of());
+            ParallelQueries.Branch<Map<String, Long>> vendorsByCity = fanOut.fork("vendorsByCity",
+                    () -> toCountMap(vendorRepository.getVendorsByCityNative()), Map.of());
+            
+            // Analytics Stats
+            ParallelQueries.Branch<Long> totalPageViews = fanOut.fork("totalPageViews", analyticsService::getTotalPageViews, 0L);
+            ParallelQueries.Branch<Long> totalSignups = fanOut.fork("totalSignups", analyticsService::getTotalSignups, 0L);
+            ParallelQueries.Branch<Long> uniqueVisitors30Days = fanOut.fork("uniqueVisitors",
+                    () -> analyticsService.getUniqueVisitorsSince(thirtyDaysAgo), 0L);
+            ParallelQueries.Branch<Long> signups30Days = fanOut.fork("signups30Days",
+                    () -> analyticsService.getUniqueSignupsSince(thirtyDaysAgo), 0L);
+            
+            fanOut.join();
+            
+            // Set all stats
+            stats.setTotalUsers(totalUsers.get());
+            stats.setTotalCustomers(totalCustomers.get());
+            stats.setTotalVendors(totalVendors.get());
+            stats.setNewUsersLast30Days(newUsersLast30Days.get());
+            stats.setNewVendorsLast30Days(newVendorsLast30Days.get());
+            stats.setTotalListings(totalListings.get());
+            stats.setActiveListings(activeListings.get());
+            stats.setNewListingsLast30Days(newListingsLast30Days.get());
+            stats.setTotalOrders(totalOrders.get());
+            stats.setCompletedOrders(completedOrders.get());
+            stats.setPendingOrders(pendingOrders.get());
+            stats.setTotalRevenue(totalRevenue.get());
+            stats.setMonthlyRevenue(monthlyRevenue.get());
+            stats.setTotalReviews(totalReviews.get());
+            stats.setAverageRating(avgRating.get() != null ? avgRating.get() : 0.0);
+            stats.setTotalLeads(totalLeads.get());
+            stats.setNewLeadsLast30Days(newLeadsLast30Days.get());
+            stats.setListingsByCategory(listingsByCategory.get());
+            stats.setVendorsByCity(vendorsByCity.get());
+            stats.setTotalPageViews(totalPageViews.get());
+            stats.setTotalSignups(totalSignups.get());
+            stats.setUniqueVisitors30Days(uniqueVisitors30Days.get());
+            stats.setSignups30Days(signups30Days.get());
+            stats.setPartial(fanOut.hasFallbacks());
         }
         
-        // City Distribution - native SQL aggregation (much faster)
-        Map<String, Long> vendorsByCity = new HashMap<>();
-        List<Object[]> cityResults = vendorRepository.getVendorsByCityNative();
-        for (Object[] result : cityResults) {
-            String city = (String) result[0];
-            Long count = ((Number) result[1]).longValue();
-            vendorsByCity.put(city, count);
-        }
-        
-        // Analytics Stats
-        long totalPageViews = analyticsService.getTotalPageViews();
-        long totalSignups = analyticsService.getTotalSignups();
-        long uniqueVisitors30Days = analyticsService.getUniqueVisitorsSince(thirtyDaysAgo);
-        long signups30Days = analyticsService.getUniqueSignupsSince(thirtyDaysAgo);
-        
-        // Set all stats
-        stats.setTotalUsers(totalUsers);
-        stats.setTotalCustomers(totalCustomers);
-        stats.setTotalVendors(totalVendors);
-        stats.setNewUsersLast30Days(newUsersLast30Days);
-        stats.setNewVendorsLast30Days(newVendorsLast30Days);
-        stats.setTotalListings(totalListings);
-        stats.setActiveListings(activeListings);
-        stats.setNewListingsLast30Days(newListingsLast30Days);
-        stats.setTotalOrders(totalOrders);
-        stats.setCompletedOrders(completedOrders);
-        stats.setPendingOrders(pendingOrders);
-        stats.setTotalRevenue(totalRevenue);
-        stats.setMonthlyRevenue(monthlyRevenue);
-        stats.setTotalReviews(totalReviews);
-        stats.setAverageRating(averageRating);
-        stats.setTotalLeads(totalLeads);
-        stats.setNewLeadsLast30Days(newLeadsLast30Days);
-        stats.setListingsByCategory(listingsByCategory);
-        stats.setVendorsByCity(vendorsByCity);
-        stats.setTotalPageViews(totalPageViews);
-        stats.setTotalSignups(totalSignups);
-        stats.setUniqueVisitors30Days(uniqueVisitors30Days);
-        stats.setSignups30Days(signups30Days);
-        
         return stats;
     }
     
+    private static Map<String, Long> toCountMap(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+    
     @lombok.Data
     @lombok.AllArgsConstructor
     public static class AuthResponse {
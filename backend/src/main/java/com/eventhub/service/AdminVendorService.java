@@ -1,5 +1,6 @@
 package com.eventhub.service;
 
+import com.eventhub.config.ParallelQueries;
 import com.eventhub.dto.response.VendorDetailDTO;
 import com.eventhub.exception.NotFoundException;
 import com.eventhub.model.*;
@@ -8,18 +9,20 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,10 +40,56 @@ public class AdminVendorService {
     private final VendorPastEventRepository vendorPastEventRepository;
     private final AvailabilitySlotRepository availabilitySlotRepository;
     private final UserProfileRepository userProfileRepository;
+    private final ParallelQueries parallelQueries;
     
+    /**
+     * Admin vendor drill-down.
+     * 
+     * All counters and revenue come from one aggregate query; the vendor row and each related
+     * list (first page only) are separate small queries. They run concurrently on their own
+     * connections through ParallelQueries, so the view costs roughly one round trip of latency.
+     * Not transactional itself: waiting here must not pin an extra connection.
+     */
     @Cacheable(value = "vendorDetails", key = "#vendorId")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public VendorDetailDTO getVendorDetails(UUID vendorId) {
-        Vendor vendor = vendorRepository.findById(vendorId)
+        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
+        LocalDate today = LocalDate.now();
+        
+        CompletableFuture<Optional<Vendor>> vendorFuture = parallelQueries.submit(
+            () -> vendorRepository.findByIdWithDetails(vendorId));
+        CompletableFuture<VendorRepository.AdminDetailStats> statsFuture = parallelQueries.submit(
+            () -> vendorRepository.getAdminDetailStats(vendorId, thirtyDaysAgo));
+        CompletableFuture<List<VendorDetailDTO.ListingSummaryDTO>> listingsFuture = parallelQueries.submit(
+            () -> listingRepository.findRecentByVendorId(vendorId, PageRequest.of(0, 20)).stream()
+                .map(this::mapToListingSummary)
+                .collect(Collectors.toList()));
+        CompletableFuture<List<VendorDetailDTO.ReviewSummaryDTO>> reviewsFuture = parallelQueries.submit(
+            () -> loadReviewSummaries(vendorId));
+        CompletableFuture<List<VendorDetailDTO.LeadSummaryDTO>> leadsFuture = parallelQueries.submit(
+            () -> leadRepository.findRecentByVendorId(vendorId, PageRequest.of(0, 20)).stream()
+                .map(this::mapToLeadSummary)
+                .collect(Collectors.toList()));
+        CompletableFuture<List<VendorDetailDTO.OrderSummaryDTO>> ordersFuture = parallelQueries.submit(
+            () -> orderRepository.findRecentByVendorId(vendorId, PageRequest.of(0, 20)).stream()
+                .map(this::mapToOrderSummary)
+                .collect(Collectors.toList()));
+        CompletableFuture<List<VendorDetailDTO.FAQSummaryDTO>> faqsFuture = parallelQueries.submit(
+            () -> vendorFAQRepository.findByVendorIdOrdered(vendorId, PageRequest.of(0, 10)).stream()
+                .map(this::mapToFAQSummary)
+                .collect(Collectors.toList()));
+        CompletableFuture<List<VendorDetailDTO.PastEventSummaryDTO>> pastEventsFuture = parallelQueries.submit(
+            () -> vendorPastEventRepository.findRecentByVendorId(vendorId, PageRequest.of(0, 10)).stream()
+                .map(this::mapToPastEventSummary)
+                .collect(Collectors.toList()));
+        // Availability slots - next 7 days only
+        CompletableFuture<List<VendorDetailDTO.AvailabilitySummaryDTO>> slotsFuture = parallelQueries.submit(
+            () -> availabilitySlotRepository.findByVendorIdAndDateBetween(
+                    vendorId, today, today.plusDays(7), PageRequest.of(0, 50)).stream()
+                .map(this::mapToAvailabilitySummary)
+                .collect(Collectors.toList()));
+        
+        Vendor vendor = ParallelQueries.join(vendorFuture)
                 .orElseThrow(() -> new NotFoundException("Vendor not found"));
         
         VendorDetailDTO dto = new VendorDetailDTO();
@@ -66,52 +115,40 @@ public class AdminVendorService {
         dto.setCreatedAt(vendor.getCreatedAt());
         dto.setUpdatedAt(vendor.getUpdatedAt());
         
-        // User Info
-        if (vendor.getUserId() != null) {
-            userProfileRepository.findById(vendor.getUserId()).ifPresent(user -> {
-                dto.setUserEmail(user.getEmail());
-                dto.setUserFullName(user.getFullName());
-                dto.setUserPhone(user.getPhone());
-            });
-        }
-        
-        // Statistics - optimized queries (no entity loading, direct counts)
-        dto.setTotalListings(listingRepository.countByVendorIdAndIsActiveTrue(vendorId));
-        dto.setActiveListings(listingRepository.countByVendorIdAndIsActiveTrue(vendorId));
-        
-        // Use direct count queries instead of loading all entities
-        dto.setTotalOrders(orderRepository.countByVendorId(vendorId));
-        dto.setCompletedOrders(orderRepository.countByVendorIdAndStatus(vendorId, Order.OrderStatus.COMPLETED));
-        dto.setPendingOrders(orderRepository.countByVendorIdAndStatus(vendorId, Order.OrderStatus.PENDING));
-        
-        // Use direct count queries
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        dto.setTotalLeads(leadRepository.countByVendorId(vendorId));
-        dto.setNewLeads(leadRepository.countByVendorIdAndCreatedAtAfter(vendorId, thirtyDaysAgo));
-        
-        dto.setTotalReviews(reviewRepository.countByVendorId(vendorId));
-        
-        // Revenue calculations - use direct SQL aggregation
-        BigDecimal totalRevenue = orderRepository.calculateTotalRevenueByVendor(vendorId);
-        dto.setTotalRevenue(totalRevenue != null ? totalRevenue : BigDecimal.ZERO);
-        
-        BigDecimal monthlyRevenue = orderRepository.calculateRevenueByVendorSince(vendorId, thirtyDaysAgo);
-        dto.setMonthlyRevenue(monthlyRevenue != null ? monthlyRevenue : BigDecimal.ZERO);
+        // User info and statistics - single aggregate query
+        VendorRepository.AdminDetailStats stats = ParallelQueries.join(statsFuture);
+        dto.setUserEmail(stats.getUserEmail());
+        dto.setUserFullName(stats.getUserFullName());
+        dto.setUserPhone(stats.getUserPhone());
+        dto.setTotalListings(stats.getTotalListings());
+        dto.setActiveListings(stats.getActiveListings());
+        dto.setTotalOrders(stats.getTotalOrders());
+        dto.setCompletedOrders(stats.getCompletedOrders());
+        dto.setPendingOrders(stats.getPendingOrders());
+        dto.setTotalLeads(stats.getTotalLeads());
+        dto.setNewLeads(stats.getNewLeads());
+        dto.setTotalReviews(stats.getTotalReviews());
+        dto.setTotalRevenue(stats.getTotalRevenue() != null ? stats.getTotalRevenue() : BigDecimal.ZERO);
+        dto.setMonthlyRevenue(stats.getMonthlyRevenue() != null ? stats.getMonthlyRevenue() : BigDecimal.ZERO);
         
-        // Related Data - use pagination and limit to avoid loading too much
-        // Only load what's needed for display (lazy loading approach)
-        List<Listing> listings = listingRepository.findByVendorIdOptimized(vendorId);
-        dto.setListings(listings.stream()
-            .limit(20) // Reduced from 50 to 20 for faster loading
-            .map(this::mapToListingSummary)
-            .collect(Collectors.toList()));
+        // Related Data - first page of each
+        dto.setListings(ParallelQueries.join(listingsFuture));
+        dto.setReviews(ParallelQueries.join(reviewsFuture));
+        dto.setLeads(ParallelQueries.join(leadsFuture));
+        dto.setOrders(ParallelQueries.join(ordersFuture));
+        dto.setFaqs(ParallelQueries.join(faqsFuture));
+        dto.setPastEvents(ParallelQueries.join(pastEventsFuture));
+        dto.setAvailabilitySlots(ParallelQueries.join(slotsFuture));
         
-        // Load reviews with pagination
-        Page<Review> reviewsPage = reviewRepository.findByVendorAndIsVisibleTrue(
-            vendor, PageRequest.of(0, 20));
-        List<Review> reviews = reviewsPage.getContent();
+        return dto;
+    }
+    
+    /**
+     * Latest visible reviews with reviewer names (batch loaded to avoid N+1 queries)
+     */
+    private List<VendorDetailDTO.ReviewSummaryDTO> loadReviewSummaries(UUID vendorId) {
+        List<Review> reviews = reviewRepository.findRecentVisibleByVendorId(vendorId, PageRequest.of(0, 20));
         
-        // Batch load user names to avoid N+1 queries
         List<UUID> userIds = reviews.stream()
             .map(Review::getUserId)
             .distinct()
@@ -123,49 +160,13 @@ public class AdminVendorService {
             });
         }
         
-        final Map<UUID, String> finalUserNameMap = userNameMap;
-        dto.setReviews(reviews.stream()
+        return reviews.stream()
             .map(r -> {
                 VendorDetailDTO.ReviewSummaryDTO reviewDto = mapToReviewSummary(r);
-                reviewDto.setUserName(finalUserNameMap.get(r.getUserId()));
+                reviewDto.setUserName(userNameMap.get(r.getUserId()));
                 return reviewDto;
             })
-            .collect(Collectors.toList()));
-        
-        Page<Lead> recentLeadsPage = leadRepository.findByVendor(vendor, PageRequest.of(0, 20)); // Reduced from 30
-        dto.setLeads(recentLeadsPage.getContent().stream()
-            .map(this::mapToLeadSummary)
-            .collect(Collectors.toList()));
-        
-        Page<Order> ordersPage = orderRepository.findByVendor(vendor, PageRequest.of(0, 20));
-        dto.setOrders(ordersPage.getContent().stream()
-            .map(this::mapToOrderSummary)
-            .collect(Collectors.toList()));
-        
-        List<VendorFAQ> faqs = vendorFAQRepository.findByVendorOrderByDisplayOrderAsc(vendor);
-        dto.setFaqs(faqs.stream()
-            .limit(10) // Limit FAQs to 10
-            .map(this::mapToFAQSummary)
-            .collect(Collectors.toList()));
-        
-        List<VendorPastEvent> pastEvents = vendorPastEventRepository.findByVendorOrderByEventDateDesc(vendor);
-        dto.setPastEvents(pastEvents.stream()
-            .limit(10) // Reduced from 20 to 10
-            .map(this::mapToPastEventSummary)
-            .collect(Collectors.toList()));
-        
-        // Availability slots - get next 7 days only (reduced from 30)
-        List<AvailabilitySlot> slots = availabilitySlotRepository.findByVendorAndDateBetween(
-            vendor, 
-            java.time.LocalDate.now(), 
-            java.time.LocalDate.now().plusDays(7)
-        );
-        dto.setAvailabilitySlots(slots.stream()
-            .limit(50) // Limit to 50 slots
-            .map(this::mapToAvailabilitySummary)
-            .collect(Collectors.toList()));
-        
-        return dto;
+            .collect(Collectors.toList());
     }
     
     @CacheEvict(value = "vendorDetails", key = "#vendorId")
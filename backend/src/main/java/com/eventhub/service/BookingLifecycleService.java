@@ -1,48 +1,65 @@
 package com.eventhub.service;
 
+import com.eventhub.config.ClusterJob;
 import com.eventhub.model.Order;
 import com.eventhub.repository.OrderRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * Scheduled booking lifecycle jobs.
+ * 
+ * Status transitions are set-based: each chunk is a single UPDATE ... RETURNING committed in
+ * its own short transaction, so no Order entities are loaded and row locks are held briefly.
+ * Reminder jobs walk the matching orders with keyset pagination (id > last id) and fetch the
+ * vendor in the same query. Every job is a ClusterJob, so only one instance executes each
+ * trigger, and memory use is bounded by the chunk size regardless of order volume.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class BookingLifecycleService {
     
+    private static final int CHUNK_SIZE = 500;
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    
     private final OrderRepository orderRepository;
     private final NotificationService notificationService;
+    private final ScheduledJobRunner jobRunner;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    
+    public BookingLifecycleService(OrderRepository orderRepository,
+                                   NotificationService notificationService,
+                                   ScheduledJobRunner jobRunner,
+                                   PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.notificationService = notificationService;
+        this.jobRunner = jobRunner;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
     
     /**
      * Update booking statuses based on event dates
      * Runs every hour
      */
     @Scheduled(cron = "0 0 * * * *") // Every hour
-    @Transactional
+    @ClusterJob("booking.start-today")
     public void updateBookingStatuses() {
-        log.info("Running scheduled booking status update");
-        
-        LocalDate today = LocalDate.now();
-        
-        // Find confirmed bookings with event date = today and update to IN_PROGRESS
-        List<Order> todayBookings = orderRepository.findByStatusAndEventDate(
-                Order.OrderStatus.CONFIRMED, today);
-        
-        for (Order order : todayBookings) {
-            order.setStatus(Order.OrderStatus.IN_PROGRESS);
-            orderRepository.save(order);
-            log.info("Order {} status updated to IN_PROGRESS (event date: {})", 
-                    order.getId(), order.getEventDate());
-        }
-        
-        log.info("Updated {} bookings to IN_PROGRESS", todayBookings.size());
+        startTodaysBookings();
     }
     
     /**
@@ -50,27 +67,21 @@ public class BookingLifecycleService {
      * Runs daily at 9 AM
      */
     @Scheduled(cron = "0 0 9 * * *") // Daily at 9 AM
-    @Transactional(readOnly = true)
+    @ClusterJob("booking.completion-reminders")
     public void sendCompletionReminders() {
         log.info("Running scheduled completion reminders");
-        
         LocalDate yesterday = LocalDate.now().minusDays(1);
         
-        // Find IN_PROGRESS bookings with event date = yesterday
-        List<Order> completionPending = orderRepository.findByStatusAndEventDate(
-                Order.OrderStatus.IN_PROGRESS, yesterday);
-        
-        for (Order order : completionPending) {
-            try {
-                notificationService.notifyVendorCompleteEvent(order);
-                log.info("Sent completion reminder for order {}", order.getId());
-            } catch (Exception e) {
-                log.error("Failed to send completion reminder for order {}: {}", 
-                        order.getId(), e.getMessage());
-            }
-        }
+        long sent = forEachOrder(
+                afterId -> orderRepository.findBatchByStatusAndEventDate(
+                        Order.OrderStatus.IN_PROGRESS, yesterday, afterId, PageRequest.of(0, CHUNK_SIZE)),
+                order -> {
+                    notificationService.notifyVendorCompleteEvent(order);
+                    log.debug("Sent completion reminder for order {}", order.getId());
+                },
+                "completion reminder");
         
-        log.info("Sent {} completion reminders", completionPending.size());
+        log.info("Sent {} completion reminders", sent);
     }
     
     /**
@@ -78,28 +89,22 @@ public class BookingLifecycleService {
      * Runs daily at 10 AM
      */
     @Scheduled(cron = "0 0 10 * * *") // Daily at 10 AM
-    @Transactional(readOnly = true)
+    @ClusterJob("booking.upcoming-reminders")
     public void sendUpcomingReminders() {
         log.info("Running scheduled upcoming event reminders");
-        
         LocalDate sevenDaysFromNow = LocalDate.now().plusDays(7);
         
-        // Find confirmed bookings with event date = 7 days from now
-        List<Order> upcomingBookings = orderRepository.findByStatusAndEventDate(
-                Order.OrderStatus.CONFIRMED, sevenDaysFromNow);
-        
-        for (Order order : upcomingBookings) {
-            try {
-                notificationService.notifyVendorUpcomingEvent(order, 7);
-                notificationService.notifyUserUpcomingEvent(order, 7);
-                log.info("Sent upcoming reminder for order {}", order.getId());
-            } catch (Exception e) {
-                log.error("Failed to send upcoming reminder for order {}: {}", 
-                        order.getId(), e.getMessage());
-            }
-        }
-        
-        log.info("Sent {} upcoming event reminders", upcomingBookings.size());
+        long sent = forEachOrder(
+                afterId -> orderRepository.findBatchByStatusAndEventDate(
+                        Order.OrderStatus.CONFIRMED, sevenDaysFromNow, afterId, PageRequest.of(0, CHUNK_SIZE)),
+                order -> {
+                    notificationService.notifyVendorUpcomingEvent(order, 7);
+                    notificationService.notifyUserUpcomingEvent(order, 7);
+                    log.debug("Sent upcoming reminder for order {}", order.getId());
+                },
+                "upcoming reminder");
+        
+        log.info("Sent {} upcoming event reminders", sent);
     }
     
     /**
@@ -107,51 +112,40 @@ public class BookingLifecycleService {
      * Runs daily at 11 AM
      */
     @Scheduled(cron = "0 0 11 * * *") // Daily at 11 AM
-    @Transactional(readOnly = true)
+    @ClusterJob("booking.overdue-reminders")
     public void sendOverdueCompletionReminders() {
         log.info("Running scheduled overdue completion reminders");
-        
         LocalDate sevenDaysAgo = LocalDate.now().minusDays(7);
         
-        // Find IN_PROGRESS bookings with event date > 7 days ago
-        List<Order> overdueBookings = orderRepository.findOverdueInProgressOrders(sevenDaysAgo);
-        
-        for (Order order : overdueBookings) {
-            try {
-                notificationService.notifyVendorCompleteEvent(order);
-                log.info("Sent overdue completion reminder for order {}", order.getId());
-            } catch (Exception e) {
-                log.error("Failed to send overdue reminder for order {}: {}", 
-                        order.getId(), e.getMessage());
-            }
-        }
+        long sent = forEachOrder(
+                afterId -> orderRepository.findBatchByStatusAndEventDateBefore(
+                        Order.OrderStatus.IN_PROGRESS, sevenDaysAgo, afterId, PageRequest.of(0, CHUNK_SIZE)),
+                order -> {
+                    notificationService.notifyVendorCompleteEvent(order);
+                    log.debug("Sent overdue completion reminder for order {}", order.getId());
+                },
+                "overdue reminder");
         
-        log.info("Sent {} overdue completion reminders", overdueBookings.size());
+        log.info("Sent {} overdue completion reminders", sent);
     }
     
     /**
      * Auto-transition statuses for completed events
      * Can be called manually or scheduled
      */
-    @Transactional
     public void autoTransitionStatuses() {
         log.info("Running auto status transition");
         
         // Update CONFIRMED -> IN_PROGRESS for today's events
-        updateBookingStatuses();
+        jobRunner.run("booking.start-today", ScheduledJobRunner.Trigger.MANUAL, this::startTodaysBookings);
         
         // Auto-complete events that are 30 days past event date
-        LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
-        List<Order> oldInProgressOrders = orderRepository.findOverdueInProgressOrders(thirtyDaysAgo);
-        
-        for (Order order : oldInProgressOrders) {
-            order.setStatus(Order.OrderStatus.COMPLETED);
-            orderRepository.save(order);
-            log.info("Auto-completed order {} (event date: {})", 
-                    order.getId(), order.getEventDate());
-        }
-        
-        log.info("Auto-completed {} old orders", oldInProgressOrders.size());
+        jobRunner.run("booking.auto-complete", ScheduledJobRunner.Trigger.MANUAL, () -> {
+            LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
+            long completed = updateInChunks(
+                    () -> orderRepository.completeOverdueOrdersBatch(thirtyDaysAgo, CHUNK_SIZE));
+            log.info("Auto-completed {} old orders (event date before {})", completed, thirtyDaysAgo);
+        });
     }
     
     /**
@@ -159,22 +153,72 @@ public class BookingLifecycleService {
      * Runs every 6 hours
      */
     @Scheduled(cron = "0 0 */6 * * *") // Every 6 hours
-    @Transactional
+    @ClusterJob("booking.cancel-expired-payments")
     public void cancelExpiredPendingPayments() {
         log.info("Running expired pending payment cancellation");
         
-        // Find orders awaiting token payment for more than 24 hours
+        // Orders awaiting token payment for more than 24 hours
         LocalDateTime cutoffTime = LocalDateTime.now().minusHours(24);
-        List<Order> expiredOrders = orderRepository.findExpiredPendingTokenPayments(cutoffTime);
+        long cancelled = updateInChunks(
+                () -> orderRepository.cancelExpiredTokenPaymentsBatch(cutoffTime, CHUNK_SIZE));
         
-        for (Order order : expiredOrders) {
-            order.setStatus(Order.OrderStatus.CANCELLED);
-            order.setAwaitingTokenPayment(false);
-            orderRepository.save(order);
-            log.info("Cancelled expired order {} (created: {})", 
-                    order.getId(), order.getCreatedAt());
-        }
+        log.info("Cancelled {} expired pending orders (created before {})", cancelled, cutoffTime);
+    }
+    
+    private void startTodaysBookings() {
+        log.info("Running scheduled booking status update");
+        LocalDate today = LocalDate.now();
+        
+        // CONFIRMED -> IN_PROGRESS for events happening today
+        long updated = updateInChunks(() -> orderRepository.startConfirmedOrdersBatch(today, CHUNK_SIZE));
         
-        log.info("Cancelled {} expired pending orders", expiredOrders.size());
+        log.info("Updated {} bookings to IN_PROGRESS (event date: {})", updated, today);
+    }
+    
+    /**
+     * Run a chunked bulk update until it stops matching rows; each chunk commits separately
+     */
+    private long updateInChunks(Supplier<List<UUID>> chunk) {
+        long total = 0;
+        while (true) {
+            List<UUID> ids = writeTransaction.execute(status -> chunk.get());
+            if (ids == null || ids.isEmpty()) {
+                return total;
+            }
+            total += ids.size();
+            log.debug("Updated chunk of {} orders", ids.size());
+            if (ids.size() < CHUNK_SIZE) {
+                return total;
+            }
+        }
+    }
+    
+    /**
+     * Keyset-paged walk over orders. Each page is read in its own read-only transaction and
+     * handled after it commits, so no connection is held while notifications are sent.
+     */
+    private long forEachOrder(Function<UUID, List<Order>> page,
+                              Consumer<Order> action, String description) {
+        long handled = 0;
+        UUID afterId = FIRST_ID;
+        while (true) {
+            UUID cursor = afterId;
+            List<Order> orders = readTransaction.execute(status -> page.apply(cursor));
+            if (orders == null || orders.isEmpty()) {
+                return handled;
+            }
+            for (Order order : orders) {
+                try {
+                    action.accept(order);
+                    handled++;
+                } catch (Exception e) {
+                    log.error("Failed to send {} for order {}: {}", description, order.getId(), e.getMessage());
+                }
+            }
+            if (orders.size() < CHUNK_SIZE) {
+                return handled;
+            }
+            afterId = orders.get(orders.size() - 1).getId();
+        }
     }
 }
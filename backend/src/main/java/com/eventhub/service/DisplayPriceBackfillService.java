@@ -0,0 +1,76 @@
+package com.eventhub.service;
+
+import com.eventhub.config.ClusterJob;
+import com.eventhub.repository.ListingRepository;
+import com.eventhub.util.DisplayPriceCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills listings.display_price for rows written before the column existed.
+ * New and updated listings get it from Listing's persist/update callbacks, so once the
+ * backlog is done each run is a single empty index lookup.
+ */
+@Service
+@Slf4j
+public class DisplayPriceBackfillService {
+    
+    private static final int CHUNK_SIZE = 500;
+    
+    private final ListingRepository listingRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    public DisplayPriceBackfillService(ListingRepository listingRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.listingRepository = listingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Runs shortly after startup, then hourly
+     */
+    @Scheduled(initialDelay = 60000, fixedDelay = 3600000)
+    @ClusterJob(value = "listing.display-price-backfill", catchUp = false)
+    public void backfillDisplayPrices() {
+        long updated = 0;
+        UUID afterId = new UUID(0L, 0L);
+        while (true) {
+            UUID cursor = afterId;
+            // Each chunk commits on its own so a large backlog never holds one long transaction
+            List<Object[]> rows = transactionTemplate.execute(status -> backfillChunk(cursor));
+            if (rows == null || rows.isEmpty()) {
+                break;
+            }
+            updated += rows.size();
+            if (rows.size() < CHUNK_SIZE) {
+                break;
+            }
+            afterId = (UUID) rows.get(rows.size() - 1)[0];
+        }
+        if (updated > 0) {
+            log.info("Backfilled display price for {} listings", updated);
+        }
+    }
+    
+    /**
+     * Compute and store display price for the next chunk of listings after {@code afterId}
+     */
+    private List<Object[]> backfillChunk(UUID afterId) {
+        List<Object[]> rows = listingRepository.findMissingDisplayPrice(afterId, CHUNK_SIZE);
+        for (Object[] row : rows) {
+            UUID id = (UUID) row[0];
+            String categoryId = (String) row[1];
+            BigDecimal price = (BigDecimal) row[2];
+            String categorySpecificData = (String) row[3];
+            listingRepository.updateDisplayPrice(id, DisplayPriceCalculator.calculate(categoryId, price, categorySpecificData));
+        }
+        return rows;
+    }
+}
@@ -42,6 +42,26 @@ public class EmailService {
         }
     }
     
+    /**
+     * Send a plain text email; returns false (and logs) if the mail server rejects it
+     */
+    public boolean send(String toEmail, String subject, String body) {
+        try {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(toEmail);
+            message.setSubject(subject);
+            message.setText(body);
+            
+            mailSender.send(message);
+            log.debug("Email '{}' sent to: {}", subject, toEmail);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to send email '{}' to: {}", subject, toEmail, e);
+            return false;
+        }
+    }
+    
     private String buildPasswordResetEmailBody(String resetLink) {
         return """
                 Hi,
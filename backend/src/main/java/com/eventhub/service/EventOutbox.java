@@ -0,0 +1,285 @@
+package com.eventhub.service;
+
+import com.eventhub.config.ClusterJob;
+import com.eventhub.dto.event.DomainEvent;
+import com.eventhub.model.OutboxEvent;
+import com.eventhub.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox plus in-process event bus.
+ * 
+ * {@link #publish} inserts the event in the caller's transaction, so it exists exactly when
+ * the business change does, and the write path does nothing else. Delivery happens later:
+ * 
+ * - Once per event (cluster-wide): the dispatcher claims each pending row with FOR UPDATE
+ *   SKIP LOCKED and publishes the DomainEvent to @EventListener handlers inside that
+ *   transaction, then marks it PUBLISHED. A failing handler rolls the whole event back and it
+ *   is retried with backoff, so handlers must tolerate running again.
+ * - On every instance: each instance tails the table and publishes DomainEvent.Local for
+ *   handlers that only touch local state (in-memory caches). Best effort, no retries.
+ *   Ids are assigned at insert but become visible at commit, so a lower id can show up after
+ *   a higher one was tailed; the tail re-reads the last LOCAL_LOOKBACK_SECONDS and skips ids
+ *   it already delivered. An event whose transaction commits later than that is missed.
+ * 
+ * The dispatcher is woken right after the publishing transaction commits; polling only
+ * covers events from other instances and retries.
+ */
+@Service
+@Slf4j
+public class EventOutbox {
+    
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_ERROR_LENGTH = 2000;
+    // Longer than any transaction that publishes events is expected to take to commit
+    private static final long LOCAL_LOOKBACK_SECONDS = 60;
+    private static final Map<String, Class<? extends DomainEvent>> EVENT_TYPES = eventTypes();
+    
+    private final OutboxEventRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final int retentionDays;
+    private final ExecutorService wakeExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("outbox-dispatch").daemon().factory());
+    private final AtomicBoolean wakePending = new AtomicBoolean();
+    // Highest id delivered locally; -1 until the first tail starts from the current end of the table
+    private final AtomicLong localCursor = new AtomicLong(-1);
+    // Ids delivered locally that are still inside the lookback, so re-reads skip them
+    private final Set<Long> deliveredLocally = new HashSet<>();
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestPendingSeconds = new AtomicLong();
+    private final Timer lagTimer;
+    
+    public EventOutbox(OutboxEventRepository outboxRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${app.outbox.retention-days:7}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retentionDays = retentionDays;
+        this.lagTimer = Timer.builder("outbox.dispatch.lag")
+                .description("Time from writing a domain event to delivering it")
+                .register(meterRegistry);
+        Gauge.builder("outbox.backlog", backlog, AtomicLong::get)
+                .description("Domain events waiting to be delivered")
+                .register(meterRegistry);
+        Gauge.builder("outbox.oldest.pending.seconds", oldestPendingSeconds, AtomicLong::get)
+                .description("Age of the oldest domain event waiting to be delivered")
+                .register(meterRegistry);
+    }
+    
+    private static Map<String, Class<? extends DomainEvent>> eventTypes() {
+        Map<String, Class<? extends DomainEvent>> types = new HashMap<>();
+        for (Class<?> type : DomainEvent.class.getPermittedSubclasses()) {
+            types.put(type.getSimpleName(), type.asSubclass(DomainEvent.class));
+        }
+        return Map.copyOf(types);
+    }
+    
+    /**
+     * Records the event in the current transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        OutboxEvent row = new OutboxEvent();
+        row.setEventType(event.getClass().getSimpleName());
+        try {
+            row.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + event, e);
+        }
+        outboxRepository.save(row);
+        meterRegistry.counter("outbox.events.written", "type", row.getEventType()).increment();
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        }
+    }
+    
+    private void wakeUp() {
+        if (wakePending.compareAndSet(false, true)) {
+            wakeExecutor.execute(() -> {
+                wakePending.set(false);
+                dispatch();
+            });
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.outbox.poll-ms:2000}")
+    public void dispatch() {
+        try {
+            List<Long> due;
+            do {
+                due = outboxRepository.findDueIds(BATCH_SIZE);
+                for (Long id : due) {
+                    deliver(id);
+                }
+            } while (due.size() == BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.error("Outbox dispatch failed", e);
+        }
+    }
+    
+    void deliver(Long id) {
+        try {
+            Optional<OutboxEvent> delivered = transactionTemplate.execute(tx -> {
+                Optional<OutboxEvent> claimed = outboxRepository.claim(id);
+                claimed.ifPresent(row -> {
+                    eventPublisher.publishEvent(deserialize(row));
+                    row.setState(OutboxEvent.State.PUBLISHED);
+                    row.setLastError(null);
+                    row.setPublishedAt(LocalDateTime.now());
+                });
+                return claimed;
+            });
+            delivered.ifPresent(row -> {
+                lagTimer.record(Duration.between(row.getCreatedAt(), row.getPublishedAt()));
+                meterRegistry.counter("outbox.events.delivered", "type", row.getEventType(), "outcome", "published").increment();
+            });
+        } catch (RuntimeException e) {
+            recordFailure(id, e);
+        }
+    }
+    
+    private void recordFailure(Long id, RuntimeException error) {
+        transactionTemplate.executeWithoutResult(tx -> outboxRepository.claim(id).ifPresent(row -> {
+            int attempts = row.getAttempts() + 1;
+            row.setAttempts(attempts);
+            row.setLastError(truncate(String.valueOf(error.getMessage())));
+            String outcome;
+            if (attempts >= maxAttempts) {
+                row.setState(OutboxEvent.State.FAILED);
+                outcome = "failed";
+                log.error("Domain event {} ({}) failed {} times, giving up", id, row.getEventType(), attempts, error);
+            } else {
+                // 2s, 4s, 8s ... capped at 10 minutes
+                long delaySeconds = Math.min(600, 1L << Math.min(attempts, 10));
+                row.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+                outcome = "retry";
+                log.warn("Domain event {} ({}) failed (attempt {}), retrying in {}s: {}",
+                        id, row.getEventType(), attempts, delaySeconds, error.getMessage());
+            }
+            meterRegistry.counter("outbox.events.delivered", "type", row.getEventType(), "outcome", outcome).increment();
+        }));
+    }
+    
+    /**
+     * Delivers new events to this instance's local handlers
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.local-poll-ms:2000}")
+    public synchronized void tailLocal() {
+        try {
+            boolean starting = localCursor.get() < 0;
+            long cursor = starting ? outboxRepository.findMaxId() : localCursor.get();
+            Set<Long> inWindow = new HashSet<>();
+            List<OutboxEvent> rows;
+            long pageAfter = 0;
+            do {
+                rows = outboxRepository.findForLocalTail(cursor, LOCAL_LOOKBACK_SECONDS, pageAfter, BATCH_SIZE);
+                for (OutboxEvent row : rows) {
+                    pageAfter = row.getId();
+                    inWindow.add(row.getId());
+                    if (!deliveredLocally.add(row.getId()) || starting) {
+                        // Already delivered, or in the table before this instance started tailing
+                        continue;
+                    }
+                    try {
+                        eventPublisher.publishEvent(new DomainEvent.Local(deserialize(row)));
+                    } catch (RuntimeException e) {
+                        log.warn("Local handler failed for domain event {} ({}): {}", row.getId(), row.getEventType(), e.getMessage());
+                    }
+                    localCursor.accumulateAndGet(row.getId(), Math::max);
+                }
+            } while (rows.size() == BATCH_SIZE);
+            if (starting) {
+                localCursor.set(Math.max(cursor, pageAfter));
+            }
+            // Ids that left the window are never read again
+            deliveredLocally.retainAll(inWindow);
+        } catch (RuntimeException e) {
+            log.error("Outbox local delivery failed", e);
+        }
+    }
+    
+    DomainEvent deserialize(OutboxEvent row) {
+        Class<? extends DomainEvent> type = EVENT_TYPES.get(row.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown domain event type " + row.getEventType());
+        }
+        try {
+            return objectMapper.readValue(row.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read domain event " + row.getId(), e);
+        }
+    }
+    
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+    
+    @Scheduled(fixedDelay = 15000)
+    public void refreshBacklog() {
+        Object[] row = outboxRepository.findBacklog().get(0);
+        backlog.set(((Number) row[0]).longValue());
+        LocalDateTime oldest = row[1] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[1];
+        oldestPendingSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()));
+    }
+    
+    @Scheduled(cron = "0 40 4 * * *")
+    @ClusterJob("outbox.cleanup")
+    public void cleanup() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(tx -> outboxRepository.deleteFinishedBefore(cutoff));
+        log.info("Deleted {} outbox events created before {}", deleted, cutoff);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        wakeExecutor.shutdownNow();
+    }
+}
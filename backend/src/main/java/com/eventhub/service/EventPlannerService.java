@@ -1,26 +1,44 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.response.EventBundleDTO;
 import com.eventhub.dto.response.EventRecommendationDTO;
 import com.eventhub.model.*;
 import com.eventhub.repository.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional(readOnly = true)
 public class EventPlannerService {
     
+    private static final int DEFAULT_BUNDLE_COUNT = 3;
+    
+    // Reference share of the total budget per category (same split as generateRecommendations)
+    private static final List<CategoryShare> BUNDLE_CATEGORIES = List.of(
+            new CategoryShare("decorator", new BigDecimal("0.30"), "Essential for creating the perfect ambiance"),
+            new CategoryShare("photographer", new BigDecimal("0.25"), "Capture your special moments forever"),
+            new CategoryShare("dj", new BigDecimal("0.20"), "Keep the party going with great music"),
+            new CategoryShare("caterer", new BigDecimal("0.25"), "Delicious food for all your guests")
+    );
+    
     private final VendorRepository vendorRepository;
     private final ListingRepository listingRepository;
-    private final CategoryRepository categoryRepository;
-    private final EventTypeRepository eventTypeRepository;
+    private final ReferenceDataService referenceDataService;
+    private final PackageBundleSolver packageBundleSolver;
+    
+    @Value("${planner.bundles.time-budget-ms:250}")
+    private long bundleTimeBudgetMs;
     
     /**
      * Advanced AI-powered vendor recommendations based on budget
@@ -42,20 +60,7 @@ public class EventPlannerService {
     public List<EventRecommendationDTO> generateRecommendations(Integer budget, String eventType, Integer guestCount) {
         List<EventRecommendationDTO> recommendations = new ArrayList<>();
         
-        // Parse event type ID
-        Integer eventTypeId = null;
-        try {
-            eventTypeId = Integer.parseInt(eventType);
-        } catch (NumberFormatException e) {
-            // If eventType is not a number, try to find by name
-            EventType et = eventTypeRepository.findAll().stream()
-                .filter(type -> type.getName().equalsIgnoreCase(eventType))
-                .findFirst()
-                .orElse(null);
-            if (et != null) {
-                eventTypeId = et.getId();
-            }
-        }
+        Integer eventTypeId = resolveEventTypeId(eventType);
         
         // Decorator: 30% of budget
         BigDecimal decorBudget = new BigDecimal(budget).multiply(new BigDecimal("0.30"));
@@ -87,6 +92,114 @@ public class EventPlannerService {
         return recommendations;
     }
     
+    /**
+     * Whole-event bundles that maximize the total value score under the total budget.
+     * 
+     * Unlike generateRecommendations, the budget is not split up front: a bundle may spend
+     * more on photography and less on decor if that yields more value overall. The category
+     * shares are only the reference point for the price-proximity part of the value score.
+     * 
+     * Candidates are loaded with one query per category, then PackageBundleSolver runs a
+     * multiple-choice knapsack search (at most one package per category) within
+     * planner.bundles.time-budget-ms and returns the best bundles found.
+     */
+    public List<EventBundleDTO> generateBundles(Integer budget, String eventType, Integer guestCount, Integer bundleCount) {
+        Integer eventTypeId = resolveEventTypeId(eventType);
+        BigDecimal totalBudget = new BigDecimal(budget);
+        int k = bundleCount != null ? bundleCount : DEFAULT_BUNDLE_COUNT;
+        
+        List<BundleGroup> groups = new ArrayList<>();
+        List<List<PackageBundleSolver.Option>> optionGroups = new ArrayList<>();
+        BigDecimal minCatererBudget = new BigDecimal(guestCount).multiply(new BigDecimal("500"));
+        
+        for (CategoryShare plan : BUNDLE_CATEGORIES) {
+            BigDecimal referenceBudget = totalBudget.multiply(plan.share());
+            // Same rule as generateRecommendations: caterer only if its share covers 500 per guest
+            if ("caterer".equals(plan.categoryId()) && referenceBudget.compareTo(minCatererBudget) < 0) {
+                continue;
+            }
+            
+            Category category = referenceDataService.current().category(plan.categoryId());
+            if (category == null) continue;
+            
+            List<Listing> packages = listingRepository.findPlannerCandidates(
+                    plan.categoryId(), Listing.ListingType.PACKAGE, eventTypeId, totalBudget);
+            
+            List<PackageCandidate> candidates = new ArrayList<>(packages.size());
+            List<PackageBundleSolver.Option> options = new ArrayList<>(packages.size());
+            for (Listing pkg : packages) {
+                BigDecimal valueScore = calculateValueScore(pkg, pkg.getVendor(), referenceBudget);
+                candidates.add(new PackageCandidate(pkg, pkg.getVendor(), valueScore, plan.reason()));
+                options.add(new PackageBundleSolver.Option(toPaise(pkg.getPrice()), valueScore.doubleValue()));
+            }
+            
+            groups.add(new BundleGroup(category, referenceBudget, candidates));
+            optionGroups.add(options);
+        }
+        
+        PackageBundleSolver.Result result = packageBundleSolver.solve(
+                optionGroups, toPaise(totalBudget), k, TimeUnit.MILLISECONDS.toNanos(bundleTimeBudgetMs));
+        if (!result.complete()) {
+            log.warn("Bundle search hit the {} ms time budget after {} nodes; returning best bundles found",
+                    bundleTimeBudgetMs, result.nodes());
+        }
+        
+        List<EventBundleDTO> bundles = new ArrayList<>();
+        for (PackageBundleSolver.Bundle bundle : result.bundles()) {
+            int rank = bundles.size() + 1;
+            List<EventBundleDTO.BundleItem> items = new ArrayList<>();
+            BigDecimal totalPrice = BigDecimal.ZERO;
+            BigDecimal totalScore = BigDecimal.ZERO;
+            
+            for (int g = 0; g < groups.size(); g++) {
+                int pick = bundle.picks()[g];
+                if (pick < 0) continue;
+                
+                BundleGroup group = groups.get(g);
+                PackageCandidate candidate = group.candidates().get(pick);
+                
+                EventBundleDTO.BundleItem item = new EventBundleDTO.BundleItem();
+                item.setCategory(group.category().getId());
+                item.setCategoryName(group.category().getName());
+                item.setOption(createListingOption(candidate, group.referenceBudget(), rank));
+                items.add(item);
+                
+                totalPrice = totalPrice.add(candidate.listing.getPrice());
+                totalScore = totalScore.add(candidate.valueScore);
+            }
+            
+            EventBundleDTO dto = new EventBundleDTO();
+            dto.setRank(rank);
+            dto.setTotalPrice(totalPrice);
+            dto.setRemainingBudget(totalBudget.subtract(totalPrice));
+            dto.setTotalScore(totalScore);
+            dto.setItems(items);
+            bundles.add(dto);
+        }
+        
+        return bundles;
+    }
+    
+    /**
+     * Resolve an event type given either its numeric ID or its name
+     */
+    private Integer resolveEventTypeId(String eventType) {
+        try {
+            return Integer.parseInt(eventType);
+        } catch (NumberFormatException e) {
+            // If eventType is not a number, try to find by name
+            EventType type = referenceDataService.current().eventTypeByName(eventType);
+            return type != null ? type.getId() : null;
+        }
+    }
+    
+    /**
+     * Prices are compared in paise so the solver can work with exact longs
+     */
+    private static long toPaise(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+    
     /**
      * Find and add 3 best listing options for a category
      */
@@ -95,7 +208,7 @@ public class EventPlannerService {
                                           BigDecimal allocatedBudget, 
                                           Integer eventTypeId,
                                           String defaultReason) {
-        Category category = categoryRepository.findById(categoryId).orElse(null);
+        Category category = referenceDataService.current().category(categoryId);
         if (category == null) return;
         
         // Find all active vendors in this category
@@ -176,6 +289,9 @@ public class EventPlannerService {
         if (priceRatio.compareTo(new BigDecimal("0.7")) >= 0 && priceRatio.compareTo(new BigDecimal("1.0")) <= 0) {
             // Optimal range: 70-100% of budget
             priceScore = new BigDecimal("1.0");
+        } else if (priceRatio.compareTo(new BigDecimal("1.0")) > 0) {
+            // Over the reference budget (bundles only): decays to 0 at 2x
+            priceScore = new BigDecimal("2.0").subtract(priceRatio).max(BigDecimal.ZERO);
         } else if (priceRatio.compareTo(new BigDecimal("0.5")) >= 0) {
             // Good range: 50-70% of budget
             priceScore = priceRatio.multiply(new BigDecimal("1.2"));
@@ -285,6 +401,18 @@ public class EventPlannerService {
         return String.join(" • ", reasons);
     }
     
+    /**
+     * Category taking part in bundles and its reference share of the total budget
+     */
+    private record CategoryShare(String categoryId, BigDecimal share, String reason) {
+    }
+    
+    /**
+     * Loaded candidates of one category, index-aligned with the solver's option group
+     */
+    private record BundleGroup(Category category, BigDecimal referenceBudget, List<PackageCandidate> candidates) {
+    }
+    
     /**
      * Helper class to hold package candidate with calculated score
      */
@@ -1,11 +1,15 @@
 package com.eventhub.service;
 
+import com.eventhub.config.ClusterJob;
 import com.eventhub.dto.LocationDTO;
 import com.eventhub.dto.LocationSuggestion;
 import com.eventhub.model.GeocodingCache;
 import com.eventhub.repository.GeocodingCacheRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
@@ -156,6 +160,9 @@ public class GeocodingService {
     private final RestTemplate restTemplate;
     private final GeocodingCacheRepository cacheRepository;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
     
     @Value("${app.name:EventHub Connect}")
     private String appName;
@@ -163,10 +170,13 @@ public class GeocodingService {
     @Value("${app.contact-email:contact@eventhub.com}")
     private String contactEmail;
     
-    public GeocodingService(GeocodingCacheRepository cacheRepository) {
+    public GeocodingService(GeocodingCacheRepository cacheRepository, MeterRegistry meterRegistry) {
         this.restTemplate = new RestTemplate();
         this.cacheRepository = cacheRepository;
         this.objectMapper = new ObjectMapper();
+        this.meterRegistry = meterRegistry;
+        this.cacheHits = Counter.builder("geocoding.cache.lookups").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("geocoding.cache.lookups").tag("result", "miss").register(meterRegistry);
     }
     
     /**
@@ -278,8 +288,7 @@ public class GeocodingService {
         headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
         HttpEntity<String> entity = new HttpEntity<>(headers);
         
-        ResponseEntity<String> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, String.class);
+        ResponseEntity<String> response = callUpstream("photon", "autocomplete", url, entity);
         
         if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
             return parsePhotonResponse(response.getBody());
@@ -304,8 +313,7 @@ public class GeocodingService {
         HttpHeaders headers = createHeaders();
         HttpEntity<String> entity = new HttpEntity<>(headers);
         
-        ResponseEntity<String> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, String.class);
+        ResponseEntity<String> response = callUpstream("nominatim", "autocomplete", url, entity);
         
         if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
             return parseAutocompleteResponse(response.getBody());
@@ -424,11 +432,14 @@ public class GeocodingService {
                 .findByQueryTextIgnoreCaseAndNotExpired(normalizedQuery, LocalDateTime.now());
         
         if (cached.isPresent()) {
+            cacheHits.increment();
             GeocodingCache cache = cached.get();
             log.debug("Cache hit for query: {}", normalizedQuery);
             return new LocationDTO(cache.getLocationName(), cache.getLatitude(), cache.getLongitude());
         }
         
+        cacheMisses.increment();
+        
         // Call Nominatim API
         try {
             String url = UriComponentsBuilder.fromHttpUrl(NOMINATIM_BASE_URL + "/search")
@@ -443,8 +454,7 @@ public class GeocodingService {
             HttpHeaders headers = createHeaders();
             HttpEntity<String> entity = new HttpEntity<>(headers);
             
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url, HttpMethod.GET, entity, String.class);
+            ResponseEntity<String> response = callUpstream("nominatim", "geocode", url, entity);
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
                 LocationDTO result = parseGeocodeResponse(response.getBody());
@@ -483,8 +493,7 @@ public class GeocodingService {
             HttpHeaders headers = createHeaders();
             HttpEntity<String> entity = new HttpEntity<>(headers);
             
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url, HttpMethod.GET, entity, String.class);
+            ResponseEntity<String> response = callUpstream("nominatim", "reverse", url, entity);
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
                 return parseReverseGeocodeResponse(response.getBody());
@@ -535,6 +544,7 @@ public class GeocodingService {
      * Runs daily at 3 AM.
      */
     @Scheduled(cron = "0 0 3 * * *")
+    @ClusterJob("geocoding.cache-cleanup")
     @Transactional
     public void cleanupExpiredCache() {
         int deleted = cacheRepository.deleteExpiredEntries(LocalDateTime.now());
@@ -543,6 +553,27 @@ public class GeocodingService {
         }
     }
     
+    /**
+     * GET an upstream geocoding API, timing the call as geocoding.upstream.requests
+     * tagged by provider, operation and outcome (success / error).
+     */
+    private ResponseEntity<String> callUpstream(String provider, String operation, String url, HttpEntity<String> entity) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+            outcome = response.getStatusCode().is2xxSuccessful() ? "success" : "error";
+            return response;
+        } finally {
+            sample.stop(Timer.builder("geocoding.upstream.requests")
+                    .tag("provider", provider)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+    
     /**
      * Create HTTP headers with required User-Agent for Nominatim.
      */
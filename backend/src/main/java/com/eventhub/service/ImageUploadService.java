@@ -1,5 +1,8 @@
 package com.eventhub.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import net.coobird.thumbnailator.Thumbnails;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +28,8 @@ public class ImageUploadService {
     private static final Logger logger = LoggerFactory.getLogger(ImageUploadService.class);
 
     private final S3Client s3Client;
+    private final DistributionSummary originalBytes;
+    private final DistributionSummary compressedBytes;
 
     @Value("${r2.bucket-name}")
     private String bucketName;
@@ -41,8 +46,16 @@ public class ImageUploadService {
     @Value("${r2.compression-quality:0.85}")
     private double compressionQuality;
 
-    public ImageUploadService(S3Client s3Client) {
+    public ImageUploadService(S3Client s3Client, MeterRegistry meterRegistry) {
         this.s3Client = s3Client;
+        this.originalBytes = DistributionSummary.builder("image.upload.size")
+                .tag("stage", "original")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.compressedBytes = DistributionSummary.builder("image.upload.size")
+                .tag("stage", "compressed")
+                .baseUnit("bytes")
+                .register(meterRegistry);
     }
 
     /**
@@ -51,6 +64,7 @@ public class ImageUploadService {
      * @param folder The folder path (e.g., "vendors/profiles", "listings/items")
      * @return The public URL of the uploaded image
      */
+    @Timed(value = "image.upload", extraTags = {"source", "multipart"}, histogram = true)
     public String uploadImage(MultipartFile file, String folder) throws IOException {
         validateImage(file);
 
@@ -74,6 +88,8 @@ public class ImageUploadService {
                 .build();
 
         s3Client.putObject(putRequest, RequestBody.fromBytes(compressedImage));
+        originalBytes.record(file.getSize());
+        compressedBytes.record(compressedImage.length);
 
         String imageUrl = publicUrl + "/" + key;
         logger.info("Image uploaded successfully: {} (original: {}KB, compressed: {}KB, reduction: {}%)",
@@ -88,6 +104,7 @@ public class ImageUploadService {
     /**
      * Upload an image from base64 string (for migration of existing data)
      */
+    @Timed(value = "image.upload", extraTags = {"source", "base64"}, histogram = true)
     public String uploadBase64Image(String base64Data, String folder) throws IOException {
         // Extract the actual base64 content and mime type
         String[] parts = base64Data.split(",");
@@ -117,6 +134,8 @@ public class ImageUploadService {
                 .build();
 
         s3Client.putObject(putRequest, RequestBody.fromBytes(compressedImage));
+        originalBytes.record(imageBytes.length);
+        compressedBytes.record(compressedImage.length);
 
         String imageUrl = publicUrl + "/" + key;
         logger.info("Base64 image uploaded: {} (original: {}KB, compressed: {}KB)",
@@ -130,6 +149,7 @@ public class ImageUploadService {
     /**
      * Delete an image from R2
      */
+    @Timed(value = "image.delete")
     public void deleteImage(String imageUrl) {
         if (imageUrl == null || !imageUrl.startsWith(publicUrl)) {
             return;
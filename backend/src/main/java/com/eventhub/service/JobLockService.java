@@ -0,0 +1,110 @@
+package com.eventhub.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide mutual exclusion for background jobs using lease rows in job_locks.
+ * Scheduled jobs get this through ScheduledJobRunner (see ClusterJob).
+ * 
+ * Taking, renewing and dropping a lease are single autocommit statements, so no connection
+ * is held for the duration of the job and the job can commit in as many short transactions
+ * as it likes. The lease is renewed every third of its length while the job runs; if the
+ * instance dies, another instance can take the job once the lease runs out.
+ * 
+ * Lease times come from the database clock, so instance clock skew doesn't matter.
+ */
+@Service
+@Slf4j
+public class JobLockService {
+    
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO job_locks (name, owner, locked_until)
+            VALUES (?, ?, NOW() + make_interval(secs => ?))
+            ON CONFLICT (name) DO UPDATE
+            SET owner = EXCLUDED.owner, locked_until = EXCLUDED.locked_until
+            WHERE job_locks.locked_until < NOW()
+            """;
+    private static final String RENEW_SQL =
+            "UPDATE job_locks SET locked_until = NOW() + make_interval(secs => ?) WHERE name = ? AND owner = ?";
+    private static final String RELEASE_SQL = "DELETE FROM job_locks WHERE name = ? AND owner = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final String instanceId;
+    private final long leaseSeconds;
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("job-lease-renewal").daemon().factory());
+    
+    public JobLockService(JdbcTemplate jdbcTemplate,
+                          @Value("${app.scheduler.instance-id:${HOSTNAME:local}}") String instanceId,
+                          @Value("${app.scheduler.lease-seconds:300}") long leaseSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.instanceId = instanceId;
+        this.leaseSeconds = Math.max(3, leaseSeconds);
+    }
+    
+    /**
+     * Run {@code task} only if no other instance currently holds the lease for {@code jobName}.
+     * Exceptions from the task are rethrown after the lease is dropped.
+     * 
+     * @return true if the task ran, false if another instance holds the lease
+     */
+    public boolean runExclusively(String jobName, Runnable task) {
+        // Unique per run, so a late release or renewal never touches a newer lease
+        String owner = instanceId + ":" + UUID.randomUUID();
+        try {
+            if (jdbcTemplate.update(ACQUIRE_SQL, jobName, owner, leaseSeconds) == 0) {
+                log.info("Skipping job {}: lease held by another instance", jobName);
+                return false;
+            }
+        } catch (DataAccessException e) {
+            log.error("Could not acquire lease for job {}: {}", jobName, e.getMessage());
+            return false;
+        }
+        
+        long renewEvery = leaseSeconds / 3;
+        ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(
+                () -> renew(jobName, owner), renewEvery, renewEvery, TimeUnit.SECONDS);
+        try {
+            task.run();
+            return true;
+        } finally {
+            renewal.cancel(false);
+            release(jobName, owner);
+        }
+    }
+    
+    private void renew(String jobName, String owner) {
+        try {
+            if (jdbcTemplate.update(RENEW_SQL, leaseSeconds, jobName, owner) == 0) {
+                log.warn("Lease for job {} was lost while the job was running", jobName);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to renew lease for job {}: {}", jobName, e.getMessage());
+        }
+    }
+    
+    private void release(String jobName, String owner) {
+        try {
+            jdbcTemplate.update(RELEASE_SQL, jobName, owner);
+        } catch (DataAccessException e) {
+            // Nothing else holds on to it: the lease runs out on its own
+            log.warn("Failed to release lease for job {}: {}", jobName, e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+    }
+}
@@ -1,5 +1,6 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.event.DomainEvent;
 import com.eventhub.dto.request.CreateLeadRequest;
 import com.eventhub.dto.response.LeadAcceptanceResponse;
 import com.eventhub.dto.response.RefundResponse;
@@ -31,7 +32,7 @@ public class LeadService {
     private final VendorRepository vendorRepository;
     private final OrderRepository orderRepository;
     private final TokenPaymentService tokenPaymentService;
-    private final NotificationService notificationService;
+    private final EventOutbox eventOutbox;
     private final DistanceService distanceService;
     
     public Lead createLead(CreateLeadRequest request) {
@@ -114,12 +115,8 @@ public class LeadService {
         log.info("Lead {} created from order {} with token amount {}", 
                 lead.getId(), order.getId(), tokenPayment.getAmount());
         
-        // Notify vendor about new lead
-        try {
-            notificationService.notifyVendorNewLead(lead, tokenPayment);
-        } catch (Exception e) {
-            log.error("Failed to send notification for lead {}: {}", lead.getId(), e.getMessage());
-        }
+        // Vendor is notified by the outbox handler once this commits
+        eventOutbox.publish(new DomainEvent.LeadCreated(lead.getId(), tokenPayment.getId()));
         
         return lead;
     }
@@ -187,12 +184,7 @@ public class LeadService {
             
             log.info("Lead {} accepted. Order {} confirmed.", leadId, order.getId());
             
-            // Notify user about acceptance
-            try {
-                notificationService.notifyUserLeadAccepted(lead);
-            } catch (Exception e) {
-                log.error("Failed to send acceptance notification for lead {}: {}", leadId, e.getMessage());
-            }
+            eventOutbox.publish(new DomainEvent.LeadAccepted(leadId, order.getId()));
             
             return LeadAcceptanceResponse.builder()
                     .leadId(leadId)
@@ -242,12 +234,7 @@ public class LeadService {
                 log.info("Lead {} rejected. Refund initiated for order {}: {}", 
                         leadId, order.getId(), refundResponse.getRefundAmount());
                 
-                // Notify user about rejection and refund
-                try {
-                    notificationService.notifyUserLeadRejected(lead, refundResponse.getRefundAmount());
-                } catch (Exception e) {
-                    log.error("Failed to send rejection notification for lead {}: {}", leadId, e.getMessage());
-                }
+                eventOutbox.publish(new DomainEvent.LeadRejected(leadId, refundResponse.getRefundAmount()));
             } catch (Exception e) {
                 log.error("Failed to initiate refund for order {}: {}", order.getId(), e.getMessage());
                 // Continue with lead rejection even if refund fails
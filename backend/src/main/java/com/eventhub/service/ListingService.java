@@ -1,6 +1,7 @@
 package com.eventhub.service;
 
 import com.eventhub.dto.ListingDTO;
+import com.eventhub.model.Category;
 import com.eventhub.model.Listing;
 import com.eventhub.repository.ListingRepository;
 import lombok.RequiredArgsConstructor;
@@ -10,7 +11,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,32 +23,31 @@ import java.util.stream.Collectors;
 public class ListingService {
     
     private final ListingRepository listingRepository;
+    private final ReferenceDataService referenceDataService;
     
     public List<ListingDTO> getListings(
         Integer eventTypeId,
         String categoryId,
         Listing.ListingType type
     ) {
-        List<Listing> listings;
-        if (eventTypeId != null) {
-            listings = listingRepository.findByEventTypeWithFilters(
-                eventTypeId, categoryId, type, null, null, PageRequest.of(0, 100)
-            );
-        } else {
-            listings = listingRepository.findActiveListingsSimple(
-                categoryId, type, null, null, PageRequest.of(0, 100)
-            );
+        // Page of ids from the listing_search_docs read model (drafts and image-less listings excluded in SQL)
+        List<UUID> ids = listingRepository.searchDocs(
+                eventTypeId, categoryId, type != null ? type.name().toLowerCase() : null,
+                null, null, null, null, PageRequest.of(0, 100, ListingRepository.RELEVANCE_SORT))
+            .stream()
+            .map(hit -> (UUID) hit[0])
+            .toList();
+        if (ids.isEmpty()) {
+            return List.of();
         }
         
-        // Fetch event types to avoid N+1
-        if (!listings.isEmpty()) {
-            listings = listingRepository.fetchEventTypes(listings);
-        }
-        
-        // Filter out drafts: must have images (SIZE() doesn't work on PostgreSQL arrays in JPQL)
-        listings = listings.stream()
-                .filter(l -> l.getImages() != null && !l.getImages().isEmpty())
-                .collect(Collectors.toList());
+        // One query for the listings with vendor and event types; restore the search order
+        Map<UUID, Listing> byId = listingRepository.findForSearchByIdIn(ids).stream()
+            .collect(Collectors.toMap(Listing::getId, Function.identity()));
+        List<Listing> listings = ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .toList();
         
         return listings.stream()
             .map(this::toDTO)
@@ -89,8 +92,10 @@ public class ListingService {
         dto.setName(listing.getName());
         dto.setDescription(listing.getDescription());
         dto.setPrice(listing.getPrice());
+        // Category name from the reference data snapshot instead of loading the category row
+        Category category = referenceDataService.current().category(listing.getListingCategory().getId());
         dto.setCategoryId(listing.getListingCategory().getId());
-        dto.setCategoryName(listing.getListingCategory().getName());
+        dto.setCategoryName(category != null ? category.getName() : null);
         dto.setImages(listing.getImages());
         dto.setIncludedItemsText(listing.getIncludedItemsText());
         dto.setExcludedItemsText(listing.getExcludedItemsText());
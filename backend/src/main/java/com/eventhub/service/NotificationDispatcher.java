@@ -0,0 +1,187 @@
+package com.eventhub.service;
+
+import com.eventhub.config.ClusterJob;
+import com.eventhub.model.Notification;
+import com.eventhub.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Delivers pending notifications by email and WebSocket.
+ *
+ * Each run picks recipients with due notifications who haven't been sent anything within
+ * the minimum interval, and sends each of them one message: the notification itself, or a
+ * digest of everything due ("3 new leads"), however many rows that is. Rows are locked with FOR UPDATE SKIP LOCKED
+ * and marked SENT before anything goes out, so instances never send the same row twice and
+ * a failed email is not retried; the in-app row stays either way.
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+    
+    private static final int RECIPIENT_BATCH = 200;
+    // Lines listed per kind in a digest; the rest are counted ("...and 12 more")
+    private static final int MAX_LISTED_PER_KIND = 20;
+    
+    private final NotificationRepository notificationRepository;
+    private final EmailService emailService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final int minIntervalMinutes;
+    private final int maxEmailsPerRun;
+    private final int retentionDays;
+    
+    public NotificationDispatcher(NotificationRepository notificationRepository,
+                                  EmailService emailService,
+                                  SimpMessagingTemplate messagingTemplate,
+                                  MeterRegistry meterRegistry,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.notifications.min-interval-minutes:5}") int minIntervalMinutes,
+                                  @Value("${app.notifications.max-emails-per-run:500}") int maxEmailsPerRun,
+                                  @Value("${app.notifications.retention-days:90}") int retentionDays) {
+        this.notificationRepository = notificationRepository;
+        this.emailService = emailService;
+        this.messagingTemplate = messagingTemplate;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minIntervalMinutes = minIntervalMinutes;
+        this.maxEmailsPerRun = maxEmailsPerRun;
+        this.retentionDays = retentionDays;
+    }
+    
+    /**
+     * A notification, or several coalesced into one digest
+     */
+    record Message(String subject, String body, int count) {}
+    
+    @Scheduled(fixedDelayString = "${app.notifications.poll-ms:30000}")
+    public void dispatch() {
+        try {
+            LocalDateTime sentSince = LocalDateTime.now().minusMinutes(minIntervalMinutes);
+            List<Object[]> recipients = notificationRepository.findDueRecipients(sentSince, RECIPIENT_BATCH);
+            int emails = 0;
+            for (Object[] recipient : recipients) {
+                if (emails >= maxEmailsPerRun) {
+                    // The rest stay pending for the next run
+                    log.info("Notification email cap of {} reached, deferring remaining recipients", maxEmailsPerRun);
+                    break;
+                }
+                Notification.RecipientType type = Notification.RecipientType.valueOf((String) recipient[0]);
+                if (deliver(type, (UUID) recipient[1])) {
+                    emails++;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Notification dispatch failed", e);
+        }
+    }
+    
+    /**
+     * Sends the recipient's due notifications as one message; returns true if an email went out
+     */
+    boolean deliver(Notification.RecipientType type, UUID recipientId) {
+        List<Notification> claimed = transactionTemplate.execute(tx -> {
+            List<Notification> rows = notificationRepository.claimDue(type.name(), recipientId);
+            LocalDateTime now = LocalDateTime.now();
+            for (Notification row : rows) {
+                row.setDeliveryState(Notification.DeliveryState.SENT);
+                row.setSentAt(now);
+            }
+            return rows;
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            // Another instance got there first
+            return false;
+        }
+        
+        Message message = compose(claimed);
+        String digest = String.valueOf(message.count() > 1);
+        if (message.count() > 1) {
+            meterRegistry.counter("notifications.coalesced").increment(message.count() - 1);
+        }
+        
+        try {
+            messagingTemplate.convertAndSend("/topic/notifications/" + recipientId,
+                    Map.of("title", message.subject(), "count", message.count()));
+            meterRegistry.counter("notifications.delivered", "channel", "websocket", "digest", digest,
+                    "outcome", "sent").increment();
+        } catch (RuntimeException e) {
+            meterRegistry.counter("notifications.delivered", "channel", "websocket", "digest", digest,
+                    "outcome", "failed").increment();
+            log.warn("WebSocket push to {} {} failed: {}", type, recipientId, e.getMessage());
+        }
+        
+        String email = latestEmail(claimed);
+        if (email == null) {
+            return false;
+        }
+        boolean sent = emailService.send(email, message.subject(), message.body());
+        meterRegistry.counter("notifications.delivered", "channel", "email", "digest", digest,
+                "outcome", sent ? "sent" : "failed").increment();
+        return sent;
+    }
+    
+    static Message compose(List<Notification> notifications) {
+        if (notifications.size() == 1) {
+            Notification only = notifications.get(0);
+            return new Message(only.getTitle(), only.getBody(), 1);
+        }
+        
+        Map<Notification.Kind, List<Notification>> byKind = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            byKind.computeIfAbsent(notification.getKind(), kind -> new ArrayList<>()).add(notification);
+        }
+        List<String> headlines = new ArrayList<>(byKind.size());
+        StringBuilder body = new StringBuilder();
+        for (Map.Entry<Notification.Kind, List<Notification>> group : byKind.entrySet()) {
+            List<Notification> rows = group.getValue();
+            String headline = rows.size() == 1
+                    ? rows.get(0).getTitle()
+                    : NotificationTemplates.of(group.getKey()).digestTitle().render(Map.of("count", rows.size()));
+            headlines.add(headline);
+            
+            body.append(headline).append('\n');
+            int listed = Math.min(rows.size(), MAX_LISTED_PER_KIND);
+            for (Notification row : rows.subList(0, listed)) {
+                body.append("- ").append(row.getBody()).append('\n');
+            }
+            if (rows.size() > listed) {
+                body.append("- ...and ").append(rows.size() - listed).append(" more\n");
+            }
+            body.append('\n');
+        }
+        return new Message(String.join(", ", headlines), body.toString().stripTrailing(), notifications.size());
+    }
+    
+    private static String latestEmail(List<Notification> notifications) {
+        for (int i = notifications.size() - 1; i >= 0; i--) {
+            String email = notifications.get(i).getEmail();
+            if (email != null && !email.isBlank()) {
+                return email;
+            }
+        }
+        return null;
+    }
+    
+    @Scheduled(cron = "0 50 4 * * *")
+    @ClusterJob("notifications.cleanup")
+    public void cleanup() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(tx -> notificationRepository.deleteSentBefore(cutoff));
+        log.info("Deleted {} notifications created before {}", deleted, cutoff);
+    }
+}
@@ -1,111 +1,216 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.event.DomainEvent;
+import com.eventhub.dto.response.NotificationDTO;
+import com.eventhub.dto.response.NotificationPageDTO;
 import com.eventhub.model.Lead;
+import com.eventhub.model.Notification;
 import com.eventhub.model.Order;
 import com.eventhub.model.Payment;
 import com.eventhub.model.Vendor;
+import com.eventhub.repository.LeadRepository;
+import com.eventhub.repository.NotificationRepository;
+import com.eventhub.repository.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Creates notifications: one in-app row per call, rendered from the pre-compiled templates in
+ * NotificationTemplates. Nothing is sent here; NotificationDispatcher delivers due rows by
+ * email and WebSocket, coalescing each recipient's pending notifications into one digest.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
     
+    private static final int MAX_PAGE_SIZE = 50;
+    
+    private final LeadRepository leadRepository;
+    private final PaymentRepository paymentRepository;
+    private final NotificationRepository notificationRepository;
+    private final MeterRegistry meterRegistry;
+    
+    // Outbox handlers (see EventOutbox): run once per event, after the business transaction committed
+    
+    @EventListener
+    public void onLeadCreated(DomainEvent.LeadCreated event) {
+        Lead lead = leadRepository.findById(event.leadId()).orElse(null);
+        Payment payment = paymentRepository.findById(event.paymentId()).orElse(null);
+        if (lead == null || payment == null) {
+            log.warn("Skipping new lead notification, lead {} or payment {} no longer exists", event.leadId(), event.paymentId());
+            return;
+        }
+        notifyVendorNewLead(lead, payment);
+    }
+    
+    @EventListener
+    public void onLeadAccepted(DomainEvent.LeadAccepted event) {
+        leadRepository.findById(event.leadId()).ifPresent(this::notifyUserLeadAccepted);
+    }
+    
+    @EventListener
+    public void onLeadRejected(DomainEvent.LeadRejected event) {
+        leadRepository.findById(event.leadId()).ifPresent(lead -> notifyUserLeadRejected(lead, event.refundAmount()));
+    }
+    
+    @EventListener
+    public void onPaymentCompleted(DomainEvent.PaymentCompleted event) {
+        paymentRepository.findById(event.paymentId()).ifPresent(this::notifyUserPaymentSuccess);
+    }
+    
     public void notifyVendorNewLead(Lead lead, Payment tokenPayment) {
         Vendor vendor = lead.getVendor();
         Order order = lead.getOrder();
         
-        String message = String.format(
-            "New Lead Received! Customer: %s, Event Type: %s, Event Date: %s, " +
-            "Guest Count: %d, Token Amount Paid: %s, Total Order Value: %s",
-            lead.getName(),
-            lead.getEventType(),
-            lead.getEventDate(),
-            lead.getGuestCount() != null ? lead.getGuestCount() : 0,
-            tokenPayment.getAmount(),
-            order != null ? order.getTotalAmount() : "N/A"
-        );
-        
-        log.info("NOTIFICATION to Vendor {} (ID: {}): {}", 
-                vendor.getBusinessName(), vendor.getId(), message);
+        Map<String, Object> values = new HashMap<>();
+        values.put("customer", lead.getName());
+        values.put("eventType", lead.getEventType());
+        values.put("eventDate", lead.getEventDate());
+        values.put("guestCount", lead.getGuestCount() != null ? lead.getGuestCount() : 0);
+        values.put("tokenAmount", tokenPayment.getAmount());
+        values.put("orderTotal", order != null ? order.getTotalAmount() : "N/A");
+        notify(Notification.RecipientType.VENDOR, vendor.getId(), vendor.getEmail(),
+                Notification.Kind.VENDOR_NEW_LEAD, values);
     }
     
     public void notifyUserLeadAccepted(Lead lead) {
-        String message = String.format(
-            "Your booking request has been accepted! Vendor: %s, Event Date: %s",
-            lead.getVendor().getBusinessName(),
-            lead.getEventDate()
-        );
-        
-        log.info("NOTIFICATION to User {} ({}): {}", 
-                lead.getName(), lead.getEmail(), message);
+        Map<String, Object> values = new HashMap<>();
+        values.put("vendor", lead.getVendor().getBusinessName());
+        values.put("eventDate", lead.getEventDate());
+        notify(Notification.RecipientType.USER, lead.getUserId(), lead.getEmail(),
+                Notification.Kind.USER_LEAD_ACCEPTED, values);
     }
     
     public void notifyUserLeadRejected(Lead lead, BigDecimal refundAmount) {
-        String message = String.format(
-            "Your booking request has been declined. Vendor: %s, Refund Amount: %s",
-            lead.getVendor().getBusinessName(),
-            refundAmount
-        );
-        
-        log.info("NOTIFICATION to User {} ({}): {}", 
-                lead.getName(), lead.getEmail(), message);
+        Map<String, Object> values = new HashMap<>();
+        values.put("vendor", lead.getVendor().getBusinessName());
+        values.put("refundAmount", refundAmount);
+        notify(Notification.RecipientType.USER, lead.getUserId(), lead.getEmail(),
+                Notification.Kind.USER_LEAD_REJECTED, values);
     }
     
     public void notifyVendorUpcomingEvent(Order order, int daysUntilEvent) {
         Vendor vendor = order.getVendor();
         
-        String message = String.format(
-            "Reminder: Upcoming Event in %d days! Customer: %s, Event Date: %s",
-            daysUntilEvent,
-            order.getCustomerName(),
-            order.getEventDate()
-        );
-        
-        log.info("NOTIFICATION to Vendor {} (ID: {}): {}", 
-                vendor.getBusinessName(), vendor.getId(), message);
+        Map<String, Object> values = new HashMap<>();
+        values.put("days", daysUntilEvent);
+        values.put("customer", order.getCustomerName());
+        values.put("eventDate", order.getEventDate());
+        notify(Notification.RecipientType.VENDOR, vendor.getId(), vendor.getEmail(),
+                Notification.Kind.VENDOR_UPCOMING_EVENT, values);
     }
     
     public void notifyUserUpcomingEvent(Order order, int daysUntilEvent) {
-        String message = String.format(
-            "Reminder: Your event is in %d days! Vendor: %s, Event Date: %s",
-            daysUntilEvent,
-            order.getVendor().getBusinessName(),
-            order.getEventDate()
-        );
-        
-        log.info("NOTIFICATION to User {} ({}): {}", 
-                order.getCustomerName(), order.getCustomerEmail(), message);
+        Map<String, Object> values = new HashMap<>();
+        values.put("days", daysUntilEvent);
+        values.put("vendor", order.getVendor().getBusinessName());
+        values.put("eventDate", order.getEventDate());
+        notify(Notification.RecipientType.USER, order.getUserId(), order.getCustomerEmail(),
+                Notification.Kind.USER_UPCOMING_EVENT, values);
     }
     
     public void notifyVendorCompleteEvent(Order order) {
         Vendor vendor = order.getVendor();
         
-        String message = String.format(
-            "Please mark your event as completed! Order: %s, Customer: %s",
-            order.getOrderNumber(),
-            order.getCustomerName()
-        );
-        
-        log.info("NOTIFICATION to Vendor {} (ID: {}): {}", 
-                vendor.getBusinessName(), vendor.getId(), message);
+        Map<String, Object> values = new HashMap<>();
+        values.put("orderNumber", order.getOrderNumber());
+        values.put("customer", order.getCustomerName());
+        notify(Notification.RecipientType.VENDOR, vendor.getId(), vendor.getEmail(),
+                Notification.Kind.VENDOR_COMPLETE_EVENT, values);
     }
     
     public void notifyUserPaymentSuccess(Payment payment) {
         Order order = payment.getOrder();
         
-        String message = String.format(
-            "Payment Successful! Amount: %s, Transaction ID: %s, Order: %s",
-            payment.getAmount(),
-            payment.getTransactionId(),
-            order.getOrderNumber()
-        );
+        Map<String, Object> values = new HashMap<>();
+        values.put("amount", payment.getAmount());
+        values.put("transactionId", payment.getTransactionId());
+        values.put("orderNumber", order.getOrderNumber());
+        notify(Notification.RecipientType.USER, order.getUserId(), order.getCustomerEmail(),
+                Notification.Kind.USER_PAYMENT_SUCCESS, values);
+    }
+    
+    private void notify(Notification.RecipientType recipientType, UUID recipientId, String email,
+                        Notification.Kind kind, Map<String, Object> values) {
+        if (recipientId == null) {
+            // Guest bookings have no account to notify in-app
+            log.debug("Skipping {} notification without a recipient", kind);
+            return;
+        }
+        NotificationTemplates.Template template = NotificationTemplates.of(kind);
+        LocalDateTime now = LocalDateTime.now();
+        
+        Notification notification = new Notification();
+        notification.setRecipientType(recipientType);
+        notification.setRecipientId(recipientId);
+        notification.setEmail(email);
+        notification.setKind(kind);
+        notification.setTitle(truncate(template.title().render(values), 255));
+        notification.setBody(template.body().render(values));
+        notification.setCreatedAt(now);
+        notification.setDeliverAfter(now.plus(template.window()));
+        notificationRepository.save(notification);
         
-        log.info("NOTIFICATION to User {} ({}): {}", 
-                order.getCustomerName(), order.getCustomerEmail(), message);
+        meterRegistry.counter("notifications.created", "kind", kind.name()).increment();
+        log.debug("Notification {} for {} {}: {}", kind, recipientType, recipientId, notification.getTitle());
+    }
+    
+    public NotificationPageDTO getNotifications(Notification.RecipientType recipientType, UUID recipientId,
+                                                Long before, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long cursor = before != null ? before : Long.MAX_VALUE;
+        // One extra row tells whether an older page exists
+        List<Notification> rows = notificationRepository.findByRecipientIdAndRecipientTypeAndIdLessThanOrderByIdDesc(
+                recipientId, recipientType, cursor, Limit.of(pageSize + 1));
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<NotificationDTO> content = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (int i = 0; i < rows.size() && i < pageSize; i++) {
+            content.add(toDTO(rows.get(i)));
+        }
+        Long nextCursor = hasMore ? content.get(content.size() - 1).getId() : null;
+        long unread = notificationRepository.countByRecipientIdAndRecipientTypeAndReadAtIsNull(recipientId, recipientType);
+        return new NotificationPageDTO(content, nextCursor, hasMore, unread);
+    }
+    
+    public long getUnreadCount(Notification.RecipientType recipientType, UUID recipientId) {
+        return notificationRepository.countByRecipientIdAndRecipientTypeAndReadAtIsNull(recipientId, recipientType);
+    }
+    
+    /**
+     * Marks one notification (or all of them when id is null) as read; returns how many changed
+     */
+    @Transactional
+    public int markRead(Notification.RecipientType recipientType, UUID recipientId, Long id) {
+        return notificationRepository.markRead(recipientId, recipientType, id, LocalDateTime.now());
+    }
+    
+    private static NotificationDTO toDTO(Notification notification) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(notification.getId());
+        dto.setKind(notification.getKind().name());
+        dto.setTitle(notification.getTitle());
+        dto.setBody(notification.getBody());
+        dto.setRead(notification.getReadAt() != null);
+        dto.setCreatedAt(notification.getCreatedAt());
+        return dto;
+    }
+    
+    private static String truncate(String value, int length) {
+        return value.length() <= length ? value : value.substring(0, length);
     }
 }
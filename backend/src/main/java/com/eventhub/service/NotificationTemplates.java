@@ -0,0 +1,77 @@
+package com.eventhub.service;
+
+import com.eventhub.model.Notification;
+import com.eventhub.util.MessageTemplate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Title/body templates per notification kind, compiled once at class load.
+ * 
+ * digestTitle is used when several notifications of the kind go to one recipient in the
+ * same delivery; window is how long a new notification waits for related ones before it
+ * can be delivered.
+ */
+final class NotificationTemplates {
+    
+    record Template(MessageTemplate title, MessageTemplate body, MessageTemplate digestTitle, Duration window) {}
+    
+    private static final Map<Notification.Kind, Template> TEMPLATES = new EnumMap<>(Notification.Kind.class);
+    
+    static {
+        define(Notification.Kind.VENDOR_NEW_LEAD,
+                "New lead from {customer}",
+                "New Lead Received! Customer: {customer}, Event Type: {eventType}, Event Date: {eventDate}, " +
+                        "Guest Count: {guestCount}, Token Amount Paid: {tokenAmount}, Total Order Value: {orderTotal}",
+                "{count} new leads",
+                Duration.ofMinutes(1));
+        define(Notification.Kind.VENDOR_UPCOMING_EVENT,
+                "Upcoming event in {days} days: {customer} on {eventDate}",
+                "Reminder: Upcoming Event in {days} days! Customer: {customer}, Event Date: {eventDate}",
+                "{count} events coming up",
+                Duration.ofMinutes(15));
+        define(Notification.Kind.VENDOR_COMPLETE_EVENT,
+                "Mark order {orderNumber} as completed",
+                "Please mark your event as completed! Order: {orderNumber}, Customer: {customer}",
+                "{count} events to mark as completed",
+                Duration.ofMinutes(15));
+        define(Notification.Kind.USER_LEAD_ACCEPTED,
+                "{vendor} accepted your booking",
+                "Your booking request has been accepted! Vendor: {vendor}, Event Date: {eventDate}",
+                "{count} bookings accepted",
+                Duration.ZERO);
+        define(Notification.Kind.USER_LEAD_REJECTED,
+                "{vendor} declined your booking",
+                "Your booking request has been declined. Vendor: {vendor}, Refund Amount: {refundAmount}",
+                "{count} bookings declined",
+                Duration.ZERO);
+        define(Notification.Kind.USER_UPCOMING_EVENT,
+                "Your event with {vendor} is in {days} days",
+                "Reminder: Your event is in {days} days! Vendor: {vendor}, Event Date: {eventDate}",
+                "{count} events coming up",
+                Duration.ofMinutes(15));
+        define(Notification.Kind.USER_PAYMENT_SUCCESS,
+                "Payment of {amount} received",
+                "Payment Successful! Amount: {amount}, Transaction ID: {transactionId}, Order: {orderNumber}",
+                "{count} payments received",
+                Duration.ZERO);
+    }
+    
+    private NotificationTemplates() {
+    }
+    
+    private static void define(Notification.Kind kind, String title, String body, String digestTitle, Duration window) {
+        TEMPLATES.put(kind, new Template(MessageTemplate.compile(title), MessageTemplate.compile(body),
+                MessageTemplate.compile(digestTitle), window));
+    }
+    
+    static Template of(Notification.Kind kind) {
+        Template template = TEMPLATES.get(kind);
+        if (template == null) {
+            throw new IllegalStateException("No template for notification kind " + kind);
+        }
+        return template;
+    }
+}
@@ -1,5 +1,6 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.event.DomainEvent;
 import com.eventhub.dto.request.CreateOfferRequest;
 import com.eventhub.dto.request.CounterOfferRequest;
 import com.eventhub.dto.response.OfferDTO;
@@ -15,7 +16,11 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +37,7 @@ public class OfferService {
     private final PaymentRepository paymentRepository;
     private final OrderTimelineRepository orderTimelineRepository;
     private final UserProfileRepository userProfileRepository;
+    private final EventOutbox eventOutbox;
     
     /**
      * Create a new offer from user
@@ -326,33 +332,41 @@ public class OfferService {
      */
     @Transactional(readOnly = true)
     public List<OfferDTO> getOffersByThread(UUID threadId) {
-        ChatThread thread = chatThreadRepository.findById(threadId)
-                .orElseThrow(() -> new NotFoundException("Chat thread not found"));
-        
-        List<Offer> offers = offerRepository.findByThreadOrderByCreatedAtDesc(thread);
-        return offers.stream()
-                .map(this::toOfferDTOWithOrderDetails)
-                .collect(Collectors.toList());
+        List<Offer> offers = offerRepository.findByThreadIdWithDetails(threadId);
+        if (offers.isEmpty() && !chatThreadRepository.existsById(threadId)) {
+            throw new NotFoundException("Chat thread not found");
+        }
+        return toOfferDTOsWithOrderDetails(offers);
     }
     
     /**
-     * Convert Offer to OfferDTO with order token details
+     * Convert offers to OfferDTOs with order token details.
+     * Token status for all linked orders is loaded with one query, so a list of offers
+     * costs two queries in total (offers + orders) however long it is.
      */
-    private OfferDTO toOfferDTOWithOrderDetails(Offer offer) {
-        if (offer.getOrderId() != null) {
-            Order order = orderRepository.findById(offer.getOrderId()).orElse(null);
-            if (order != null) {
-                boolean tokenPaid = (order.getTokenPaid() != null && order.getTokenPaid().compareTo(BigDecimal.ZERO) > 0) || 
-                    (order.getPaymentStatus() == Order.PaymentStatus.PARTIAL || 
-                     order.getPaymentStatus() == Order.PaymentStatus.PAID);
-                return OfferDTO.fromEntityWithOrderDetails(
-                    offer, 
-                    order.getTokenAmount(), 
-                    tokenPaid
-                );
-            }
-        }
-        return OfferDTO.fromEntity(offer);
+    private List<OfferDTO> toOfferDTOsWithOrderDetails(List<Offer> offers) {
+        Set<UUID> orderIds = offers.stream()
+                .map(Offer::getOrderId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        
+        Map<UUID, OrderRepository.TokenStatus> orders = orderIds.isEmpty()
+                ? Map.of()
+                : orderRepository.findTokenStatusByIdIn(orderIds).stream()
+                        .collect(Collectors.toMap(OrderRepository.TokenStatus::getId, Function.identity()));
+        
+        return offers.stream()
+                .map(offer -> {
+                    OrderRepository.TokenStatus order = offer.getOrderId() != null ? orders.get(offer.getOrderId()) : null;
+                    if (order == null) {
+                        return OfferDTO.fromEntity(offer);
+                    }
+                    boolean tokenPaid = (order.getTokenPaid() != null && order.getTokenPaid().compareTo(BigDecimal.ZERO) > 0) || 
+                        (order.getPaymentStatus() == Order.PaymentStatus.PARTIAL || 
+                         order.getPaymentStatus() == Order.PaymentStatus.PAID);
+                    return OfferDTO.fromEntityWithOrderDetails(offer, order.getTokenAmount(), tokenPaid);
+                })
+                .collect(Collectors.toList());
     }
     
     /**
@@ -360,13 +374,11 @@ public class OfferService {
      */
     @Transactional(readOnly = true)
     public List<OfferDTO> getVendorOffers(UUID vendorId) {
-        Vendor vendor = vendorRepository.findById(vendorId)
-                .orElseThrow(() -> new NotFoundException("Vendor not found"));
-        
-        List<Offer> offers = offerRepository.findByVendorOrderByCreatedAtDesc(vendor);
-        return offers.stream()
-                .map(this::toOfferDTOWithOrderDetails)
-                .collect(Collectors.toList());
+        List<Offer> offers = offerRepository.findByVendorIdWithDetails(vendorId);
+        if (offers.isEmpty() && !vendorRepository.existsById(vendorId)) {
+            throw new NotFoundException("Vendor not found");
+        }
+        return toOfferDTOsWithOrderDetails(offers);
     }
     
     /**
@@ -374,10 +386,7 @@ public class OfferService {
      */
     @Transactional(readOnly = true)
     public List<OfferDTO> getUserOffers(UUID userId) {
-        List<Offer> offers = offerRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return offers.stream()
-                .map(this::toOfferDTOWithOrderDetails)
-                .collect(Collectors.toList());
+        return toOfferDTOsWithOrderDetails(offerRepository.findByUserIdWithDetails(userId));
     }
     
     /**
@@ -395,10 +404,7 @@ public class OfferService {
      */
     @Transactional(readOnly = true)
     public List<OfferDTO> getOffersByLeadId(UUID leadId) {
-        List<Offer> offers = offerRepository.findByLeadIdOrderByCreatedAtDesc(leadId);
-        return offers.stream()
-                .map(OfferDTO::fromEntity)
-                .collect(Collectors.toList());
+        return toOfferDTOsWithOrderDetails(offerRepository.findByLeadIdWithDetails(leadId));
     }
     
     /**
@@ -542,6 +548,8 @@ public class OfferService {
         timeline.setStatus(OrderTimeline.TimelineStatus.PENDING);
         orderTimelineRepository.save(timeline);
         
+        eventOutbox.publish(new DomainEvent.OrderPlaced(order.getId(), offer.getVendor().getId(), offer.getUserId(), totalAmount));
+        
         return order;
     }
 }
@@ -1,5 +1,6 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.event.DomainEvent;
 import com.eventhub.model.*;
 import com.eventhub.repository.*;
 import com.eventhub.exception.NotFoundException;
@@ -31,6 +32,7 @@ public class OrderService {
     private final OrderAddOnRepository orderAddOnRepository;
     private final AddOnRepository addOnRepository;
     private final LeadRepository leadRepository;
+    private final EventOutbox eventOutbox;
     private final UserProfileRepository userProfileRepository;
     
     /**
@@ -218,6 +220,8 @@ public class OrderService {
             // This ensures orders are created even if there's a temporary issue with leads
         }
         
+        eventOutbox.publish(new DomainEvent.OrderPlaced(order.getId(), vendor.getId(), userId, order.getTotalAmount()));
+        
         return order;
     }
     
@@ -0,0 +1,406 @@
+package com.eventhub.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Multiple-choice knapsack solver used by the event planner to build whole-event bundles.
+ *
+ * Each group is one category (decorator, photographer, ...). A bundle picks at most one
+ * option per group, the total price must stay within the budget, and bundles are ranked by
+ * the sum of option scores. The solver returns the best K bundles.
+ *
+ * Algorithm:
+ * - Per group (in parallel): drop unaffordable options and options dominated by K others
+ *   (cheaper-or-equal AND better-or-equal), since they can never appear in the top K
+ * - Depth-first branch and bound over groups, best-scoring options first
+ * - Upper bound = current score + best affordable score of every remaining group
+ *   (prefix-max over options sorted by price, binary searched by remaining budget)
+ * - The first group's options are split into fork/join tasks sharing one top-K collector
+ * - A time budget stops the search early; the best bundles found so far are returned
+ */
+@Service
+public class PackageBundleSolver {
+
+    /** Option subtrees handled by a single fork/join task before splitting further */
+    private static final int SPLIT_THRESHOLD = 4;
+
+    /** How many search nodes to expand between deadline checks */
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    /**
+     * A selectable option inside a group.
+     *
+     * @param price Price in the smallest currency unit (paise)
+     * @param score Non-negative utility; higher is better
+     */
+    public record Option(long price, double score) {
+    }
+
+    /**
+     * A whole-event bundle.
+     *
+     * @param picks Index of the chosen option in each input group, or -1 when the group is skipped
+     */
+    public record Bundle(int[] picks, long totalPrice, double totalScore) {
+    }
+
+    /**
+     * @param bundles  Best bundles, highest score first
+     * @param complete False when the time budget expired before the search space was exhausted
+     * @param nodes    Number of search nodes expanded (useful for benchmarking pruning)
+     */
+    public record Result(List<Bundle> bundles, boolean complete, long nodes) {
+    }
+
+    private final ForkJoinPool pool;
+
+    public PackageBundleSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public PackageBundleSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Find the best {@code k} bundles whose total price does not exceed {@code budget}.
+     *
+     * @param groups         Options per category; a bundle picks at most one option per group
+     * @param budget         Total budget in the same unit as {@link Option#price()}
+     * @param k              Number of bundles to return
+     * @param timeBudgetNanos Maximum search time; non-positive means unlimited
+     */
+    public Result solve(List<List<Option>> groups, long budget, int k, long timeBudgetNanos) {
+        if (groups.isEmpty() || k <= 0 || budget < 0) {
+            return new Result(List.of(), true, 0);
+        }
+        long deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+
+        // Preprocess every category independently on the fork/join pool
+        PreparedGroup[] prepared = pool.submit(() -> IntStream.range(0, groups.size())
+                .parallel()
+                .mapToObj(g -> PreparedGroup.of(g, groups.get(g), budget, k))
+                .toArray(PreparedGroup[]::new)).join();
+
+        // Search the most valuable categories first so good incumbents appear early
+        PreparedGroup[] order = Arrays.stream(prepared)
+                .filter(p -> p.size() > 0)
+                .sorted(Comparator.comparingDouble(PreparedGroup::maxScore).reversed())
+                .toArray(PreparedGroup[]::new);
+
+        TopK topK = new TopK(k);
+        if (order.length == 0) {
+            return new Result(List.of(), true, 0);
+        }
+
+        SearchContext ctx = new SearchContext(order, groups.size(), topK, deadline);
+        // Branch index -1 is the "skip this category" choice
+        pool.invoke(new RootTask(ctx, budget, -1, order[0].size()));
+
+        return new Result(topK.sorted(), !ctx.timedOut.get(), ctx.nodes.sum());
+    }
+
+    /**
+     * Options of one group after pruning, in two orders: by score (for branching) and
+     * by price (for the affordable-best-score bound).
+     */
+    private static final class PreparedGroup {
+        final int groupIndex;
+        // Branching order: best score first
+        final int[] originalIndex;
+        final long[] price;
+        final double[] score;
+        // Bound lookup: prices ascending with running max of score
+        final long[] sortedPrice;
+        final double[] prefixMaxScore;
+
+        private PreparedGroup(int groupIndex, int[] originalIndex, long[] price, double[] score,
+                              long[] sortedPrice, double[] prefixMaxScore) {
+            this.groupIndex = groupIndex;
+            this.originalIndex = originalIndex;
+            this.price = price;
+            this.score = score;
+            this.sortedPrice = sortedPrice;
+            this.prefixMaxScore = prefixMaxScore;
+        }
+
+        static PreparedGroup of(int groupIndex, List<Option> options, long budget, int k) {
+            Integer[] byPrice = IntStream.range(0, options.size())
+                    .filter(i -> options.get(i).price() >= 0
+                            && options.get(i).price() <= budget
+                            && options.get(i).score() > 0)
+                    .boxed()
+                    .toArray(Integer[]::new);
+            // Cheapest first; for equal prices the better option first so it dominates the rest
+            Arrays.sort(byPrice, Comparator.<Integer>comparingLong(i -> options.get(i).price())
+                    .thenComparing(i -> options.get(i).score(), Comparator.reverseOrder()));
+
+            // An option dominated by k cheaper-or-equal, better-or-equal options can't be in the top k
+            List<Integer> kept = new ArrayList<>();
+            PriorityQueue<Double> bestSeen = new PriorityQueue<>();
+            for (Integer i : byPrice) {
+                double s = options.get(i).score();
+                if (bestSeen.size() == k && bestSeen.peek() >= s) {
+                    continue;
+                }
+                kept.add(i);
+                bestSeen.offer(s);
+                if (bestSeen.size() > k) {
+                    bestSeen.poll();
+                }
+            }
+
+            int n = kept.size();
+            long[] sortedPrice = new long[n];
+            double[] prefixMaxScore = new double[n];
+            double runningMax = 0;
+            for (int j = 0; j < n; j++) {
+                Option o = options.get(kept.get(j));
+                sortedPrice[j] = o.price();
+                runningMax = Math.max(runningMax, o.score());
+                prefixMaxScore[j] = runningMax;
+            }
+
+            kept.sort(Comparator.<Integer>comparingDouble(i -> options.get(i).score()).reversed()
+                    .thenComparingLong(i -> options.get(i).price()));
+            int[] originalIndex = new int[n];
+            long[] price = new long[n];
+            double[] score = new double[n];
+            for (int j = 0; j < n; j++) {
+                Option o = options.get(kept.get(j));
+                originalIndex[j] = kept.get(j);
+                price[j] = o.price();
+                score[j] = o.score();
+            }
+            return new PreparedGroup(groupIndex, originalIndex, price, score, sortedPrice, prefixMaxScore);
+        }
+
+        int size() {
+            return price.length;
+        }
+
+        double maxScore() {
+            return size() == 0 ? 0 : score[0];
+        }
+
+        /** Best score of any option costing at most {@code capacity} */
+        double bestWithin(long capacity) {
+            int lo = 0;
+            int hi = sortedPrice.length - 1;
+            int found = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sortedPrice[mid] <= capacity) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return found < 0 ? 0 : prefixMaxScore[found];
+        }
+    }
+
+    private static final class SearchContext {
+        final PreparedGroup[] order;
+        final int groupCount;
+        final TopK topK;
+        final long deadline;
+        final AtomicBoolean timedOut = new AtomicBoolean(false);
+        final LongAdder nodes = new LongAdder();
+
+        SearchContext(PreparedGroup[] order, int groupCount, TopK topK, long deadline) {
+            this.order = order;
+            this.groupCount = groupCount;
+            this.topK = topK;
+            this.deadline = deadline;
+        }
+
+        double upperBound(int depth, long capacity) {
+            double bound = 0;
+            for (int d = depth; d < order.length; d++) {
+                bound += order[d].bestWithin(capacity);
+            }
+            return bound;
+        }
+    }
+
+    /**
+     * Splits the choices of the first group (including "skip") into fork/join subtasks.
+     */
+    private static final class RootTask extends RecursiveAction {
+        private final SearchContext ctx;
+        private final long budget;
+        private final int from;
+        private final int to;
+
+        RootTask(SearchContext ctx, long budget, int from, int to) {
+            this.ctx = ctx;
+            this.budget = budget;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RootTask(ctx, budget, from, mid), new RootTask(ctx, budget, mid, to));
+                return;
+            }
+            Searcher searcher = new Searcher(ctx);
+            PreparedGroup first = ctx.order[0];
+            for (int i = from; i < to && !ctx.timedOut.get(); i++) {
+                if (i < 0) {
+                    searcher.search(1, budget, 0, 0);
+                } else {
+                    searcher.pick(0, i);
+                    searcher.search(1, budget - first.price[i], first.price[i], first.score[i]);
+                    searcher.unpick(0);
+                }
+            }
+            searcher.flushNodes();
+        }
+    }
+
+    /**
+     * Sequential depth-first search state owned by a single fork/join task.
+     */
+    private static final class Searcher {
+        private final SearchContext ctx;
+        private final int[] picks; // indexed by search depth, -1 = skipped
+        private long localNodes;
+
+        Searcher(SearchContext ctx) {
+            this.ctx = ctx;
+            this.picks = new int[ctx.order.length];
+            Arrays.fill(picks, -1);
+        }
+
+        void pick(int depth, int option) {
+            picks[depth] = option;
+        }
+
+        void unpick(int depth) {
+            picks[depth] = -1;
+        }
+
+        void search(int depth, long remaining, long totalPrice, double totalScore) {
+            if (++localNodes % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > ctx.deadline) {
+                ctx.timedOut.set(true);
+            }
+            if (ctx.timedOut.get()) {
+                return;
+            }
+            if (depth == ctx.order.length) {
+                // Scores are strictly positive, so a zero score is the empty bundle
+                if (totalScore > 0 && totalScore > ctx.topK.threshold()) {
+                    ctx.topK.offer(toBundle(totalPrice, totalScore));
+                }
+                return;
+            }
+            if (ctx.topK.isFull() && totalScore + ctx.upperBound(depth, remaining) <= ctx.topK.threshold()) {
+                return;
+            }
+
+            PreparedGroup group = ctx.order[depth];
+            for (int i = 0; i < group.size(); i++) {
+                if (group.price[i] > remaining) {
+                    continue;
+                }
+                if (ctx.topK.isFull()) {
+                    double threshold = ctx.topK.threshold();
+                    // Options are in descending score order: if this score plus the loosest
+                    // bound can't beat the threshold, no later (cheaper or not) option can either
+                    if (totalScore + group.score[i] + ctx.upperBound(depth + 1, remaining) <= threshold) {
+                        break;
+                    }
+                    if (totalScore + group.score[i] + ctx.upperBound(depth + 1, remaining - group.price[i]) <= threshold) {
+                        continue;
+                    }
+                }
+                picks[depth] = i;
+                search(depth + 1, remaining - group.price[i], totalPrice + group.price[i], totalScore + group.score[i]);
+                picks[depth] = -1;
+            }
+            // Skipping the category is always an option
+            search(depth + 1, remaining, totalPrice, totalScore);
+        }
+
+        void flushNodes() {
+            ctx.nodes.add(localNodes);
+        }
+
+        private Bundle toBundle(long totalPrice, double totalScore) {
+            int[] result = new int[ctx.groupCount];
+            Arrays.fill(result, -1);
+            for (int d = 0; d < picks.length; d++) {
+                if (picks[d] >= 0) {
+                    PreparedGroup group = ctx.order[d];
+                    result[group.groupIndex] = group.originalIndex[picks[d]];
+                }
+            }
+            return new Bundle(result, totalPrice, totalScore);
+        }
+    }
+
+    /**
+     * Thread-safe collector of the K best bundles. The threshold is published through a
+     * volatile field so searchers can prune without taking the lock.
+     */
+    private static final class TopK {
+        // Worst bundle at the head: lowest score, then highest price
+        private static final Comparator<Bundle> WORST_FIRST = Comparator
+                .comparingDouble(Bundle::totalScore)
+                .thenComparing(Comparator.comparingLong(Bundle::totalPrice).reversed());
+
+        private final int k;
+        private final PriorityQueue<Bundle> heap = new PriorityQueue<>(WORST_FIRST);
+        private volatile double threshold = Double.NEGATIVE_INFINITY;
+        private volatile boolean full;
+
+        TopK(int k) {
+            this.k = k;
+        }
+
+        double threshold() {
+            return threshold;
+        }
+
+        boolean isFull() {
+            return full;
+        }
+
+        synchronized void offer(Bundle bundle) {
+            if (heap.size() < k) {
+                heap.offer(bundle);
+            } else if (WORST_FIRST.compare(bundle, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(bundle);
+            } else {
+                return;
+            }
+            if (heap.size() == k) {
+                full = true;
+                threshold = heap.peek().totalScore();
+            }
+        }
+
+        synchronized List<Bundle> sorted() {
+            List<Bundle> result = new ArrayList<>(heap);
+            result.sort(WORST_FIRST.reversed());
+            return result;
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.eventhub.service;
 
+import com.eventhub.config.ClusterJob;
 import com.eventhub.model.PasswordResetToken;
 import com.eventhub.model.UserProfile;
 import com.eventhub.repository.PasswordResetTokenRepository;
 import com.eventhub.repository.UserProfileRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -118,17 +120,14 @@ public class PasswordResetService {
     }
     
     /**
-     * Clean up expired tokens (can be called by scheduled job)
+     * Clean up expired tokens
+     * Runs daily at 3:30 AM
      */
+    @Scheduled(cron = "0 30 3 * * *")
+    @ClusterJob("password-reset.token-cleanup")
     public void cleanupExpiredTokens() {
-        try {
-            // Find and delete expired tokens manually
-            tokenRepository.findAll().stream()
-                .filter(token -> token.getExpiresAt().isBefore(LocalDateTime.now()))
-                .forEach(token -> tokenRepository.delete(token));
-            log.info("Cleaned up expired password reset tokens");
-        } catch (Exception e) {
-            log.error("Error cleaning up expired tokens: {}", e.getMessage());
-        }
+        // Failures propagate so ScheduledJobRunner records the run as FAILED
+        int deleted = tokenRepository.deleteExpiredTokens(LocalDateTime.now());
+        log.info("Cleaned up {} expired password reset tokens", deleted);
     }
 }
@@ -0,0 +1,216 @@
+package com.eventhub.service;
+
+import com.eventhub.config.ClusterJob;
+import com.eventhub.exception.ResourceNotFoundException;
+import com.eventhub.model.PaymentWebhookEvent;
+import com.eventhub.repository.PaymentWebhookEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inbox for payment gateway webhooks.
+ * 
+ * The endpoint calls {@link #accept} after checking the signature: one INSERT, deduplicated
+ * on transaction_id:status, then the gateway gets its 200. Both come from the signed body;
+ * a gateway event id header isn't covered by the signature, so a replayed body with a fresh
+ * id must not count as a new event. A small worker pool applies stored
+ * events through TokenPaymentService:
+ * 
+ * - Events for one order are applied in arrival order: only the oldest pending event of an
+ *   order is ever eligible, on this or any other instance.
+ * - Each event is claimed with FOR UPDATE SKIP LOCKED and marked PROCESSED in the same
+ *   transaction as its payment/order/lead changes, so effects happen exactly once.
+ * - Failures are retried with backoff, then parked as FAILED; later events for the order
+ *   continue after that.
+ */
+@Service
+@Slf4j
+public class PaymentWebhookInbox {
+    
+    private static final int MAX_ERROR_LENGTH = 2000;
+    
+    private final PaymentWebhookEventRepository eventRepository;
+    private final TokenPaymentService tokenPaymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int maxAttempts;
+    private final int retentionDays;
+    // Dispatched on this instance and not finished yet; keeps the poller from queueing them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestPendingSeconds = new AtomicLong();
+    private final Timer lagTimer;
+    
+    public PaymentWebhookInbox(PaymentWebhookEventRepository eventRepository,
+                               TokenPaymentService tokenPaymentService,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.payment-webhooks.workers:4}") int workerCount,
+                               @Value("${app.payment-webhooks.max-attempts:8}") int maxAttempts,
+                               @Value("${app.payment-webhooks.retention-days:30}") int retentionDays) {
+        this.eventRepository = eventRepository;
+        this.tokenPaymentService = tokenPaymentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.workerCount = Math.max(1, workerCount);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retentionDays = retentionDays;
+        this.workers = Executors.newFixedThreadPool(this.workerCount,
+                Thread.ofPlatform().name("payment-webhook-", 0).daemon().factory());
+        this.lagTimer = Timer.builder("payment.webhook.lag")
+                .description("Time from receiving a payment webhook to applying it")
+                .register(meterRegistry);
+        Gauge.builder("payment.webhook.backlog", backlog, AtomicLong::get)
+                .description("Payment webhooks waiting to be applied")
+                .register(meterRegistry);
+        Gauge.builder("payment.webhook.oldest.pending.seconds", oldestPendingSeconds, AtomicLong::get)
+                .description("Age of the oldest payment webhook waiting to be applied")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Stores a validated webhook. Returns false if this transaction already reported this status.
+     */
+    public boolean accept(String transactionId, String status, String payload) {
+        String eventId = transactionId + ":" + String.valueOf(status).toLowerCase();
+        Integer inserted = transactionTemplate.execute(tx ->
+                eventRepository.insertIfAbsent(eventId, transactionId, status, payload));
+        boolean accepted = inserted != null && inserted > 0;
+        meterRegistry.counter("payment.webhook.received", "result", accepted ? "accepted" : "duplicate").increment();
+        if (!accepted) {
+            log.info("Duplicate payment webhook {} for transaction {} ignored", eventId, transactionId);
+        }
+        return accepted;
+    }
+    
+    /**
+     * Hands due events to the workers. Instance-local; instances coordinate through row locks.
+     */
+    @Scheduled(fixedDelayString = "${app.payment-webhooks.poll-ms:500}")
+    public void dispatch() {
+        int capacity = workerCount * 2 - inFlight.size();
+        if (capacity <= 0) {
+            return;
+        }
+        List<Long> ready = eventRepository.findReadyIds(capacity + inFlight.size());
+        for (Long id : ready) {
+            if (!inFlight.add(id)) {
+                continue;
+            }
+            try {
+                workers.execute(() -> {
+                    try {
+                        process(id);
+                    } finally {
+                        inFlight.remove(id);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(id);
+                return;
+            }
+        }
+    }
+    
+    void process(Long id) {
+        try {
+            Optional<PaymentWebhookEvent> applied = transactionTemplate.execute(tx -> {
+                Optional<PaymentWebhookEvent> claimed = eventRepository.claim(id);
+                claimed.ifPresent(event -> {
+                    tokenPaymentService.handlePaymentWebhook(event.getTransactionId(), event.getStatus(), event.getPayload());
+                    finish(event, PaymentWebhookEvent.State.PROCESSED, null);
+                });
+                return claimed;
+            });
+            applied.ifPresent(event -> {
+                lagTimer.record(Duration.between(event.getReceivedAt(), event.getProcessedAt()));
+                meterRegistry.counter("payment.webhook.processed", "outcome", "processed").increment();
+            });
+        } catch (ResourceNotFoundException e) {
+            // Payment doesn't exist here (other environment, already purged); retrying won't help
+            recordFailure(id, e, false);
+        } catch (RuntimeException e) {
+            recordFailure(id, e, true);
+        }
+    }
+    
+    private void recordFailure(Long id, RuntimeException error, boolean retry) {
+        transactionTemplate.executeWithoutResult(tx -> eventRepository.claim(id).ifPresent(event -> {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            String message = String.valueOf(error.getMessage());
+            if (!retry) {
+                finish(event, PaymentWebhookEvent.State.SKIPPED, message);
+            } else if (attempts >= maxAttempts) {
+                finish(event, PaymentWebhookEvent.State.FAILED, message);
+                log.error("Payment webhook {} for transaction {} failed {} times, giving up",
+                        event.getEventId(), event.getTransactionId(), attempts, error);
+            } else {
+                event.setLastError(truncate(message));
+                // 2s, 4s, 8s ... capped at 10 minutes
+                long delaySeconds = Math.min(600, 1L << Math.min(attempts, 10));
+                event.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+                log.warn("Payment webhook {} for transaction {} failed (attempt {}), retrying in {}s: {}",
+                        event.getEventId(), event.getTransactionId(), attempts, delaySeconds, message);
+            }
+            meterRegistry.counter("payment.webhook.processed", "outcome",
+                    !retry ? "skipped" : attempts >= maxAttempts ? "failed" : "retry").increment();
+        }));
+    }
+    
+    private static void finish(PaymentWebhookEvent event, PaymentWebhookEvent.State state, String error) {
+        event.setState(state);
+        event.setLastError(truncate(error));
+        event.setProcessedAt(LocalDateTime.now());
+    }
+    
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+    
+    @Scheduled(fixedDelay = 15000)
+    public void refreshBacklog() {
+        Object[] row = eventRepository.findBacklog().get(0);
+        backlog.set(((Number) row[0]).longValue());
+        LocalDateTime oldest = row[1] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[1];
+        oldestPendingSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()));
+    }
+    
+    @Scheduled(cron = "0 30 4 * * *")
+    @ClusterJob("payment-webhooks.cleanup")
+    public void cleanup() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(tx -> eventRepository.deleteFinishedBefore(cutoff));
+        log.info("Deleted {} payment webhook events received before {}", deleted, cutoff);
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        // Unfinished events roll back and stay RECEIVED for the next instance
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,140 @@
+package com.eventhub.service;
+
+import com.eventhub.model.Category;
+import com.eventhub.model.City;
+import com.eventhub.model.EventType;
+import com.eventhub.model.EventTypeCategory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the reference tables: categories, cities, event types and which
+ * categories are valid for which event type.
+ * 
+ * City and event type ids are small serials and index arrays directly. Category ids are
+ * strings; each category gets a dense ordinal so the event type / category matrix is a
+ * bitset per event type. The entities are detached and shared by every reader, so they
+ * must never be modified. ReferenceDataService replaces the whole snapshot on reload.
+ */
+public final class ReferenceData {
+    
+    private final List<Category> categories;
+    private final List<City> cities;
+    private final List<EventType> eventTypes;
+    private final List<EventTypeCategory> eventTypeCategories;
+    
+    private final Map<String, Category> categoriesById;
+    private final Map<String, Integer> categoryOrdinals;
+    private final City[] citiesById;
+    private final EventType[] eventTypesById;
+    private final Map<String, EventType> eventTypesByName;
+    // [event type id] -> bitset over category ordinals
+    private final long[][] allowedCategories;
+    
+    ReferenceData(List<Category> categories, List<City> cities, List<EventType> eventTypes,
+                  List<EventTypeCategory> eventTypeCategories) {
+        this.categories = List.copyOf(categories);
+        this.cities = List.copyOf(cities);
+        this.eventTypes = List.copyOf(eventTypes);
+        this.eventTypeCategories = List.copyOf(eventTypeCategories);
+        
+        Map<String, Category> byId = new HashMap<>();
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (Category category : this.categories) {
+            byId.put(category.getId(), category);
+            ordinals.put(category.getId(), ordinals.size());
+        }
+        this.categoriesById = Map.copyOf(byId);
+        this.categoryOrdinals = Map.copyOf(ordinals);
+        
+        this.citiesById = new City[maxId(this.cities.stream().map(City::getId).toList()) + 1];
+        for (City city : this.cities) {
+            citiesById[city.getId()] = city;
+        }
+        
+        this.eventTypesById = new EventType[maxId(this.eventTypes.stream().map(EventType::getId).toList()) + 1];
+        Map<String, EventType> byName = new HashMap<>();
+        for (EventType eventType : this.eventTypes) {
+            eventTypesById[eventType.getId()] = eventType;
+            byName.put(eventType.getName().toLowerCase(Locale.ROOT), eventType);
+        }
+        this.eventTypesByName = Map.copyOf(byName);
+        
+        int words = (ordinals.size() + 63) / 64;
+        this.allowedCategories = new long[eventTypesById.length][words];
+        for (EventTypeCategory mapping : this.eventTypeCategories) {
+            Integer ordinal = ordinals.get(mapping.getCategoryId());
+            Integer eventTypeId = mapping.getEventTypeId();
+            if (ordinal != null && eventTypeId != null && eventTypeId >= 0 && eventTypeId < allowedCategories.length) {
+                allowedCategories[eventTypeId][ordinal >> 6] |= 1L << ordinal;
+            }
+        }
+    }
+    
+    private static int maxId(List<Integer> ids) {
+        int max = -1;
+        for (Integer id : ids) {
+            max = Math.max(max, id);
+        }
+        return max;
+    }
+    
+    public List<Category> categories() {
+        return categories;
+    }
+    
+    public List<City> cities() {
+        return cities;
+    }
+    
+    public List<EventType> eventTypes() {
+        return eventTypes;
+    }
+    
+    public List<EventTypeCategory> eventTypeCategories() {
+        return eventTypeCategories;
+    }
+    
+    public Category category(String id) {
+        return id != null ? categoriesById.get(id) : null;
+    }
+    
+    public City city(Integer id) {
+        return id != null && id >= 0 && id < citiesById.length ? citiesById[id] : null;
+    }
+    
+    public EventType eventType(Integer id) {
+        return id != null && id >= 0 && id < eventTypesById.length ? eventTypesById[id] : null;
+    }
+    
+    /**
+     * Case-insensitive lookup by event type name (e.g. "wedding")
+     */
+    public EventType eventTypeByName(String name) {
+        return name != null ? eventTypesByName.get(name.toLowerCase(Locale.ROOT)) : null;
+    }
+    
+    /**
+     * Whether listings in the category may be offered for the event type (event_type_categories)
+     */
+    public boolean isCategoryAllowed(Integer eventTypeId, String categoryId) {
+        Integer ordinal = categoryId != null ? categoryOrdinals.get(categoryId) : null;
+        if (ordinal == null || eventType(eventTypeId) == null) {
+            return false;
+        }
+        return (allowedCategories[eventTypeId][ordinal >> 6] & (1L << ordinal)) != 0;
+    }
+    
+    /**
+     * Whether both snapshots hold the same rows
+     */
+    boolean sameContent(ReferenceData other) {
+        return categories.equals(other.categories)
+                && cities.equals(other.cities)
+                && eventTypes.equals(other.eventTypes)
+                && eventTypeCategories.equals(other.eventTypeCategories);
+    }
+}
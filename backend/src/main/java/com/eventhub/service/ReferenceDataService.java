@@ -0,0 +1,86 @@
+package com.eventhub.service;
+
+import com.eventhub.config.HttpCacheGroup;
+import com.eventhub.config.HttpCacheRegistry;
+import com.eventhub.repository.CategoryRepository;
+import com.eventhub.repository.CityRepository;
+import com.eventhub.repository.EventTypeCategoryRepository;
+import com.eventhub.repository.EventTypeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Holds the current {@link ReferenceData} snapshot.
+ * 
+ * Loaded on startup (before StartupWarmup) and reloaded every app.reference-data.refresh-ms,
+ * so direct database edits reach every instance, or right away through the admin reload
+ * endpoint. Readers call {@link #current()} and keep the snapshot for the whole
+ * operation; a reload swaps in a new one and never changes an existing one.
+ */
+@Service
+@Order(0)
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataService implements ApplicationRunner {
+    
+    private final CategoryRepository categoryRepository;
+    private final CityRepository cityRepository;
+    private final EventTypeRepository eventTypeRepository;
+    private final EventTypeCategoryRepository eventTypeCategoryRepository;
+    private final HttpCacheRegistry httpCacheRegistry;
+    
+    private volatile ReferenceData snapshot;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            reload();
+        } catch (Exception e) {
+            // Not fatal: the first caller of current() retries
+            log.error("Failed to load reference data on startup | Type: {} | Message: {}",
+                    e.getClass().getName(), e.getMessage());
+        }
+    }
+    
+    public ReferenceData current() {
+        ReferenceData current = snapshot;
+        return current != null ? current : reload();
+    }
+    
+    @Scheduled(fixedDelayString = "${app.reference-data.refresh-ms:600000}",
+               initialDelayString = "${app.reference-data.refresh-ms:600000}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Reference data refresh failed, keeping the current snapshot: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Load all reference tables and swap the snapshot. Public reference responses are
+     * invalidated when the content changed.
+     */
+    public synchronized ReferenceData reload() {
+        ReferenceData loaded = new ReferenceData(
+                categoryRepository.findAll(),
+                cityRepository.findAll(),
+                eventTypeRepository.findAll(),
+                eventTypeCategoryRepository.findAll());
+        ReferenceData previous = snapshot;
+        snapshot = loaded;
+        if (previous == null) {
+            log.info("Loaded reference data: {} categories, {} cities, {} event types",
+                    loaded.categories().size(), loaded.cities().size(), loaded.eventTypes().size());
+        } else if (!previous.sameContent(loaded)) {
+            log.info("Reference data changed, snapshot replaced");
+            httpCacheRegistry.invalidate(HttpCacheGroup.REFERENCE);
+        }
+        return loaded;
+    }
+}
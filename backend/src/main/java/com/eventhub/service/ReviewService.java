@@ -1,5 +1,6 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.event.DomainEvent;
 import com.eventhub.model.Review;
 import com.eventhub.model.Vendor;
 import com.eventhub.model.Order;
@@ -22,6 +23,7 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final VendorRepository vendorRepository;
     private final OrderRepository orderRepository;
+    private final EventOutbox eventOutbox;
     
     public Review createReview(UUID userId, UUID vendorId, CreateReviewRequest request) {
         Vendor vendor = vendorRepository.findById(vendorId)
@@ -40,23 +42,13 @@ public class ReviewService {
         
         review = reviewRepository.save(review);
         
-        // Update vendor rating
-        updateVendorRating(vendor);
+        // Add to the vendor's running rating totals in one atomic UPDATE (no re-aggregation)
+        vendorRepository.addReviewRating(vendorId, request.getRating());
         
-        return review;
-    }
-    
-    private void updateVendorRating(Vendor vendor) {
-        BigDecimal avgRating = reviewRepository.findAverageRatingByVendor(vendor);
-        Long reviewCount = reviewRepository.countByVendor(vendor);
+        // Cached vendor details and search pages are refreshed by the outbox handlers
+        eventOutbox.publish(new DomainEvent.ReviewCreated(review.getId(), vendorId));
         
-        if (avgRating != null) {
-            vendor.setRating(avgRating);
-        }
-        if (reviewCount != null) {
-            vendor.setReviewCount(reviewCount.intValue());
-        }
-        vendorRepository.save(vendor);
+        return review;
     }
     
     @lombok.Data
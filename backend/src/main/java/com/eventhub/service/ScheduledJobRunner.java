@@ -0,0 +1,261 @@
+package com.eventhub.service;
+
+import com.eventhub.config.ClusterJob;
+import com.eventhub.dto.response.ScheduledJobRunDTO;
+import com.eventhub.model.ScheduledJobRun;
+import com.eventhub.repository.ScheduledJobRunRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs cluster-wide scheduled jobs (see ClusterJob).
+ * 
+ * Every instance keeps its own @Scheduled triggers; on each trigger this runner:
+ * 1. takes the job's lease (JobLockService), so two instances never run it concurrently
+ * 2. skips the trigger if any instance already ran the job within the dedupe window, which
+ *    covers instances whose clocks disagree by a few seconds
+ * 3. records the run in scheduled_job_runs and times it as scheduler.job.execution
+ * 
+ * On startup, cron jobs whose last successful run is older than their previous fire time
+ * (all instances were down at the trigger) are run once as CATCH_UP.
+ */
+@Service
+@Slf4j
+public class ScheduledJobRunner {
+    
+    public enum Trigger { SCHEDULED, CATCH_UP, MANUAL }
+    
+    private final JobLockService jobLockService;
+    private final ScheduledJobRunRepository runRepository;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationContext applicationContext;
+    
+    // Job currently executing on this thread, so the proxied call made by a catch-up run
+    // does not take the lease a second time
+    private final ThreadLocal<String> currentJob = new ThreadLocal<>();
+    
+    @Value("${app.scheduler.instance-id:${HOSTNAME:local}}")
+    private String instanceId;
+    
+    @Value("${app.scheduler.dedupe-window-seconds:120}")
+    private long dedupeWindowSeconds;
+    
+    @Value("${app.scheduler.history-retention-days:30}")
+    private int historyRetentionDays;
+    
+    @Value("${app.scheduler.catch-up-enabled:true}")
+    private boolean catchUpEnabled;
+    
+    public ScheduledJobRunner(JobLockService jobLockService,
+                              ScheduledJobRunRepository runRepository,
+                              MeterRegistry meterRegistry,
+                              ApplicationContext applicationContext) {
+        this.jobLockService = jobLockService;
+        this.runRepository = runRepository;
+        this.meterRegistry = meterRegistry;
+        this.applicationContext = applicationContext;
+    }
+    
+    /**
+     * Run a job on this instance unless another instance holds it or already ran it.
+     * Failures are recorded and logged, not rethrown, like Spring's scheduler would.
+     * 
+     * @return true if the job ran (successfully or not) on this instance
+     */
+    public boolean run(String jobName, Trigger trigger, Runnable job) {
+        if (jobName.equals(currentJob.get())) {
+            job.run();
+            return true;
+        }
+        boolean[] ran = new boolean[1];
+        boolean locked = jobLockService.runExclusively(jobName, () -> {
+            if (trigger != Trigger.MANUAL && alreadyRan(jobName, trigger)) {
+                skipped(jobName, "already_ran");
+                log.debug("Skipping job {}: already ran within {}s", jobName, dedupeWindowSeconds);
+                return;
+            }
+            ran[0] = true;
+            execute(jobName, trigger, job);
+        });
+        if (!locked) {
+            skipped(jobName, "locked");
+        }
+        return ran[0];
+    }
+    
+    /**
+     * Latest runs of a job, newest first
+     */
+    public List<ScheduledJobRunDTO> getRecentRuns(String jobName, int limit) {
+        return runRepository.findByJobNameOrderByStartedAtDesc(jobName, PageRequest.of(0, limit)).stream()
+                .map(ScheduledJobRunner::toDTO)
+                .toList();
+    }
+    
+    /**
+     * Trim run history. Runs daily at 4 AM.
+     */
+    @Scheduled(cron = "0 0 4 * * *")
+    @ClusterJob("scheduler.history-cleanup")
+    public void cleanupHistory() {
+        int deleted = runRepository.deleteRunsStartedBefore(LocalDateTime.now().minusDays(historyRetentionDays));
+        if (deleted > 0) {
+            log.info("Deleted {} scheduled job runs older than {} days", deleted, historyRetentionDays);
+        }
+    }
+    
+    /**
+     * Catch up cron jobs that missed a trigger while no instance was running.
+     * Runs them one after another on a background thread so startup is not delayed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpMissedJobs() {
+        if (!catchUpEnabled) {
+            return;
+        }
+        List<Runnable> catchUps = new ArrayList<>();
+        for (String beanName : applicationContext.getBeanDefinitionNames()) {
+            Class<?> type = applicationContext.getType(beanName, false);
+            if (type == null || !type.getName().startsWith("com.eventhub.")) {
+                continue;
+            }
+            Map<Method, ClusterJob> jobs = MethodIntrospector.selectMethods(
+                    ClassUtils.getUserClass(type),
+                    (MethodIntrospector.MetadataLookup<ClusterJob>) method ->
+                            AnnotatedElementUtils.findMergedAnnotation(method, ClusterJob.class));
+            jobs.forEach((method, clusterJob) -> {
+                if (clusterJob.catchUp() && missedTrigger(clusterJob.value(), method)) {
+                    log.info("Job {} missed its last trigger, scheduling catch-up run", clusterJob.value());
+                    catchUps.add(() -> runCatchUp(beanName, method, clusterJob.value()));
+                }
+            });
+        }
+        if (!catchUps.isEmpty()) {
+            Thread.ofPlatform().daemon().name("scheduler-catch-up").start(() -> catchUps.forEach(Runnable::run));
+        }
+    }
+    
+    private void runCatchUp(String beanName, Method method, String jobName) {
+        // Call through the proxy so the job's own advice (e.g. @Transactional) still applies
+        Object bean = applicationContext.getBean(beanName);
+        run(jobName, Trigger.CATCH_UP, () -> ReflectionUtils.invokeMethod(method, bean));
+    }
+    
+    /**
+     * A cron job missed a trigger if its last success is older than the previous fire time.
+     * Jobs that never ran are not caught up; their first regular trigger establishes history.
+     */
+    private boolean missedTrigger(String jobName, Method method) {
+        Scheduled scheduled = AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class);
+        if (scheduled == null || !StringUtils.hasText(scheduled.cron())) {
+            // fixedRate / fixedDelay jobs fire right after startup anyway
+            return false;
+        }
+        try {
+            LocalDateTime lastSuccess = runRepository.findLastSuccessfulStart(jobName);
+            if (lastSuccess == null) {
+                return false;
+            }
+            CronExpression cron = CronExpression.parse(scheduled.cron());
+            LocalDateTime nextAfterLast = cron.next(lastSuccess);
+            LocalDateTime now = LocalDateTime.now();
+            return nextAfterLast != null && nextAfterLast.isBefore(now.minusSeconds(dedupeWindowSeconds));
+        } catch (Exception e) {
+            log.warn("Could not check missed triggers for job {}: {}", jobName, e.getMessage());
+            return false;
+        }
+    }
+    
+    private boolean alreadyRan(String jobName, Trigger trigger) {
+        if (trigger == Trigger.CATCH_UP) {
+            // Another instance may have caught up (or the regular trigger fired) meanwhile
+            LocalDateTime lastSuccess = runRepository.findLastSuccessfulStart(jobName);
+            return lastSuccess != null && lastSuccess.isAfter(LocalDateTime.now().minus(Duration.ofSeconds(dedupeWindowSeconds)));
+        }
+        return runRepository.existsRunSince(jobName, LocalDateTime.now().minusSeconds(dedupeWindowSeconds));
+    }
+    
+    private void execute(String jobName, Trigger trigger, Runnable job) {
+        ScheduledJobRun run = new ScheduledJobRun();
+        run.setJobName(jobName);
+        run.setInstanceId(instanceId);
+        run.setTriggerType(trigger.name());
+        run.setStatus("RUNNING");
+        run.setStartedAt(LocalDateTime.now());
+        run = runRepository.save(run);
+        
+        long start = System.nanoTime();
+        String outcome = "success";
+        currentJob.set(jobName);
+        try {
+            job.run();
+            run.setStatus("SUCCEEDED");
+        } catch (Exception e) {
+            outcome = "failure";
+            run.setStatus("FAILED");
+            run.setError(e.getClass().getSimpleName() + ": " + e.getMessage());
+            log.error("Job {} failed: {}", jobName, e.getMessage(), e);
+        } finally {
+            currentJob.remove();
+            long elapsed = System.nanoTime() - start;
+            run.setFinishedAt(LocalDateTime.now());
+            run.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsed));
+            Timer.builder("scheduler.job.execution")
+                    .tag("job", jobName)
+                    .tag("trigger", trigger.name().toLowerCase())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            try {
+                runRepository.save(run);
+            } catch (Exception e) {
+                log.warn("Failed to record run of job {}: {}", jobName, e.getMessage());
+            }
+        }
+        log.debug("Job {} finished in {} ms ({})", jobName, run.getDurationMs(), run.getStatus());
+    }
+    
+    private static ScheduledJobRunDTO toDTO(ScheduledJobRun run) {
+        ScheduledJobRunDTO dto = new ScheduledJobRunDTO();
+        dto.setJobName(run.getJobName());
+        dto.setInstanceId(run.getInstanceId());
+        dto.setTriggerType(run.getTriggerType());
+        dto.setStatus(run.getStatus());
+        dto.setStartedAt(run.getStartedAt());
+        dto.setFinishedAt(run.getFinishedAt());
+        dto.setDurationMs(run.getDurationMs());
+        dto.setError(run.getError());
+        return dto;
+    }
+    
+    private void skipped(String jobName, String reason) {
+        Counter.builder("scheduler.job.skipped")
+                .tag("job", jobName)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -3,14 +3,20 @@ package com.eventhub.service;
 import com.eventhub.model.*;
 import com.eventhub.repository.*;
 import com.eventhub.exception.NotFoundException;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,9 +33,10 @@ public class SearchService {
     private final DistanceService distanceService;
     
     /**
-     * Search listings with optimized JPQL queries (JOIN FETCH to avoid N+1)
-     * Uses pagination for performance
+     * Search listings on the listing_search_docs read model: one query for the page of ids
+     * (filters, drafts and sort all in SQL), then one query to load those listings
      */
+    @Timed(value = "search.listings", histogram = true)
     public List<Listing> searchListings(
             Integer eventTypeId,
             String categoryId,
@@ -43,70 +50,73 @@ public class SearchService {
             Integer limit,
             Integer offset) {
         
+        List<Object[]> hits = searchListingDocs(eventTypeId, categoryId, listingType, cityName,
+                minPrice, maxPrice, searchQuery, sortBy, limit, offset);
+        return loadListingsInOrder(hits.stream().map(hit -> (UUID) hit[0]).toList());
+    }
+    
+    /**
+     * Page of listing_search_docs rows: [listing_id, location_lat, location_lng, service_radius_km]
+     */
+    private List<Object[]> searchListingDocs(
+            Integer eventTypeId,
+            String categoryId,
+            Listing.ListingType listingType,
+            String cityName,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            String searchQuery,
+            String sortBy,
+            Integer limit,
+            Integer offset) {
+        
         // Defensive default to cap result set and improve performance
         int effectiveLimit = (limit != null && limit > 0) ? Math.min(limit, 50) : 12;
         int effectiveOffset = (offset != null && offset >= 0) ? offset : 0;
         int pageNumber = effectiveOffset / effectiveLimit;
         
-        Pageable pageable = PageRequest.of(pageNumber, effectiveLimit);
-        
-        List<Listing> listings;
-        
-        if (eventTypeId != null) {
-            // Query with eventType filter - uses JOIN FETCH for vendor and category
-            listings = listingRepository.findByEventTypeWithFilters(
-                    eventTypeId,
-                    categoryId,
-                    listingType,
-                    minPrice,
-                    maxPrice,
-                    pageable
-            );
-        } else {
-            // Query without eventType - uses JOIN FETCH for vendor and category
-            listings = listingRepository.findActiveListingsSimple(
-                    categoryId,
-                    listingType,
-                    minPrice,
-                    maxPrice,
-                    pageable
-            );
-        }
+        Pageable pageable = PageRequest.of(pageNumber, effectiveLimit, listingSort(sortBy));
         
-        // Batch fetch eventTypes to avoid N+1 for eventTypes collection
-        if (!listings.isEmpty()) {
-            listings = listingRepository.fetchEventTypes(listings);
+        return listingRepository.searchDocs(
+                eventTypeId,
+                categoryId,
+                listingType != null ? listingType.name().toLowerCase() : null,
+                cityName != null && !cityName.isBlank() ? cityName : null,
+                minPrice,
+                maxPrice,
+                searchQuery != null && !searchQuery.isBlank() ? escapeLike(searchQuery.toLowerCase()) : null,
+                pageable);
+    }
+    
+    /**
+     * Escape LIKE wildcards so "50%" or "a_b" are searched for as typed
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+    
+    /**
+     * Load listings for search hits, keeping the order of the ids
+     */
+    private List<Listing> loadListingsInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
-        
-        // Filter out drafts: must have images (SIZE() doesn't work on PostgreSQL arrays in JPQL)
-        listings = listings.stream()
-                .filter(l -> l.getImages() != null && !l.getImages().isEmpty())
+        Map<UUID, Listing> byId = listingRepository.findForSearchByIdIn(ids).stream()
+                .collect(Collectors.toMap(Listing::getId, Function.identity()));
+        // A listing deleted between the two queries is just left out
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
-        
-        // Apply text search filter in memory (for simplicity; can be moved to DB later)
-        if (searchQuery != null && !searchQuery.isBlank()) {
-            String query = searchQuery.toLowerCase();
-            listings = listings.stream()
-                    .filter(l -> (l.getName() != null && l.getName().toLowerCase().contains(query)) ||
-                                 (l.getDescription() != null && l.getDescription().toLowerCase().contains(query)))
-                    .collect(Collectors.toList());
-        }
-        
-        // Apply city filter in memory (vendor relationship already fetched)
-        if (cityName != null && !cityName.isBlank()) {
-            listings = listings.stream()
-                    .filter(l -> l.getVendor() != null && 
-                                 cityName.equalsIgnoreCase(l.getVendor().getCityName()))
-                    .collect(Collectors.toList());
-        }
-        
-        // Sorting is already done in the query (ORDER BY), but apply custom sort if needed
-        return applySorting(listings, sortBy);
     }
     
     /**
      * Search vendors with optimized JPQL query
      */
+    @Timed(value = "search.vendors", histogram = true)
     public List<Vendor> searchVendors(
             String categoryId,
             String cityName,
@@ -143,55 +153,23 @@ public class SearchService {
     }
     
     /**
-     * Apply sorting to listings
+     * Database ordering for a listing search sort option
      */
-    private List<Listing> applySorting(List<Listing> listings, String sortBy) {
-        if (sortBy == null || sortBy.equals("relevance")) {
-            // Default: Popular first, then by rating
-            return listings.stream()
-                    .sorted((a, b) -> {
-                        if (a.getIsPopular() != b.getIsPopular()) {
-                            return Boolean.compare(b.getIsPopular(), a.getIsPopular());
-                        }
-                        return Integer.compare(
-                                b.getIsTrending() ? 1 : 0,
-                                a.getIsTrending() ? 1 : 0
-                        );
-                    })
-                    .collect(Collectors.toList());
+    private Sort listingSort(String sortBy) {
+        if (sortBy == null) {
+            return ListingRepository.RELEVANCE_SORT;
         }
-        
         switch (sortBy.toLowerCase()) {
             case "price_low":
-                return listings.stream()
-                        .sorted((a, b) -> a.getPrice().compareTo(b.getPrice()))
-                        .collect(Collectors.toList());
+                return ListingRepository.PRICE_LOW_SORT;
             case "price_high":
-                return listings.stream()
-                        .sorted((a, b) -> b.getPrice().compareTo(a.getPrice()))
-                        .collect(Collectors.toList());
+                return ListingRepository.PRICE_HIGH_SORT;
             case "rating":
-                return listings.stream()
-                        .sorted((a, b) -> {
-                            // Sort by vendor rating if available
-                            BigDecimal ratingA = a.getVendor() != null && a.getVendor().getRating() != null 
-                                    ? a.getVendor().getRating() : BigDecimal.ZERO;
-                            BigDecimal ratingB = b.getVendor() != null && b.getVendor().getRating() != null 
-                                    ? b.getVendor().getRating() : BigDecimal.ZERO;
-                            return ratingB.compareTo(ratingA);
-                        })
-                        .collect(Collectors.toList());
+                return ListingRepository.RATING_SORT;
             case "newest":
-                return listings.stream()
-                        .sorted((a, b) -> {
-                            if (a.getCreatedAt() != null && b.getCreatedAt() != null) {
-                                return b.getCreatedAt().compareTo(a.getCreatedAt());
-                            }
-                            return 0;
-                        })
-                        .collect(Collectors.toList());
+                return ListingRepository.NEWEST_SORT;
             default:
-                return listings;
+                return ListingRepository.RELEVANCE_SORT;
         }
     }
     
@@ -278,6 +256,7 @@ public class SearchService {
      * Search listings with location-based filtering.
      * Implements bidirectional matching: both customer and vendor must be within each other's radius.
      */
+    @Timed(value = "search.listings.location", histogram = true)
     public List<Listing> searchListingsWithLocation(
             Integer eventTypeId,
             String categoryId,
@@ -294,40 +273,47 @@ public class SearchService {
             BigDecimal customerLng,
             Integer searchRadiusKm) {
         
-        // First get listings without location filter
-        List<Listing> listings = searchListings(
+        int effectiveLimit = limit != null ? limit : 12;
+        
+        // First get search hits without location filter
+        List<Object[]> hits = searchListingDocs(
                 eventTypeId, categoryId, listingType, cityName,
-                minPrice, maxPrice, searchQuery, eventDate, sortBy,
+                minPrice, maxPrice, searchQuery, sortBy,
                 limit != null ? limit * 3 : 36, // Fetch more to account for location filtering
                 offset);
         
         // If no location provided, return as-is
         if (customerLat == null || customerLng == null) {
-            return listings.stream().limit(limit != null ? limit : 12).collect(Collectors.toList());
+            return loadListingsInOrder(hits.stream().limit(effectiveLimit).map(hit -> (UUID) hit[0]).toList());
         }
         
         int effectiveSearchRadius = searchRadiusKm != null ? searchRadiusKm : 20;
         
-        // Filter by bidirectional location matching
-        return listings.stream()
-                .filter(listing -> {
-                    Vendor vendor = listing.getVendor();
-                    if (vendor == null || vendor.getLocationLat() == null || vendor.getLocationLng() == null) {
+        // Filter by bidirectional location matching on the document's vendor coordinates,
+        // so only listings that match are loaded
+        List<UUID> ids = hits.stream()
+                .filter(hit -> {
+                    BigDecimal vendorLat = (BigDecimal) hit[1];
+                    BigDecimal vendorLng = (BigDecimal) hit[2];
+                    if (vendorLat == null || vendorLng == null) {
                         return false; // Exclude vendors without location
                     }
                     
                     return distanceService.isBidirectionalMatch(
-                            vendor.getLocationLat(), vendor.getLocationLng(), vendor.getServiceRadiusKm(),
+                            vendorLat, vendorLng, (Integer) hit[3],
                             customerLat, customerLng, effectiveSearchRadius);
                 })
-                .limit(limit != null ? limit : 12)
-                .collect(Collectors.toList());
+                .limit(effectiveLimit)
+                .map(hit -> (UUID) hit[0])
+                .toList();
+        return loadListingsInOrder(ids);
     }
     
     /**
      * Search vendors with location-based filtering.
      * Implements bidirectional matching: both customer and vendor must be within each other's radius.
      */
+    @Timed(value = "search.vendors.location", histogram = true)
     public List<Vendor> searchVendorsWithLocation(
             String categoryId,
             String cityName,
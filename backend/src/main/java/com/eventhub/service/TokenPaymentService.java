@@ -3,6 +3,7 @@ package com.eventhub.service;
 import com.eventhub.model.*;
 import com.eventhub.repository.PaymentRepository;
 import com.eventhub.repository.OrderRepository;
+import com.eventhub.dto.event.DomainEvent;
 import com.eventhub.dto.request.TokenPaymentRequest;
 import com.eventhub.dto.response.PaymentInitiationResponse;
 import com.eventhub.dto.response.PaymentStatusResponse;
@@ -42,6 +43,9 @@ public class TokenPaymentService {
     @org.springframework.context.annotation.Lazy
     private LeadService leadService;
     
+    @Autowired
+    private EventOutbox eventOutbox;
+    
     @Value("${payment.token.percentage:25}")
     private int tokenPercentage;
     
@@ -196,6 +200,9 @@ public class TokenPaymentService {
                 }
             }
             
+            // Customer receipt is sent by the outbox handler once this commits
+            eventOutbox.publish(new DomainEvent.PaymentCompleted(payment.getId(), order.getId()));
+            
             logger.info("Token payment completed for order: {}", order.getId());
             
         } else if ("failed".equalsIgnoreCase(status) || "error".equalsIgnoreCase(status)) {
@@ -1,5 +1,6 @@
 package com.eventhub.service;
 
+import com.eventhub.config.ParallelQueries;
 import com.eventhub.model.Order;
 import com.eventhub.model.Lead;
 import com.eventhub.repository.VendorRepository;
@@ -8,10 +9,13 @@ import com.eventhub.repository.LeadRepository;
 import com.eventhub.repository.VendorWalletRepository;
 import com.eventhub.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -27,61 +31,52 @@ public class VendorAnalyticsService {
     private final OrderRepository orderRepository;
     private final LeadRepository leadRepository;
     private final VendorWalletRepository vendorWalletRepository;
+    private final ParallelQueries parallelQueries;
     
+    @Value("${app.parallel-queries.dashboard-branch-timeout-ms:2000}")
+    private long branchTimeoutMs;
+    
+    /**
+     * Dashboard numbers are independent, so they are queried in parallel; a slow or failing
+     * query shows as zero instead of failing the whole dashboard.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardStats getDashboardStats(UUID vendorId) {
-        // Verify vendor exists without loading full entity
-        if (!vendorRepository.existsById(vendorId)) {
-            throw new NotFoundException("Vendor not found");
-        }
-        
-        // Upcoming bookings - use optimized count query
-        long upcomingBookings = 0;
-        try {
-            List<Order.OrderStatus> activeStatuses = Arrays.asList(
-                Order.OrderStatus.CONFIRMED, 
-                Order.OrderStatus.IN_PROGRESS
-            );
-            upcomingBookings = orderRepository.countUpcomingBookings(vendorId, LocalDate.now(), activeStatuses);
-        } catch (Exception e) {
-            upcomingBookings = 0;
-        }
-        
-        // Pending leads - use optimized count query
-        long pendingLeads = 0;
-        try {
-            pendingLeads = leadRepository.countByVendorIdAndStatus(vendorId, Lead.LeadStatus.NEW);
-        } catch (Exception e) {
-            pendingLeads = 0;
-        }
-        
-        // Wallet balance - use vendor ID directly
-        BigDecimal walletBalance = BigDecimal.ZERO;
-        try {
-            walletBalance = vendorWalletRepository.findByVendorId(vendorId)
-                    .map(w -> w.getBalance() != null ? w.getBalance() : BigDecimal.ZERO)
-                    .orElse(BigDecimal.ZERO);
-        } catch (Exception e) {
-            walletBalance = BigDecimal.ZERO;
-        }
+        LocalDate today = LocalDate.now();
+        LocalDateTime startOfMonth = today.withDayOfMonth(1).atStartOfDay();
+        List<Order.OrderStatus> activeStatuses = Arrays.asList(
+            Order.OrderStatus.CONFIRMED, 
+            Order.OrderStatus.IN_PROGRESS
+        );
         
-        // Monthly revenue - use optimized query with vendor ID
-        BigDecimal monthlyRevenue = BigDecimal.ZERO;
-        try {
-            LocalDateTime startOfMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-            monthlyRevenue = orderRepository.calculateRevenueByVendorSince(vendorId, startOfMonth);
-            if (monthlyRevenue == null) {
-                monthlyRevenue = BigDecimal.ZERO;
+        try (ParallelQueries.FanOut fanOut = parallelQueries.fanOut("vendorDashboard", Duration.ofMillis(branchTimeoutMs))) {
+            // Only a definite "no" is a 404; if the check itself times out, show the dashboard
+            ParallelQueries.Branch<Boolean> vendorExists = fanOut.fork("vendorExists",
+                    () -> vendorRepository.existsById(vendorId), true);
+            ParallelQueries.Branch<Long> upcomingBookings = fanOut.fork("upcomingBookings",
+                    () -> orderRepository.countUpcomingBookings(vendorId, today, activeStatuses), 0L);
+            ParallelQueries.Branch<Long> pendingLeads = fanOut.fork("pendingLeads",
+                    () -> leadRepository.countByVendorIdAndStatus(vendorId, Lead.LeadStatus.NEW), 0L);
+            ParallelQueries.Branch<BigDecimal> walletBalance = fanOut.fork("walletBalance",
+                    () -> vendorWalletRepository.findByVendorId(vendorId)
+                            .map(w -> w.getBalance() != null ? w.getBalance() : BigDecimal.ZERO)
+                            .orElse(BigDecimal.ZERO),
+                    BigDecimal.ZERO);
+            ParallelQueries.Branch<BigDecimal> monthlyRevenue = fanOut.fork("monthlyRevenue",
+                    () -> orderRepository.calculateRevenueByVendorSince(vendorId, startOfMonth), BigDecimal.ZERO);
+            fanOut.join();
+            
+            if (!vendorExists.get()) {
+                throw new NotFoundException("Vendor not found");
             }
-        } catch (Exception e) {
-            monthlyRevenue = BigDecimal.ZERO;
+            
+            return new DashboardStats(
+                    upcomingBookings.get(),
+                    pendingLeads.get(),
+                    walletBalance.get(),
+                    monthlyRevenue.get() != null ? monthlyRevenue.get() : BigDecimal.ZERO
+            );
         }
-        
-        return new DashboardStats(
-                upcomingBookings,
-                pendingLeads,
-                walletBalance,
-                monthlyRevenue
-        );
     }
     
     @lombok.Data
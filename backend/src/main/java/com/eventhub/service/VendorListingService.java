@@ -27,11 +27,11 @@ public class VendorListingService {
     private final VendorRepository vendorRepository;
     private final CategoryRepository categoryRepository;
     private final EventTypeRepository eventTypeRepository;
-    private final EventTypeCategoryRepository eventTypeCategoryRepository;
     private final AddOnRepository addOnRepository;
     private final OrderRepository orderRepository;
     private final PackageItemRepository packageItemRepository;
     private final ObjectMapper objectMapper;
+    private final ReferenceDataService referenceDataService;
     
     /**
      * Create package listing
@@ -58,12 +58,15 @@ public class VendorListingService {
             throw new ValidationException("At least one event type is required");
         }
         
-        // Validate category against event types
+        // Validate category against event types (in-memory reference data, no query per event type)
+        ReferenceData referenceData = referenceDataService.current();
         for (Integer eventTypeId : request.getEventTypeIds()) {
-            EventType eventType = eventTypeRepository.findById(eventTypeId)
-                    .orElseThrow(() -> new NotFoundException("Event type not found: " + eventTypeId));
+            EventType eventType = referenceData.eventType(eventTypeId);
+            if (eventType == null) {
+                throw new NotFoundException("Event type not found: " + eventTypeId);
+            }
             
-            boolean isValid = eventTypeCategoryRepository.existsByEventTypeAndCategory(eventType, category);
+            boolean isValid = referenceData.isCategoryAllowed(eventTypeId, category.getId());
             if (!isValid) {
                 throw new BusinessRuleException(
                         "Category '" + category.getId() + "' is not valid for event type '" + eventType.getName() + "'");
@@ -169,12 +172,15 @@ public class VendorListingService {
             throw new ValidationException("At least one event type is required");
         }
         
-        // Validate category against event types
+        // Validate category against event types (in-memory reference data, no query per event type)
+        ReferenceData referenceData = referenceDataService.current();
         for (Integer eventTypeId : request.getEventTypeIds()) {
-            EventType eventType = eventTypeRepository.findById(eventTypeId)
-                    .orElseThrow(() -> new NotFoundException("Event type not found: " + eventTypeId));
+            EventType eventType = referenceData.eventType(eventTypeId);
+            if (eventType == null) {
+                throw new NotFoundException("Event type not found: " + eventTypeId);
+            }
             
-            boolean isValid = eventTypeCategoryRepository.existsByEventTypeAndCategory(eventType, category);
+            boolean isValid = referenceData.isCategoryAllowed(eventTypeId, category.getId());
             if (!isValid) {
                 throw new BusinessRuleException(
                         "Category '" + category.getId() + "' is not valid for event type '" + eventType.getName() + "'");
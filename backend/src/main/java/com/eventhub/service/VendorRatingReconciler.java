@@ -0,0 +1,60 @@
+package com.eventhub.service;
+
+import com.eventhub.config.ClusterJob;
+import com.eventhub.repository.VendorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repairs vendors.rating_sum / review_count / rating where they no longer match the
+ * visible reviews (reviews hidden or deleted, rows edited by hand).
+ * 
+ * Each vendor is fixed in its own transaction: the row is locked first, then the totals
+ * are recounted in a new statement. A review written concurrently either committed
+ * before the lock (and is counted) or is still waiting to add itself (and does so after).
+ */
+@Service
+@Slf4j
+public class VendorRatingReconciler {
+    
+    private static final int CHUNK_SIZE = 500;
+    
+    private final VendorRepository vendorRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    public VendorRatingReconciler(VendorRepository vendorRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.vendorRepository = vendorRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Scheduled(cron = "0 15 4 * * *")
+    @ClusterJob("vendor.rating-reconcile")
+    public void reconcileRatings() {
+        int repaired = 0;
+        UUID afterId = new UUID(0L, 0L);
+        while (true) {
+            List<UUID> drifted = vendorRepository.findRatingDrift(afterId, CHUNK_SIZE);
+            for (UUID vendorId : drifted) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    vendorRepository.lockForRatingUpdate(vendorId);
+                    vendorRepository.reconcileRating(vendorId);
+                });
+            }
+            repaired += drifted.size();
+            if (drifted.size() < CHUNK_SIZE) {
+                break;
+            }
+            afterId = drifted.get(drifted.size() - 1);
+        }
+        if (repaired > 0) {
+            log.warn("Reconciled rating totals for {} vendors", repaired);
+        }
+    }
+}
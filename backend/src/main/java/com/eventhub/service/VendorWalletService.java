@@ -1,12 +1,12 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.response.WalletTransactionPageDTO;
 import com.eventhub.model.VendorWallet;
 import com.eventhub.model.Vendor;
-import com.eventhub.model.WalletTransaction;
+import com.eventhub.model.WalletLedgerEntry;
 import com.eventhub.model.Payout;
 import com.eventhub.repository.VendorWalletRepository;
 import com.eventhub.repository.VendorRepository;
-import com.eventhub.repository.WalletTransactionRepository;
 import com.eventhub.repository.PayoutRepository;
 import com.eventhub.exception.NotFoundException;
 import com.eventhub.exception.BusinessRuleException;
@@ -27,61 +27,73 @@ public class VendorWalletService {
     
     private final VendorWalletRepository vendorWalletRepository;
     private final VendorRepository vendorRepository;
-    private final WalletTransactionRepository walletTransactionRepository;
+    private final WalletLedgerService walletLedgerService;
     private final PayoutRepository payoutRepository;
     
     private static final BigDecimal MIN_WITHDRAWAL_AMOUNT = new BigDecimal("1000");
     
     public VendorWallet getWallet(UUID vendorId) {
-        Vendor vendor = vendorRepository.findById(vendorId)
-                .orElseThrow(() -> new NotFoundException("Vendor not found"));
-        
+        requireVendor(vendorId);
         return vendorWalletRepository.findByVendorId(vendorId)
-                .orElseGet(() -> createWalletForVendor(vendor));
+                .orElseGet(() -> {
+                    vendorWalletRepository.createIfMissing(vendorId);
+                    return vendorWalletRepository.findByVendorId(vendorId).orElseThrow();
+                });
     }
     
-    private VendorWallet createWalletForVendor(Vendor vendor) {
-        VendorWallet wallet = new VendorWallet();
-        wallet.setVendorId(vendor.getId());
-        // Don't set vendor directly - it's read-only via insertable=false, updatable=false
-        wallet.setBalance(BigDecimal.ZERO);
-        wallet.setPendingPayouts(BigDecimal.ZERO);
-        wallet.setTotalEarnings(BigDecimal.ZERO);
-        return vendorWalletRepository.save(wallet);
+    private Vendor requireVendor(UUID vendorId) {
+        return vendorRepository.findById(vendorId)
+                .orElseThrow(() -> new NotFoundException("Vendor not found"));
     }
     
     @Transactional(readOnly = true)
-    public Page<WalletTransaction> getWalletTransactions(UUID vendorId, Pageable pageable) {
-        VendorWallet wallet = getWallet(vendorId);
-        return walletTransactionRepository.findByWalletOrderByCreatedAtDesc(wallet, pageable);
+    public WalletTransactionPageDTO getWalletTransactions(UUID vendorId, Long before, int size) {
+        requireVendor(vendorId);
+        return walletLedgerService.getHistory(vendorId, before, size);
     }
     
+    /**
+     * Moves the amount from the available balance to pending payouts and records the payout.
+     * The balance check and the debit are one conditional UPDATE, so concurrent requests
+     * can't overdraw; the ledger legs are appended while that row lock is held.
+     */
     public Payout requestWithdrawal(UUID vendorId, WithdrawalRequest request) {
-        VendorWallet wallet = getWallet(vendorId);
+        Vendor vendor = requireVendor(vendorId);
+        BigDecimal amount = request.getAmount();
         
-        if (request.getAmount().compareTo(MIN_WITHDRAWAL_AMOUNT) < 0) {
+        if (amount == null || amount.compareTo(MIN_WITHDRAWAL_AMOUNT) < 0) {
             throw new BusinessRuleException("Minimum withdrawal amount is ₹" + MIN_WITHDRAWAL_AMOUNT);
         }
         
-        if (request.getAmount().compareTo(wallet.getBalance()) > 0) {
+        vendorWalletRepository.createIfMissing(vendorId);
+        if (vendorWalletRepository.reserveWithdrawal(vendorId, amount) == 0) {
             throw new BusinessRuleException("Insufficient balance");
         }
+        Object[] balances = vendorWalletRepository.findBalances(vendorId).get(0);
         
         // Create payout request
         Payout payout = new Payout();
-        payout.setVendor(wallet.getVendor());
-        payout.setAmount(request.getAmount());
+        payout.setVendor(vendor);
+        payout.setAmount(amount);
         payout.setBankAccountNumber(request.getBankAccountNumber());
         payout.setBankIfsc(request.getBankIfsc());
         payout.setBankName(request.getBankName());
         payout.setAccountHolderName(request.getAccountHolderName());
         payout.setStatus(Payout.PayoutStatus.PENDING);
+        payout = payoutRepository.save(payout);
         
-        // Hold amount in wallet
-        wallet.setBalance(wallet.getBalance().subtract(request.getAmount()));
-        vendorWalletRepository.save(wallet);
-        
-        return payoutRepository.save(payout);
+        walletLedgerService.post(vendorId, WalletLedgerEntry.EntryType.WITHDRAWAL, null, payout.getId(),
+                "Withdrawal to " + maskAccount(request.getBankAccountNumber()),
+                List.of(new WalletLedgerService.Leg(WalletLedgerEntry.Account.AVAILABLE, amount.negate(), (BigDecimal) balances[0]),
+                        new WalletLedgerService.Leg(WalletLedgerEntry.Account.PENDING_PAYOUT, amount, (BigDecimal) balances[1])));
+        return payout;
+    }
+    
+    private static String maskAccount(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() < 4) {
+            return "bank account";
+        }
+        return "account ending " + accountNumber.substring(accountNumber.length() - 4);
     }
     
     @Transactional(readOnly = true)
@@ -0,0 +1,157 @@
+package com.eventhub.service;
+
+import com.eventhub.config.ClusterJob;
+import com.eventhub.dto.response.WalletTransactionDTO;
+import com.eventhub.dto.response.WalletTransactionPageDTO;
+import com.eventhub.model.WalletLedgerEntry;
+import com.eventhub.repository.WalletLedgerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Append-only, double-entry wallet ledger.
+ * 
+ * Callers change vendor_wallets with a conditional UPDATE first (which locks the row) and
+ * then post the matching legs here in the same transaction, so postings for one vendor are
+ * serialized and balance_after is exact. vendor_wallets remains the O(1) balance; the ledger
+ * is the history and the audit trail. A nightly job rolls entries into per-account snapshots
+ * and reports wallets whose balance no longer matches snapshot + later entries.
+ */
+@Service
+@Slf4j
+public class WalletLedgerService {
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int CHECK_CHUNK_SIZE = 500;
+    // Entries younger than this may belong to transactions that haven't committed yet
+    private static final long SNAPSHOT_LAG_MINUTES = 10;
+    
+    private final WalletLedgerRepository ledgerRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    
+    public WalletLedgerService(WalletLedgerRepository ledgerRepository,
+                               MeterRegistry meterRegistry,
+                               PlatformTransactionManager transactionManager) {
+        this.ledgerRepository = ledgerRepository;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * One leg of a posting. balanceAfter is the vendor account's balance once the
+     * posting is applied (null for PLATFORM).
+     */
+    public record Leg(WalletLedgerEntry.Account account, BigDecimal amount, BigDecimal balanceAfter) {}
+    
+    /**
+     * Appends one balanced ledger transaction and returns its id.
+     * Must run inside the transaction that changed vendor_wallets.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public UUID post(UUID vendorId, WalletLedgerEntry.EntryType type, UUID orderId, UUID payoutId,
+                     String description, List<Leg> legs) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Leg leg : legs) {
+            total = total.add(leg.amount());
+        }
+        if (legs.size() < 2 || total.signum() != 0) {
+            throw new IllegalArgumentException("Ledger transaction must have balanced legs, sum was " + total);
+        }
+        
+        UUID transactionId = UUID.randomUUID();
+        List<WalletLedgerEntry> entries = new ArrayList<>(legs.size());
+        for (Leg leg : legs) {
+            WalletLedgerEntry entry = new WalletLedgerEntry();
+            entry.setTransactionId(transactionId);
+            entry.setVendorId(vendorId);
+            entry.setAccount(leg.account());
+            entry.setType(type);
+            entry.setAmount(leg.amount());
+            entry.setBalanceAfter(leg.balanceAfter());
+            entry.setOrderId(orderId);
+            entry.setPayoutId(payoutId);
+            entry.setDescription(description);
+            entries.add(entry);
+        }
+        ledgerRepository.saveAll(entries);
+        meterRegistry.counter("wallet.ledger.postings", "type", type.name()).increment();
+        return transactionId;
+    }
+    
+    /**
+     * Newest-first history of the vendor's available balance, starting below the cursor.
+     */
+    @Transactional(readOnly = true)
+    public WalletTransactionPageDTO getHistory(UUID vendorId, Long before, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long cursor = before != null ? before : Long.MAX_VALUE;
+        // One extra row tells whether an older page exists
+        List<WalletLedgerEntry> rows = ledgerRepository.findByVendorIdAndAccountAndIdLessThanOrderByIdDesc(
+                vendorId, WalletLedgerEntry.Account.AVAILABLE, cursor, Limit.of(pageSize + 1));
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<WalletTransactionDTO> content = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (int i = 0; i < rows.size() && i < pageSize; i++) {
+            content.add(toDTO(rows.get(i)));
+        }
+        Long nextCursor = hasMore ? content.get(content.size() - 1).getId() : null;
+        return new WalletTransactionPageDTO(content, nextCursor, hasMore);
+    }
+    
+    static WalletTransactionDTO toDTO(WalletLedgerEntry entry) {
+        WalletTransactionDTO dto = new WalletTransactionDTO();
+        dto.setId(entry.getId());
+        dto.setType(entry.getAmount().signum() >= 0 ? "CREDIT" : "DEBIT");
+        dto.setEntryType(entry.getType().name());
+        dto.setAmount(entry.getAmount().abs());
+        dto.setBalanceAfter(entry.getBalanceAfter());
+        dto.setDescription(entry.getDescription());
+        dto.setOrderId(entry.getOrderId());
+        dto.setPayoutId(entry.getPayoutId());
+        dto.setCreatedAt(entry.getCreatedAt());
+        return dto;
+    }
+    
+    /**
+     * Rolls settled entries into wallet_balance_snapshots, then compares every wallet with
+     * its ledger-derived balance. Mismatches are logged and counted, never auto-corrected:
+     * the fix is an ADJUSTMENT posting after someone has looked at it.
+     */
+    @Scheduled(cron = "0 45 3 * * *")
+    @ClusterJob("wallet.ledger-snapshot")
+    public void snapshotAndVerify() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(SNAPSHOT_LAG_MINUTES);
+        Integer snapshots = transactionTemplate.execute(status -> ledgerRepository.rollUpSnapshots(cutoff));
+        
+        int mismatches = 0;
+        UUID afterId = new UUID(0L, 0L);
+        while (true) {
+            List<Object[]> rows = ledgerRepository.findBalanceMismatches(afterId, CHECK_CHUNK_SIZE);
+            for (Object[] row : rows) {
+                log.error("Wallet {} disagrees with ledger: balance {} vs {}, pending payouts {} vs {}",
+                        row[0], row[1], row[2], row[3], row[4]);
+            }
+            mismatches += rows.size();
+            if (rows.size() < CHECK_CHUNK_SIZE) {
+                break;
+            }
+            afterId = (UUID) rows.get(rows.size() - 1)[0];
+        }
+        meterRegistry.counter("wallet.ledger.mismatches").increment(mismatches);
+        log.info("Wallet ledger snapshot: {} account snapshots updated, {} wallets mismatched", snapshots, mismatches);
+    }
+}
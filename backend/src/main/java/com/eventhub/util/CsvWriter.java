@@ -0,0 +1,83 @@
+package com.eventhub.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+
+/**
+ * Writes records as CSV (RFC 4180): a header of the component names, then one line per
+ * record in component order. Fields with a comma, quote or line break are quoted, with
+ * quotes doubled; null is an empty field.
+ * 
+ * Text starting with =, +, -, @, tab or CR is prefixed with a single quote, so spreadsheet
+ * apps show user-supplied values (business names, page paths) instead of running them as
+ * formulas. Numbers are written as they are.
+ */
+public final class CsvWriter<T extends Record> {
+    
+    private final Writer out;
+    private final Method[] accessors;
+    
+    public CsvWriter(Class<T> type, Writer out) {
+        this.out = out;
+        RecordComponent[] components = type.getRecordComponents();
+        this.accessors = new Method[components.length];
+        String[] header = new String[components.length];
+        for (int i = 0; i < components.length; i++) {
+            accessors[i] = components[i].getAccessor();
+            header[i] = components[i].getName();
+        }
+        writeLine(header);
+    }
+    
+    public void write(T row) {
+        Object[] values = new Object[accessors.length];
+        for (int i = 0; i < accessors.length; i++) {
+            try {
+                values[i] = accessors[i].invoke(row);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot read " + accessors[i].getName(), e);
+            }
+        }
+        writeLine(values);
+    }
+    
+    private void writeLine(Object[] values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeField(values[i]);
+            }
+            out.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number) {
+            out.write(value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString());
+            return;
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,63 @@
+package com.eventhub.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+
+/**
+ * Derives the price shown to customers for a listing.
+ * Some categories keep their headline price in categorySpecificData (caterer per-plate,
+ * photographer, MUA bridal price...); everything else shows the listing's base price.
+ * 
+ * Computed once when a listing is written and stored in listings.display_price, so search
+ * can filter and sort on it in SQL and mapping a listing never parses JSON.
+ */
+public class DisplayPriceCalculator {
+    
+    // ObjectMapper is thread-safe once configured; share one instead of creating one per call
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private DisplayPriceCalculator() {
+    }
+    
+    /**
+     * @return the category-specific price if present and positive, otherwise the base price
+     */
+    public static BigDecimal calculate(String categoryId, BigDecimal basePrice, String categorySpecificData) {
+        if (categoryId == null || categorySpecificData == null || categorySpecificData.isEmpty()) {
+            return basePrice;
+        }
+        try {
+            JsonNode categoryData = MAPPER.readTree(categorySpecificData);
+            BigDecimal extractedPrice = switch (categoryId) {
+                case "caterer" -> firstPrice(categoryData, "pricePerPlateVeg", "pricePerPlateNonVeg");
+                case "photographer", "cinematographer", "videographer" ->
+                        firstPrice(categoryData, "price", "photographyPrice", "videographyPrice");
+                case "mua" -> firstPrice(categoryData, "bridalPrice", "nonBridalPrice");
+                default -> firstPrice(categoryData, "price");
+            };
+            if (extractedPrice != null && extractedPrice.compareTo(BigDecimal.ZERO) > 0) {
+                return extractedPrice;
+            }
+        } catch (Exception e) {
+            // If parsing fails, use the main price field
+        }
+        return basePrice;
+    }
+    
+    /**
+     * Price from the first field present, in order of preference
+     */
+    private static BigDecimal firstPrice(JsonNode categoryData, String... fields) {
+        if (categoryData == null) {
+            return null;
+        }
+        for (String field : fields) {
+            if (categoryData.has(field)) {
+                return new BigDecimal(categoryData.get(field).asText());
+            }
+        }
+        return null;
+    }
+}
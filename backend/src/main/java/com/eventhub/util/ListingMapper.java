@@ -1,9 +1,14 @@
 package com.eventhub.util;
 
 import com.eventhub.dto.ListingDTO;
+import com.eventhub.model.Category;
+import com.eventhub.model.City;
 import com.eventhub.model.Listing;
 import com.eventhub.model.Vendor;
 import com.eventhub.service.DistanceService;
+import com.eventhub.service.ReferenceData;
+import com.eventhub.service.ReferenceDataService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -11,20 +16,27 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class ListingMapper {
     
+    private final ReferenceDataService referenceDataService;
+    
     public ListingDTO toDTO(Listing listing) {
         if (listing == null) {
             return null;
         }
         
+        // City and category names come from the reference data snapshot, so search queries
+        // don't join them; only the ids are read from the (possibly uninitialized) proxies
+        ReferenceData referenceData = referenceDataService.current();
         ListingDTO dto = new ListingDTO();
         dto.setId(listing.getId());
         if (listing.getVendor() != null) {
             Vendor vendor = listing.getVendor();
             dto.setVendorId(vendor.getId());
             dto.setVendorName(vendor.getBusinessName());
-            dto.setVendorCity(vendor.getCity() != null ? vendor.getCity().getName() : vendor.getCityName());
+            City city = vendor.getCity() != null ? referenceData.city(vendor.getCity().getId()) : null;
+            dto.setVendorCity(city != null ? city.getName() : vendor.getCityName());
             // Use vendor's stored rating and review count (updated by review service)
             dto.setVendorRating(vendor.getRating() != null ? vendor.getRating().doubleValue() : null);
             dto.setVendorReviewCount(vendor.getReviewCount() != null ? vendor.getReviewCount() : 0);
@@ -35,64 +47,20 @@ public class ListingMapper {
         dto.setName(listing.getName());
         dto.setDescription(listing.getDescription());
         
-        // Extract display price from category-specific data if available
-        BigDecimal displayPrice = listing.getPrice();
-        if (listing.getCategorySpecificData() != null && !listing.getCategorySpecificData().isEmpty()) {
-            try {
-                // Parse the JSON to extract price
-                com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-                com.fasterxml.jackson.databind.JsonNode categoryData = mapper.readTree(listing.getCategorySpecificData());
-                
-                String categoryId = listing.getListingCategory() != null ? listing.getListingCategory().getId() : null;
-                
-                if (categoryId != null) {
-                    BigDecimal extractedPrice = null;
-                    
-                    switch (categoryId) {
-                        case "caterer":
-                            if (categoryData.has("pricePerPlateVeg")) {
-                                extractedPrice = new BigDecimal(categoryData.get("pricePerPlateVeg").asText());
-                            } else if (categoryData.has("pricePerPlateNonVeg")) {
-                                extractedPrice = new BigDecimal(categoryData.get("pricePerPlateNonVeg").asText());
-                            }
-                            break;
-                        case "photographer":
-                        case "cinematographer":
-                        case "videographer":
-                            if (categoryData.has("price")) {
-                                extractedPrice = new BigDecimal(categoryData.get("price").asText());
-                            } else if (categoryData.has("photographyPrice")) {
-                                extractedPrice = new BigDecimal(categoryData.get("photographyPrice").asText());
-                            } else if (categoryData.has("videographyPrice")) {
-                                extractedPrice = new BigDecimal(categoryData.get("videographyPrice").asText());
-                            }
-                            break;
-                        case "mua":
-                            if (categoryData.has("bridalPrice")) {
-                                extractedPrice = new BigDecimal(categoryData.get("bridalPrice").asText());
-                            } else if (categoryData.has("nonBridalPrice")) {
-                                extractedPrice = new BigDecimal(categoryData.get("nonBridalPrice").asText());
-                            }
-                            break;
-                        default:
-                            if (categoryData.has("price")) {
-                                extractedPrice = new BigDecimal(categoryData.get("price").asText());
-                            }
-                    }
-                    
-                    if (extractedPrice != null && extractedPrice.compareTo(BigDecimal.ZERO) > 0) {
-                        displayPrice = extractedPrice;
-                    }
-                }
-            } catch (Exception e) {
-                // If parsing fails, use the main price field
-            }
-        }
-        
+        // Display price is precomputed when the listing is saved; older rows not yet
+        // backfilled fall back to computing it here
+        BigDecimal displayPrice = listing.getDisplayPrice() != null
+                ? listing.getDisplayPrice()
+                : DisplayPriceCalculator.calculate(
+                        listing.getListingCategory() != null ? listing.getListingCategory().getId() : null,
+                        listing.getPrice(),
+                        listing.getCategorySpecificData());
         dto.setPrice(displayPrice);
         
-        dto.setCategoryId(listing.getListingCategory() != null ? listing.getListingCategory().getId() : null);
-        dto.setCategoryName(listing.getListingCategory() != null ? listing.getListingCategory().getDisplayName() : null);
+        String categoryId = listing.getListingCategory() != null ? listing.getListingCategory().getId() : null;
+        Category category = referenceData.category(categoryId);
+        dto.setCategoryId(categoryId);
+        dto.setCategoryName(category != null ? category.getDisplayName() : null);
         dto.setCustomCategoryName(listing.getCustomCategoryName());
         dto.setImages(listing.getImages());
         dto.setIncludedItemsText(listing.getIncludedItemsText());
@@ -0,0 +1,73 @@
+package com.eventhub.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A text template with {name} placeholders, parsed once into literal and placeholder parts.
+ * Rendering is a single pass of appends: no regex, no re-parsing per message.
+ * Missing or null values render as an empty string.
+ */
+public final class MessageTemplate {
+    
+    private final String source;
+    // Even indexes are literals, odd indexes are placeholder names
+    private final String[] parts;
+    
+    private MessageTemplate(String source, String[] parts) {
+        this.source = source;
+        this.parts = parts;
+    }
+    
+    public static MessageTemplate compile(String source) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            int close = c == '{' ? source.indexOf('}', i + 1) : -1;
+            if (close > i + 1 && isName(source, i + 1, close)) {
+                parts.add(literal.toString());
+                parts.add(source.substring(i + 1, close));
+                literal.setLength(0);
+                i = close + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        parts.add(literal.toString());
+        return new MessageTemplate(source, parts.toArray(new String[0]));
+    }
+    
+    private static boolean isName(String source, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public String render(Map<String, ?> values) {
+        StringBuilder out = new StringBuilder(source.length() + 32);
+        for (int i = 0; i < parts.length; i++) {
+            if (i % 2 == 0) {
+                out.append(parts[i]);
+            } else {
+                Object value = values.get(parts[i]);
+                if (value != null) {
+                    out.append(value);
+                }
+            }
+        }
+        return out.toString();
+    }
+    
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,179 @@
+package com.eventhub.config;
+
+import com.eventhub.service.JobLockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for AdaptiveConcurrencyLimit and the per-workload BulkheadDataSource.
+ */
+class BulkheadTest {
+    
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    @AfterEach
+    void clearWorkload() {
+        Workload.bind(null);
+    }
+    
+    @Test
+    @DisplayName("Limit grows while fully used at steady latency and shrinks when latency climbs")
+    void gradient() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 8);
+        for (int i = 0; i < 50; i++) {
+            int slots = limit.getLimit();
+            for (int s = 0; s < slots; s++) {
+                assertTrue(limit.acquire(0));
+            }
+            for (int s = 0; s < slots; s++) {
+                limit.release(10 * MS);
+            }
+        }
+        assertEquals(8, limit.getLimit());
+        
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limit.acquire(0));
+            limit.release(100 * MS);
+        }
+        assertEquals(1, limit.getLimit());
+    }
+    
+    @Test
+    @DisplayName("Limit doesn't grow when callers use less than half of it")
+    void noGrowthWhenIdle() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 8);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limit.acquire(0));
+            limit.release(10 * MS);
+        }
+        assertEquals(4, limit.getLimit());
+    }
+    
+    @Test
+    @DisplayName("A full bulkhead refuses after the wait; other workloads are unaffected")
+    void isolation() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, Map.of(
+                Workload.ADMIN, new BulkheadDataSource.Bulkhead(new AdaptiveConcurrencyLimit(1, 1, 1), 10 * MS),
+                Workload.PUBLIC, new BulkheadDataSource.Bulkhead(new AdaptiveConcurrencyLimit(1, 1, 1), 10 * MS)));
+        
+        Workload.bind(Workload.ADMIN);
+        Connection report = dataSource.getConnection();
+        // Nested connection on the same thread (REQUIRES_NEW) isn't limited again
+        dataSource.getConnection().close();
+        
+        // Outcomes are asserted after join(): a failed assertion on the other thread wouldn't reach JUnit
+        Throwable[] outcomes = new Throwable[2];
+        Thread other = Thread.ofVirtual().start(() -> {
+            Workload.bind(Workload.ADMIN);
+            outcomes[0] = attempt(dataSource);
+            Workload.bind(Workload.PUBLIC);
+            outcomes[1] = attempt(dataSource);
+        });
+        other.join();
+        assertInstanceOf(BulkheadDataSource.BulkheadFullException.class, outcomes[0]);
+        assertNull(outcomes[1]);
+        assertEquals(1, dataSource.getRejected(Workload.ADMIN));
+        
+        report.close();
+        report.close();
+        assertEquals(0, dataSource.getBulkheads().get(Workload.ADMIN).limit().getInFlight());
+        assertDoesNotThrow(() -> dataSource.getConnection().close());
+    }
+    
+    @Test
+    @DisplayName("Default limits split the pool minus the reserved share; oversized limits fail startup")
+    void limitsLeaveReservedShare() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "12");
+        assertEquals(List.of(3, 2, 2, 2), maxLimits(BulkheadConfig.bulkheads(environment)));
+        
+        // Raising admin and background to the floor takes from public: 8 bulkheaded connections
+        environment.setProperty("spring.datasource.hikari.maximum-pool-size", "10");
+        environment.setProperty("app.bulkhead.reserved-share", "0.2");
+        assertEquals(List.of(2, 2, 2, 2), maxLimits(BulkheadConfig.bulkheads(environment)));
+        
+        // Too small for a floor of 2 everywhere: plain weighted split
+        environment.setProperty("app.bulkhead.reserved-share", "0.3");
+        assertEquals(List.of(3, 2, 1, 1), maxLimits(BulkheadConfig.bulkheads(environment)));
+        
+        environment.setProperty("app.bulkhead.admin.max-limit", "4");
+        assertThrows(IllegalStateException.class, () -> BulkheadConfig.bulkheads(environment));
+    }
+    
+    @Test
+    @DisplayName("Health probes are not bulkheaded; other actuator endpoints count as admin")
+    void healthIsNotBulkheaded() {
+        assertNull(Workload.forPath("/actuator/health/readiness"));
+        assertEquals(Workload.ADMIN, Workload.forPath("/actuator/prometheus"));
+        assertEquals(Workload.ADMIN, Workload.forPath("/api/admin/reports"));
+    }
+    
+    @Test
+    @DisplayName("A job's own queries count against BACKGROUND while it holds its lease")
+    void jobQueriesAreBulkheaded() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> {
+            Connection connection = mock(Connection.class);
+            PreparedStatement statement = mock(PreparedStatement.class);
+            when(statement.executeUpdate()).thenReturn(1);
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            return connection;
+        });
+        AdaptiveConcurrencyLimit background = new AdaptiveConcurrencyLimit(2, 2, 2);
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, Map.of(
+                Workload.BACKGROUND, new BulkheadDataSource.Bulkhead(background, 10 * MS)));
+        JobLockService jobLockService = new JobLockService(new JdbcTemplate(dataSource), "instance-a", 300);
+        int[] inFlight = new int[2];
+        
+        Workload.bind(Workload.BACKGROUND);
+        try {
+            assertTrue(jobLockService.runExclusively("nightly", () -> {
+                inFlight[0] = background.getInFlight();
+                try (Connection connection = dataSource.getConnection()) {
+                    inFlight[1] = background.getInFlight();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        } finally {
+            jobLockService.shutdown();
+        }
+        // The lease holds no connection, so the job's connection isn't exempt as a nested one
+        assertArrayEquals(new int[]{0, 1}, inFlight);
+        assertEquals(0, background.getInFlight());
+    }
+    
+    private static List<Integer> maxLimits(Map<Workload, BulkheadDataSource.Bulkhead> bulkheads) {
+        return Stream.of(Workload.PUBLIC, Workload.VENDOR, Workload.ADMIN, Workload.BACKGROUND)
+                .map(workload -> bulkheads.get(workload).limit().getMaxLimit())
+                .toList();
+    }
+    
+    // The exception getConnection() threw, or null if it got a connection
+    private static Throwable attempt(DataSource dataSource) {
+        try {
+            dataSource.getConnection().close();
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
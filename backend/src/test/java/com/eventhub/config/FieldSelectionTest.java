@@ -0,0 +1,123 @@
+package com.eventhub.config;
+
+import com.eventhub.dto.ApiResponse;
+import com.eventhub.dto.ListingDTO;
+import com.eventhub.dto.PaginatedResponse;
+import com.eventhub.dto.response.VendorDetailDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for FieldSelection parsing and how it trims serialized responses.
+ */
+class FieldSelectionTest {
+    
+    private ObjectMapper objectMapper;
+    
+    @BeforeEach
+    void setUp() {
+        JacksonConfig config = new JacksonConfig();
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(config.blackbirdModule())
+                .registerModule(config.fieldSelectionModule());
+        objectMapper.setFilterProvider(new SimpleFilterProvider()
+                .addFilter(FieldSelection.FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
+    }
+    
+    @Test
+    @DisplayName("Without a selection everything is written")
+    void noSelection() throws Exception {
+        JsonNode item = write(ApiResponse.success(List.of(listing())), null).get("data").get(0);
+        
+        assertTrue(item.has("description"));
+        assertEquals(3, item.get("images").size());
+    }
+    
+    @Test
+    @DisplayName("Only selected fields of each item are written; the envelope stays whole")
+    void selectsFieldsOfItems() throws Exception {
+        JsonNode response = write(ApiResponse.success(List.of(listing(), listing())), "id,name,price,images[0]");
+        
+        assertTrue(response.get("success").asBoolean());
+        assertTrue(response.has("timestamp"));
+        JsonNode item = response.get("data").get(1);
+        assertEquals(4, item.size());
+        assertEquals("Wedding package", item.get("name").asText());
+        assertEquals(1, item.get("images").size());
+        assertEquals("a.jpg", item.get("images").get(0).asText());
+    }
+    
+    @Test
+    @DisplayName("Selection applies to the items of a paginated response")
+    void paginated() throws Exception {
+        PaginatedResponse<ListingDTO> page = new PaginatedResponse<>(List.of(listing()), 0, 12, 1, 1, true, true);
+        JsonNode response = write(ApiResponse.success(page), "name");
+        
+        assertEquals(1, response.get("data").get("totalElements").asInt());
+        JsonNode item = response.get("data").get("content").get(0);
+        assertEquals(1, item.size());
+        assertTrue(item.has("name"));
+    }
+    
+    @Test
+    @DisplayName("Dotted paths select inside nested objects, a bare name keeps the whole object")
+    void nestedPaths() throws Exception {
+        VendorDetailDTO vendor = new VendorDetailDTO();
+        vendor.setBusinessName("Studio");
+        vendor.setBio("Long bio");
+        VendorDetailDTO.ListingSummaryDTO summary = new VendorDetailDTO.ListingSummaryDTO();
+        summary.setName("Candid");
+        summary.setPrice(BigDecimal.TEN);
+        vendor.setListings(List.of(summary));
+        vendor.setReviews(List.of());
+        
+        JsonNode nested = write(ApiResponse.success(vendor), "businessName,listings.name").get("data");
+        assertEquals(2, nested.size());
+        assertEquals(1, nested.get("listings").get(0).size());
+        assertEquals("Candid", nested.get("listings").get(0).get("name").asText());
+        
+        JsonNode whole = write(ApiResponse.success(vendor), "listings.name,listings").get("data");
+        assertTrue(whole.get("listings").get(0).has("price"));
+    }
+    
+    @Test
+    @DisplayName("Malformed selections are rejected")
+    void invalid() {
+        assertNull(FieldSelection.parse(" "));
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse("images[x]"));
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse("images[0"));
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse("a..b"));
+    }
+    
+    private JsonNode write(Object value, String fields) throws Exception {
+        FieldSelection selection = FieldSelection.parse(fields);
+        if (selection == null) {
+            return objectMapper.readTree(objectMapper.writeValueAsString(value));
+        }
+        SimpleFilterProvider filters = new SimpleFilterProvider().addFilter(FieldSelection.FILTER_ID, selection.filter());
+        return objectMapper.readTree(objectMapper.writer(filters).writeValueAsString(value));
+    }
+    
+    private static ListingDTO listing() {
+        ListingDTO listing = new ListingDTO();
+        listing.setId(UUID.randomUUID());
+        listing.setName("Wedding package");
+        listing.setDescription("A very long description");
+        listing.setPrice(new BigDecimal("150000"));
+        listing.setImages(List.of("a.jpg", "b.jpg", "c.jpg"));
+        return listing;
+    }
+}
@@ -0,0 +1,143 @@
+package com.eventhub.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.coyote.CompressionConfig;
+import org.apache.coyote.Request;
+import org.apache.coyote.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HttpCacheInterceptor and HttpCacheFilter working together on one request,
+ * with the controller simulated by the filter chain.
+ */
+class HttpCacheTest {
+    
+    private HttpCacheRegistry registry;
+    private HttpCacheInterceptor interceptor;
+    private HttpCacheFilter filter;
+    private AtomicInteger handlerCalls;
+    private String body;
+    
+    @BeforeEach
+    void setUp() {
+        registry = new HttpCacheRegistry(new SimpleMeterRegistry());
+        interceptor = new HttpCacheInterceptor(registry);
+        filter = new HttpCacheFilter(registry);
+        handlerCalls = new AtomicInteger();
+        body = "{\"success\":true,\"data\":[\"Mumbai\",\"Pune\"]}";
+    }
+    
+    @Test
+    @DisplayName("First response carries Cache-Control, ETag and Last-Modified")
+    void firstResponseHasValidators() throws Exception {
+        MockHttpServletResponse response = get(null);
+        
+        assertEquals(200, response.getStatus());
+        assertEquals(body, response.getContentAsString());
+        assertEquals("max-age=300, public, s-maxage=3600, stale-while-revalidate=60", response.getHeader("Cache-Control"));
+        assertNotNull(response.getHeader("ETag"));
+        assertNotNull(response.getHeader("Last-Modified"));
+    }
+    
+    @Test
+    @DisplayName("The ETag is weak, so Tomcat still gzips the cacheable response")
+    void cacheableResponseIsStillCompressed() throws Exception {
+        String etag = get(null).getHeader("ETag");
+        assertTrue(etag.startsWith("W/\""), etag);
+        
+        CompressionConfig compression = new CompressionConfig();
+        compression.setCompression("on");
+        compression.setCompressibleMimeType("application/json,application/problem+json,text/plain");
+        Request request = new Request();
+        request.getMimeHeaders().addValue("Accept-Encoding").setString("gzip, deflate, br");
+        Response response = new Response();
+        response.setContentType("application/json");
+        response.getMimeHeaders().addValue("ETag").setString(etag);
+        
+        assertTrue(compression.useCompression(request, response));
+    }
+    
+    @Test
+    @DisplayName("A strong ETag from an older cache still matches weakly")
+    void strongIfNoneMatchMatchesWeakly() throws Exception {
+        String etag = get(null).getHeader("ETag");
+        
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, get(etag.substring(2)).getStatus());
+    }
+    
+    @Test
+    @DisplayName("Matching If-None-Match is answered with 304 without running the handler")
+    void notModifiedShortcut() throws Exception {
+        String etag = get(null).getHeader("ETag");
+        
+        MockHttpServletResponse response = get(etag);
+        
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(1, handlerCalls.get());
+    }
+    
+    @Test
+    @DisplayName("After invalidation the handler runs again; unchanged content is still a 304")
+    void invalidationRevalidatesAgainstContent() throws Exception {
+        String etag = get(null).getHeader("ETag");
+        
+        registry.invalidate(HttpCacheGroup.REFERENCE);
+        MockHttpServletResponse unchanged = get(etag);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, unchanged.getStatus());
+        assertEquals(2, handlerCalls.get());
+        
+        registry.invalidate(HttpCacheGroup.REFERENCE);
+        body = "{\"success\":true,\"data\":[\"Mumbai\",\"Pune\",\"Goa\"]}";
+        MockHttpServletResponse changed = get(etag);
+        assertEquals(200, changed.getStatus());
+        assertEquals(body, changed.getContentAsString());
+        assertNotEquals(etag, changed.getHeader("ETag"));
+    }
+    
+    @Test
+    @DisplayName("Other groups are not affected by an invalidation")
+    void invalidationIsPerGroup() throws Exception {
+        String etag = get(null).getHeader("ETag");
+        
+        registry.invalidate(HttpCacheGroup.SEARCH);
+        
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, get(etag).getStatus());
+        assertEquals(1, handlerCalls.get());
+    }
+    
+    private MockHttpServletResponse get(String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/cities");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerMethod handler = new HandlerMethod(new Controller(), Controller.class.getMethod("cities"));
+        filter.doFilter(request, response, (req, res) -> {
+            if (interceptor.preHandle(request, (HttpServletResponse) res, handler)) {
+                handlerCalls.incrementAndGet();
+                res.setContentType("application/json");
+                res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        return response;
+    }
+    
+    static class Controller {
+        @HttpCacheable(value = HttpCacheGroup.REFERENCE, maxAge = 300, sharedMaxAge = 3600)
+        public String cities() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.eventhub.config;
+
+import com.eventhub.dto.ListingDTO;
+import com.eventhub.model.Listing;
+import com.eventhub.model.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that NativeHintsConfig registers the hints the native image depends on.
+ */
+class NativeHintsConfigTest {
+    
+    private RuntimeHints hints;
+    
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHintsConfig.Hints().registerHints(hints, getClass().getClassLoader());
+    }
+    
+    @Test
+    @DisplayName("Entities, their nested enums and DTOs are registered for reflection")
+    void applicationTypes() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Listing.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Order.OrderStatus.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ListingDTO.class).test(hints));
+    }
+    
+    @Test
+    @DisplayName("jjwt implementation classes and service files are registered")
+    void jjwt() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder")).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Deserializer").test(hints));
+    }
+    
+    @Test
+    @DisplayName("WebP native library and its JNI types are registered")
+    void webp() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("native/linux/64/libwebp-imageio.so").test(hints));
+        assertTrue(hints.jni().typeHints()
+                .anyMatch(hint -> hint.getType().getName().equals("com.luciad.imageio.webp.WebP")));
+    }
+}
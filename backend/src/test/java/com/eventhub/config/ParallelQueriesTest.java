@@ -0,0 +1,252 @@
+package com.eventhub.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for ParallelQueries fan-out fallbacks, timeouts and per-workload slots.
+ */
+class ParallelQueriesTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private ParallelQueries parallelQueries;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        parallelQueries = new ParallelQueries(transactionManager(), meterRegistry, 4);
+    }
+    
+    private static PlatformTransactionManager transactionManager() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return transactionManager;
+    }
+    
+    @AfterEach
+    void tearDown() {
+        parallelQueries.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Successful branches return their value and the result is complete")
+    void successfulBranches() {
+        try (ParallelQueries.FanOut fanOut = parallelQueries.fanOut("test", Duration.ofSeconds(5))) {
+            ParallelQueries.Branch<Long> first = fanOut.fork("first", () -> 1L, 0L);
+            ParallelQueries.Branch<String> second = fanOut.fork("second", () -> "two", "");
+            fanOut.join();
+            
+            assertEquals(1L, first.get());
+            assertEquals("two", second.get());
+            assertFalse(fanOut.hasFallbacks());
+        }
+    }
+    
+    @Test
+    @DisplayName("Failed and slow branches resolve to their fallback without failing the others")
+    void fallbacks() {
+        long start = System.nanoTime();
+        try (ParallelQueries.FanOut fanOut = parallelQueries.fanOut("test", Duration.ofSeconds(5))) {
+            ParallelQueries.Branch<Long> ok = fanOut.fork("ok", () -> 7L, 0L);
+            ParallelQueries.Branch<Long> failing = fanOut.fork("failing", () -> {
+                throw new IllegalStateException("boom");
+            }, -1L);
+            ParallelQueries.Branch<Long> slow = fanOut.fork("slow", () -> {
+                sleep(10_000);
+                return 1L;
+            }, -2L, Duration.ofMillis(100));
+            fanOut.join();
+            
+            assertEquals(7L, ok.get());
+            assertEquals(-1L, failing.get());
+            assertEquals(-2L, slow.get());
+            assertTrue(fanOut.hasFallbacks());
+        }
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 5_000, "join waited for the slow branch");
+        assertEquals(1.0, meterRegistry.get("parallel.queries.fallbacks").tag("reason", "timeout").counter().count());
+        assertEquals(1.0, meterRegistry.get("parallel.queries.fallbacks").tag("reason", "error").counter().count());
+    }
+    
+    @Test
+    @DisplayName("Branch timeouts start when the branch gets a connection, not while it is queued")
+    void queuedBranchesDoNotExpire() {
+        ParallelQueries single = new ParallelQueries(transactionManager(), meterRegistry, 1);
+        try (ParallelQueries.FanOut fanOut = single.fanOut("test", Duration.ofMillis(500))) {
+            List<ParallelQueries.Branch<Long>> branches = new ArrayList<>();
+            for (long i = 1; i <= 3; i++) {
+                long value = i;
+                branches.add(fanOut.fork("branch" + i, () -> {
+                    sleep(200);
+                    return value;
+                }, 0L));
+            }
+            fanOut.join();
+            
+            // The last branch queued for 400ms and ran for 200ms: over its timeout in total, within it for each
+            assertFalse(fanOut.hasFallbacks());
+            assertEquals(List.of(1L, 2L, 3L), branches.stream().map(ParallelQueries.Branch::get).toList());
+        } finally {
+            single.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Waiting in the queue is bounded by the branch timeout too")
+    void queueWaitIsBounded() {
+        ParallelQueries single = new ParallelQueries(transactionManager(), meterRegistry, 1);
+        AtomicInteger queuedRuns = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ParallelQueries.FanOut fanOut = single.fanOut("test", Duration.ofMillis(100))) {
+            fanOut.fork("stuck", () -> {
+                sleep(1_000);
+                return 1L;
+            }, 0L);
+            ParallelQueries.Branch<Integer> queued = fanOut.fork("queued", queuedRuns::incrementAndGet, -1);
+            fanOut.join();
+            
+            assertEquals(-1, queued.get());
+        } finally {
+            single.shutdown();
+        }
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 800, "join waited for the queue");
+        assertEquals(2.0, meterRegistry.get("parallel.queries.fallbacks").tag("reason", "timeout").counters()
+                .stream().mapToDouble(counter -> counter.count()).sum());
+        // Skipped once the stuck branch lets go of the slot
+        sleep(1_300);
+        assertEquals(0, queuedRuns.get());
+    }
+    
+    @Test
+    @DisplayName("Closing a fan-out skips queued branches without interrupting running ones")
+    void closeSkipsQueuedBranches() throws Exception {
+        ParallelQueries single = new ParallelQueries(transactionManager(), meterRegistry, 1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicInteger queuedRuns = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        try {
+            try (ParallelQueries.FanOut fanOut = single.fanOut("test", Duration.ofSeconds(5))) {
+                fanOut.fork("running", () -> {
+                    running.countDown();
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                    }
+                    finished.countDown();
+                    return 1L;
+                }, 0L);
+                fanOut.fork("queued", queuedRuns::incrementAndGet, 0);
+                assertTrue(running.await(5, TimeUnit.SECONDS));
+            }
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            assertFalse(interrupted.get());
+            assertEquals(0, queuedRuns.get());
+        } finally {
+            single.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("An admin fan-out queued on its bulkhead doesn't hold up a vendor fan-out")
+    void workloadsDoNotShareSlots() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, Map.of(
+                Workload.ADMIN, new BulkheadDataSource.Bulkhead(new AdaptiveConcurrencyLimit(1, 1, 1), TimeUnit.SECONDS.toNanos(5)),
+                Workload.VENDOR, new BulkheadDataSource.Bulkhead(new AdaptiveConcurrencyLimit(2, 2, 2), TimeUnit.SECONDS.toNanos(5))));
+        ParallelQueries withBulkheads = new ParallelQueries(new DataSourceTransactionManager(dataSource), meterRegistry, 4);
+        CountDownLatch adminRunning = new CountDownLatch(1);
+        CountDownLatch releaseAdmin = new CountDownLatch(1);
+        boolean[] adminComplete = new boolean[1];
+        try {
+            // One admin branch holds the only admin connection; the rest queue on the bulkhead
+            Thread admin = Thread.ofVirtual().start(() -> {
+                Workload.bind(Workload.ADMIN);
+                try (ParallelQueries.FanOut fanOut = withBulkheads.fanOut("admin", Duration.ofSeconds(5))) {
+                    for (int i = 0; i < 6; i++) {
+                        fanOut.fork("admin" + i, () -> {
+                            adminRunning.countDown();
+                            await(releaseAdmin);
+                            return 1L;
+                        }, 0L);
+                    }
+                    fanOut.join();
+                    adminComplete[0] = !fanOut.hasFallbacks();
+                } finally {
+                    Workload.bind(null);
+                }
+            });
+            assertTrue(adminRunning.await(5, TimeUnit.SECONDS));
+            
+            Workload.bind(Workload.VENDOR);
+            long start = System.nanoTime();
+            try (ParallelQueries.FanOut fanOut = withBulkheads.fanOut("vendor", Duration.ofMillis(500))) {
+                ParallelQueries.Branch<Long> first = fanOut.fork("first", () -> 1L, 0L);
+                ParallelQueries.Branch<Long> second = fanOut.fork("second", () -> 2L, 0L);
+                fanOut.join();
+                
+                assertFalse(fanOut.hasFallbacks());
+                assertEquals(3L, first.get() + second.get());
+            } finally {
+                Workload.bind(null);
+            }
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 500, "vendor fan-out waited");
+            
+            releaseAdmin.countDown();
+            admin.join();
+            assertTrue(adminComplete[0]);
+        } finally {
+            releaseAdmin.countDown();
+            withBulkheads.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Reading a branch before join is an error")
+    void readBeforeJoin() {
+        try (ParallelQueries.FanOut fanOut = parallelQueries.fanOut("test", Duration.ofSeconds(1))) {
+            ParallelQueries.Branch<Long> branch = fanOut.fork("branch", () -> 1L, 0L);
+            assertThrows(IllegalStateException.class, branch::get);
+        }
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.eventhub.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for TokenBucketLimiter and the RateLimitFilter policies around it.
+ */
+class RateLimitTest {
+    
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+    
+    @Test
+    @DisplayName("Bucket allows the burst, then one request per interval")
+    void burstThenSteadyRate() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 3, 100, false, clock::get);
+        
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("a"));
+        }
+        long wait = limiter.tryAcquire("a");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait);
+        
+        clock.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        // Other keys have their own bucket
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+    
+    @Test
+    @DisplayName("Refilled buckets are evicted and new keys past the cap are let through untracked")
+    void evictionAndOverflow() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 2, false, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(0, limiter.tryAcquire("d"), "no shared overflow bucket");
+        assertTrue(limiter.tryAcquire("a") > 0, "tracked keys are still limited");
+        assertEquals(2, limiter.size());
+        
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(2, limiter.evictIdle());
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(1, limiter.size());
+    }
+    
+    @Test
+    @DisplayName("A fail-closed limiter rejects new keys past the cap until eviction makes room")
+    void failClosedOverflow() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 2, 1, true, clock::get);
+        assertEquals(0, limiter.tryAcquire("a"));
+        
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("b"));
+        assertEquals(0, limiter.tryAcquire("a"), "tracked keys keep their own burst");
+        
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+    
+    @Test
+    @DisplayName("Auth endpoints refuse untracked clients once max-keys is reached; other routes let them through")
+    void authFailsClosedWhenFull() throws Exception {
+        RateLimitFilter filter = filter(null, "app.rate-limit.max-keys", "1");
+        
+        assertEquals(200, post(filter, "/api/auth/login", "203.0.113.7").getStatus());
+        MockHttpServletResponse refused = post(filter, "/api/auth/login", "198.51.100.1");
+        assertEquals(429, refused.getStatus());
+        assertNotNull(refused.getHeader("Retry-After"));
+        
+        assertEquals(200, search(filter).getStatus());
+        MockHttpServletRequest otherSearch = new MockHttpServletRequest("GET", "/api/public/search/listings");
+        otherSearch.setRemoteAddr("198.51.100.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(otherSearch, response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+    }
+    
+    @Test
+    @DisplayName("Over the limit gets 429 with Retry-After; users and IPs are limited separately")
+    void filterRateLimits() throws Exception {
+        RateLimitFilter filter = filter(null, "app.rate-limit.search.per-second", "1", "app.rate-limit.search.burst", "1");
+        
+        assertEquals(200, search(filter).getStatus());
+        MockHttpServletResponse limited = search(filter);
+        assertEquals(429, limited.getStatus());
+        assertEquals("1", limited.getHeader("Retry-After"));
+        assertTrue(limited.getContentAsString().contains("Rate limit exceeded"));
+        
+        MockHttpServletRequest spoofed = new MockHttpServletRequest("GET", "/api/public/search/listings");
+        spoofed.setRemoteAddr("203.0.113.7");
+        spoofed.addHeader("X-Forwarded-For", "198.51.100.99");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(spoofed, response, new MockFilterChain());
+        assertEquals(429, response.getStatus(), "a forged X-Forwarded-For doesn't get a new bucket");
+        
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user-1", null, AuthorityUtils.createAuthorityList("ROLE_CUSTOMER")));
+        assertEquals(200, search(filter).getStatus());
+    }
+    
+    @Test
+    @DisplayName("Public reads are shed with 503 while the connection pool queue is long")
+    void filterShedsOnSaturatedPool() throws Exception {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(25);
+        HikariDataSource hikari = mock(HikariDataSource.class);
+        when(hikari.getHikariPoolMXBean()).thenReturn(pool);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikari);
+        RateLimitFilter filter = filter(dataSource);
+        
+        assertEquals(503, search(filter).getStatus());
+        
+        MockHttpServletRequest order = new MockHttpServletRequest("GET", "/api/customers/orders");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(order, response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static RateLimitFilter filter(DataSource dataSource, String... properties) {
+        MockEnvironment environment = new MockEnvironment();
+        for (int i = 0; i < properties.length; i += 2) {
+            environment.setProperty(properties[i], properties[i + 1]);
+        }
+        ObjectProvider<DataSource> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(dataSource);
+        return new RateLimitFilter(environment, provider, new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+    }
+    
+    private static MockHttpServletResponse post(RateLimitFilter filter, String uri, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+    
+    private static MockHttpServletResponse search(RateLimitFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/search/listings");
+        request.setRemoteAddr("203.0.113.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,169 @@
+package com.eventhub.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the routing decisions of ReplicaRoutingDataSource and the replica pool lifecycle.
+ */
+class ReplicaRoutingTest {
+    
+    private final AtomicLong clock = new AtomicLong();
+    private ReplicaRoutingDataSource.Replica first;
+    private ReplicaRoutingDataSource.Replica second;
+    private ReplicaRoutingDataSource routing;
+    
+    @BeforeEach
+    void setUp() {
+        first = new ReplicaRoutingDataSource.Replica("replica-1", mock(DataSource.class));
+        second = new ReplicaRoutingDataSource.Replica("replica-2", mock(DataSource.class));
+        first.update(true, 0);
+        second.update(true, 0);
+        routing = new ReplicaRoutingDataSource(mock(DataSource.class), List.of(first, second), 1000, clock::get);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+    
+    private static void begin(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+    
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+    
+    @Test
+    @DisplayName("Read-only transactions alternate between healthy replicas, writes go to the primary")
+    void routesByReadOnlyFlag() {
+        begin(false);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        commit();
+        
+        begin(true);
+        Object a = routing.determineCurrentLookupKey();
+        Object b = routing.determineCurrentLookupKey();
+        assertNotEquals(a, b);
+        assertTrue(List.of("replica-1", "replica-2").containsAll(List.of(a, b)));
+        
+        first.update(false, 9000);
+        assertEquals("replica-2", routing.determineCurrentLookupKey());
+        second.update(false, -1);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+    
+    @Test
+    @DisplayName("A user's reads stay on the primary for the sticky window after their write commits")
+    void readYourWrites() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("42", null, List.of()));
+        
+        begin(false);
+        routing.determineCurrentLookupKey();
+        routing.determineCurrentLookupKey();
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        commit();
+        
+        begin(true);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("7", null, List.of()));
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("42", null, List.of()));
+        clock.addAndGet(1001);
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        routing.evictExpired();
+        assertEquals(0, routing.getStickyUsers());
+    }
+    
+    @Test
+    @DisplayName("A replica that isn't streaming from the primary leaves rotation; a lagging one by its lag")
+    void healthCheckNeedsStreamingReceiver() throws Exception {
+        DataSource disconnected = replicaReporting(0, true);
+        DataSource streaming = replicaReporting(120, false);
+        ReplicaRoutingDataSource.Replica stale = new ReplicaRoutingDataSource.Replica("replica-1", disconnected);
+        ReplicaRoutingDataSource.Replica current = new ReplicaRoutingDataSource.Replica("replica-2", streaming);
+        stale.update(true, 0);
+        ReplicaRoutingDataSource checked = new ReplicaRoutingDataSource(mock(DataSource.class),
+                List.of(stale, current), 1000, clock::get);
+        
+        new ReplicaHealthChecker(checked, new SimpleMeterRegistry(), 5000).checkReplicas();
+        
+        assertFalse(stale.isHealthy());
+        assertEquals(-1, stale.getLagMillis());
+        assertTrue(current.isHealthy());
+        assertEquals(120, current.getLagMillis());
+    }
+    
+    // A replica whose lag query returns lagMs, or SQL NULL when not streaming
+    private static DataSource replicaReporting(double lagMs, boolean isNull) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true);
+        when(rs.getDouble(1)).thenReturn(lagMs);
+        when(rs.wasNull()).thenReturn(isNull);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+    
+    @Test
+    @DisplayName("Replica pools are closed when the context shuts down")
+    void replicaPoolsClosedOnShutdown() throws Exception {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.datasource.replica.urls", "jdbc:postgresql://127.0.0.1:1/replica")
+                .withProperty("app.datasource.replica.pool-size", "1");
+        BeanPostProcessor postProcessor = ReplicaRoutingConfig.replicaRoutingDataSourcePostProcessor(environment);
+        try (HikariDataSource primary = new HikariDataSource()) {
+            primary.setJdbcUrl("jdbc:postgresql://127.0.0.1:1/primary");
+            primary.setMinimumIdle(0);
+            
+            Object bean = postProcessor.postProcessAfterInitialization(primary, "dataSource");
+            ReplicaRoutingDataSource routing = (ReplicaRoutingDataSource) ((LazyConnectionDataSourceProxy) bean).getTargetDataSource();
+            HikariDataSource replica = (HikariDataSource) routing.getReplicas().get(0).getDataSource();
+            assertFalse(replica.isClosed());
+            
+            ((DisposableBean) postProcessor).destroy();
+            assertTrue(replica.isClosed());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.eventhub.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RequestQueryStats shape normalization and N+1 detection.
+ */
+class RequestQueryStatsTest {
+    
+    @AfterEach
+    void tearDown() {
+        RequestQueryStats.end();
+    }
+    
+    @Test
+    @DisplayName("Literals, IN-lists and whitespace are normalized into one shape")
+    void shapeNormalization() {
+        assertEquals(
+            "select * from orders o where o.id in (?) and o.status=? and o.total>?",
+            RequestQueryStats.shapeOf("select *  from orders o\n where o.id in (?, ?, ?) and o.status='PAID' and o.total>100.50"));
+        assertEquals(
+            RequestQueryStats.shapeOf("select * from offers where thread_id in (?,?)"),
+            RequestQueryStats.shapeOf("select * from offers where thread_id in (?)"));
+    }
+    
+    @Test
+    @DisplayName("A query repeated per row is reported as N+1")
+    void repeatedShapeIsReported() {
+        RequestQueryStats stats = RequestQueryStats.begin(0);
+        stats.onStatement("select * from offers where thread_id=?");
+        for (int i = 0; i < 6; i++) {
+            stats.onStatement("select * from orders where id=?");
+            stats.onExecuted(1_000_000);
+        }
+        
+        List<RequestQueryStats.Shape> repeated = stats.repeatedShapes(5);
+        
+        assertSame(stats, RequestQueryStats.current());
+        assertEquals(7, stats.getStatements());
+        assertEquals(1, repeated.size());
+        assertEquals("select * from orders where id=?", repeated.get(0).getSql());
+        assertEquals(6, repeated.get(0).getCount());
+        assertEquals(6_000_000, repeated.get(0).getNanos());
+    }
+    
+    @Test
+    @DisplayName("Slow-query threshold flags only slower executions")
+    void slowQueryThreshold() {
+        RequestQueryStats stats = RequestQueryStats.begin(5_000_000);
+        stats.onStatement("select 1");
+        
+        assertFalse(stats.onExecuted(1_000_000));
+        assertTrue(stats.onExecuted(10_000_000));
+        assertEquals(11_000_000, stats.getTotalNanos());
+    }
+}
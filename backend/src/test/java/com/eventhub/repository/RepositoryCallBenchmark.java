@@ -0,0 +1,145 @@
+package com.eventhub.repository;
+
+import com.eventhub.EventHubApplication;
+import com.eventhub.model.AnalyticsEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of single repository calls, each in its own transaction as a service would
+ * run them, against a real Postgres: the JDBC settings in application.properties ("tuned")
+ * versus the previous ones ("legacy": SELECT 1 test query, default statement cache, no
+ * batch rewriting). SampleTime mode reports p50/p90/p99 per call.
+ *
+ * Needs the local database from docker-compose-dev.yml (localhost:5433) with the schema
+ * and seed data loaded; point elsewhere with -Dbenchmark.db.url / .user / .password.
+ * The insert benchmark rolls back, so the database is left unchanged.
+ *
+ * Settings are passed as command-line arguments, so they win over application.properties
+ * and the dev profile (its SQL logging would otherwise dominate the timings).
+ *
+ * Not run by surefire. Run with:
+ *   mvn -Pbenchmark test -DskipTests -Dbenchmark.include=RepositoryCallBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RepositoryCallBenchmark {
+
+    private static final Map<String, Map<String, String>> SETTINGS = Map.of(
+            "tuned", Map.of(),
+            "legacy", Map.of(
+                    "spring.datasource.hikari.connection-test-query", "SELECT 1",
+                    "spring.datasource.hikari.data-source-properties.preparedStatementCacheQueries", "256",
+                    "spring.datasource.hikari.data-source-properties.preparedStatementCacheSizeMiB", "5",
+                    "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", "false"));
+
+    @Param({"legacy", "tuned"})
+    private String jdbc;
+
+    // Rows per insert transaction; Hibernate's batch_size is 25
+    @Param({"25"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ListingRepository listingRepository;
+    private CategoryRepository categoryRepository;
+    private AnalyticsEventRepository analyticsEventRepository;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private UUID listingId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, String> properties = new LinkedHashMap<>(SETTINGS.get(jdbc));
+        properties.put("spring.datasource.url", System.getProperty("benchmark.db.url", "jdbc:postgresql://localhost:5433/eventhub"));
+        properties.put("spring.datasource.username", System.getProperty("benchmark.db.user", "postgres"));
+        properties.put("spring.datasource.password", System.getProperty("benchmark.db.password", "devpassword123"));
+        properties.put("server.port", "0");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        // The dev profile turns these up to DEBUG/TRACE
+        properties.put("logging.level.org.springframework.web", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        properties.put("logging.level.com.zaxxer.hikari", "WARN");
+        properties.put("logging.level.com.eventhub", "WARN");
+        properties.put("app.startup.warmup.enabled", "false");
+        properties.put("app.datasource.replica.urls", "");
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(EventHubApplication.class)
+                .profiles("dev")
+                .run(args);
+
+        listingRepository = context.getBean(ListingRepository.class);
+        categoryRepository = context.getBean(CategoryRepository.class);
+        analyticsEventRepository = context.getBean(AnalyticsEventRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        listingId = context.getBean(JdbcTemplate.class)
+                .queryForObject("SELECT id FROM listings WHERE is_active = true ORDER BY id LIMIT 1", UUID.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findListingById() {
+        return readOnly.execute(status -> listingRepository.findByIdWithVendorAndCategory(listingId).orElseThrow());
+    }
+
+    @Benchmark
+    public Object findAllCategories() {
+        return readOnly.execute(status -> categoryRepository.findAll().size());
+    }
+
+    @Benchmark
+    public Object insertBatch() {
+        return readWrite.execute(status -> {
+            List<AnalyticsEvent> events = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                AnalyticsEvent event = new AnalyticsEvent();
+                event.setEventType(AnalyticsEvent.EventType.PAGE_VIEW);
+                event.setSessionId("benchmark");
+                event.setPagePath("/benchmark/" + i);
+                events.add(event);
+            }
+            analyticsEventRepository.saveAll(events);
+            analyticsEventRepository.flush();
+            status.setRollbackOnly();
+            return events.size();
+        });
+    }
+}
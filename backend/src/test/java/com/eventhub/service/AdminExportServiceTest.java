@@ -0,0 +1,185 @@
+package com.eventhub.service;
+
+import com.eventhub.config.Workload;
+import com.eventhub.dto.response.VendorExportRow;
+import com.eventhub.exception.ServiceBusyException;
+import com.eventhub.repository.AnalyticsEventRepository;
+import com.eventhub.repository.OrderRepository;
+import com.eventhub.repository.VendorRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the streamed admin exports: the body output, its workload and the concurrency permit.
+ */
+@ExtendWith(MockitoExtension.class)
+class AdminExportServiceTest {
+    
+    @Mock
+    private OrderRepository orderRepository;
+    
+    @Mock
+    private VendorRepository vendorRepository;
+    
+    @Mock
+    private AnalyticsEventRepository analyticsEventRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private SimpleMeterRegistry meterRegistry;
+    private AdminExportService service;
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        service = new AdminExportService(orderRepository, vendorRepository, analyticsEventRepository,
+                transactionManager, new ObjectMapper().findAndRegisterModules(), meterRegistry, 1);
+    }
+    
+    @Test
+    @DisplayName("The body streams every row and gives the permit back")
+    void successReleasesPermit() throws Exception {
+        when(vendorRepository.streamForExport(anyCollection(), anyCollection()))
+                .thenAnswer(invocation -> Stream.of(vendor("Asha Decor"), vendor("Ravi Caterers")));
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportVendors(AdminExportService.Format.NDJSON, null, null).body().writeTo(out);
+        
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"businessName\":\"Asha Decor\""));
+        assertEquals(1, outcomes("ok"));
+        // The only permit is free again
+        service.exportVendors(AdminExportService.Format.CSV, null, null).body().writeTo(new ByteArrayOutputStream());
+        assertEquals(2, outcomes("ok"));
+    }
+    
+    @Test
+    @DisplayName("A client that goes away mid-export doesn't keep the permit")
+    void abortReleasesPermit() throws Exception {
+        when(vendorRepository.streamForExport(anyCollection(), anyCollection()))
+                .thenAnswer(invocation -> Stream.of(vendor("Asha Decor")));
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        
+        AdminExportService.Export export = service.exportVendors(AdminExportService.Format.CSV, null, null);
+        assertThrows(IOException.class, () -> export.body().writeTo(closed));
+        
+        assertEquals(1, outcomes("aborted"));
+        assertDoesNotThrow(() -> service.exportVendors(AdminExportService.Format.CSV, null, null));
+    }
+    
+    @Test
+    @DisplayName("Exports are refused while one is running and accepted again once it ends")
+    void refusedWhileRunning() throws Exception {
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        when(vendorRepository.streamForExport(anyCollection(), anyCollection())).thenAnswer(invocation -> {
+            streaming.countDown();
+            finish.await();
+            return Stream.of(vendor("Asha Decor"));
+        });
+        
+        AdminExportService.Export running = service.exportVendors(AdminExportService.Format.CSV, null, null);
+        Throwable[] outcome = new Throwable[1];
+        Thread thread = Thread.ofVirtual().start(() -> {
+            try {
+                running.body().writeTo(new ByteArrayOutputStream());
+            } catch (Throwable e) {
+                outcome[0] = e;
+            }
+        });
+        streaming.await();
+        
+        ServiceBusyException refused = assertThrows(ServiceBusyException.class,
+                () -> service.exportVendors(AdminExportService.Format.CSV, null, null));
+        assertEquals(60, refused.getRetryAfterSeconds());
+        
+        finish.countDown();
+        thread.join();
+        assertNull(outcome[0]);
+        assertDoesNotThrow(() -> service.exportVendors(AdminExportService.Format.CSV, null, null));
+    }
+    
+    @Test
+    @DisplayName("The body runs as the requesting thread's workload, on whatever thread writes it")
+    void bodyRunsAsRequestWorkload() throws Exception {
+        Workload[] seen = new Workload[2];
+        when(vendorRepository.streamForExport(anyCollection(), anyCollection())).thenAnswer(invocation -> {
+            seen[0] = Workload.current();
+            return Stream.of(vendor("Asha Decor"));
+        });
+        Workload.bind(Workload.ADMIN);
+        AdminExportService.Export export = service.exportVendors(AdminExportService.Format.CSV, null, null);
+        Workload.bind(null);
+        
+        Thread thread = Thread.ofVirtual().start(() -> {
+            try {
+                export.body().writeTo(new ByteArrayOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            seen[1] = Workload.current();
+        });
+        thread.join();
+        
+        assertEquals(Workload.ADMIN, seen[0]);
+        assertNull(seen[1]);
+    }
+    
+    @Test
+    @DisplayName("An export whose body never runs holds no permit")
+    void unusedExportHoldsNothing() {
+        service.exportVendors(AdminExportService.Format.CSV, null, null);
+        
+        assertDoesNotThrow(() -> service.exportVendors(AdminExportService.Format.CSV, null, null));
+        verifyNoInteractions(vendorRepository);
+    }
+    
+    @AfterEach
+    void clearWorkload() {
+        Workload.bind(null);
+    }
+    
+    private double outcomes(String outcome) {
+        return meterRegistry.find("admin.exports").tag("outcome", outcome).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+    
+    private static VendorExportRow vendor(String businessName) {
+        return new VendorExportRow(UUID.randomUUID(), UUID.randomUUID(), businessName, "decor", "Decoration", null,
+                "Pune", new BigDecimal("4.5"), 12, new BigDecimal("15000"), "9876543210", "vendor@example.com",
+                true, true, LocalDateTime.of(2026, 1, 15, 10, 30));
+    }
+}
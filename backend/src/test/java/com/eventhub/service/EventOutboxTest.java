@@ -0,0 +1,158 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.event.DomainEvent;
+import com.eventhub.model.OutboxEvent;
+import com.eventhub.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the transactional outbox: serialization round trip, once-delivery and local tailing.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventOutboxTest {
+    
+    @Mock
+    private OutboxEventRepository outboxRepository;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private EventOutbox outbox;
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        outbox = new EventOutbox(outboxRepository, eventPublisher, new ObjectMapper(), new SimpleMeterRegistry(),
+                transactionManager, 3, 7);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        outbox.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Published event is stored with its type and reads back equal")
+    void roundTrip() {
+        DomainEvent.LeadRejected event = new DomainEvent.LeadRejected(UUID.randomUUID(), new BigDecimal("1250.50"));
+        
+        outbox.publish(event);
+        
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(captor.capture());
+        OutboxEvent row = captor.getValue();
+        assertEquals("LeadRejected", row.getEventType());
+        assertEquals(event, outbox.deserialize(row));
+    }
+    
+    @Test
+    @DisplayName("Claimed event is delivered to handlers and marked published")
+    void deliversOnce() {
+        OutboxEvent row = row(5L, new DomainEvent.ReviewCreated(UUID.randomUUID(), UUID.randomUUID()));
+        when(outboxRepository.claim(5L)).thenReturn(Optional.of(row));
+        
+        outbox.deliver(5L);
+        
+        verify(eventPublisher).publishEvent(outbox.deserialize(row));
+        assertEquals(OutboxEvent.State.PUBLISHED, row.getState());
+        assertNotNull(row.getPublishedAt());
+    }
+    
+    @Test
+    @DisplayName("Handler failure schedules a retry, then parks the event")
+    void handlerFailureRetries() {
+        OutboxEvent row = row(7L, new DomainEvent.LeadAccepted(UUID.randomUUID(), UUID.randomUUID()));
+        when(outboxRepository.claim(7L)).thenReturn(Optional.of(row));
+        doThrow(new IllegalStateException("smtp down")).when(eventPublisher).publishEvent(any(Object.class));
+        
+        outbox.deliver(7L);
+        assertEquals(OutboxEvent.State.PENDING, row.getState());
+        assertEquals(1, row.getAttempts());
+        assertTrue(row.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        
+        outbox.deliver(7L);
+        outbox.deliver(7L);
+        assertEquals(OutboxEvent.State.FAILED, row.getState());
+        assertEquals("smtp down", row.getLastError());
+    }
+    
+    @Test
+    @DisplayName("Local tail starts at the end of the table and then delivers every new event")
+    void localTail() {
+        DomainEvent.OrderPlaced before = orderPlaced();
+        when(outboxRepository.findMaxId()).thenReturn(10L);
+        when(outboxRepository.findForLocalTail(10L, 60L, 0L, 100)).thenReturn(List.of(row(10L, before)));
+        outbox.tailLocal();
+        verifyNoInteractions(eventPublisher);
+        
+        DomainEvent.OrderPlaced event = orderPlaced();
+        when(outboxRepository.findForLocalTail(10L, 60L, 0L, 100)).thenReturn(List.of(row(10L, before), row(11L, event)));
+        outbox.tailLocal();
+        
+        verify(eventPublisher).publishEvent(new DomainEvent.Local(event));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+    
+    @Test
+    @DisplayName("An event whose lower id commits after a higher one was tailed is still delivered, once")
+    void localTailCatchesLateCommits() {
+        when(outboxRepository.findMaxId()).thenReturn(10L);
+        outbox.tailLocal();
+        
+        // 12 commits first; 11 was inserted earlier by a transaction that commits later
+        DomainEvent.OrderPlaced late = orderPlaced();
+        DomainEvent.OrderPlaced early = orderPlaced();
+        when(outboxRepository.findForLocalTail(10L, 60L, 0L, 100)).thenReturn(List.of(row(12L, early)));
+        outbox.tailLocal();
+        when(outboxRepository.findForLocalTail(12L, 60L, 0L, 100)).thenReturn(List.of(row(11L, late), row(12L, early)));
+        outbox.tailLocal();
+        outbox.tailLocal();
+        
+        verify(eventPublisher).publishEvent(new DomainEvent.Local(early));
+        verify(eventPublisher).publishEvent(new DomainEvent.Local(late));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+    
+    private static DomainEvent.OrderPlaced orderPlaced() {
+        return new DomainEvent.OrderPlaced(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), BigDecimal.TEN);
+    }
+    
+    private OutboxEvent row(Long id, DomainEvent event) {
+        OutboxEvent row = new OutboxEvent();
+        row.setId(id);
+        row.setEventType(event.getClass().getSimpleName());
+        row.setCreatedAt(LocalDateTime.now().minusSeconds(1));
+        row.setNextAttemptAt(row.getCreatedAt());
+        try {
+            row.setPayload(new ObjectMapper().writeValueAsString(event));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return row;
+    }
+}
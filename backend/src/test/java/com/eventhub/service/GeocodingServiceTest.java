@@ -3,6 +3,7 @@ package com.eventhub.service;
 import com.eventhub.dto.LocationDTO;
 import com.eventhub.model.GeocodingCache;
 import com.eventhub.repository.GeocodingCacheRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -34,7 +35,7 @@ class GeocodingServiceTest {
     
     @BeforeEach
     void setUp() {
-        geocodingService = new GeocodingService(cacheRepository);
+        geocodingService = new GeocodingService(cacheRepository, new SimpleMeterRegistry());
     }
     
     // ==================== Property 7: Geocoding Cache Effectiveness ====================
@@ -0,0 +1,83 @@
+package com.eventhub.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for job leases: the task runs only with a lease, and the lease is always dropped.
+ */
+@ExtendWith(MockitoExtension.class)
+class JobLockServiceTest {
+    
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    private JobLockService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new JobLockService(jdbcTemplate, "instance-a", 300);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+    
+    @Test
+    @DisplayName("The task runs with the lease and the same owner drops it afterwards")
+    void runsAndReleases() {
+        when(jdbcTemplate.update(startsWith("INSERT INTO job_locks"), eq("nightly"), anyString(), eq(300L)))
+                .thenReturn(1);
+        boolean[] ran = new boolean[1];
+        
+        assertTrue(service.runExclusively("nightly", () -> ran[0] = true));
+        
+        assertTrue(ran[0]);
+        ArgumentCaptor<String> acquiredBy = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).update(startsWith("INSERT"), eq("nightly"), acquiredBy.capture(), eq(300L));
+        assertTrue(acquiredBy.getValue().startsWith("instance-a:"));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM job_locks"), eq("nightly"), eq(acquiredBy.getValue()));
+    }
+    
+    @Test
+    @DisplayName("A lease held elsewhere skips the task")
+    void heldElsewhereSkips() {
+        when(jdbcTemplate.update(startsWith("INSERT INTO job_locks"), any(), any(), any())).thenReturn(0);
+        
+        assertFalse(service.runExclusively("nightly", () -> fail("must not run")));
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"), any(), any());
+    }
+    
+    @Test
+    @DisplayName("A failing task drops the lease and the failure reaches the caller")
+    void failureReleasesAndPropagates() {
+        when(jdbcTemplate.update(startsWith("INSERT INTO job_locks"), any(), any(), any())).thenReturn(1);
+        
+        assertThrows(IllegalStateException.class, () -> service.runExclusively("nightly", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM job_locks"), eq("nightly"), anyString());
+    }
+    
+    @Test
+    @DisplayName("An unreachable database skips the task instead of running it unguarded")
+    void databaseDownSkips() {
+        when(jdbcTemplate.update(startsWith("INSERT INTO job_locks"), any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        
+        assertFalse(service.runExclusively("nightly", () -> fail("must not run")));
+    }
+}
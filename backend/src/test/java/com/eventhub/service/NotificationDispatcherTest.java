@@ -0,0 +1,144 @@
+package com.eventhub.service;
+
+import com.eventhub.model.Notification;
+import com.eventhub.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for notification delivery: digest coalescing, claim-before-send and the email cap.
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+    
+    @Mock
+    private NotificationRepository notificationRepository;
+    
+    @Mock
+    private EmailService emailService;
+    
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private NotificationDispatcher dispatcher;
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        dispatcher = new NotificationDispatcher(notificationRepository, emailService, messagingTemplate,
+                new SimpleMeterRegistry(), transactionManager, 5, 1, 90);
+    }
+    
+    @Test
+    @DisplayName("A single notification is sent as is")
+    void singleNotification() {
+        Notification lead = notification(Notification.Kind.VENDOR_NEW_LEAD, "New lead from Asha", "Customer: Asha");
+        
+        NotificationDispatcher.Message message = NotificationDispatcher.compose(List.of(lead));
+        
+        assertEquals("New lead from Asha", message.subject());
+        assertEquals("Customer: Asha", message.body());
+        assertEquals(1, message.count());
+    }
+    
+    @Test
+    @DisplayName("Several notifications become one digest grouped by kind")
+    void digest() {
+        List<Notification> rows = List.of(
+                notification(Notification.Kind.VENDOR_NEW_LEAD, "New lead from Asha", "Customer: Asha"),
+                notification(Notification.Kind.VENDOR_UPCOMING_EVENT, "Upcoming event in 7 days", "Customer: Ravi"),
+                notification(Notification.Kind.VENDOR_NEW_LEAD, "New lead from Meera", "Customer: Meera"),
+                notification(Notification.Kind.VENDOR_NEW_LEAD, "New lead from Kiran", "Customer: Kiran"));
+        
+        NotificationDispatcher.Message message = NotificationDispatcher.compose(rows);
+        
+        assertEquals("3 new leads, Upcoming event in 7 days", message.subject());
+        assertEquals(4, message.count());
+        assertTrue(message.body().startsWith("3 new leads\n- Customer: Asha\n- Customer: Meera\n- Customer: Kiran"));
+        assertTrue(message.body().endsWith("Upcoming event in 7 days\n- Customer: Ravi"));
+    }
+    
+    @Test
+    @DisplayName("A large digest counts every row but lists only the first of each kind")
+    void largeDigestIsTruncated() {
+        List<Notification> rows = new ArrayList<>();
+        for (int i = 1; i <= 32; i++) {
+            rows.add(notification(Notification.Kind.VENDOR_NEW_LEAD, "New lead " + i, "Lead " + i));
+        }
+        
+        NotificationDispatcher.Message message = NotificationDispatcher.compose(rows);
+        
+        assertEquals("32 new leads", message.subject());
+        assertEquals(32, message.count());
+        assertTrue(message.body().contains("- Lead 20\n"));
+        assertFalse(message.body().contains("Lead 21"));
+        assertTrue(message.body().endsWith("- ...and 12 more"));
+    }
+    
+    @Test
+    @DisplayName("Claimed rows are marked sent and delivered as one email")
+    void deliverMarksSentAndEmailsOnce() {
+        UUID vendorId = UUID.randomUUID();
+        List<Notification> rows = new ArrayList<>(List.of(
+                notification(Notification.Kind.VENDOR_NEW_LEAD, "New lead from Asha", "Customer: Asha"),
+                notification(Notification.Kind.VENDOR_NEW_LEAD, "New lead from Meera", "Customer: Meera")));
+        when(notificationRepository.claimDue("VENDOR", vendorId)).thenReturn(rows);
+        when(emailService.send(eq("vendor@example.com"), eq("2 new leads"), anyString())).thenReturn(true);
+        
+        assertTrue(dispatcher.deliver(Notification.RecipientType.VENDOR, vendorId));
+        
+        for (Notification row : rows) {
+            assertEquals(Notification.DeliveryState.SENT, row.getDeliveryState());
+            assertNotNull(row.getSentAt());
+        }
+        verify(emailService, times(1)).send(anyString(), anyString(), anyString());
+        verify(messagingTemplate).convertAndSend(eq("/topic/notifications/" + vendorId), any(Object.class));
+    }
+    
+    @Test
+    @DisplayName("Dispatch stops at the per-run email cap")
+    void emailCap() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(notificationRepository.findDueRecipients(any(), anyInt())).thenReturn(List.of(
+                new Object[]{"USER", first}, new Object[]{"USER", second}));
+        when(notificationRepository.claimDue("USER", first)).thenReturn(new ArrayList<>(List.of(
+                notification(Notification.Kind.USER_PAYMENT_SUCCESS, "Payment of 500 received", "Amount: 500"))));
+        when(emailService.send(anyString(), anyString(), anyString())).thenReturn(true);
+        
+        dispatcher.dispatch();
+        
+        verify(notificationRepository, never()).claimDue("USER", second);
+    }
+    
+    private static Notification notification(Notification.Kind kind, String title, String body) {
+        Notification notification = new Notification();
+        notification.setKind(kind);
+        notification.setTitle(title);
+        notification.setBody(body);
+        notification.setEmail(kind.name().startsWith("VENDOR") ? "vendor@example.com" : "user@example.com");
+        notification.setCreatedAt(LocalDateTime.now());
+        notification.setDeliverAfter(LocalDateTime.now());
+        return notification;
+    }
+}
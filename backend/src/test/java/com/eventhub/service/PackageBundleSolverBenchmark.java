@@ -0,0 +1,73 @@
+package com.eventhub.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for PackageBundleSolver on planner-sized and catalog-sized inputs.
+ *
+ * Not run by surefire. Run with:
+ *   mvn -Pbenchmark test -DskipTests
+ * or only this benchmark:
+ *   mvn -Pbenchmark test -DskipTests -Dbenchmark.include=PackageBundleSolverBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PackageBundleSolverBenchmark {
+
+    // Total packages across all categories
+    @Param({"1000", "10000", "40000"})
+    private int packages;
+
+    @Param({"4", "6"})
+    private int categories;
+
+    @Param({"5"})
+    private int bundles;
+
+    private final PackageBundleSolver solver = new PackageBundleSolver();
+    private List<List<PackageBundleSolver.Option>> groups;
+    private long budget;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2024);
+        groups = new ArrayList<>();
+        int perCategory = packages / categories;
+        for (int g = 0; g < categories; g++) {
+            List<PackageBundleSolver.Option> options = new ArrayList<>(perCategory);
+            for (int i = 0; i < perCategory; i++) {
+                // Prices 5k - 5L rupees in paise; score loosely correlated with price like real listings
+                long price = (5_000L + random.nextInt(495_000)) * 100;
+                double score = 0.3 * random.nextDouble() + 0.7 * Math.min(1.0, price / 50_000_000.0) * random.nextDouble();
+                options.add(new PackageBundleSolver.Option(price, score));
+            }
+            groups.add(options);
+        }
+        // 5 lakh rupee event budget
+        budget = 500_000L * 100;
+    }
+
+    @Benchmark
+    public PackageBundleSolver.Result solve() {
+        return solver.solve(groups, budget, bundles, 0);
+    }
+}
@@ -0,0 +1,156 @@
+package com.eventhub.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PackageBundleSolver.
+ *
+ * The branch and bound search is checked against exhaustive enumeration on small random
+ * instances, so pruning and dominance filtering must never drop a top-K bundle.
+ */
+class PackageBundleSolverTest {
+
+    private PackageBundleSolver solver;
+
+    @BeforeEach
+    void setUp() {
+        solver = new PackageBundleSolver();
+    }
+
+    @Test
+    @DisplayName("Best bundle maximizes total score instead of the best single package")
+    void bestBundleWithinBudget() {
+        List<List<PackageBundleSolver.Option>> groups = List.of(
+            List.of(option(600, 0.9), option(300, 0.6)),
+            List.of(option(500, 0.85), option(200, 0.5))
+        );
+
+        PackageBundleSolver.Result result = solver.solve(groups, 800, 1, 0);
+
+        assertTrue(result.complete());
+        assertEquals(1, result.bundles().size());
+        // Greedy would take the 0.9 package and be left with 0.5; 0.6 + 0.85 is better
+        PackageBundleSolver.Bundle best = result.bundles().get(0);
+        assertArrayEquals(new int[]{1, 0}, best.picks());
+        assertEquals(1.45, best.totalScore(), 1e-9);
+        assertEquals(800, best.totalPrice());
+    }
+
+    @Test
+    @DisplayName("Categories can be skipped when nothing affordable is left")
+    void skipsUnaffordableCategory() {
+        List<List<PackageBundleSolver.Option>> groups = List.of(
+            List.of(option(900, 0.9)),
+            List.of(option(5000, 1.0))
+        );
+
+        PackageBundleSolver.Bundle best = solver.solve(groups, 1000, 1, 0).bundles().get(0);
+
+        assertArrayEquals(new int[]{0, -1}, best.picks());
+        assertEquals(900, best.totalPrice());
+    }
+
+    @Test
+    @DisplayName("Empty input yields no bundles")
+    void emptyInput() {
+        assertTrue(solver.solve(List.of(), 1000, 3, 0).bundles().isEmpty());
+        assertTrue(solver.solve(List.of(List.of(), List.of()), 1000, 3, 0).bundles().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Top-K bundles match exhaustive enumeration on random instances")
+    void matchesBruteForce() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int groupCount = 1 + random.nextInt(4);
+            List<List<PackageBundleSolver.Option>> groups = new ArrayList<>();
+            for (int g = 0; g < groupCount; g++) {
+                int size = random.nextInt(12);
+                List<PackageBundleSolver.Option> options = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    options.add(option(100 + random.nextInt(5000), random.nextDouble()));
+                }
+                groups.add(options);
+            }
+            long budget = 500 + random.nextInt(12000);
+            int k = 1 + random.nextInt(5);
+
+            List<Double> expected = bruteForceScores(groups, budget).stream().limit(k).toList();
+            List<PackageBundleSolver.Bundle> actual = solver.solve(groups, budget, k, 0).bundles();
+
+            assertEquals(expected.size(), actual.size(), "Bundle count in round " + round);
+            for (int i = 0; i < expected.size(); i++) {
+                PackageBundleSolver.Bundle bundle = actual.get(i);
+                assertEquals(expected.get(i), bundle.totalScore(), 1e-9, "Score of bundle " + i + " in round " + round);
+                assertTrue(bundle.totalPrice() <= budget, "Bundle over budget in round " + round);
+                assertEquals(bundle.totalPrice(), priceOf(groups, bundle.picks()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Expired time budget still returns feasible bundles")
+    void timeBudgetReturnsFeasibleBundles() {
+        Random random = new Random(7);
+        List<List<PackageBundleSolver.Option>> groups = new ArrayList<>();
+        for (int g = 0; g < 6; g++) {
+            List<PackageBundleSolver.Option> options = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                options.add(option(1000 + random.nextInt(100000), random.nextDouble()));
+            }
+            groups.add(options);
+        }
+
+        PackageBundleSolver.Result result = solver.solve(groups, 200000, 5, 1);
+
+        for (PackageBundleSolver.Bundle bundle : result.bundles()) {
+            assertTrue(bundle.totalPrice() <= 200000);
+        }
+    }
+
+    private static PackageBundleSolver.Option option(long price, double score) {
+        return new PackageBundleSolver.Option(price, score);
+    }
+
+    private static long priceOf(List<List<PackageBundleSolver.Option>> groups, int[] picks) {
+        long total = 0;
+        for (int g = 0; g < picks.length; g++) {
+            if (picks[g] >= 0) {
+                total += groups.get(g).get(picks[g]).price();
+            }
+        }
+        return total;
+    }
+
+    private static List<Double> bruteForceScores(List<List<PackageBundleSolver.Option>> groups, long budget) {
+        List<Double> scores = new ArrayList<>();
+        enumerate(groups, 0, budget, 0, false, scores);
+        scores.sort(Comparator.reverseOrder());
+        return scores;
+    }
+
+    private static void enumerate(List<List<PackageBundleSolver.Option>> groups, int g, long remaining,
+                                  double score, boolean picked, List<Double> out) {
+        if (g == groups.size()) {
+            if (picked) {
+                out.add(score);
+            }
+            return;
+        }
+        enumerate(groups, g + 1, remaining, score, picked, out);
+        for (PackageBundleSolver.Option o : groups.get(g)) {
+            if (o.price() <= remaining) {
+                enumerate(groups, g + 1, remaining - o.price(), score + o.score(), true, out);
+            }
+        }
+    }
+}
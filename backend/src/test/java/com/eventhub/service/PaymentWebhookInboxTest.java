@@ -0,0 +1,129 @@
+package com.eventhub.service;
+
+import com.eventhub.exception.ResourceNotFoundException;
+import com.eventhub.model.PaymentWebhookEvent;
+import com.eventhub.repository.PaymentWebhookEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the payment webhook inbox: deduplication on ingest and per-event outcomes.
+ */
+@ExtendWith(MockitoExtension.class)
+class PaymentWebhookInboxTest {
+    
+    @Mock
+    private PaymentWebhookEventRepository eventRepository;
+    
+    @Mock
+    private TokenPaymentService tokenPaymentService;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentWebhookInbox inbox;
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        inbox = new PaymentWebhookInbox(eventRepository, tokenPaymentService, transactionManager, meterRegistry, 2, 3, 30);
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        inbox.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Redelivered status is acknowledged but not stored twice, whatever its casing")
+    void duplicateIsCounted() {
+        when(eventRepository.insertIfAbsent(eq("TXN_1:success"), eq("TXN_1"), anyString(), eq("{}")))
+                .thenReturn(1).thenReturn(0);
+        
+        assertTrue(inbox.accept("TXN_1", "success", "{}"));
+        assertFalse(inbox.accept("TXN_1", "SUCCESS", "{}"));
+        
+        assertEquals(1.0, meterRegistry.counter("payment.webhook.received", "result", "accepted").count());
+        assertEquals(1.0, meterRegistry.counter("payment.webhook.received", "result", "duplicate").count());
+        verifyNoInteractions(tokenPaymentService);
+    }
+    
+    @Test
+    @DisplayName("Claimed event is applied and marked processed in the same transaction")
+    void appliesClaimedEvent() {
+        PaymentWebhookEvent event = event();
+        when(eventRepository.claim(1L)).thenReturn(Optional.of(event));
+        
+        inbox.process(1L);
+        
+        verify(tokenPaymentService).handlePaymentWebhook("TXN_1", "success", "{}");
+        assertEquals(PaymentWebhookEvent.State.PROCESSED, event.getState());
+        assertNotNull(event.getProcessedAt());
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(1, meterRegistry.timer("payment.webhook.lag").count());
+    }
+    
+    @Test
+    @DisplayName("Event held by another worker is left alone")
+    void skipsEventLockedElsewhere() {
+        when(eventRepository.claim(1L)).thenReturn(Optional.empty());
+        
+        inbox.process(1L);
+        
+        verifyNoInteractions(tokenPaymentService);
+    }
+    
+    @Test
+    @DisplayName("Failures are retried with backoff, then parked; unknown payments are skipped")
+    void failureOutcomes() {
+        PaymentWebhookEvent event = event();
+        when(eventRepository.claim(1L)).thenReturn(Optional.of(event));
+        doThrow(new IllegalStateException("db down"))
+                .when(tokenPaymentService).handlePaymentWebhook(anyString(), anyString(), anyString());
+        
+        inbox.process(1L);
+        assertEquals(PaymentWebhookEvent.State.RECEIVED, event.getState());
+        assertEquals(1, event.getAttempts());
+        assertTrue(event.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        
+        inbox.process(1L);
+        inbox.process(1L);
+        assertEquals(PaymentWebhookEvent.State.FAILED, event.getState());
+        assertEquals("db down", event.getLastError());
+        
+        PaymentWebhookEvent unknown = event();
+        when(eventRepository.claim(2L)).thenReturn(Optional.of(unknown));
+        doThrow(new ResourceNotFoundException("Payment not found"))
+                .when(tokenPaymentService).handlePaymentWebhook(anyString(), anyString(), anyString());
+        inbox.process(2L);
+        assertEquals(PaymentWebhookEvent.State.SKIPPED, unknown.getState());
+    }
+    
+    private static PaymentWebhookEvent event() {
+        PaymentWebhookEvent event = new PaymentWebhookEvent();
+        event.setEventId("evt_1");
+        event.setTransactionId("TXN_1");
+        event.setStatus("success");
+        event.setPayload("{}");
+        event.setReceivedAt(LocalDateTime.now().minusSeconds(2));
+        event.setNextAttemptAt(LocalDateTime.now().minusSeconds(2));
+        return event;
+    }
+}
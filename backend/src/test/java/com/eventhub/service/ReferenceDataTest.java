@@ -0,0 +1,108 @@
+package com.eventhub.service;
+
+import com.eventhub.model.Category;
+import com.eventhub.model.City;
+import com.eventhub.model.EventType;
+import com.eventhub.model.EventTypeCategory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ReferenceData lookups.
+ */
+class ReferenceDataTest {
+    
+    @Test
+    @DisplayName("Ids resolve to entities; unknown and null ids resolve to null")
+    void lookups() {
+        ReferenceData data = sample();
+        
+        assertEquals("Pune", data.city(7).getName());
+        assertNull(data.city(3));
+        assertNull(data.city(99));
+        assertNull(data.city(null));
+        assertEquals("Wedding", data.eventType(1).getDisplayName());
+        assertEquals(1, data.eventTypeByName("WEDDING").getId());
+        assertNull(data.eventTypeByName("funeral"));
+        assertEquals("Photographer", data.category("photographer").getDisplayName());
+        assertNull(data.category(null));
+    }
+    
+    @Test
+    @DisplayName("Event type / category matrix follows event_type_categories")
+    void categoryMatrix() {
+        ReferenceData data = sample();
+        
+        assertTrue(data.isCategoryAllowed(1, "photographer"));
+        assertTrue(data.isCategoryAllowed(1, "caterer"));
+        assertFalse(data.isCategoryAllowed(2, "caterer"));
+        assertFalse(data.isCategoryAllowed(5, "photographer"));
+        assertFalse(data.isCategoryAllowed(1, "unknown"));
+    }
+    
+    @Test
+    @DisplayName("Matrix works past 64 categories")
+    void manyCategories() {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            categories.add(category("c" + i));
+        }
+        ReferenceData data = new ReferenceData(categories, List.of(), List.of(eventType(1, "wedding")),
+                List.of(mapping(1, "c129"), mapping(1, "c64")));
+        
+        assertTrue(data.isCategoryAllowed(1, "c129"));
+        assertTrue(data.isCategoryAllowed(1, "c64"));
+        assertFalse(data.isCategoryAllowed(1, "c0"));
+        assertFalse(data.isCategoryAllowed(1, "c65"));
+    }
+    
+    @Test
+    @DisplayName("Snapshots compare by content and the lists are read-only")
+    void contentAndImmutability() {
+        assertTrue(sample().sameContent(sample()));
+        assertThrows(UnsupportedOperationException.class, () -> sample().cities().add(new City()));
+    }
+    
+    private static ReferenceData sample() {
+        return new ReferenceData(
+                List.of(category("photographer"), category("caterer")),
+                List.of(city(7, "Pune"), city(2, "Mumbai")),
+                List.of(eventType(1, "wedding"), eventType(2, "birthday")),
+                List.of(mapping(1, "photographer"), mapping(1, "caterer"), mapping(2, "photographer")));
+    }
+    
+    private static Category category(String id) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(id);
+        category.setDisplayName(Character.toUpperCase(id.charAt(0)) + id.substring(1));
+        return category;
+    }
+    
+    private static City city(int id, String name) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        return city;
+    }
+    
+    private static EventType eventType(int id, String name) {
+        EventType eventType = new EventType();
+        eventType.setId(id);
+        eventType.setName(name);
+        eventType.setDisplayName(Character.toUpperCase(name.charAt(0)) + name.substring(1));
+        return eventType;
+    }
+    
+    private static EventTypeCategory mapping(int eventTypeId, String categoryId) {
+        EventTypeCategory mapping = new EventTypeCategory();
+        mapping.setEventTypeId(eventTypeId);
+        mapping.setCategoryId(categoryId);
+        return mapping;
+    }
+}
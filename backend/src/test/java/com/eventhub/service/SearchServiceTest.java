@@ -0,0 +1,168 @@
+package com.eventhub.service;
+
+import com.eventhub.model.Listing;
+import com.eventhub.repository.BookableSetupRepository;
+import com.eventhub.repository.CategoryRepository;
+import com.eventhub.repository.EventTypeCategoryRepository;
+import com.eventhub.repository.EventTypeRepository;
+import com.eventhub.repository.ListingRepository;
+import com.eventhub.repository.VendorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for listing search on the listing_search_docs read model: the filters and page
+ * handed to searchDocs, and how the page of hits is loaded.
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+    
+    @Mock
+    private ListingRepository listingRepository;
+    
+    @Mock
+    private VendorRepository vendorRepository;
+    
+    @Mock
+    private EventTypeRepository eventTypeRepository;
+    
+    @Mock
+    private EventTypeCategoryRepository eventTypeCategoryRepository;
+    
+    @Mock
+    private CategoryRepository categoryRepository;
+    
+    @Mock
+    private BookableSetupRepository bookableSetupRepository;
+    
+    @Mock
+    private DistanceService distanceService;
+    
+    private SearchService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new SearchService(listingRepository, vendorRepository, eventTypeRepository,
+                eventTypeCategoryRepository, categoryRepository, bookableSetupRepository, distanceService);
+    }
+    
+    @Test
+    @DisplayName("Filters reach the query normalized: lower-case type and text, blanks as no filter")
+    void filtersArePassedThrough() {
+        search(7, "decor", Listing.ListingType.PACKAGE, "Pune", new BigDecimal("1000"), new BigDecimal("5000"),
+                "Floral STAGE", null, null, null);
+        verify(listingRepository).searchDocs(eq(7), eq("decor"), eq("package"), eq("Pune"),
+                eq(new BigDecimal("1000")), eq(new BigDecimal("5000")), eq("floral stage"), any());
+        
+        search(null, null, null, "  ", null, null, " ", null, null, null);
+        verify(listingRepository).searchDocs(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any());
+    }
+    
+    @Test
+    @DisplayName("LIKE wildcards and the escape character in the search text are matched literally")
+    void searchTextIsEscaped() {
+        search(null, null, null, null, null, null, "50%_off\\Deal", null, null, null);
+        
+        verify(listingRepository).searchDocs(any(), any(), any(), any(), any(), any(), eq("50\\%\\_off\\\\deal"), any());
+    }
+    
+    @Test
+    @DisplayName("Each sort option maps to its database ordering, unknown ones to relevance")
+    void sortOptions() {
+        assertEquals(ListingRepository.PRICE_LOW_SORT, pageFor("price_low", null, null).getSort());
+        assertEquals(ListingRepository.PRICE_HIGH_SORT, pageFor("PRICE_HIGH", null, null).getSort());
+        assertEquals(ListingRepository.RATING_SORT, pageFor("rating", null, null).getSort());
+        assertEquals(ListingRepository.NEWEST_SORT, pageFor("newest", null, null).getSort());
+        assertEquals(ListingRepository.RELEVANCE_SORT, pageFor(null, null, null).getSort());
+        assertEquals(ListingRepository.RELEVANCE_SORT, pageFor("cheapest", null, null).getSort());
+    }
+    
+    @Test
+    @DisplayName("Every ordering ends on listing_id, so rows that tie never move between pages")
+    void orderingsAreTotal() {
+        for (Sort sort : List.of(ListingRepository.RELEVANCE_SORT, ListingRepository.PRICE_LOW_SORT,
+                ListingRepository.PRICE_HIGH_SORT, ListingRepository.RATING_SORT, ListingRepository.NEWEST_SORT)) {
+            List<Sort.Order> orders = sort.toList();
+            Sort.Order last = orders.get(orders.size() - 1);
+            assertEquals("listing_id", last.getProperty());
+            assertEquals(1, orders.stream().filter(order -> order.getProperty().equals("listing_id")).count());
+        }
+    }
+    
+    @Test
+    @DisplayName("Offset and limit become a page: limit capped at 50, defaults for missing or invalid values")
+    void paging() {
+        Pageable page = pageFor(null, 20, 40);
+        assertEquals(2, page.getPageNumber());
+        assertEquals(20, page.getPageSize());
+        
+        assertEquals(50, pageFor(null, 500, 0).getPageSize());
+        
+        Pageable defaults = pageFor(null, -1, -5);
+        assertEquals(0, defaults.getPageNumber());
+        assertEquals(12, defaults.getPageSize());
+    }
+    
+    @Test
+    @DisplayName("Listings come back in hit order; one deleted between the two queries is left out")
+    void hitsLoadedInOrder() {
+        UUID first = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+        List<Object[]> hits = new ArrayList<>();
+        for (UUID id : List.of(first, deleted, last)) {
+            hits.add(new Object[]{id, null, null, null});
+        }
+        when(listingRepository.searchDocs(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(hits);
+        when(listingRepository.findForSearchByIdIn(List.of(first, deleted, last)))
+                .thenReturn(List.of(listing(last), listing(first)));
+        
+        List<Listing> result = search(null, null, null, null, null, null, null, null, null, null);
+        
+        assertEquals(List.of(first, last), result.stream().map(Listing::getId).toList());
+    }
+    
+    @Test
+    @DisplayName("No hits means no second query")
+    void noHitsSkipsLoad() {
+        assertTrue(search(null, null, null, null, null, null, "nothing", null, null, null).isEmpty());
+        verify(listingRepository, never()).findForSearchByIdIn(any());
+    }
+    
+    private List<Listing> search(Integer eventTypeId, String categoryId, Listing.ListingType type, String cityName,
+                                 BigDecimal minPrice, BigDecimal maxPrice, String query, String sortBy,
+                                 Integer limit, Integer offset) {
+        return service.searchListings(eventTypeId, categoryId, type, cityName, minPrice, maxPrice, query,
+                null, sortBy, limit, offset);
+    }
+    
+    private Pageable pageFor(String sortBy, Integer limit, Integer offset) {
+        clearInvocations(listingRepository);
+        search(null, null, null, null, null, null, null, sortBy, limit, offset);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(listingRepository).searchDocs(any(), any(), any(), any(), any(), any(), any(), page.capture());
+        return page.getValue();
+    }
+    
+    private static Listing listing(UUID id) {
+        Listing listing = new Listing();
+        listing.setId(id);
+        return listing;
+    }
+}
@@ -0,0 +1,91 @@
+package com.eventhub.service;
+
+import com.eventhub.model.Review;
+import com.eventhub.model.Vendor;
+import com.eventhub.repository.OrderRepository;
+import com.eventhub.repository.ReviewRepository;
+import com.eventhub.repository.VendorRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for incremental vendor rating maintenance (ReviewService, VendorRatingReconciler).
+ */
+@ExtendWith(MockitoExtension.class)
+class VendorRatingTest {
+    
+    @Mock
+    private ReviewRepository reviewRepository;
+    
+    @Mock
+    private VendorRepository vendorRepository;
+    
+    @Mock
+    private OrderRepository orderRepository;
+    
+    @Mock
+    private EventOutbox eventOutbox;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    @DisplayName("New review adds to the running totals without re-aggregating or saving the vendor")
+    void reviewUpdatesTotalsAtomically() {
+        UUID vendorId = UUID.randomUUID();
+        Vendor vendor = new Vendor();
+        vendor.setId(vendorId);
+        when(vendorRepository.findById(vendorId)).thenReturn(Optional.of(vendor));
+        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        ReviewService.CreateReviewRequest request = new ReviewService.CreateReviewRequest();
+        request.setRating(new BigDecimal("4.5"));
+        new ReviewService(reviewRepository, vendorRepository, orderRepository, eventOutbox)
+                .createReview(UUID.randomUUID(), vendorId, request);
+        
+        verify(vendorRepository).addReviewRating(vendorId, new BigDecimal("4.5"));
+        verify(vendorRepository, never()).save(any());
+        verify(reviewRepository, never()).findAverageRatingByVendor(any());
+        verify(reviewRepository, never()).countByVendor(any());
+    }
+    
+    @Test
+    @DisplayName("Reconciler locks each drifted vendor before recounting, chunk by chunk")
+    void reconcilerLocksBeforeRecount() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        List<UUID> firstChunk = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            firstChunk.add(new UUID(0L, i + 1));
+        }
+        UUID last = new UUID(1L, 1L);
+        when(vendorRepository.findRatingDrift(any(UUID.class), eq(500)))
+                .thenReturn(firstChunk)
+                .thenReturn(List.of(last))
+                .thenReturn(Collections.emptyList());
+        
+        new VendorRatingReconciler(vendorRepository, transactionManager).reconcileRatings();
+        
+        verify(vendorRepository).findRatingDrift(new UUID(0L, 0L), 500);
+        verify(vendorRepository).findRatingDrift(new UUID(0L, 500L), 500);
+        verify(vendorRepository, times(501)).reconcileRating(any());
+        InOrder inOrder = inOrder(vendorRepository);
+        inOrder.verify(vendorRepository).lockForRatingUpdate(last);
+        inOrder.verify(vendorRepository).reconcileRating(last);
+    }
+}
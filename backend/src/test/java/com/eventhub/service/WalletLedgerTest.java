@@ -0,0 +1,166 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.response.WalletTransactionPageDTO;
+import com.eventhub.exception.BusinessRuleException;
+import com.eventhub.model.Payout;
+import com.eventhub.model.Vendor;
+import com.eventhub.model.WalletLedgerEntry;
+import com.eventhub.repository.PayoutRepository;
+import com.eventhub.repository.VendorRepository;
+import com.eventhub.repository.VendorWalletRepository;
+import com.eventhub.repository.WalletLedgerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the wallet ledger (WalletLedgerService) and withdrawals in VendorWalletService.
+ */
+@ExtendWith(MockitoExtension.class)
+class WalletLedgerTest {
+    
+    @Mock
+    private WalletLedgerRepository ledgerRepository;
+    
+    @Mock
+    private VendorWalletRepository vendorWalletRepository;
+    
+    @Mock
+    private VendorRepository vendorRepository;
+    
+    @Mock
+    private PayoutRepository payoutRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private WalletLedgerService ledgerService;
+    private VendorWalletService walletService;
+    private final UUID vendorId = UUID.randomUUID();
+    
+    @BeforeEach
+    void setUp() {
+        ledgerService = new WalletLedgerService(ledgerRepository, new SimpleMeterRegistry(), transactionManager);
+        walletService = new VendorWalletService(vendorWalletRepository, vendorRepository, ledgerService, payoutRepository);
+        Vendor vendor = new Vendor();
+        vendor.setId(vendorId);
+        lenient().when(vendorRepository.findById(vendorId)).thenReturn(Optional.of(vendor));
+    }
+    
+    @Test
+    @DisplayName("Withdrawal debits with one conditional update and appends balanced legs with running balances")
+    @SuppressWarnings("unchecked")
+    void withdrawalPostsBalancedLegs() {
+        BigDecimal amount = new BigDecimal("1500.00");
+        UUID payoutId = UUID.randomUUID();
+        when(vendorWalletRepository.reserveWithdrawal(vendorId, amount)).thenReturn(1);
+        when(vendorWalletRepository.findBalances(vendorId))
+                .thenReturn(List.<Object[]>of(new Object[]{new BigDecimal("500.00"), new BigDecimal("1500.00")}));
+        when(payoutRepository.save(any(Payout.class))).thenAnswer(invocation -> {
+            Payout payout = invocation.getArgument(0);
+            payout.setId(payoutId);
+            return payout;
+        });
+        
+        walletService.requestWithdrawal(vendorId, withdrawal(amount));
+        
+        ArgumentCaptor<List<WalletLedgerEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ledgerRepository).saveAll(captor.capture());
+        List<WalletLedgerEntry> legs = captor.getValue();
+        assertEquals(2, legs.size());
+        assertEquals(0, legs.stream().map(WalletLedgerEntry::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add).signum());
+        assertEquals(WalletLedgerEntry.Account.AVAILABLE, legs.get(0).getAccount());
+        assertEquals(new BigDecimal("-1500.00"), legs.get(0).getAmount());
+        assertEquals(new BigDecimal("500.00"), legs.get(0).getBalanceAfter());
+        assertEquals(new BigDecimal("1500.00"), legs.get(1).getBalanceAfter());
+        assertEquals(payoutId, legs.get(0).getPayoutId());
+        assertEquals(legs.get(0).getTransactionId(), legs.get(1).getTransactionId());
+        verify(vendorWalletRepository, never()).save(any());
+    }
+    
+    @Test
+    @DisplayName("Withdrawal that the balance doesn't cover records nothing")
+    void insufficientBalanceRecordsNothing() {
+        BigDecimal amount = new BigDecimal("5000");
+        when(vendorWalletRepository.reserveWithdrawal(vendorId, amount)).thenReturn(0);
+        
+        BusinessRuleException e = assertThrows(BusinessRuleException.class,
+                () -> walletService.requestWithdrawal(vendorId, withdrawal(amount)));
+        
+        assertEquals("Insufficient balance", e.getMessage());
+        verify(payoutRepository, never()).save(any());
+        verify(ledgerRepository, never()).saveAll(any());
+    }
+    
+    @Test
+    @DisplayName("Unbalanced postings are rejected")
+    void unbalancedPostingRejected() {
+        List<WalletLedgerService.Leg> legs = List.of(
+                new WalletLedgerService.Leg(WalletLedgerEntry.Account.AVAILABLE, new BigDecimal("100"), new BigDecimal("100")),
+                new WalletLedgerService.Leg(WalletLedgerEntry.Account.PLATFORM, new BigDecimal("-90"), null));
+        
+        assertThrows(IllegalArgumentException.class, () -> ledgerService.post(
+                vendorId, WalletLedgerEntry.EntryType.ADJUSTMENT, null, null, "test", legs));
+        verify(ledgerRepository, never()).saveAll(any());
+    }
+    
+    @Test
+    @DisplayName("History pages by id cursor and reports the next cursor only when older rows exist")
+    void historyUsesKeysetCursor() {
+        List<WalletLedgerEntry> rows = new ArrayList<>();
+        for (long id = 50; id > 39; id--) {
+            rows.add(entry(id, id % 2 == 0 ? "250.00" : "-100.00"));
+        }
+        when(ledgerRepository.findByVendorIdAndAccountAndIdLessThanOrderByIdDesc(
+                vendorId, WalletLedgerEntry.Account.AVAILABLE, 51L, Limit.of(11))).thenReturn(rows);
+        
+        WalletTransactionPageDTO page = ledgerService.getHistory(vendorId, 51L, 10);
+        
+        assertEquals(10, page.getContent().size());
+        assertTrue(page.isHasMore());
+        assertEquals(41L, page.getNextCursor());
+        assertEquals("CREDIT", page.getContent().get(0).getType());
+        assertEquals("DEBIT", page.getContent().get(1).getType());
+        assertEquals(new BigDecimal("100.00"), page.getContent().get(1).getAmount());
+        
+        when(ledgerRepository.findByVendorIdAndAccountAndIdLessThanOrderByIdDesc(
+                vendorId, WalletLedgerEntry.Account.AVAILABLE, 41L, Limit.of(11))).thenReturn(rows.subList(10, 11));
+        WalletTransactionPageDTO last = ledgerService.getHistory(vendorId, 41L, 10);
+        assertFalse(last.isHasMore());
+        assertNull(last.getNextCursor());
+    }
+    
+    private WalletLedgerEntry entry(long id, String amount) {
+        WalletLedgerEntry entry = new WalletLedgerEntry();
+        entry.setId(id);
+        entry.setVendorId(vendorId);
+        entry.setAccount(WalletLedgerEntry.Account.AVAILABLE);
+        entry.setType(WalletLedgerEntry.EntryType.EARNING);
+        entry.setAmount(new BigDecimal(amount));
+        return entry;
+    }
+    
+    private static VendorWalletService.WithdrawalRequest withdrawal(BigDecimal amount) {
+        VendorWalletService.WithdrawalRequest request = new VendorWalletService.WithdrawalRequest();
+        request.setAmount(amount);
+        request.setBankAccountNumber("123456789012");
+        return request;
+    }
+}
@@ -0,0 +1,47 @@
+package com.eventhub.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for CsvWriter
+ */
+class CsvWriterTest {
+    
+    record Row(String name, BigDecimal amount, Integer count) {}
+    
+    private static String write(Row... rows) {
+        StringWriter out = new StringWriter();
+        CsvWriter<Row> csv = new CsvWriter<>(Row.class, out);
+        for (Row row : rows) {
+            csv.write(row);
+        }
+        return out.toString();
+    }
+    
+    @Test
+    @DisplayName("Header from the record components, then one line per record; null is empty")
+    void writesHeaderAndRows() {
+        assertEquals("name,amount,count\r\nSound & Lights,1000,\r\n",
+                write(new Row("Sound & Lights", new BigDecimal("1E+3"), null)));
+    }
+    
+    @Test
+    @DisplayName("Commas, quotes and line breaks are quoted with quotes doubled")
+    void quotesSpecialCharacters() {
+        assertEquals("name,amount,count\r\n\"Decor, \"\"Premium\"\"\nline\",,2\r\n",
+                write(new Row("Decor, \"Premium\"\nline", null, 2)));
+    }
+    
+    @Test
+    @DisplayName("Text that a spreadsheet would run as a formula is prefixed; negative numbers are not")
+    void guardsFormulas() {
+        assertEquals("name,amount,count\r\n\"'=HYPERLINK(\"\"x\"\")\",-5,-1\r\n",
+                write(new Row("=HYPERLINK(\"x\")", new BigDecimal("-5"), -1)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.eventhub.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for DisplayPriceCalculator
+ */
+class DisplayPriceCalculatorTest {
+    
+    private static final BigDecimal BASE = new BigDecimal("50000");
+    
+    @Test
+    @DisplayName("Caterer shows veg per-plate price, then non-veg")
+    void catererPerPlate() {
+        assertEquals(new BigDecimal("450"),
+                DisplayPriceCalculator.calculate("caterer", BASE, "{\"pricePerPlateVeg\": 450, \"pricePerPlateNonVeg\": 600}"));
+        assertEquals(new BigDecimal("600"),
+                DisplayPriceCalculator.calculate("caterer", BASE, "{\"pricePerPlateNonVeg\": \"600\"}"));
+    }
+    
+    @Test
+    @DisplayName("Photography categories and MUA use their own price fields")
+    void categorySpecificFields() {
+        assertEquals(new BigDecimal("30000"),
+                DisplayPriceCalculator.calculate("videographer", BASE, "{\"videographyPrice\": 30000}"));
+        assertEquals(new BigDecimal("25000"),
+                DisplayPriceCalculator.calculate("mua", BASE, "{\"nonBridalPrice\": 25000}"));
+        assertEquals(new BigDecimal("12000"),
+                DisplayPriceCalculator.calculate("decorator", BASE, "{\"price\": 12000}"));
+    }
+    
+    @Test
+    @DisplayName("Falls back to base price for missing, zero or unparsable values")
+    void fallsBackToBasePrice() {
+        assertEquals(BASE, DisplayPriceCalculator.calculate("caterer", BASE, null));
+        assertEquals(BASE, DisplayPriceCalculator.calculate(null, BASE, "{\"price\": 100}"));
+        assertEquals(BASE, DisplayPriceCalculator.calculate("caterer", BASE, "{\"pricePerPlateVeg\": 0}"));
+        assertEquals(BASE, DisplayPriceCalculator.calculate("caterer", BASE, "{\"pricePerPlateVeg\": \"ask\"}"));
+        assertEquals(BASE, DisplayPriceCalculator.calculate("mua", BASE, "not json"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.eventhub.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for MessageTemplate
+ */
+class MessageTemplateTest {
+    
+    @Test
+    @DisplayName("Placeholders are replaced with their values")
+    void rendersValues() {
+        MessageTemplate template = MessageTemplate.compile("New lead from {customer} for {guestCount} guests");
+        assertEquals("New lead from Asha for 120 guests",
+                template.render(Map.of("customer", "Asha", "guestCount", 120)));
+    }
+    
+    @Test
+    @DisplayName("Missing and null values render as empty")
+    void missingValuesAreEmpty() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("vendor", null);
+        assertEquals("Vendor: , Date: ", MessageTemplate.compile("Vendor: {vendor}, Date: {eventDate}").render(values));
+    }
+    
+    @Test
+    @DisplayName("Braces that aren't placeholders are kept as text")
+    void keepsOtherBraces() {
+        MessageTemplate template = MessageTemplate.compile("{} {not a name} {count} {unclosed");
+        assertEquals("{} {not a name} 3 {unclosed", template.render(Map.of("count", 3)));
+        assertEquals("plain text", MessageTemplate.compile("plain text").render(Map.of()));
+    }
+}
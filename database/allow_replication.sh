@@ -0,0 +1,4 @@
+#!/bin/sh
+# Lets the local read replica (postgres-replica in docker-compose-dev.yml) stream WAL from
+# this server. Runs once, when the dev database volume is first initialised.
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,10 @@
+-- Indexes for the set-based booking lifecycle jobs
+-- Each chunk seeks (status, event_date) and walks ids in order, so these keep every
+-- batch an index range scan instead of a scan of the orders table.
+
+CREATE INDEX IF NOT EXISTS idx_orders_status_event_date_id
+ON orders(status, event_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_orders_awaiting_token_created_at
+ON orders(created_at, id)
+WHERE awaiting_token_payment = true;
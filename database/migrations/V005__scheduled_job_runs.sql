@@ -0,0 +1,17 @@
+-- Run history for cluster-wide scheduled jobs (ScheduledJobRunner)
+-- Used to skip duplicate triggers across instances and to catch up missed cron runs
+
+CREATE TABLE IF NOT EXISTS scheduled_job_runs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    job_name VARCHAR(100) NOT NULL,
+    instance_id VARCHAR(100) NOT NULL,
+    trigger_type VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    duration_ms BIGINT,
+    error TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_scheduled_job_runs_job_started
+ON scheduled_job_runs(job_name, started_at DESC);
@@ -0,0 +1,15 @@
+-- Precomputed display price for listings
+-- The price shown to customers (caterer per-plate, photographer, MUA bridal price, else price).
+-- Set by the application on every listing write; existing rows are filled in by
+-- DisplayPriceBackfillService after deploy.
+
+ALTER TABLE listings ADD COLUMN IF NOT EXISTS display_price DECIMAL(10, 2);
+
+-- Search sorts active listings by display_price
+CREATE INDEX IF NOT EXISTS idx_listings_active_display_price
+ON listings(display_price)
+WHERE is_active = true;
+
+CREATE INDEX IF NOT EXISTS idx_listings_display_price_missing
+ON listings(id)
+WHERE display_price IS NULL;
@@ -0,0 +1,144 @@
+-- Denormalized search read model: one row per searchable listing
+-- Flattens listings + vendors + listing_event_types so customer search is a single
+-- query on one table instead of DISTINCT joins plus a second event type round trip.
+--
+-- Maintained by triggers in the same transaction as the write, so every path that
+-- touches listings, their event types or the vendor (profile edits, admin toggles,
+-- review rating updates, direct SQL) keeps the row in step. Rows exist only for
+-- active, non-draft listings (is_active and price > 0.01, the same rule as search).
+
+CREATE TABLE IF NOT EXISTS listing_search_docs (
+    listing_id UUID PRIMARY KEY REFERENCES listings(id) ON DELETE CASCADE,
+    vendor_id UUID NOT NULL,
+    listing_type VARCHAR(20) NOT NULL,
+    category_id VARCHAR(50) NOT NULL,
+    city_id INTEGER,
+    city_name VARCHAR(100),
+    location_lat DECIMAL(10, 8),
+    location_lng DECIMAL(11, 8),
+    service_radius_km INTEGER,
+    vendor_rating DECIMAL(3, 2) NOT NULL DEFAULT 0,
+    vendor_review_count INTEGER NOT NULL DEFAULT 0,
+    event_type_ids INTEGER[] NOT NULL DEFAULT '{}',
+    display_price DECIMAL(10, 2) NOT NULL,
+    has_images BOOLEAN NOT NULL,
+    is_popular BOOLEAN NOT NULL DEFAULT false,
+    is_trending BOOLEAN NOT NULL DEFAULT false,
+    -- lower(name || ' ' || description) for the q= filter
+    search_text TEXT NOT NULL DEFAULT '',
+    created_at TIMESTAMP
+);
+
+-- Default (relevance) ordering; covers the common filters so the page can be read from the index
+CREATE INDEX IF NOT EXISTS idx_listing_search_docs_relevance
+ON listing_search_docs(is_popular DESC, is_trending DESC, created_at DESC)
+INCLUDE (category_id, listing_type, display_price)
+WHERE has_images;
+
+CREATE INDEX IF NOT EXISTS idx_listing_search_docs_category_price
+ON listing_search_docs(category_id, display_price)
+WHERE has_images;
+
+CREATE INDEX IF NOT EXISTS idx_listing_search_docs_price
+ON listing_search_docs(display_price)
+WHERE has_images;
+
+CREATE INDEX IF NOT EXISTS idx_listing_search_docs_rating
+ON listing_search_docs(vendor_rating DESC, created_at DESC)
+WHERE has_images;
+
+CREATE INDEX IF NOT EXISTS idx_listing_search_docs_event_types
+ON listing_search_docs USING GIN (event_type_ids);
+
+CREATE INDEX IF NOT EXISTS idx_listing_search_docs_city
+ON listing_search_docs(LOWER(city_name));
+
+CREATE INDEX IF NOT EXISTS idx_listing_search_docs_vendor
+ON listing_search_docs(vendor_id);
+
+-- Rebuild (or remove) the document for one listing from the source tables
+CREATE OR REPLACE FUNCTION refresh_listing_search_doc(p_listing_id UUID)
+RETURNS VOID AS $$
+BEGIN
+    DELETE FROM listing_search_docs WHERE listing_id = p_listing_id;
+
+    INSERT INTO listing_search_docs (
+        listing_id, vendor_id, listing_type, category_id, city_id, city_name,
+        location_lat, location_lng, service_radius_km, vendor_rating, vendor_review_count,
+        event_type_ids, display_price, has_images, is_popular, is_trending, search_text, created_at)
+    SELECT l.id, l.vendor_id, l.type, l.listing_category_id, v.city_id, v.city_name,
+           v.location_lat, v.location_lng, v.service_radius_km,
+           COALESCE(v.rating, 0), COALESCE(v.review_count, 0),
+           COALESCE((SELECT array_agg(let.event_type_id ORDER BY let.event_type_id)
+                     FROM listing_event_types let WHERE let.listing_id = l.id), '{}'),
+           COALESCE(l.display_price, l.price),
+           COALESCE(cardinality(l.images), 0) > 0,
+           COALESCE(l.is_popular, false), COALESCE(l.is_trending, false),
+           LOWER(l.name || ' ' || COALESCE(l.description, '')),
+           l.created_at
+    FROM listings l
+    JOIN vendors v ON v.id = l.vendor_id
+    WHERE l.id = p_listing_id
+      AND l.is_active = true
+      AND l.price > 0.01;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION listings_search_doc_trigger()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        -- Row goes with ON DELETE CASCADE
+        RETURN OLD;
+    END IF;
+    PERFORM refresh_listing_search_doc(NEW.id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION listing_event_types_search_doc_trigger()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM refresh_listing_search_doc(OLD.listing_id);
+        RETURN OLD;
+    END IF;
+    PERFORM refresh_listing_search_doc(NEW.listing_id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Vendor columns copied into the documents; other vendor edits don't touch them
+CREATE OR REPLACE FUNCTION vendors_search_doc_trigger()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE listing_search_docs
+    SET city_id = NEW.city_id,
+        city_name = NEW.city_name,
+        location_lat = NEW.location_lat,
+        location_lng = NEW.location_lng,
+        service_radius_km = NEW.service_radius_km,
+        vendor_rating = COALESCE(NEW.rating, 0),
+        vendor_review_count = COALESCE(NEW.review_count, 0)
+    WHERE vendor_id = NEW.id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS listings_search_doc ON listings;
+CREATE TRIGGER listings_search_doc
+AFTER INSERT OR UPDATE ON listings
+FOR EACH ROW EXECUTE FUNCTION listings_search_doc_trigger();
+
+DROP TRIGGER IF EXISTS listing_event_types_search_doc ON listing_event_types;
+CREATE TRIGGER listing_event_types_search_doc
+AFTER INSERT OR UPDATE OR DELETE ON listing_event_types
+FOR EACH ROW EXECUTE FUNCTION listing_event_types_search_doc_trigger();
+
+DROP TRIGGER IF EXISTS vendors_search_doc ON vendors;
+CREATE TRIGGER vendors_search_doc
+AFTER UPDATE OF city_id, city_name, location_lat, location_lng, service_radius_km, rating, review_count ON vendors
+FOR EACH ROW EXECUTE FUNCTION vendors_search_doc_trigger();
+
+-- Initial fill
+SELECT refresh_listing_search_doc(id) FROM listings WHERE is_active = true AND price > 0.01;
@@ -0,0 +1,23 @@
+-- Running rating total for vendors
+-- A new review adds to rating_sum and review_count in one atomic UPDATE (VendorRepository.addReviewRating);
+-- rating is derived from the two in the same statement. VendorRatingReconciler repairs drift nightly.
+
+ALTER TABLE vendors ADD COLUMN IF NOT EXISTS rating_sum DECIMAL(12, 2) NOT NULL DEFAULT 0;
+
+-- Start from the visible reviews, the same set the reconciler counts
+UPDATE vendors v
+SET rating_sum = s.rating_sum,
+    review_count = s.review_count,
+    rating = CASE WHEN s.review_count > 0 THEN ROUND(s.rating_sum / s.review_count, 2) ELSE 0 END
+FROM (
+    SELECT vendor_id, SUM(rating) AS rating_sum, COUNT(*) AS review_count
+    FROM reviews
+    WHERE is_visible = true
+    GROUP BY vendor_id
+) s
+WHERE v.id = s.vendor_id;
+
+-- Reconciler aggregates visible reviews per vendor
+CREATE INDEX IF NOT EXISTS idx_reviews_vendor_visible
+ON reviews(vendor_id)
+WHERE is_visible = true;
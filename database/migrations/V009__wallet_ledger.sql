@@ -0,0 +1,78 @@
+-- Append-only, double-entry wallet ledger
+-- Every money movement is one ledger transaction: two or more legs sharing a transaction_id
+-- whose signed amounts sum to zero. Vendor-facing accounts are 'available' (vendor_wallets.balance)
+-- and 'pending_payout' (vendor_wallets.pending_payouts); 'platform' is the per-vendor contra
+-- account for money entering or leaving the marketplace.
+--
+-- vendor_wallets stays the O(1) balance the app reads and changes with conditional UPDATEs
+-- (VendorWalletRepository); legs are appended in the same transaction while that row is locked,
+-- so balance_after is the exact running balance. WalletLedgerService snapshots ledger-derived
+-- balances periodically and flags any wallet that disagrees with them.
+
+CREATE TABLE IF NOT EXISTS wallet_ledger_entries (
+    -- Also the keyset cursor for transaction history
+    id BIGSERIAL PRIMARY KEY,
+    transaction_id UUID NOT NULL,
+    vendor_id UUID NOT NULL REFERENCES vendors(id),
+    account VARCHAR(20) NOT NULL CHECK (account IN ('AVAILABLE', 'PENDING_PAYOUT', 'PLATFORM')),
+    type VARCHAR(20) NOT NULL,
+    -- Signed: credit > 0, debit < 0
+    amount DECIMAL(12, 2) NOT NULL CHECK (amount <> 0),
+    -- Running balance of the vendor account; NULL on platform legs
+    balance_after DECIMAL(12, 2),
+    order_id UUID,
+    payout_id UUID,
+    description VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- History page: WHERE vendor_id = ? AND account = ? AND id < :cursor ORDER BY id DESC
+CREATE INDEX IF NOT EXISTS idx_wallet_ledger_vendor_account
+ON wallet_ledger_entries(vendor_id, account, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_wallet_ledger_transaction
+ON wallet_ledger_entries(transaction_id);
+
+-- Ledger-derived balance as of last_entry_id; balance = snapshot + SUM(entries after it)
+CREATE TABLE IF NOT EXISTS wallet_balance_snapshots (
+    vendor_id UUID NOT NULL REFERENCES vendors(id),
+    account VARCHAR(20) NOT NULL,
+    balance DECIMAL(12, 2) NOT NULL,
+    last_entry_id BIGINT NOT NULL,
+    taken_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (vendor_id, account)
+);
+
+-- Entries are never changed; corrections are new ADJUSTMENT transactions
+CREATE OR REPLACE FUNCTION wallet_ledger_append_only()
+RETURNS TRIGGER AS $$
+BEGIN
+    RAISE EXCEPTION 'wallet_ledger_entries is append-only (% rejected)', TG_OP;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS wallet_ledger_append_only ON wallet_ledger_entries;
+CREATE TRIGGER wallet_ledger_append_only
+BEFORE UPDATE OR DELETE ON wallet_ledger_entries
+FOR EACH ROW EXECUTE FUNCTION wallet_ledger_append_only();
+
+-- Overdraw guard for the conditional UPDATEs (already present on most databases)
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'vendor_wallets_balance_check') THEN
+        ALTER TABLE vendor_wallets ADD CONSTRAINT vendor_wallets_balance_check CHECK (balance >= 0);
+    END IF;
+END $$;
+
+-- Opening balances for existing wallets, so the ledger sums to vendor_wallets from day one
+INSERT INTO wallet_ledger_entries (transaction_id, vendor_id, account, type, amount, balance_after, description)
+SELECT t.transaction_id, w.vendor_id, leg.account, 'OPENING_BALANCE', leg.amount, leg.balance_after, 'Opening balance'
+FROM vendor_wallets w
+JOIN (SELECT vendor_id, gen_random_uuid() AS transaction_id FROM vendor_wallets) t ON t.vendor_id = w.vendor_id
+CROSS JOIN LATERAL (VALUES
+    ('AVAILABLE', COALESCE(w.balance, 0), COALESCE(w.balance, 0)),
+    ('PENDING_PAYOUT', COALESCE(w.pending_payouts, 0), COALESCE(w.pending_payouts, 0)),
+    ('PLATFORM', -(COALESCE(w.balance, 0) + COALESCE(w.pending_payouts, 0)), NULL)
+) AS leg(account, amount, balance_after)
+WHERE leg.amount <> 0
+  AND NOT EXISTS (SELECT 1 FROM wallet_ledger_entries e WHERE e.vendor_id = w.vendor_id);
@@ -0,0 +1,35 @@
+-- Inbox for payment gateway webhooks (PaymentWebhookInbox)
+-- The endpoint only validates the signature and inserts here, then acks. The unique event_id
+-- turns gateway retries into no-ops; workers apply events in id order per order_id and mark
+-- them PROCESSED in the same transaction as the payment/order/lead changes.
+
+CREATE TABLE IF NOT EXISTS payment_webhook_events (
+    id BIGSERIAL PRIMARY KEY,
+    -- Gateway event id, or transaction_id:status when the gateway sends none
+    event_id VARCHAR(150) NOT NULL,
+    transaction_id VARCHAR(100) NOT NULL,
+    -- Resolved from payments at ingest; ordering key for the workers (NULL = unknown payment)
+    order_id UUID,
+    status VARCHAR(50),
+    payload TEXT,
+    state VARCHAR(20) NOT NULL DEFAULT 'RECEIVED', -- RECEIVED, PROCESSED, SKIPPED, FAILED
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    received_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    processed_at TIMESTAMP,
+    CONSTRAINT uq_payment_webhook_events_event_id UNIQUE (event_id)
+);
+
+-- Worker poll: pending events, oldest first
+CREATE INDEX IF NOT EXISTS idx_payment_webhook_events_pending
+ON payment_webhook_events(id)
+WHERE state = 'RECEIVED';
+
+-- "Is there an earlier pending event for this order"
+CREATE INDEX IF NOT EXISTS idx_payment_webhook_events_pending_order
+ON payment_webhook_events(order_id, id)
+WHERE state = 'RECEIVED';
+
+CREATE INDEX IF NOT EXISTS idx_payment_webhook_events_received
+ON payment_webhook_events(received_at);
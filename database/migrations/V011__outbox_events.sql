@@ -0,0 +1,24 @@
+-- Transactional outbox for domain events (EventOutbox)
+-- Services insert the event in the same transaction as the business change. A dispatcher
+-- later claims each row once and hands it to the in-process handlers (notifications, metrics);
+-- every instance also tails the table to drop its own local caches.
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    state VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- PENDING, PUBLISHED, FAILED
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    published_at TIMESTAMP
+);
+
+-- Dispatcher poll: pending events, oldest first
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending
+ON outbox_events(id)
+WHERE state = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_created
+ON outbox_events(created_at);
@@ -0,0 +1,37 @@
+-- In-app notifications plus delivery state for the email/WebSocket channels (NotificationService)
+-- Every notification is a row the recipient can list. Delivery is separate: NotificationDispatcher
+-- sends each recipient's due rows as one message (a digest when there are several), at most once
+-- per min-interval per recipient, so a batch job notifying one vendor 200 times sends once.
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id BIGSERIAL PRIMARY KEY,
+    recipient_type VARCHAR(10) NOT NULL, -- USER, VENDOR
+    recipient_id UUID NOT NULL,
+    email VARCHAR(255),
+    kind VARCHAR(40) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    read_at TIMESTAMP,
+    delivery_state VARCHAR(10) NOT NULL DEFAULT 'PENDING', -- PENDING, SENT
+    -- Held back until then so related notifications can be sent together
+    deliver_after TIMESTAMP NOT NULL DEFAULT NOW(),
+    sent_at TIMESTAMP
+);
+
+-- In-app list (keyset by id) and unread count
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient
+ON notifications(recipient_id, recipient_type, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_unread
+ON notifications(recipient_id, recipient_type)
+WHERE read_at IS NULL;
+
+-- Dispatcher: due rows, and when each recipient was last sent to
+CREATE INDEX IF NOT EXISTS idx_notifications_pending
+ON notifications(deliver_after)
+WHERE delivery_state = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS idx_notifications_sent
+ON notifications(recipient_id, sent_at DESC)
+WHERE sent_at IS NOT NULL;
@@ -0,0 +1,9 @@
+-- Leases for cluster-wide scheduled jobs (JobLockService)
+-- A job runs on the instance whose lease row is current; the holder renews it while the job
+-- runs, so a crashed instance blocks the job only until locked_until passes.
+
+CREATE TABLE IF NOT EXISTS job_locks (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(200) NOT NULL,
+    locked_until TIMESTAMP NOT NULL
+);
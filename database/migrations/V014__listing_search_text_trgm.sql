@@ -0,0 +1,8 @@
+-- Trigram index for the q= filter on listing_search_docs (V007)
+-- search_text LIKE '%...%' can't use a B-tree; with pg_trgm a GIN index serves any
+-- substring of 3 or more characters. Shorter search text still scans the table.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_listing_search_docs_search_text
+ON listing_search_docs USING GIN (search_text gin_trgm_ops);
@@ -416,11 +416,11 @@ export function useVendorWallet() {
   return convertQueryResult(query);
 }
 
-export function useVendorWalletTransactions(page = 0, size = 10) {
+export function useVendorWalletTransactions(before?: number, size = 10) {
   const query = useQuery({
-    queryKey: ['vendorWalletTransactions', page, size],
+    queryKey: ['vendorWalletTransactions', before, size],
     queryFn: async () => {
-      const response = await vendorApi.getWalletTransactions(page, size);
+      const response = await vendorApi.getWalletTransactions(before, size);
       return unwrapResponse(response);
     },
     staleTime: 1 * 60 * 1000, // 1 minute
@@ -667,8 +667,8 @@ export const vendorApi = {
   
   // Wallet
   getWallet: () => apiClient.get<any>('/vendors/wallet'),
-  getWalletTransactions: (page = 0, size = 10) =>
-    apiClient.get<any>(`/vendors/wallet/transactions?page=${page}&size=${size}`),
+  getWalletTransactions: (before?: number, size = 10) =>
+    apiClient.get<any>(`/vendors/wallet/transactions?size=${size}${before != null ? `&before=${before}` : ''}`),
   requestWithdrawal: (data: any) => apiClient.post<any>('/vendors/wallet/withdraw', data),
   getPayoutHistory: (page = 0, size = 10) =>
     apiClient.get<any>(`/vendors/wallet/payouts?page=${page}&size=${size}`),